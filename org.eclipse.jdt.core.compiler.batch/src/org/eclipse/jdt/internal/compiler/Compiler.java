@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2024 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -77,6 +77,8 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 
 	public AbstractAnnotationProcessorManager annotationProcessorManager;
 	public int annotationProcessorStartIndex = 0;
+	// units from annotationProcessorStartIndex on wait for their annotations to be processed before being compiled
+	private boolean deferUnitsToAnnotate;
 	public ReferenceBinding[] referenceBindings;
 	public boolean useSingleThread = true; // by default the compiler will not use worker threads to read/process/write
 
@@ -437,11 +439,16 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 
 	protected void processCompiledUnits(int startingIndex, boolean lastRound) throws java.lang.Error {
 		CompilationUnitDeclaration unit = null;
+		// Units injected by the lookup environment are only processed after the next annotation processing
+		// round, so the rounds only ever see diet parsed units, and every unit can be released once generated.
+		this.deferUnitsToAnnotate = this.annotationProcessorManager != null && !lastRound;
 		try {
 			if (this.useSingleThread) {
 				// process all units (some more could be injected in the loop by the lookup environment)
 				for (int i = startingIndex; i < this.totalUnits; i++) {
-					unit = this.unitsToProcess[i];
+					unit = getUnitToProcess(i);
+					if (unit == null)
+						break; // waiting for annotation processing
 					if (unit.compilationResult != null && unit.compilationResult.hasBeenAccepted)
 						continue;
 					reportProgress(Messages.bind(Messages.compilation_processing, new String(unit.getFileName())));
@@ -452,7 +459,7 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 								new String[] {
 									String.valueOf(i + 1),
 									String.valueOf(this.totalUnits),
-									new String(this.unitsToProcess[i].getFileName())
+									new String(unit.getFileName())
 								}));
 						process(unit, i);
 					} finally {
@@ -460,9 +467,6 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 						if (this.annotationProcessorManager == null || shouldCleanup(i))
 							unit.cleanUp();
 					}
-					if (this.annotationProcessorManager == null) {
-						this.unitsToProcess[i] = null; // release reference to processed unit declaration
-					}
 
 					reportWorked(1, i);
 					this.stats.lineCount += unit.compilationResult.lineSeparatorPositions.length;
@@ -515,12 +519,8 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 			if (!lastRound) {
 				if (this.annotationProcessorManager != null && this.totalUnits > this.annotationProcessorStartIndex) {
 					int backup = this.annotationProcessorStartIndex;
-					int prevUnits = this.totalUnits;
 					processAnnotations();
-					// Clean up the units that were left out previously for annotation processing.
-					for (int i = backup; i < prevUnits; i++) {
-						this.unitsToProcess[i].cleanUp();
-					}
+					// the units left out for annotation processing have not been processed yet
 					processCompiledUnits(backup, lastRound);
 				}
 			}
@@ -532,6 +532,7 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 		} finally {
 			reset();
 			this.annotationProcessorStartIndex  = 0;
+			this.deferUnitsToAnnotate = false;
 			this.stats.endTime = System.currentTimeMillis();
 			this.stats.overallTime += this.stats.endTime - this.stats.startTime;
 		}
@@ -539,10 +540,10 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 
 	public synchronized CompilationUnitDeclaration getUnitToProcess(int next) {
 		if (next < this.totalUnits) {
+			if (this.deferUnitsToAnnotate && next >= this.annotationProcessorStartIndex)
+				return null; // not annotation processed yet
 			CompilationUnitDeclaration unit = this.unitsToProcess[next];
-			if (this.annotationProcessorManager == null || next < this.annotationProcessorStartIndex) {
-				this.unitsToProcess[next] = null; // release reference to processed unit declaration
-			}
+			this.unitsToProcess[next] = null; // release reference to processed unit declaration
 			return unit;
 		}
 		return null;
@@ -554,7 +555,7 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 	 * the unit is still required for annotation processing.
 	 */
 	public boolean shouldCleanup(int index) {
-		return index < this.annotationProcessorStartIndex;
+		return index < this.annotationProcessorStartIndex || !this.deferUnitsToAnnotate;
 	}
 
 	public void setBinaryTypes(ReferenceBinding[] binaryTypes) {
@@ -577,7 +578,7 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 		}
 		if (result == null) {
 			synchronized (this) {
-				if (this.unitsToProcess != null && this.totalUnits > 0)
+				if (this.unitsToProcess != null && this.totalUnits > 0 && this.unitsToProcess[this.totalUnits - 1] != null)
 					result = this.unitsToProcess[this.totalUnits - 1].compilationResult;
 			}
 		}
@@ -647,7 +648,7 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 		}
 		if (result == null) {
 			synchronized (this) {
-				if (this.unitsToProcess != null && this.totalUnits > 0)
+				if (this.unitsToProcess != null && this.totalUnits > 0 && this.unitsToProcess[this.totalUnits - 1] != null)
 					result = this.unitsToProcess[this.totalUnits - 1].compilationResult;
 			}
 		}
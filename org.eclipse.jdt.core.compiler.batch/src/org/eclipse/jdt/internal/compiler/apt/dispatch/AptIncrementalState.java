@@ -0,0 +1,515 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.compiler.apt.dispatch;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ModuleElement;
+import javax.lang.model.element.PackageElement;
+import javax.tools.JavaFileObject.Kind;
+import org.eclipse.jdt.core.compiler.CharOperation;
+import org.eclipse.jdt.internal.compiler.apt.model.IElementInfo;
+import org.eclipse.jdt.internal.compiler.ast.CompilationUnitDeclaration;
+import org.eclipse.jdt.internal.compiler.lookup.AnnotationBinding;
+import org.eclipse.jdt.internal.compiler.lookup.FieldBinding;
+import org.eclipse.jdt.internal.compiler.lookup.MethodBinding;
+import org.eclipse.jdt.internal.compiler.lookup.ParameterizedTypeBinding;
+import org.eclipse.jdt.internal.compiler.lookup.ReferenceBinding;
+import org.eclipse.jdt.internal.compiler.lookup.SourceTypeBinding;
+import org.eclipse.jdt.internal.compiler.lookup.TypeBinding;
+import org.eclipse.jdt.internal.compiler.lookup.WildcardBinding;
+
+/**
+ * State of annotation processing that is kept between batch compilations when the
+ * <code>-XaptState:&lt;file&gt;</code> option is given.
+ * <p>
+ * For every processed source file, the state records a hash of its contents, the top level
+ * types it declares and the top level types its declarations depend on. For every file created
+ * through the {@link javax.annotation.processing.Filer}, it records the processor that created it
+ * and the source files of its originating elements. This is used to:
+ * <ul>
+ * <li>hide the unchanged source files from isolating processors in the first round, and keep the
+ * files these processors generated from them in the previous compilation instead,</li>
+ * <li>delete the generated files that the processors did not create again although their
+ * originating source files were processed.</li>
+ * </ul>
+ * A source file is considered unchanged if its contents did not change and none of the types
+ * its declarations depend on, directly or through the declarations of other source types, are
+ * declared in a changed or deleted source file. A source file is
+ * deleted if it is neither compiled nor found anymore: the files generated from it are deleted too.
+ * Binary types are not tracked one by one: nothing is reused after a change of the archives on
+ * the class or module path, as they are part of the options fingerprint. Changes to class folders
+ * are not detected.
+ */
+public class AptIncrementalState {
+
+	public static final String OPTION = "-XaptState:"; //$NON-NLS-1$
+	private static final int VERSION = 1;
+	private static final String[] NO_STRINGS = new String[0];
+
+	static class SourceFile {
+		final String hash;
+		final String[] declaredTypes;
+		final String[] dependencies;
+
+		SourceFile(String hash, String[] declaredTypes, String[] dependencies) {
+			this.hash = hash;
+			this.declaredTypes = declaredTypes;
+			this.dependencies = dependencies;
+		}
+	}
+
+	static class GeneratedFile {
+		final String uri;
+		final String path;
+		final Kind kind;
+		/** The qualified name of the generated type, or <code>null</code> for resources */
+		final String typeName;
+		final String module;
+		final String processor;
+		final String[] originatingFiles;
+
+		GeneratedFile(String uri, String path, Kind kind, String typeName, String module, String processor,
+				String[] originatingFiles) {
+			this.uri = uri;
+			this.path = path;
+			this.kind = kind;
+			this.typeName = typeName;
+			this.module = module;
+			this.processor = processor;
+			this.originatingFiles = originatingFiles;
+		}
+
+		boolean exists() {
+			try {
+				return new File(URI.create(this.uri)).isFile();
+			} catch (IllegalArgumentException e) {
+				return false; // not a file
+			}
+		}
+	}
+
+	private final File file;
+	private final String optionsFingerprint;
+
+	private final Map<String, String> previousProcessors = new HashMap<>();
+	private final Map<String, SourceFile> previousSources = new HashMap<>();
+	private final Map<String, GeneratedFile> previousGenerated = new LinkedHashMap<>();
+
+	private final Map<String, String> processors = new HashMap<>();
+	private final Map<String, SourceFile> sources = new HashMap<>();
+	private final Map<String, GeneratedFile> generated = new LinkedHashMap<>();
+	/* source files of the first round that did not change since the previous compilation */
+	private final Set<String> unchangedFiles = new LinkedHashSet<>();
+	/* absolute paths of the source files of the first round */
+	private final Set<File> compiledFiles = new LinkedHashSet<>();
+	private String currentProcessor;
+
+	/**
+	 * @param file the file the state is read from and saved to
+	 * @param optionsFingerprint a description of the options given to the processors; nothing is
+	 *            reused from a previous compilation that had different options
+	 */
+	public AptIncrementalState(File file, String optionsFingerprint) {
+		this.file = file;
+		// hashed, as it may be longer than what DataOutput#writeUTF() can write
+		this.optionsFingerprint = hash(optionsFingerprint.toCharArray());
+		if (file.isFile()) {
+			try {
+				load();
+			} catch (IOException | IllegalArgumentException e) {
+				// corrupted: start from scratch
+				this.previousProcessors.clear();
+				this.previousSources.clear();
+				this.previousGenerated.clear();
+			}
+		}
+	}
+
+	private void load() throws IOException {
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(this.file)))) {
+			if (in.readInt() != VERSION || !in.readUTF().equals(this.optionsFingerprint))
+				return;
+			for (int i = in.readInt(); i > 0; i--) {
+				this.previousProcessors.put(in.readUTF(), in.readUTF());
+			}
+			for (int i = in.readInt(); i > 0; i--) {
+				this.previousSources.put(in.readUTF(), new SourceFile(in.readUTF(), readStrings(in), readStrings(in)));
+			}
+			for (int i = in.readInt(); i > 0; i--) {
+				GeneratedFile generatedFile = new GeneratedFile(in.readUTF(), in.readUTF(), Kind.valueOf(in.readUTF()),
+						readOptional(in), readOptional(in), in.readUTF(), readStrings(in));
+				this.previousGenerated.put(generatedFile.uri, generatedFile);
+			}
+		}
+	}
+
+	/**
+	 * Records the source files of a round. In the first round, also finds the ones that did not
+	 * change since the previous compilation.
+	 */
+	public void recordUnits(CompilationUnitDeclaration[] units, boolean isFirstRound) {
+		List<String> changedTypes = new ArrayList<>();
+		for (CompilationUnitDeclaration unit : units) {
+			if (unit == null || unit.compilationResult.compilationUnit == null)
+				continue;
+			String fileName = new String(unit.getFileName());
+			SourceFile sourceFile = new SourceFile(hash(unit.compilationResult.compilationUnit.getContents()),
+					getDeclaredTypes(unit), getDependencies(unit));
+			this.sources.put(fileName, sourceFile);
+			if (!isFirstRound)
+				continue;
+			this.compiledFiles.add(new File(fileName).getAbsoluteFile());
+			SourceFile previous = this.previousSources.get(fileName);
+			if (previous != null && previous.hash.equals(sourceFile.hash)) {
+				this.unchangedFiles.add(fileName);
+			} else {
+				changedTypes.addAll(Arrays.asList(sourceFile.declaredTypes));
+				if (previous != null)
+					changedTypes.addAll(Arrays.asList(previous.declaredTypes));
+			}
+		}
+		if (isFirstRound) {
+			this.previousSources.forEach((fileName, previous) -> {
+				if (isDeleted(fileName))
+					changedTypes.addAll(Arrays.asList(previous.declaredTypes));
+			});
+		}
+		if (!changedTypes.isEmpty()) {
+			Set<String> changed = new HashSet<>(changedTypes);
+			// processors may follow the signatures of the types in the signatures: a type whose
+			// declarations depend on a changed type is changed too
+			Map<String, SourceFile> knownSources = new HashMap<>(this.previousSources);
+			knownSources.putAll(this.sources);
+			boolean grown;
+			do {
+				grown = false;
+				for (SourceFile sourceFile : knownSources.values()) {
+					if (!changed.containsAll(Arrays.asList(sourceFile.declaredTypes))
+							&& Arrays.stream(sourceFile.dependencies).anyMatch(changed::contains))
+						grown |= changed.addAll(Arrays.asList(sourceFile.declaredTypes));
+				}
+			} while (grown);
+			this.unchangedFiles.removeIf(fileName -> Arrays.stream(this.sources.get(fileName).dependencies).anyMatch(changed::contains));
+		}
+	}
+
+	/*
+	 * Whether the given source file of a previous compilation was deleted since.
+	 */
+	private boolean isDeleted(String fileName) {
+		return !this.sources.containsKey(fileName) && !new File(fileName).isFile();
+	}
+
+	/**
+	 * @return whether the given file is one of the source files of the first round
+	 */
+	public boolean isCompiled(String fileName) {
+		return this.compiledFiles.contains(new File(fileName).getAbsoluteFile());
+	}
+
+	/**
+	 * Called before a processor is asked to process a round: files created until
+	 * {@link #endProcessing()} are attributed to it.
+	 *
+	 * @param fingerprint a description of the version of the processor, or <code>null</code> if unknown
+	 */
+	public void beginProcessing(String processor, String fingerprint) {
+		this.currentProcessor = processor;
+		this.processors.put(processor, fingerprint == null ? "" : fingerprint); //$NON-NLS-1$
+	}
+
+	public void endProcessing() {
+		this.currentProcessor = null;
+	}
+
+	/**
+	 * Returns the unchanged source files that the given isolating processor does not need to see
+	 * again, with the files it generated from each of them in the previous compilation.
+	 */
+	public Map<String, List<GeneratedFile>> getReusableOutputs(String processor) {
+		String fingerprint = this.processors.get(processor);
+		if (fingerprint == null || fingerprint.isEmpty() || !fingerprint.equals(this.previousProcessors.get(processor)))
+			return Map.of();
+		Map<String, List<GeneratedFile>> result = new LinkedHashMap<>();
+		for (String fileName : this.unchangedFiles) {
+			result.put(fileName, new ArrayList<>());
+		}
+		for (GeneratedFile generatedFile : this.previousGenerated.values()) {
+			if (!processor.equals(generatedFile.processor))
+				continue;
+			for (String originatingFile : generatedFile.originatingFiles) {
+				List<GeneratedFile> outputs = result.get(originatingFile);
+				if (outputs == null)
+					continue;
+				if (generatedFile.originatingFiles.length == 1 && generatedFile.exists()) {
+					outputs.add(generatedFile);
+				} else {
+					result.put(originatingFile, null); // can't keep it without the processor
+				}
+			}
+		}
+		result.values().removeIf(outputs -> outputs == null);
+		return result;
+	}
+
+	/**
+	 * Keeps a file generated in the previous compilation as if it was created again.
+	 */
+	public void reuse(GeneratedFile generatedFile) {
+		this.generated.put(generatedFile.uri, generatedFile);
+	}
+
+	/**
+	 * Records a file created by the current processor.
+	 */
+	public void recordGenerated(URI uri, String path, Kind kind, String typeName, String module, Element[] originatingElements) {
+		Set<String> originatingFiles = new LinkedHashSet<>();
+		if (originatingElements != null) {
+			for (Element element : originatingElements) {
+				String fileName = element == null ? null : getFileName(element);
+				if (fileName != null)
+					originatingFiles.add(fileName);
+			}
+		}
+		String processor = this.currentProcessor == null ? "" : this.currentProcessor; //$NON-NLS-1$
+		this.generated.put(uri.toString(), new GeneratedFile(uri.toString(), path, kind, typeName, module, processor,
+				originatingFiles.toArray(NO_STRINGS)));
+	}
+
+	/**
+	 * Deletes the generated files that were not created again although their processor ran on
+	 * all their originating files, or whose originating files were all deleted, then writes the
+	 * state of this compilation.
+	 */
+	public void save() throws IOException {
+		for (GeneratedFile generatedFile : this.previousGenerated.values()) {
+			if (this.generated.containsKey(generatedFile.uri))
+				continue;
+			// the processor may not run at all once the annotated files were deleted
+			boolean stale = generatedFile.originatingFiles.length > 0
+					&& (Arrays.stream(generatedFile.originatingFiles).allMatch(this::isDeleted)
+						|| (this.processors.containsKey(generatedFile.processor)
+							&& Arrays.stream(generatedFile.originatingFiles).allMatch(fileName -> this.sources.containsKey(fileName) || isDeleted(fileName))));
+			if (stale) {
+				if (generatedFile.exists())
+					new File(URI.create(generatedFile.uri)).delete();
+			} else {
+				this.generated.put(generatedFile.uri, generatedFile);
+			}
+		}
+		// processors and source files that were not part of this compilation are kept, unless deleted
+		this.previousProcessors.forEach(this.processors::putIfAbsent);
+		this.previousSources.forEach((fileName, previous) -> {
+			if (!isDeleted(fileName))
+				this.sources.put(fileName, previous);
+		});
+
+		File folder = this.file.getAbsoluteFile().getParentFile();
+		if (folder != null)
+			folder.mkdirs();
+		File tempFile = new File(this.file.getPath() + ".tmp"); //$NON-NLS-1$
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+			out.writeInt(VERSION);
+			out.writeUTF(this.optionsFingerprint);
+			out.writeInt(this.processors.size());
+			for (Map.Entry<String, String> entry : this.processors.entrySet()) {
+				out.writeUTF(entry.getKey());
+				out.writeUTF(entry.getValue());
+			}
+			out.writeInt(this.sources.size());
+			for (Map.Entry<String, SourceFile> entry : this.sources.entrySet()) {
+				out.writeUTF(entry.getKey());
+				out.writeUTF(entry.getValue().hash);
+				writeStrings(out, entry.getValue().declaredTypes);
+				writeStrings(out, entry.getValue().dependencies);
+			}
+			out.writeInt(this.generated.size());
+			for (GeneratedFile generatedFile : this.generated.values()) {
+				out.writeUTF(generatedFile.uri);
+				out.writeUTF(generatedFile.path);
+				out.writeUTF(generatedFile.kind.name());
+				writeOptional(out, generatedFile.typeName);
+				writeOptional(out, generatedFile.module);
+				out.writeUTF(generatedFile.processor);
+				writeStrings(out, generatedFile.originatingFiles);
+			}
+		}
+		Files.move(tempFile.toPath(), this.file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	/**
+	 * @return the name of the source file that declares the given element, or <code>null</code> if unknown
+	 */
+	static String getFileName(Element element) {
+		Element topLevel = element;
+		while (!(topLevel instanceof PackageElement) && !(topLevel instanceof ModuleElement)) {
+			Element enclosing = topLevel.getEnclosingElement();
+			if (enclosing == null || enclosing instanceof PackageElement)
+				break;
+			topLevel = enclosing;
+		}
+		return topLevel instanceof IElementInfo ? ((IElementInfo) topLevel).getFileName() : null;
+	}
+
+	private static String[] getDeclaredTypes(CompilationUnitDeclaration unit) {
+		if (unit.scope == null || unit.scope.topLevelTypes == null)
+			return NO_STRINGS;
+		String[] result = new String[unit.scope.topLevelTypes.length];
+		for (int i = 0; i < result.length; i++) {
+			result[i] = CharOperation.toString(unit.scope.topLevelTypes[i].compoundName);
+		}
+		return result;
+	}
+
+	/*
+	 * The top level types of the hierarchy and of the signatures of the types declared by the unit,
+	 * which is what isolating processors may look at besides the unit itself.
+	 */
+	private static String[] getDependencies(CompilationUnitDeclaration unit) {
+		if (unit.scope == null || unit.scope.topLevelTypes == null)
+			return NO_STRINGS;
+		Set<String> dependencies = new LinkedHashSet<>();
+		for (SourceTypeBinding type : unit.scope.topLevelTypes) {
+			collectSignatureDependencies(type, dependencies);
+		}
+		for (String declaredType : getDeclaredTypes(unit)) {
+			dependencies.remove(declaredType);
+		}
+		return dependencies.toArray(NO_STRINGS);
+	}
+
+	private static void collectSignatureDependencies(ReferenceBinding type, Set<String> dependencies) {
+		collectHierarchy(type, dependencies);
+		collectAnnotations(type.getAnnotations(), dependencies);
+		for (FieldBinding field : type.fields()) {
+			collectAnnotations(field.getAnnotations(), dependencies);
+			collectDependencies(field.type, dependencies);
+		}
+		for (MethodBinding method : type.methods()) {
+			collectAnnotations(method.getAnnotations(), dependencies);
+			collectDependencies(method.returnType, dependencies);
+			if (method.parameters != null) {
+				for (TypeBinding parameter : method.parameters)
+					collectDependencies(parameter, dependencies);
+			}
+			if (method.thrownExceptions != null) {
+				for (TypeBinding exception : method.thrownExceptions)
+					collectDependencies(exception, dependencies);
+			}
+		}
+		for (ReferenceBinding memberType : type.memberTypes()) {
+			collectSignatureDependencies(memberType, dependencies);
+		}
+	}
+
+	private static void collectAnnotations(AnnotationBinding[] annotations, Set<String> dependencies) {
+		if (annotations == null)
+			return;
+		for (AnnotationBinding annotation : annotations) {
+			collectDependencies(annotation.getAnnotationType(), dependencies);
+		}
+	}
+
+	private static void collectDependencies(TypeBinding type, Set<String> dependencies) {
+		if (type == null)
+			return;
+		type = type.leafComponentType();
+		if (type instanceof ParameterizedTypeBinding parameterized && parameterized.arguments != null) {
+			for (TypeBinding argument : parameterized.arguments)
+				collectDependencies(argument, dependencies);
+		} else if (type instanceof WildcardBinding wildcard) {
+			collectDependencies(wildcard.bound, dependencies);
+			return;
+		}
+		if (type.isTypeVariable() || !(type.erasure() instanceof ReferenceBinding))
+			return;
+		collectHierarchy((ReferenceBinding) type.erasure(), dependencies);
+	}
+
+	private static void collectHierarchy(ReferenceBinding type, Set<String> dependencies) {
+		if (type == null || !type.isValidBinding())
+			return;
+		ReferenceBinding topLevelType = type.outermostEnclosingType();
+		if (topLevelType.compoundName == null || !dependencies.add(CharOperation.toString(topLevelType.compoundName)))
+			return;
+		collectHierarchy(type.superclass(), dependencies);
+		ReferenceBinding[] superInterfaces = type.superInterfaces();
+		if (superInterfaces != null) {
+			for (ReferenceBinding superInterface : superInterfaces)
+				collectHierarchy(superInterface, dependencies);
+		}
+	}
+
+	private static String hash(char[] contents) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256"); //$NON-NLS-1$
+			byte[] bytes = digest.digest(new String(contents).getBytes(StandardCharsets.UTF_8));
+			StringBuilder result = new StringBuilder(bytes.length * 2);
+			for (byte b : bytes) {
+				result.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+			}
+			return result.toString();
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static String[] readStrings(DataInputStream in) throws IOException {
+		String[] result = new String[in.readInt()];
+		for (int i = 0; i < result.length; i++) {
+			result[i] = in.readUTF();
+		}
+		return result;
+	}
+
+	private static void writeStrings(DataOutputStream out, String[] strings) throws IOException {
+		out.writeInt(strings.length);
+		for (String string : strings) {
+			out.writeUTF(string);
+		}
+	}
+
+	private static String readOptional(DataInputStream in) throws IOException {
+		return in.readBoolean() ? in.readUTF() : null;
+	}
+
+	private static void writeOptional(DataOutputStream out, String string) throws IOException {
+		out.writeBoolean(string != null);
+		if (string != null)
+			out.writeUTF(string);
+	}
+}
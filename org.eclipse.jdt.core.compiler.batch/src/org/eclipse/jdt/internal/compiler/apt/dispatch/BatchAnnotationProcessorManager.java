@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2023 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,21 +13,33 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.compiler.apt.dispatch;
 
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URISyntaxException;
+import java.net.URL;
 import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.security.CodeSource;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.ServiceConfigurationError;
 import java.util.ServiceLoader;
 import javax.annotation.processing.Processor;
+import javax.annotation.processing.RoundEnvironment;
 import javax.lang.model.SourceVersion;
 import javax.tools.JavaFileManager;
 import javax.tools.StandardJavaFileManager;
 import javax.tools.StandardLocation;
+import org.eclipse.jdt.internal.compiler.ast.CompilationUnitDeclaration;
 import org.eclipse.jdt.internal.compiler.batch.Main;
+import org.eclipse.jdt.internal.compiler.lookup.ReferenceBinding;
 import org.eclipse.jdt.internal.compiler.problem.AbortCompilation;
 
 /**
@@ -54,6 +66,20 @@ public class BatchAnnotationProcessorManager extends BaseAnnotationProcessorMana
 
 	private ClassLoader _procLoader;
 
+	/**
+	 * Where processors declare whether they are isolating or aggregating, as defined by Gradle.
+	 */
+	private static final String PROCESSOR_CATEGORIES = "META-INF/gradle/incremental.annotation.processors"; //$NON-NLS-1$
+	private static final String ISOLATING = "ISOLATING"; //$NON-NLS-1$
+	private static final String DYNAMIC = "DYNAMIC"; //$NON-NLS-1$
+	private static final String DYNAMIC_ISOLATING_OPTION = "org.gradle.annotation.processing.isolating"; //$NON-NLS-1$
+
+	/**
+	 * The state kept between compilations when the -XaptState: option is given, <code>null</code> otherwise.
+	 */
+	private AptIncrementalState _incrementalState;
+	private Map<String, String> _processorCategories;
+
 	// Set this to true in order to trace processor discovery when -XprintProcessorInfo is specified
 	private final static boolean VERBOSE_PROCESSOR_DISCOVERY = true;
 	private boolean _printProcessorDiscovery = false;
@@ -92,9 +118,24 @@ public class BatchAnnotationProcessorManager extends BaseAnnotationProcessorMana
 			this._procLoader = fileManager.getClassLoader(StandardLocation.ANNOTATION_PROCESSOR_PATH);
 		}
 		parseCommandLine(commandLineArguments);
+		configureIncrementalState(commandLineArguments);
 		this._round = 0;
 	}
 
+	private void configureIncrementalState(String[] commandLineArguments) {
+		for (String option : commandLineArguments) {
+			if (option.startsWith(AptIncrementalState.OPTION)) {
+				@SuppressWarnings("resource") // fileManager is owned and closed by the processing environment
+				JavaFileManager fileManager = this._processingEnv.getFileManager();
+				String optionsFingerprint = this._processingEnv.getSourceVersion() + " " + this._processingEnv.getOptions() //$NON-NLS-1$
+						+ getClasspathFingerprint(fileManager);
+				this._incrementalState = new AptIncrementalState(
+						new File(option.substring(AptIncrementalState.OPTION.length())), optionsFingerprint);
+				((BatchFilerImpl) this._processingEnv.getFiler())._incrementalState = this._incrementalState;
+			}
+		}
+	}
+
 	/**
 	 * If a -processor option was specified in command line arguments,
 	 * parse it into a list of qualified classnames.
@@ -228,6 +269,122 @@ public class BatchAnnotationProcessorManager extends BaseAnnotationProcessorMana
 		return location;
 	}
 
+	@Override
+	public void processAnnotations(CompilationUnitDeclaration[] units, ReferenceBinding[] referenceBindings, boolean isLastRound) {
+		if (this._incrementalState != null && units != null) {
+			this._incrementalState.recordUnits(units, this._isFirstRound);
+		}
+		super.processAnnotations(units, referenceBindings, isLastRound);
+	}
+
+	@Override
+	public RoundEnvironment beginProcessing(ProcessorInfo pi, RoundEnvironment roundEnv) {
+		if (this._incrementalState == null) {
+			return roundEnv;
+		}
+		String name = pi._processor.getClass().getName();
+		this._incrementalState.beginProcessing(name, getProcessorFingerprint(pi._processor));
+		if (!this._isFirstRound || !isIsolating(pi)) {
+			return roundEnv;
+		}
+		// an isolating processor generates the same files from an unchanged source file,
+		// so these can be kept from the previous compilation
+		Map<String, List<AptIncrementalState.GeneratedFile>> reusableOutputs = this._incrementalState.getReusableOutputs(name);
+		if (reusableOutputs.isEmpty()) {
+			return roundEnv;
+		}
+		BatchFilerImpl filer = (BatchFilerImpl) this._processingEnv.getFiler();
+		try {
+			for (List<AptIncrementalState.GeneratedFile> outputs : reusableOutputs.values()) {
+				for (AptIncrementalState.GeneratedFile output : outputs) {
+					// the build may compile the generated sources of the previous compilation already
+					filer.reuse(output, !this._incrementalState.isCompiled(output.path));
+				}
+			}
+		} catch (IOException e) {
+			throw new AbortCompilation(null, e);
+		}
+		if (this._printProcessorInfo && null != this._out) {
+			this._out.println("Processor " + name + " skips " + reusableOutputs.size() + " unchanged files"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		}
+		return new FilteredRoundEnv(roundEnv, reusableOutputs.keySet());
+	}
+
+	@Override
+	public void endProcessing(ProcessorInfo pi) {
+		if (this._incrementalState != null) {
+			this._incrementalState.endProcessing();
+		}
+	}
+
+	private boolean isIsolating(ProcessorInfo pi) {
+		if (this._processorCategories == null) {
+			this._processorCategories = new HashMap<>();
+			try {
+				Enumeration<URL> resources = this._procLoader.getResources(PROCESSOR_CATEGORIES);
+				while (resources.hasMoreElements()) {
+					try (BufferedReader reader = new BufferedReader(
+							new InputStreamReader(resources.nextElement().openStream(), StandardCharsets.UTF_8))) {
+						String line;
+						while ((line = reader.readLine()) != null) {
+							int comma = line.indexOf(',');
+							if (comma > 0) {
+								this._processorCategories.put(line.substring(0, comma).trim(), line.substring(comma + 1).trim());
+							}
+						}
+					}
+				}
+			} catch (IOException e) {
+				// no categories: all processors are aggregating
+			}
+		}
+		String category = this._processorCategories.get(pi._processor.getClass().getName());
+		if (DYNAMIC.equalsIgnoreCase(category)) {
+			return pi._supportedOptions.contains(DYNAMIC_ISOLATING_OPTION);
+		}
+		return ISOLATING.equalsIgnoreCase(category);
+	}
+
+	/**
+	 * @return the locations and versions of the archives on the class and module paths, whose types
+	 *         processors may look at; class folders are not included, as for processors
+	 */
+	private static String getClasspathFingerprint(JavaFileManager fileManager) {
+		StringBuilder result = new StringBuilder();
+		if (fileManager instanceof StandardJavaFileManager) {
+			for (StandardLocation location : new StandardLocation[] {StandardLocation.CLASS_PATH, StandardLocation.MODULE_PATH}) {
+				Iterable<? extends File> files = ((StandardJavaFileManager) fileManager).getLocation(location);
+				if (files == null)
+					continue;
+				for (File file : files) {
+					if (file.isFile())
+						result.append(' ').append(file.getPath()).append(':').append(file.length()).append(':').append(file.lastModified());
+				}
+			}
+		}
+		return result.toString();
+	}
+
+	/**
+	 * @return the location and version of the archive a processor was loaded from, or <code>null</code>
+	 *         if it is not an archive, since changes to a folder can't be detected cheaply
+	 */
+	private static String getProcessorFingerprint(Processor p) {
+		CodeSource codeSource = p.getClass().getProtectionDomain().getCodeSource();
+		if (codeSource == null || codeSource.getLocation() == null) {
+			return null;
+		}
+		try {
+			File archive = new File(codeSource.getLocation().toURI());
+			if (archive.isFile()) {
+				return archive.getPath() + ':' + archive.length() + ':' + archive.lastModified();
+			}
+		} catch (URISyntaxException | IllegalArgumentException e) {
+			// not a file
+		}
+		return null;
+	}
+
 	@Override
 	public void reportProcessorException(Processor p, Exception e) {
 		// TODO: if (verbose) report the processor
@@ -255,6 +412,13 @@ public class BatchAnnotationProcessorManager extends BaseAnnotationProcessorMana
 
 	@Override
 	protected void cleanUp() {
+		if (this._incrementalState != null) {
+			try {
+				this._incrementalState.save();
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+		}
 		// the classloader needs to be kept open between rounds, close it at the end:
 		if (this._procLoader instanceof URLClassLoader) {
 			try {
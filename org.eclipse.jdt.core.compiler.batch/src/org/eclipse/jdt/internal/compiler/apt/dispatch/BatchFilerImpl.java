@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2024 BEA Systems, Inc.
+ * Copyright (c) 2006, 2026 BEA Systems, Inc.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,6 +16,7 @@
 
 package org.eclipse.jdt.internal.compiler.apt.dispatch;
 
+import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.net.URI;
@@ -32,10 +33,12 @@ import javax.tools.JavaFileObject;
 import javax.tools.JavaFileObject.Kind;
 import javax.tools.StandardLocation;
 import org.eclipse.jdt.internal.compiler.batch.ClasspathJsr199;
+import org.eclipse.jdt.internal.compiler.batch.CompilationUnit;
 import org.eclipse.jdt.internal.compiler.batch.Main;
 import org.eclipse.jdt.internal.compiler.env.ICompilationUnit;
 import org.eclipse.jdt.internal.compiler.env.IModule;
 import org.eclipse.jdt.internal.compiler.lookup.ReferenceBinding;
+import org.eclipse.jdt.internal.compiler.util.Util;
 
 /**
  * Implementation of Filer used when compilation is driven by command line
@@ -50,6 +53,10 @@ public class BatchFilerImpl implements Filer {
 	protected final HashSet<URI> _createdFiles;
 	protected String _moduleName;
 	protected String _encoding;
+	/**
+	 * Records the created files when annotation processing is incremental, <code>null</code> otherwise.
+	 */
+	protected AptIncrementalState _incrementalState;
 
 	public BatchFilerImpl(BaseAnnotationProcessorManager dispatchManager, BatchProcessingEnvImpl env, Main main)
 	{
@@ -84,6 +91,19 @@ public class BatchFilerImpl implements Filer {
 		this._env.addNewClassFile(binding);
 	}
 
+	/**
+	 * Takes over a file generated by a previous compilation, as if it was created again.
+	 */
+	void reuse(AptIncrementalState.GeneratedFile generatedFile, boolean compile) throws IOException {
+		this._createdFiles.add(URI.create(generatedFile.uri));
+		this._incrementalState.reuse(generatedFile);
+		if (compile && generatedFile.kind == Kind.SOURCE) {
+			char[] contents = Util.getFileCharContent(new File(generatedFile.path), this._encoding);
+			addNewUnit(new CompilationUnit(contents, generatedFile.path, this._encoding, null,
+					this._env.shouldIgnoreOptionalProblems(generatedFile.path.toCharArray()), generatedFile.module));
+		}
+	}
+
 	/* (non-Javadoc)
 	 * @see javax.annotation.processing.Filer#createClassFile(java.lang.CharSequence, javax.lang.model.element.Element[])
 	 */
@@ -98,6 +118,8 @@ public class BatchFilerImpl implements Filer {
 		}
 
 		this._createdFiles.add(uri);
+		if (this._incrementalState != null)
+			this._incrementalState.recordGenerated(uri, jfo.getName(), Kind.CLASS, name.toString(), this._moduleName, originatingElements);
 		return new HookedJavaFileObject(jfo, jfo.getName(), name.toString(), this, this._moduleName, this._encoding);
 	}
 
@@ -117,6 +139,8 @@ public class BatchFilerImpl implements Filer {
 		}
 
 		this._createdFiles.add(uri);
+		if (this._incrementalState != null)
+			this._incrementalState.recordGenerated(uri, fo.getName(), Kind.OTHER, null, null, originatingElements);
 		return fo;
 	}
 
@@ -184,6 +208,8 @@ public class BatchFilerImpl implements Filer {
 		}
 
 		this._createdFiles.add(uri);
+		if (this._incrementalState != null)
+			this._incrementalState.recordGenerated(uri, jfo.getName(), Kind.SOURCE, name.toString(), mod, originatingElements);
 		// hook the file object's writers to create compilation unit and add to addedUnits()
 		return new HookedJavaFileObject(jfo, jfo.getName(), name.toString(), this, mod, this._encoding);
 	}
@@ -0,0 +1,72 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.compiler.apt.dispatch;
+
+import java.lang.annotation.Annotation;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+
+/**
+ * A view of a round that hides the elements declared in some source files, used to keep isolating
+ * processors from processing unchanged files again (see {@link AptIncrementalState}).
+ */
+class FilteredRoundEnv implements RoundEnvironment {
+
+	private final RoundEnvironment roundEnv;
+	private final Set<String> hiddenFiles;
+
+	FilteredRoundEnv(RoundEnvironment roundEnv, Set<String> hiddenFiles) {
+		this.roundEnv = roundEnv;
+		this.hiddenFiles = hiddenFiles;
+	}
+
+	@Override
+	public boolean processingOver() {
+		return this.roundEnv.processingOver();
+	}
+
+	@Override
+	public boolean errorRaised() {
+		return this.roundEnv.errorRaised();
+	}
+
+	@Override
+	public Set<? extends Element> getRootElements() {
+		return filter(this.roundEnv.getRootElements());
+	}
+
+	@Override
+	public Set<? extends Element> getElementsAnnotatedWith(TypeElement a) {
+		return filter(this.roundEnv.getElementsAnnotatedWith(a));
+	}
+
+	@Override
+	public Set<? extends Element> getElementsAnnotatedWith(Class<? extends Annotation> a) {
+		return filter(this.roundEnv.getElementsAnnotatedWith(a));
+	}
+
+	private Set<? extends Element> filter(Set<? extends Element> elements) {
+		Set<Element> result = new LinkedHashSet<>(elements.size());
+		for (Element element : elements) {
+			String fileName = AptIncrementalState.getFileName(element);
+			if (fileName == null || !this.hiddenFiles.contains(fileName))
+				result.add(element);
+		}
+		return Collections.unmodifiableSet(result);
+	}
+}
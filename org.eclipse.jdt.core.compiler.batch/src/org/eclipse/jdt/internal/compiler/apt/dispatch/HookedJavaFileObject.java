@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2024 BEA Systems, Inc. and others
+ * Copyright (c) 2006, 2026 BEA Systems, Inc. and others
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,9 +15,13 @@
 
 package org.eclipse.jdt.internal.compiler.apt.dispatch;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.StringWriter;
 import java.io.Writer;
+import java.util.Arrays;
 import javax.tools.ForwardingJavaFileObject;
 import javax.tools.JavaFileObject;
 import org.eclipse.jdt.core.compiler.CharOperation;
@@ -33,16 +37,21 @@ import org.eclipse.jdt.internal.compiler.problem.AbortCompilationUnit;
  * A delegating JavaFileObject that hooks the close() methods of the Writer
  * or OutputStream objects that it produces, and notifies the annotation
  * dispatch manager when a new compilation unit is produced.
+ * When annotation processing is incremental, the content is buffered until
+ * then, and the file is only written if it does not already have that content,
+ * so that unchanged generated files keep their timestamp.
  */
 public class HookedJavaFileObject extends
 		ForwardingJavaFileObject<JavaFileObject>
 {
-	// A delegating Writer that passes all commands to its contained Writer,
-	// but hooks close() to notify the annotation dispatch manager of the new unit.
+	// A delegating Writer that passes all commands to its contained Writer (or buffer),
+	// but hooks close() to write the buffered file and notify the annotation dispatch manager of the new unit.
 	private class ForwardingWriter extends Writer {
 		private final Writer _w;
-		ForwardingWriter(Writer w) {
+		private final boolean _buffered;
+		ForwardingWriter(Writer w, boolean buffered) {
 			this._w = w;
+			this._buffered = buffered;
 		}
 		@Override
 		public Writer append(char c) throws IOException {
@@ -62,6 +71,8 @@ public class HookedJavaFileObject extends
 		@Override
 		public void close() throws IOException {
 			this._w.close();
+			if (this._buffered)
+				writeIfChanged(this._w.toString());
 			closed();
 		}
 		@Override
@@ -92,7 +103,7 @@ public class HookedJavaFileObject extends
 		}
 		@Override
 		protected Object clone() throws CloneNotSupportedException {
-			return new ForwardingWriter(this._w);
+			return new ForwardingWriter(this._w, this._buffered);
 		}
 		@Override
 		public int hashCode() {
@@ -120,18 +131,22 @@ public class HookedJavaFileObject extends
 		}
 	}
 
-	// A delegating Writer that passes all commands to its contained Writer,
-	// but hooks close() to notify the annotation dispatch manager of the new unit.
+	// A delegating OutputStream that passes all commands to its contained OutputStream (or buffer),
+	// but hooks close() to write the buffered file and notify the annotation dispatch manager of the new unit.
 	private class ForwardingOutputStream extends OutputStream {
 		private final OutputStream _os;
+		private final boolean _buffered;
 
-		ForwardingOutputStream(OutputStream os) {
+		ForwardingOutputStream(OutputStream os, boolean buffered) {
 			this._os = os;
+			this._buffered = buffered;
 		}
 
 		@Override
 		public void close() throws IOException {
 			this._os.close();
+			if (this._buffered)
+				writeIfChanged(((ByteArrayOutputStream) this._os).toByteArray());
 			closed();
 		}
 		@Override
@@ -152,7 +167,7 @@ public class HookedJavaFileObject extends
 		}
 		@Override
 		protected Object clone() throws CloneNotSupportedException {
-			return new ForwardingOutputStream(this._os);
+			return new ForwardingOutputStream(this._os, this._buffered);
 		}
 		@Override
 		public int hashCode() {
@@ -217,13 +232,42 @@ public class HookedJavaFileObject extends
 	@SuppressWarnings("resource") // ForwardingOutputStream forwards close() too
 	@Override
 	public OutputStream openOutputStream() throws IOException {
-		return new ForwardingOutputStream(super.openOutputStream());
+		if (this._filer._incrementalState == null)
+			return new ForwardingOutputStream(super.openOutputStream(), false);
+		return new ForwardingOutputStream(new ByteArrayOutputStream(), true);
 	}
 
 	@SuppressWarnings("resource") // ForwardingWriter forwards close() too
 	@Override
 	public Writer openWriter() throws IOException {
-		return new ForwardingWriter(super.openWriter());
+		if (this._filer._incrementalState == null)
+			return new ForwardingWriter(super.openWriter(), false);
+		return new ForwardingWriter(new StringWriter(), true);
+	}
+
+	private void writeIfChanged(String content) throws IOException {
+		try {
+			CharSequence existing = super.getCharContent(false);
+			if (existing != null && content.contentEquals(existing))
+				return;
+		} catch (IOException | UnsupportedOperationException e) {
+			// not written yet
+		}
+		try (Writer writer = super.openWriter()) {
+			writer.write(content);
+		}
+	}
+
+	private void writeIfChanged(byte[] content) throws IOException {
+		try (InputStream input = super.openInputStream()) {
+			if (Arrays.equals(input.readAllBytes(), content))
+				return;
+		} catch (IOException | UnsupportedOperationException e) {
+			// not written yet
+		}
+		try (OutputStream output = super.openOutputStream()) {
+			output.write(content);
+		}
 	}
 
 	protected void closed() {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2007 BEA Systems, Inc.
+ * Copyright (c) 2006, 2026 BEA Systems, Inc.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,6 +17,7 @@ package org.eclipse.jdt.internal.compiler.apt.dispatch;
 
 import java.util.List;
 import javax.annotation.processing.Processor;
+import javax.annotation.processing.RoundEnvironment;
 import org.eclipse.jdt.core.compiler.CompilationProgress;
 
 /**
@@ -48,4 +49,20 @@ public interface IProcessorProvider {
 	void reportProcessorException(Processor p, Exception e);
 
 	CompilationProgress getCompilationProgress();
+
+	/**
+	 * Called before a processor is asked to process a round.
+	 *
+	 * @return the view of the round that is passed to the processor
+	 */
+	default RoundEnvironment beginProcessing(ProcessorInfo pi, RoundEnvironment roundEnv) {
+		return roundEnv;
+	}
+
+	/**
+	 * Called after a processor processed a round, even if it failed.
+	 */
+	default void endProcessing(ProcessorInfo pi) {
+		// nothing by default
+	}
 }
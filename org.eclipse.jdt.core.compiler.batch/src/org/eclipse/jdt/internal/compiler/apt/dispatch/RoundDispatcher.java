@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2015 BEA Systems, Inc.
+ * Copyright (c) 2006, 2026 BEA Systems, Inc.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -147,7 +147,12 @@ public class RoundDispatcher {
 					}
 					progress.setTaskName(Messages.bind(Messages.apt_processing, pi._processor.getClass().getName()));
 				}
-				boolean claimed = pi._processor.process(annotationsToProcess, this._roundEnv);
+				boolean claimed;
+				try {
+					claimed = pi._processor.process(annotationsToProcess, this._provider.beginProcessing(pi, this._roundEnv));
+				} finally {
+					this._provider.endProcessing(pi);
+				}
 				if (null != this._traceProcessorInfo && !this._roundEnv.processingOver()) {
 					StringBuilder sb = new StringBuilder();
 					sb.append("Processor "); //$NON-NLS-1$
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -20,8 +20,6 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
-import java.util.Enumeration;
-import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
@@ -39,11 +37,11 @@ import org.eclipse.jdt.internal.compiler.env.IModule;
 import org.eclipse.jdt.internal.compiler.env.NameEnvironmentAnswer;
 import org.eclipse.jdt.internal.compiler.lookup.BinaryTypeBinding.ExternalAnnotationStatus;
 import org.eclipse.jdt.internal.compiler.lookup.TypeConstants;
+import org.eclipse.jdt.internal.compiler.util.ArchiveIndex;
 import org.eclipse.jdt.internal.compiler.util.ManifestAnalyzer;
 import org.eclipse.jdt.internal.compiler.util.SuffixConstants;
-import org.eclipse.jdt.internal.compiler.util.Util;
 
-@SuppressWarnings({"rawtypes", "unchecked"})
+@SuppressWarnings("rawtypes")
 public class ClasspathJar extends ClasspathLocation {
 
 protected File file;
@@ -51,6 +49,7 @@ protected ZipFile zipFile;
 protected ZipFile annotationZipFile;
 protected boolean closeZipFileAtEnd;
 protected Set<String> packageCache;
+protected ArchiveIndex archiveIndex;
 protected List<String> annotationPaths;
 
 public ClasspathJar(File file, boolean closeZipFileAtEnd,
@@ -159,33 +158,20 @@ public boolean hasAnnotationFileFor(String qualifiedTypeName) {
 public char[][][] findTypeNames(final String qualifiedPackageName, String moduleName) {
 	if (!isPackage(qualifiedPackageName, moduleName))
 		return null; // most common case
-	final char[] packageArray = qualifiedPackageName.toCharArray();
-	final ArrayList answers = new ArrayList();
-	nextEntry : for (Enumeration<? extends ZipEntry> e = this.zipFile.entries(); e.hasMoreElements(); ) {
-		String fileName = e.nextElement().getName();
-
-		// add the package name & all of its parent packages
-		int last = fileName.lastIndexOf('/');
-		if (last > 0) {
-			// extract the package name
-			String packageName = fileName.substring(0, last);
-			if (!qualifiedPackageName.equals(packageName))
-				continue nextEntry;
-			int indexOfDot = fileName.lastIndexOf('.');
-			if (indexOfDot != -1) {
-				String typeName = fileName.substring(last + 1, indexOfDot);
-				answers.add(
-					CharOperation.arrayConcat(
-						CharOperation.splitOn('/', packageArray),
-						typeName.toCharArray()));
-			}
+	String[] fileNames = getArchiveIndex().getFileNames(qualifiedPackageName);
+	if (fileNames == null)
+		return null;
+	final char[][] packageArray = CharOperation.splitOn('/', qualifiedPackageName.toCharArray());
+	final ArrayList<char[][]> answers = new ArrayList<>();
+	for (String fileName : fileNames) {
+		int indexOfDot = fileName.lastIndexOf('.');
+		if (indexOfDot != -1) {
+			answers.add(CharOperation.arrayConcat(packageArray, fileName.substring(0, indexOfDot).toCharArray()));
 		}
 	}
 	int size = answers.size();
 	if (size != 0) {
-		char[][][] result = new char[size][][];
-		answers.toArray(result);
-		return result;
+		return answers.toArray(new char[size][][]);
 	}
 	return null;
 }
@@ -230,41 +216,34 @@ public synchronized char[][] getModulesDeclaringPackage(String qualifiedPackageN
 	if (this.packageCache != null)
 		return singletonModuleNameIf(this.packageCache.contains(qualifiedPackageName));
 
-	this.packageCache = new HashSet<>(41);
-	this.packageCache.add(Util.EMPTY_STRING);
-
-	for (Enumeration<? extends ZipEntry> e = this.zipFile.entries(); e.hasMoreElements(); ) {
-		String fileName = e.nextElement().getName();
-		addToPackageCache(fileName, false);
-	}
+	this.packageCache = getArchiveIndex().getPackageNames();
 	return singletonModuleNameIf(this.packageCache.contains(qualifiedPackageName));
 }
-@Override
-public boolean hasCompilationUnit(String qualifiedPackageName, String moduleName) {
-	qualifiedPackageName += '/';
-	for (Enumeration<? extends ZipEntry> e = this.zipFile.entries(); e.hasMoreElements(); ) {
-		String fileName = e.nextElement().getName();
-		if (fileName.startsWith(qualifiedPackageName) && fileName.length() > qualifiedPackageName.length()) {
-			String tail = fileName.substring(qualifiedPackageName.length());
-			if (tail.indexOf('/') != -1)
-				continue;
-			if (tail.toLowerCase().endsWith(SUFFIX_STRING_class))
-				return true;
+/**
+ * Answers the shared index of the entries of the jar, or an empty index if it cannot be read.
+ */
+protected ArchiveIndex getArchiveIndex() {
+	if (this.archiveIndex == null) {
+		try {
+			this.archiveIndex = ArchiveIndex.get(this.file);
+		} catch (IOException e) {
+			this.archiveIndex = ArchiveIndex.EMPTY; // treat as an empty jar
 		}
 	}
-	return false;
+	return this.archiveIndex;
+}
+@Override
+public boolean hasCompilationUnit(String qualifiedPackageName, String moduleName) {
+	return getArchiveIndex().containsClassFile(qualifiedPackageName);
 }
 
 @Override
 public char[][] listPackages() {
-	Set<String> packageNames = new HashSet<>();
-	for (Enumeration<? extends ZipEntry> e = this.zipFile.entries(); e.hasMoreElements(); ) {
-		String fileName = e.nextElement().getName();
-		int lastSlash = fileName.lastIndexOf('/');
-		if (lastSlash != -1 && fileName.toLowerCase().endsWith(SUFFIX_STRING_class))
-			packageNames.add(fileName.substring(0, lastSlash).replace('/', '.'));
-	}
-	return packageNames.stream().map(String::toCharArray).toArray(char[][]::new);
+	ArchiveIndex index = getArchiveIndex();
+	return index.getPackageNames().stream()
+			.filter(packageName -> !packageName.isEmpty() && index.containsClassFile(packageName))
+			.map(packageName -> packageName.replace('/', '.').toCharArray())
+			.toArray(char[][]::new);
 }
 
 @Override
@@ -289,6 +268,7 @@ public void reset() {
 		}
 	}
 	this.packageCache = null;
+	this.archiveIndex = null;
 	this.annotationPaths = null;
 }
 @Override
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019, 2022 IBM Corporation.
+ * Copyright (c) 2019, 2026 IBM Corporation.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v2.0
  * which accompanies this distribution, and is available at
@@ -43,6 +43,7 @@ import org.eclipse.jdt.internal.compiler.util.Util;
 public class ClasspathJep247Jdk12 extends ClasspathJep247 {
 
 	Map<String, IModule> modules;
+	CtSym ctSym;
 	static String MODULE_INFO = "module-info.sig"; //$NON-NLS-1$
 
 	public ClasspathJep247Jdk12(File jdkHome, String release, AccessRuleSet accessRuleSet) {
@@ -67,7 +68,15 @@ public class ClasspathJep247Jdk12 extends ClasspathJep247 {
 			byte[] content = null;
 			char[] foundModName = null;
 			qualifiedBinaryFileName = qualifiedBinaryFileName.replace(".class", ".sig"); //$NON-NLS-1$ //$NON-NLS-2$
-			if (this.subReleases != null && this.subReleases.length > 0) {
+			if (this.ctSym != null) {
+				// the signature files of the release are indexed once, see CtSym#getFullPath()
+				p = this.ctSym.getFullPath(this.releaseInHex, qualifiedBinaryFileName, moduleName);
+				if (p != null) {
+					content = this.ctSym.getFileBytes(p);
+					if (moduleName == null && p.getNameCount() > 2)
+						foundModName = JRTUtil.sanitizedFileName(p.getName(1)).toCharArray();
+				}
+			} else if (this.subReleases != null && this.subReleases.length > 0) {
 				done: for (String rel : this.subReleases) {
 					if (moduleName == null) {
 						p = this.fs.getPath(rel);
@@ -126,6 +135,11 @@ public class ClasspathJep247Jdk12 extends ClasspathJep247 {
 		if (!Files.exists(this.fs.getPath(this.releaseInHex))) {
 			throw new IllegalArgumentException("release " + this.compliance + " is not found in the system");  //$NON-NLS-1$//$NON-NLS-2$
 		}
+		if (!CtSym.DISABLE_CACHE) {
+			CtSym sym = JRTUtil.getCtSym(this.jdkHome.toPath());
+			if (sym.isJRE12Plus())
+				this.ctSym = sym;
+		}
 		List<String> sub = new ArrayList<>();
 		try (DirectoryStream<java.nio.file.Path> stream = Files.newDirectoryStream(this.releasePath)) {
 			for (final java.nio.file.Path subdir: stream) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2025 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -86,6 +86,7 @@ import org.eclipse.jdt.internal.compiler.problem.DefaultProblem;
 import org.eclipse.jdt.internal.compiler.problem.DefaultProblemFactory;
 import org.eclipse.jdt.internal.compiler.problem.ProblemReporter;
 import org.eclipse.jdt.internal.compiler.problem.ProblemSeverities;
+import org.eclipse.jdt.internal.compiler.util.ArchiveWriter;
 import org.eclipse.jdt.internal.compiler.util.GenericXMLWriter;
 import org.eclipse.jdt.internal.compiler.util.HashtableOfInt;
 import org.eclipse.jdt.internal.compiler.util.HashtableOfObject;
@@ -1341,7 +1342,8 @@ public class Main implements ProblemSeverities, SuffixConstants {
 	//          source files;
 	// == Main.NONE: absorbent element, do not output class files;
 	// else: use as the path of the directory into which class files must
-	//       be written.
+	//       be written, or of the jar or zip archive (see ArchiveWriter).
+	private Map<String, ArchiveWriter> outputArchives; // destination path -> archive writer, or null if a directory
 	protected boolean enablePreview;
 	protected String releaseVersion;
 	private boolean didSpecifySource;
@@ -1650,6 +1652,43 @@ public String bind(String id, String[] arguments) {
 	return MessageFormat.format(message, (Object[]) arguments);
 }
 
+/*
+ * Answers the writer of the archive into which class files of the given destination path
+ * must be written, or null if it is a directory.
+ */
+@SuppressWarnings("resource") // the writers are owned by outputArchives and closed by closeOutputArchives()
+private ArchiveWriter getOutputArchive(String outputPath) throws IOException {
+	if (this.outputArchives == null) {
+		this.outputArchives = new HashMap<>();
+	}
+	ArchiveWriter archive = this.outputArchives.get(outputPath);
+	if (archive == null && !this.outputArchives.containsKey(outputPath)) {
+		archive = ArchiveWriter.isArchive(outputPath) ? new ArchiveWriter(new File(outputPath)) : null;
+		this.outputArchives.put(outputPath, archive);
+	}
+	return archive;
+}
+private void validateArchiveDestination(String outputPath) {
+	if (outputPath != null && ArchiveWriter.isArchive(outputPath)) {
+		throw new IllegalArgumentException(
+			this.bind("configure.archiveDestinationWithProcessing", outputPath)); //$NON-NLS-1$
+	}
+}
+private void closeOutputArchives() {
+	if (this.outputArchives == null)
+		return;
+	for (ArchiveWriter archive : this.outputArchives.values()) {
+		if (archive == null)
+			continue;
+		try {
+			archive.close();
+		} catch (IOException e) {
+			File file = archive.getFile();
+			this.logger.logNoClassFileCreated(String.valueOf(file.getAbsoluteFile().getParent()), file.getName(), e);
+		}
+	}
+	this.outputArchives = null;
+}
 /*
  *  Low-level API performing the actual compilation
  */
@@ -2952,6 +2991,13 @@ public void configure(String[] argv) {
 	// see bug https://bugs.eclipse.org/bugs/show_bug.cgi?id=185768
 	if (!disableAnnotationProcessing) {
 		this.options.put(CompilerOptions.OPTION_Process_Annotations, CompilerOptions.ENABLED);
+		// annotation processors write their outputs as files of the destination directories
+		validateArchiveDestination(this.destinationPath);
+		if (this.destinationPaths != null) {
+			for (String path : this.destinationPaths) {
+				validateArchiveDestination(path);
+			}
+		}
 	}
 
 	this.logger.logCommandLineArguments(newCommandLineArgs);
@@ -4647,6 +4693,12 @@ public void outputClassFiles(CompilationResult unitResult) {
 			generateClasspathStructure = true;
 		} // else leave currentDestinationPath null
 		if (currentDestinationPath != null) {
+			if (generateClasspathStructure && ArchiveWriter.isArchive(currentDestinationPath)) {
+				// the class files of a unit come in no particular order (see CompilationResult#compiledTypes),
+				// write them in the order of their entry names so that the archive is reproducible
+				Arrays.sort(classFiles, Comparator.comparing(
+						(ClassFile classFile) -> new String(classFile.fileName()) + SuffixConstants.SUFFIX_STRING_class));
+			}
 			for (ClassFile classFile : classFiles) {
 				char[] filename = classFile.fileName();
 				int length = filename.length;
@@ -4664,11 +4716,17 @@ public void outputClassFiles(CompilationResult unitResult) {
 									String.valueOf(this.exportedClassFilesCounter+1),
 									relativeStringName
 								}));
-					Util.writeToDisk(
-						generateClasspathStructure,
-						currentDestinationPath,
-						relativeStringName,
-						classFile);
+					@SuppressWarnings("resource") // closed by closeOutputArchives()
+					ArchiveWriter archive = generateClasspathStructure ? getOutputArchive(currentDestinationPath) : null;
+					if (archive != null) {
+						archive.write(new String(filename) + SuffixConstants.SUFFIX_STRING_class, classFile);
+					} else {
+						Util.writeToDisk(
+							generateClasspathStructure,
+							currentDestinationPath,
+							relativeStringName,
+							classFile);
+					}
 					this.logger.logClassFile(
 						generateClasspathStructure,
 						currentDestinationPath,
@@ -4736,6 +4794,7 @@ public void performCompilation() {
 	}
 	finally {
 	// cleanup
+		closeOutputArchives();
 		environment.cleanup();
 	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2015 IBM Corporation and others.
+ * Copyright (c) 2006, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -19,13 +19,12 @@ import java.io.IOException;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Enumeration;
 import java.util.Hashtable;
 import java.util.List;
 import java.util.Set;
-import java.util.zip.ZipEntry;
 import java.util.zip.ZipException;
 import java.util.zip.ZipFile;
+import org.eclipse.jdt.internal.compiler.util.ArchiveIndex;
 import org.eclipse.jdt.internal.compiler.util.JRTUtil;
 
 /**
@@ -50,22 +49,16 @@ public class Archive implements Closeable {
 		initialize();
 	}
 
-	private void initialize() {
-		// initialize packages
+	private void initialize() throws IOException {
+		// initialize packages from the index shared with the other readers of the archive
 		this.packagesCache = new Hashtable<>();
-		for (Enumeration<? extends ZipEntry> e = this.zipFile.entries(); e.hasMoreElements(); ) {
-			String fileName = e.nextElement().getName();
-
-			// add the package name & all of its parent packages
-			int last = fileName.lastIndexOf('/');
-			// extract the package name
-			String packageName = fileName.substring(0, last + 1);
-			String typeName = fileName.substring(last + 1);
-			// might be empty if this is a directory entry
-			if (typeName.length() == 0) {
-				continue;
+		ArchiveIndex index = ArchiveIndex.get(this.file);
+		for (String packageName : index.getPackageNames()) {
+			// package names end with '/', except the default package
+			String key = packageName.isEmpty() ? packageName : packageName + '/';
+			for (String typeName : index.getFileNames(packageName)) {
+				cacheTypes(key, typeName);
 			}
-			cacheTypes(packageName, typeName);
 		}
 	}
 
@@ -92,7 +85,12 @@ public class Archive implements Closeable {
 
 	public Set<String> allPackages() {
 		if (this.packagesCache == null) {
-			this.initialize();
+			try {
+				this.initialize();
+			} catch (IOException e) {
+				reportReadError(e);
+				return Collections.emptySet();
+			}
 		}
 		return this.packagesCache.keySet();
 	}
@@ -108,21 +106,25 @@ public class Archive implements Closeable {
 		if (this.packagesCache == null) {
 			try {
 				this.zipFile = new ZipFile(this.file);
+				this.initialize();
 			} catch(IOException e) {
-				String error = "Failed to read types from archive " + this.file; //$NON-NLS-1$
-				if (JRTUtil.PROPAGATE_IO_ERRORS) {
-					throw new IllegalStateException(error, e);
-				} else {
-					System.err.println(error);
-					e.printStackTrace();
-				}
+				reportReadError(e);
 				return Collections.<String[]>emptyList();
 			}
-			this.initialize();
 		}
 		return this.packagesCache.get(packageName);
 	}
 
+	private void reportReadError(IOException e) {
+		String error = "Failed to read types from archive " + this.file; //$NON-NLS-1$
+		if (JRTUtil.PROPAGATE_IO_ERRORS) {
+			throw new IllegalStateException(error, e);
+		} else {
+			System.err.println(error);
+			e.printStackTrace();
+		}
+	}
+
 	public void flush() {
 		this.packagesCache = null;
 	}
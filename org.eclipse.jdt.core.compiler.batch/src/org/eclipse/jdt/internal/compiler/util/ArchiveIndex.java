@@ -0,0 +1,266 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.compiler.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.ref.SoftReference;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * The names of the entries of a zip archive, grouped by package.
+ * <p>
+ * The index is built once from the central directory at the end of the archive, without creating
+ * a {@link ZipEntry} for each entry, and is shared by all the readers of the archive (the classpath
+ * entries of the batch compiler and of the builder, the archives of the file manager) as long as
+ * the archive doesn't change and the memory is not needed. The contents of the entries are still
+ * read through {@link ZipFile}.
+ * </p>
+ * <p>
+ * The package of an entry is its path up to the last <code>'/'</code>, the default package being
+ * the empty string. The packages include all the parents of the packages of the entries and the
+ * directory entries, like the package caches built by the classpath entries of the archives.
+ * </p>
+ */
+public final class ArchiveIndex {
+
+	private static final String[] NO_FILES = new String[0];
+
+	/**
+	 * The index of an archive that cannot be read.
+	 */
+	public static final ArchiveIndex EMPTY = new ArchiveIndex(-1, -1, Map.of(Util.EMPTY_STRING, NO_FILES));
+
+	// signatures and offsets of the records of the central directory (see the zip file format specification)
+	private static final int END_SIG = 0x06054b50;
+	private static final int END_SIZE = 22;
+	private static final int END_MAX_COMMENT = 0xFFFF;
+	private static final int ZIP64_LOCATOR_SIG = 0x07064b50;
+	private static final int ZIP64_LOCATOR_SIZE = 20;
+	private static final int ZIP64_END_SIG = 0x06064b50;
+	private static final int ZIP64_END_SIZE = 56;
+	private static final int CEN_SIG = 0x02014b50;
+	private static final int CEN_SIZE = 46;
+
+	private static final Map<String, SoftReference<ArchiveIndex>> indexes = new ConcurrentHashMap<>();
+
+	private final long lastModified;
+	private final long size;
+	private final Map<String, String[]> packages; // package name -> sorted names of its files
+
+	private ArchiveIndex(long lastModified, long size, Map<String, String[]> packages) {
+		this.lastModified = lastModified;
+		this.size = size;
+		this.packages = packages;
+	}
+
+	/**
+	 * Answers the index of the given archive, reading its central directory if it was not indexed
+	 * yet or if it changed since.
+	 *
+	 * @throws IOException if the archive cannot be read
+	 */
+	public static ArchiveIndex get(File file) throws IOException {
+		BasicFileAttributes attributes = Files.readAttributes(file.toPath(), BasicFileAttributes.class);
+		long lastModified = attributes.lastModifiedTime().toMillis();
+		long size = attributes.size();
+		String key = file.getAbsolutePath();
+		SoftReference<ArchiveIndex> reference = indexes.get(key);
+		ArchiveIndex index = reference == null ? null : reference.get();
+		if (index != null && index.lastModified == lastModified && index.size == size) {
+			return index;
+		}
+		List<String> names = readEntryNames(file);
+		if (names == null) {
+			// not understood, let ZipFile read it
+			names = new ArrayList<>();
+			try (ZipFile zipFile = new ZipFile(file)) {
+				for (Enumeration<? extends ZipEntry> e = zipFile.entries(); e.hasMoreElements(); ) {
+					names.add(e.nextElement().getName());
+				}
+			}
+		}
+		index = new ArchiveIndex(lastModified, size, groupByPackage(names));
+		indexes.put(key, new SoftReference<>(index));
+		return index;
+	}
+
+	/**
+	 * Forgets the indexes of all the archives.
+	 */
+	public static void flush() {
+		indexes.clear();
+	}
+
+	/**
+	 * Answers whether the given package, whose segments are separated by <code>'/'</code>,
+	 * is a package of the archive.
+	 */
+	public boolean containsPackage(String packageName) {
+		return this.packages.containsKey(packageName);
+	}
+
+	/**
+	 * Answers the packages of the archive, whose segments are separated by <code>'/'</code>,
+	 * including the default package.
+	 */
+	public Set<String> getPackageNames() {
+		return this.packages.keySet();
+	}
+
+	/**
+	 * Answers the sorted simple names of the files of the given package, or <code>null</code>
+	 * if it is not a package of the archive. The answered array must not be modified.
+	 */
+	public String[] getFileNames(String packageName) {
+		return this.packages.get(packageName);
+	}
+
+	/**
+	 * Answers whether the given package contains at least one class file.
+	 */
+	public boolean containsClassFile(String packageName) {
+		String[] fileNames = this.packages.get(packageName);
+		if (fileNames == null) return false;
+		for (String fileName : fileNames) {
+			if (fileName.regionMatches(true, fileName.length() - SuffixConstants.SUFFIX_STRING_class.length(),
+					SuffixConstants.SUFFIX_STRING_class, 0, SuffixConstants.SUFFIX_STRING_class.length()))
+				return true;
+		}
+		return false;
+	}
+
+	private static Map<String, String[]> groupByPackage(List<String> names) {
+		Map<String, List<String>> filesByPackage = new HashMap<>();
+		filesByPackage.put(Util.EMPTY_STRING, new ArrayList<>());
+		for (String name : names) {
+			int last = name.lastIndexOf('/');
+			boolean isDirectory = last == name.length() - 1;
+			String packageName = last > 0 ? name.substring(0, last) : Util.EMPTY_STRING;
+			List<String> files = filesByPackage.get(packageName);
+			if (files == null) {
+				files = new ArrayList<>();
+				filesByPackage.put(packageName, files);
+				// add the parent packages
+				for (int end = packageName.lastIndexOf('/'); end > 0; end = packageName.lastIndexOf('/', end - 1)) {
+					if (filesByPackage.putIfAbsent(packageName.substring(0, end), new ArrayList<>()) != null)
+						break;
+				}
+			}
+			if (!isDirectory) {
+				files.add(name.substring(last + 1));
+			}
+		}
+		Map<String, String[]> packages = new HashMap<>((int) (filesByPackage.size() / 0.75f) + 1);
+		for (Map.Entry<String, List<String>> entry : filesByPackage.entrySet()) {
+			List<String> files = entry.getValue();
+			String[] fileNames = files.isEmpty() ? NO_FILES : files.toArray(new String[files.size()]);
+			Arrays.sort(fileNames);
+			packages.put(entry.getKey(), fileNames);
+		}
+		return Collections.unmodifiableMap(packages);
+	}
+
+	/*
+	 * Reads the names of the entries from the central directory of the given archive,
+	 * or answers null if the archive is not laid out as expected.
+	 */
+	private static List<String> readEntryNames(File file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			long fileSize = channel.size();
+			if (fileSize < END_SIZE) return null;
+
+			// find the end of central directory record, followed by the archive comment
+			int tailSize = (int) Math.min(fileSize, END_SIZE + END_MAX_COMMENT);
+			ByteBuffer tail = read(channel, fileSize - tailSize, tailSize);
+			int end = -1;
+			for (int i = tailSize - END_SIZE; i >= 0; i--) {
+				if (tail.getInt(i) == END_SIG && i + END_SIZE + (tail.getShort(i + 20) & 0xFFFF) == tailSize) {
+					end = i;
+					break;
+				}
+			}
+			if (end == -1) return null;
+			long entryCount = tail.getShort(end + 10) & 0xFFFF;
+			long cenSize = tail.getInt(end + 12) & 0xFFFFFFFFL;
+			long cenOffset = tail.getInt(end + 16) & 0xFFFFFFFFL;
+			long endPosition = fileSize - tailSize + end;
+			if (entryCount == 0xFFFF || cenSize == 0xFFFFFFFFL || cenOffset == 0xFFFFFFFFL) {
+				// zip64 archive
+				if (endPosition < ZIP64_LOCATOR_SIZE) return null;
+				ByteBuffer locator = read(channel, endPosition - ZIP64_LOCATOR_SIZE, ZIP64_LOCATOR_SIZE);
+				if (locator.getInt(0) != ZIP64_LOCATOR_SIG) return null;
+				long zip64EndPosition = locator.getLong(8);
+				if (zip64EndPosition < 0 || zip64EndPosition + ZIP64_END_SIZE > fileSize) return null;
+				ByteBuffer zip64End = read(channel, zip64EndPosition, ZIP64_END_SIZE);
+				if (zip64End.getInt(0) != ZIP64_END_SIG) return null;
+				entryCount = zip64End.getLong(32);
+				cenSize = zip64End.getLong(40);
+				cenOffset = zip64End.getLong(48);
+				endPosition = zip64EndPosition;
+			}
+			// the central directory ends where its end record starts, data may be prepended to the archive (e.g. jmod files)
+			long cenStart = endPosition - cenSize;
+			if (cenStart < 0 || cenOffset > cenStart || cenSize > Integer.MAX_VALUE || entryCount > cenSize / CEN_SIZE)
+				return null; // corrupted
+
+			ByteBuffer cen = read(channel, cenStart, (int) cenSize);
+			List<String> names = new ArrayList<>((int) entryCount);
+			int position = 0;
+			byte[] bytes = cen.array();
+			for (long i = 0; i < entryCount; i++) {
+				if (position + CEN_SIZE > cenSize || cen.getInt(position) != CEN_SIG) return null;
+				int nameLength = cen.getShort(position + 28) & 0xFFFF;
+				int extraLength = cen.getShort(position + 30) & 0xFFFF;
+				int commentLength = cen.getShort(position + 32) & 0xFFFF;
+				if (position + CEN_SIZE + nameLength > cenSize) return null;
+				// ZipFile decodes all the names as UTF-8 by default
+				names.add(new String(bytes, position + CEN_SIZE, nameLength, StandardCharsets.UTF_8));
+				position += CEN_SIZE + nameLength + extraLength + commentLength;
+			}
+			return names;
+		}
+	}
+
+	private static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+		while (buffer.hasRemaining()) {
+			if (channel.read(buffer, position + buffer.position()) < 0)
+				throw new IOException("Unexpected end of archive"); //$NON-NLS-1$
+		}
+		return buffer;
+	}
+
+	@Override
+	public String toString() {
+		return "Archive index of " + this.packages.size() + " packages"; //$NON-NLS-1$ //$NON-NLS-2$
+	}
+}
@@ -0,0 +1,158 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.compiler.util;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.jar.Attributes;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.eclipse.jdt.internal.compiler.ClassFile;
+
+/**
+ * Writes class files into a jar or zip archive instead of one file per class in an output directory.
+ * <p>
+ * The entries are written in the order they are given, with the directory entries of their packages
+ * before them and the same fixed time for all, so that compiling the same units the same way produces
+ * the same archive. Jar archives start with a minimal manifest, as created by the <code>jar</code> tool.
+ * </p>
+ */
+public final class ArchiveWriter implements Closeable {
+
+	// the earliest time a zip entry can hold in all time zones, as used by reproducible builds
+	private static final LocalDateTime ENTRY_TIME = LocalDateTime.of(1980, 2, 1, 0, 0);
+
+	private final File file;
+	private final ZipOutputStream output;
+	private final Set<String> entryNames = new HashSet<>();
+
+	/**
+	 * Creates the given archive, replacing any existing file.
+	 *
+	 * @throws IOException if the archive cannot be created
+	 */
+	public ArchiveWriter(File file) throws IOException {
+		this.file = file;
+		File parent = file.getAbsoluteFile().getParentFile();
+		if (parent != null && !parent.exists() && !parent.mkdirs() && !parent.isDirectory()) {
+			throw new IOException("Cannot create directory " + parent); //$NON-NLS-1$
+		}
+		this.output = new ZipOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+		if (hasExtension(file.getName(), ".jar")) { //$NON-NLS-1$
+			Manifest manifest = new Manifest();
+			manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0"); //$NON-NLS-1$
+			try {
+				putParentEntries(JarFile.MANIFEST_NAME);
+				putNextEntry(JarFile.MANIFEST_NAME);
+				manifest.write(this.output);
+				this.output.closeEntry();
+			} catch (IOException e) {
+				this.output.close();
+				throw e;
+			}
+		}
+	}
+
+	/**
+	 * Answers whether class files written to the given output path should go into an archive,
+	 * i.e. whether its name is the name of a jar or zip file and it is not an existing directory.
+	 */
+	public static boolean isArchive(String outputPath) {
+		return (hasExtension(outputPath, ".jar") || hasExtension(outputPath, ".zip")) //$NON-NLS-1$ //$NON-NLS-2$
+				&& !new File(outputPath).isDirectory();
+	}
+
+	private static boolean hasExtension(String name, String extension) {
+		return name.regionMatches(true, name.length() - extension.length(), extension, 0, extension.length());
+	}
+
+	/**
+	 * Answers the archive file.
+	 */
+	public File getFile() {
+		return this.file;
+	}
+
+	/**
+	 * Adds an entry with the given contents to the archive.
+	 *
+	 * @param entryName the name of the entry, whose segments are separated by <code>'/'</code>
+	 * @throws IOException if the entry cannot be written, or if it was already written
+	 */
+	public synchronized void write(String entryName, byte[] contents) throws IOException {
+		if (this.entryNames.contains(entryName)) {
+			throw new IOException("Duplicate entry " + entryName + " in " + this.file); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		putParentEntries(entryName);
+		putNextEntry(entryName);
+		this.output.write(contents);
+		this.output.closeEntry();
+	}
+
+	/**
+	 * Adds an entry with the contents of the given class file to the archive.
+	 *
+	 * @param entryName the name of the entry, whose segments are separated by <code>'/'</code>
+	 * @throws IOException if the entry cannot be written, or if it was already written
+	 */
+	public synchronized void write(String entryName, ClassFile classFile) throws IOException {
+		if (this.entryNames.contains(entryName)) {
+			throw new IOException("Duplicate entry " + entryName + " in " + this.file); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		putParentEntries(entryName);
+		putNextEntry(entryName);
+		// same bytes as ClassFile.getBytes(), without copying them
+		this.output.write(classFile.header, 0, classFile.headerOffset);
+		this.output.write(classFile.contents, 0, classFile.contentsOffset);
+		this.output.closeEntry();
+	}
+
+	private void putParentEntries(String entryName) throws IOException {
+		int end = entryName.lastIndexOf('/');
+		if (end <= 0) return;
+		String directoryName = entryName.substring(0, end + 1);
+		if (this.entryNames.contains(directoryName)) return;
+		putParentEntries(directoryName.substring(0, end));
+		putNextEntry(directoryName);
+		this.output.closeEntry();
+	}
+
+	private void putNextEntry(String entryName) throws IOException {
+		ZipEntry entry = new ZipEntry(entryName);
+		entry.setTimeLocal(ENTRY_TIME);
+		this.output.putNextEntry(entry);
+		this.entryNames.add(entryName);
+	}
+
+	/**
+	 * Writes the central directory and closes the archive.
+	 */
+	@Override
+	public synchronized void close() throws IOException {
+		this.output.close();
+	}
+
+	@Override
+	public String toString() {
+		return "Archive writer for " + this.file; //$NON-NLS-1$
+	}
+}
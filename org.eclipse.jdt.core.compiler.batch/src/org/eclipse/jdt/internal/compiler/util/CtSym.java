@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2020, 2021 Andrey Loskutov and others.
+ * Copyright (c) 2020, 2026 Andrey Loskutov and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -25,11 +25,14 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.ProviderNotFoundException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
 
@@ -117,6 +120,25 @@ public class CtSym {
 	 */
 	private final Map<String, Map<String, Path>> allReleasesPaths = new ConcurrentHashMap<>();
 
+	/**
+	 * The directories of all packages in all release root directories, per release (versions encoded), read from
+	 * the {@link ArchiveIndex} of the ct.sym file. The first key is release code. The second key is the package
+	 * name, with the same module prefix rules as in {@link #allReleasesPaths}. The value lists the directories of
+	 * the package in the ct.sym file with the names of their files, e.g. java/lang -> [BCDEF/java.base/java/lang, ...].
+	 * An empty map means that the index could not be read and that {@link #allReleasesPaths} is used instead.
+	 */
+	private final Map<String, Map<String, List<PackageDirectory>>> allReleasesPackages = new ConcurrentHashMap<>();
+
+	private static final class PackageDirectory {
+		final String name;
+		final String[] fileNames;
+
+		PackageDirectory(String name, String[] fileNames) {
+			this.name = name;
+			this.fileNames = fileNames;
+		}
+	}
+
 	CtSym(Path jdkHome) throws IOException {
 		this.jdkHome = jdkHome;
 		this.ctSymFile = jdkHome.resolve("lib/ct.sym"); //$NON-NLS-1$
@@ -258,18 +280,17 @@ public class CtSym {
 			}
 			return null;
 		}
-		Map<String, Path> releasePaths = getCachedReleasePaths(releaseCode);
 		Path path;
 		if(moduleName != null) {
 			// Without this, org.eclipse.jdt.core.tests.model.ModuleBuilderTests.testConvertToModule() fails on 12+ JRE
-			path = releasePaths.get(moduleName + sep + qualifiedSignatureFileName);
+			path = getCachedPath(releaseCode, moduleName + sep + qualifiedSignatureFileName);
 
 			// Special handling of broken module schema in java 11 for compilation with --release 9 and --release 10
 			if(path == null && !this.isJRE12Plus() && ("A".equals(releaseCode) || "9".equals(releaseCode))){ //$NON-NLS-1$ //$NON-NLS-2$
-				path = releasePaths.get(qualifiedSignatureFileName);
+				path = getCachedPath(releaseCode, qualifiedSignatureFileName);
 			}
 		} else {
-			path = releasePaths.get(qualifiedSignatureFileName);
+			path = getCachedPath(releaseCode, qualifiedSignatureFileName);
 		}
 		if (VERBOSE) {
 			if (path != null) {
@@ -285,8 +306,7 @@ public class CtSym {
 		if (DISABLE_CACHE) {
 			return findModuleForFileInJre12plus(releaseCode, qualifiedSignatureFileName);
 		}
-		Map<String, Path> releasePaths = getCachedReleasePaths(releaseCode);
-		Path path = releasePaths.get(qualifiedSignatureFileName);
+		Path path = getCachedPath(releaseCode, qualifiedSignatureFileName);
 		if (path != null && path.getNameCount() > 2) {
 			// First segment is release, second: module
 			return path.getName(1).toString();
@@ -318,6 +338,82 @@ public class CtSym {
 		return null;
 	}
 
+	/**
+	 * @param binaryName the "full qualified binary name" of a file, with or without module as in {@link #allReleasesPaths}
+	 * @return the full path of the file in ct.sym or null if not found
+	 */
+	private Path getCachedPath(String releaseCode, String binaryName) {
+		Map<String, List<PackageDirectory>> releasePackages = getCachedReleasePackages(releaseCode);
+		if (releasePackages.isEmpty()) {
+			return getCachedReleasePaths(releaseCode).get(binaryName);
+		}
+		int lastSlash = binaryName.lastIndexOf('/');
+		String packageName = lastSlash == -1 ? Util.EMPTY_STRING : binaryName.substring(0, lastSlash);
+		List<PackageDirectory> directories = releasePackages.get(packageName);
+		if (directories != null) {
+			String fileName = binaryName.substring(lastSlash + 1);
+			for (PackageDirectory directory : directories) {
+				if (Arrays.binarySearch(directory.fileNames, fileName) >= 0) {
+					return this.root.resolve(directory.name + '/' + fileName);
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Populates {@link #allReleasesPackages} with the directories of all packages within each matching release
+	 * directory in ct.sym. Unlike {@link #getCachedReleasePaths(String)}, this only needs the index of the entries
+	 * of the ct.sym file and doesn't create a path for each file of the release, the zip filesystem is only used
+	 * to read the files which are actually looked up.
+	 * <p>
+	 * 12+: something like
+	 * <p>
+	 * java.base/javax/net/ssl -> [89ABC/java.base/javax/net/ssl]
+	 * <p> or
+	 * javax/net/ssl -> [89ABC/java.base/javax/net/ssl]
+	 * <p>
+	 * before 12: javax/net/ssl -> [89ABC/javax/net/ssl]
+	 */
+	private Map<String, List<PackageDirectory>> getCachedReleasePackages(String releaseCode) {
+		Map<String, List<PackageDirectory>> result = this.allReleasesPackages.computeIfAbsent(releaseCode, x -> {
+			ArchiveIndex index;
+			try {
+				index = ArchiveIndex.get(this.ctSymFile.toFile());
+			} catch (IOException e) {
+				// walk the release directories instead
+				return Collections.emptyMap();
+			}
+			Set<String> rootNames = new HashSet<>();
+			for (Path start : releaseRoots(releaseCode)) {
+				rootNames.add(JRTUtil.sanitizedFileName(start));
+			}
+			Map<String, List<PackageDirectory>> allReleasePackages = new HashMap<>();
+			for (String directoryName : index.getPackageNames()) {
+				int rootEnd = directoryName.indexOf('/');
+				if (rootEnd == -1 || !rootNames.contains(directoryName.substring(0, rootEnd))) {
+					continue;
+				}
+				String[] fileNames = index.getFileNames(directoryName);
+				if (fileNames.length == 0) {
+					continue;
+				}
+				PackageDirectory directory = new PackageDirectory(directoryName, fileNames);
+				String packageWithModule = directoryName.substring(rootEnd + 1);
+				if (isJRE12Plus()) {
+					// Don't use module name as part of the key
+					int moduleEnd = packageWithModule.indexOf('/');
+					String packageWithoutModule = moduleEnd == -1 ? Util.EMPTY_STRING : packageWithModule.substring(moduleEnd + 1);
+					allReleasePackages.computeIfAbsent(packageWithoutModule, p -> new ArrayList<>(2)).add(directory);
+				}
+				// For 12+, this is the extra key with module added, see getFullPath().
+				allReleasePackages.computeIfAbsent(packageWithModule, p -> new ArrayList<>(2)).add(directory);
+			}
+			return Collections.unmodifiableMap(allReleasePackages);
+		});
+		return result;
+	}
+
 	/**
 	 * Populates {@link #allReleasesPaths} with the paths of all files within each matching release directory in ct.sym.
 	 * This cache is an optimization to avoid excessive calls into the zip filesystem in
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2015, 2022 IBM Corporation.
+ * Copyright (c) 2015, 2026 IBM Corporation.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -62,6 +62,8 @@ public class JRTUtil {
 
 	static final SoftClassCache classCache = new SoftClassCache();
 
+	private static volatile Path metadataLocation = initialMetadataLocation();
+
 	public interface JrtFileVisitor<T> {
 
 		public default FileVisitResult visitPackage(T dir, T mod, BasicFileAttributes attrs) throws IOException {
@@ -197,6 +199,38 @@ public class JRTUtil {
 		return ctSym;
 	}
 
+	private static Path initialMetadataLocation() {
+		String location = System.getProperty("org.eclipse.jdt.jrt_metadata_dir"); //$NON-NLS-1$
+		if (location == null || location.isEmpty())
+			return null;
+		try {
+			return Path.of(location);
+		} catch (InvalidPathException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Sets the directory where the packages of the modules of the JDK images are saved, so that the next
+	 * JVMs don't need to read them from the images again, or <code>null</code> if they should not be saved.
+	 * The initial directory is given by the <code>org.eclipse.jdt.jrt_metadata_dir</code> system property.
+	 *
+	 * @return the previous directory, or <code>null</code> if the packages were not saved
+	 */
+	public static Path setMetadataLocation(Path location) {
+		Path previous = metadataLocation;
+		metadataLocation = location;
+		return previous;
+	}
+
+	/**
+	 * Answers the directory where the packages of the modules of the JDK images are saved,
+	 * or <code>null</code> if they are not saved (see {@link #setMetadataLocation(Path)}).
+	 */
+	static Path getMetadataLocation() {
+		return metadataLocation;
+	}
+
 	/** TEST ONLY (use when changing the "modules.to.load" property). */
 	public static void reset() {
 		images.clear();
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2015, 2024 IBM Corporation.
+ * Copyright (c) 2015, 2026 IBM Corporation.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -63,7 +63,10 @@ public class JrtFileSystem {
 		this.fs = JRTUtil.getJrtFileSystem(this.jdk.path);
 		this.modRoot = this.fs.getPath(JRTUtil.MODULES_SUBDIR);
 		// Set up the root directory where modules are located
-		walkJrtForModules();
+		if (!JrtMetadata.read(this.jdk, this.packageToModule, this.packageToModules)) {
+			walkJrtForModules();
+			JrtMetadata.write(this.jdk, this.packageToModule, this.packageToModules);
+		}
 	}
 
 	public List<String> getModulesDeclaringPackage(String qualifiedPackageName, String moduleName) {
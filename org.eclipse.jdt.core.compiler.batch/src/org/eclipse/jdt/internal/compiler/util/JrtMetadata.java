@@ -0,0 +1,165 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.compiler.util;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The packages of the modules of a JDK image, saved in a file per JDK so that the next JVMs
+ * don't walk the <code>/packages</code> directory of the image again (see {@link JrtFileSystem}).
+ * <p>
+ * The files are written in the directory given by {@link JRTUtil#setMetadataLocation(Path)}, or by the
+ * <code>org.eclipse.jdt.jrt_metadata_dir</code> system property, and nothing is saved if there is none.
+ * A file is only used if it was written by the same version of this class for the same JDK home
+ * and the same <code>lib/modules</code> image.
+ * </p>
+ * <p>
+ * The module descriptors are not saved: ClasspathJrt reads them from the image once per JDK and JVM,
+ * and keeps them in its modules cache, and the releases compiled against <code>ct.sym</code> read
+ * their own descriptors.
+ * </p>
+ */
+final class JrtMetadata {
+
+	private static final int MAGIC = 0x4A52544D; // JRTM
+	private static final int VERSION = 1;
+
+	private JrtMetadata() {
+		// static methods only
+	}
+
+	/**
+	 * Reads the packages of the given JDK into the given maps, as {@link JrtFileSystem#cachePackage(String, String)}
+	 * would have filled them.
+	 *
+	 * @return whether the packages were read
+	 */
+	static boolean read(Jdk jdk, Map<String, String> packageToModule, Map<String, List<String>> packageToModules) {
+		Path file = getFile(jdk);
+		if (file == null || !Files.isRegularFile(file)) return false;
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+			if (in.readInt() != MAGIC || in.readInt() != VERSION) return false;
+			if (!jdk.path.toString().equals(in.readUTF())) return false;
+			long[] image = readImageAttributes(jdk);
+			if (image == null || in.readLong() != image[0] || in.readLong() != image[1]) return false;
+			int packageCount = in.readInt();
+			Map<String, String> modules = new HashMap<>(packageCount);
+			Map<String, List<String>> multiModules = new HashMap<>();
+			for (int i = 0; i < packageCount; i++) {
+				String packageName = in.readUTF().intern();
+				int moduleCount = in.readInt();
+				if (moduleCount == 1) {
+					modules.put(packageName, in.readUTF().intern());
+				} else {
+					List<String> list = new ArrayList<>(moduleCount);
+					for (int j = 0; j < moduleCount; j++) {
+						list.add(in.readUTF().intern());
+					}
+					modules.put(packageName, JRTUtil.MULTIPLE);
+					multiModules.put(packageName, list);
+				}
+			}
+			packageToModule.putAll(modules);
+			packageToModules.putAll(multiModules);
+			return true;
+		} catch (IOException | RuntimeException e) {
+			// unreadable, walk the image again
+			return false;
+		}
+	}
+
+	/**
+	 * Saves the packages of the given JDK, ignoring any failure.
+	 */
+	static void write(Jdk jdk, Map<String, String> packageToModule, Map<String, List<String>> packageToModules) {
+		Path file = getFile(jdk);
+		if (file == null) return;
+		long[] image = readImageAttributes(jdk);
+		if (image == null) return;
+		Path temp = null;
+		try {
+			Files.createDirectories(file.getParent());
+			temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp"); //$NON-NLS-1$
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+				out.writeInt(MAGIC);
+				out.writeInt(VERSION);
+				out.writeUTF(jdk.path.toString());
+				out.writeLong(image[0]);
+				out.writeLong(image[1]);
+				out.writeInt(packageToModule.size());
+				for (Map.Entry<String, String> entry : packageToModule.entrySet()) {
+					out.writeUTF(entry.getKey());
+					if (entry.getValue() == JRTUtil.MULTIPLE) {
+						List<String> list = packageToModules.get(entry.getKey());
+						out.writeInt(list.size());
+						for (String module : list) {
+							out.writeUTF(module);
+						}
+					} else {
+						out.writeInt(1);
+						out.writeUTF(entry.getValue());
+					}
+				}
+			}
+			// other JVMs may read or write the same file at the same time
+			try {
+				Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+			}
+			temp = null;
+		} catch (IOException | RuntimeException e) {
+			// not saved, the image will be walked again by the next JVM
+		} finally {
+			if (temp != null) {
+				try {
+					Files.deleteIfExists(temp);
+				} catch (IOException e) {
+					// ignore
+				}
+			}
+		}
+	}
+
+	private static Path getFile(Jdk jdk) {
+		Path location = JRTUtil.getMetadataLocation();
+		if (location == null) return null;
+		return location.resolve("jrt-" + Integer.toHexString(jdk.path.toString().hashCode()) + ".metadata"); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	/*
+	 * The size and last modification time of the lib/modules image of the given JDK, or null if it has none.
+	 */
+	private static long[] readImageAttributes(Jdk jdk) {
+		try {
+			BasicFileAttributes attributes = Files.readAttributes(jdk.path.resolve("lib").resolve("modules"), BasicFileAttributes.class); //$NON-NLS-1$ //$NON-NLS-2$
+			return new long[] { attributes.size(), attributes.lastModifiedTime().toMillis() };
+		} catch (IOException e) {
+			return null;
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2023 Christoph Läubrich.
+ * Copyright (c) 2023, 2026 Christoph Läubrich and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,15 +16,24 @@ package org.eclipse.jdt.internal.compiler.util;
 import java.io.IOException;
 import java.lang.ref.SoftReference;
 import java.nio.file.Path;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Implements a soft cache for reading class files from disk, as these caches can grow quite large but data can be
  * recovered afterwards we only hold a soft reference to the bytes itself.
+ * <p>
+ * The classes of the few packages of <code>java.base</code> that nearly every compilation needs are held strongly,
+ * up to a small total size, so that they are not read again after the soft references were cleared.
+ * </p>
  */
 class SoftClassCache {
 
+	private static final Set<String> HOT_PACKAGES = Set.of("java/lang", "java/lang/annotation", "java/io", "java/util"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+	private static final long MAX_HOT_BYTES = 4 * 1024 * 1024;
+
 	private final ConcurrentMap<Path, JdkClasses> jdks = new ConcurrentHashMap<>();
 
 	void clear() {
@@ -35,16 +44,28 @@ class SoftClassCache {
 		return this.jdks.computeIfAbsent(jdk.path, JdkClasses::new).get(path);
 	}
 
+	/*
+	 * Whether the given path is the one of a class of java.base (e.g. /modules/java.base/java/lang/Object.class)
+	 * in one of the packages whose classes are held strongly.
+	 */
+	static boolean isHot(Path path) {
+		int count = path.getNameCount();
+		return count > 3
+				&& JRTUtil.JAVA_BASE.equals(path.getName(1).toString())
+				&& HOT_PACKAGES.contains(path.subpath(2, count - 1).toString());
+	}
+
 	private static final class JdkClasses {
 		private final ConcurrentMap<Path, ClassBytes> classes = new ConcurrentHashMap<>(10007);
 		private final Path jdkPath;
+		private final AtomicLong hotBytes = new AtomicLong();
 
 		public JdkClasses(Path jdkPath) {
 			this.jdkPath = jdkPath;
 		}
 
 		public byte[] get(Path path) throws IOException {
-			return this.classes.computeIfAbsent(path, ClassBytes::new).getBytes();
+			return this.classes.computeIfAbsent(path, p -> new ClassBytes(p, isHot(p) ? this.hotBytes : null)).getBytes();
 		}
 
 		@Override
@@ -55,17 +76,24 @@ class SoftClassCache {
 
 	private static final class ClassBytes {
 		private final Path path;
+		private final AtomicLong hotBytes; // null if the class is not held strongly
 		private volatile boolean empty;
 		private volatile SoftReference<byte[]> bytes;
+		private volatile byte[] strongBytes;
 
-		public ClassBytes(Path path) {
+		public ClassBytes(Path path, AtomicLong hotBytes) {
 			this.path = path;
+			this.hotBytes = hotBytes;
 		}
 
 		public byte[] getBytes() throws IOException {
 			if (this.empty) {
 				return null;
 			}
+			byte[] strong = this.strongBytes;
+			if (strong != null) {
+				return strong;
+			}
 			SoftReference<byte[]> reference = this.bytes;
 			if (reference != null) {
 				byte[] bs = reference.get();
@@ -78,6 +106,10 @@ class SoftClassCache {
 				this.empty = true;
 				return null;
 			}
+			if (this.hotBytes != null && this.hotBytes.addAndGet(readBytes.length) <= MAX_HOT_BYTES) {
+				this.strongBytes = readBytes;
+				return readBytes;
+			}
 			this.bytes = new SoftReference<>(readBytes);
 			return readBytes;
 		}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2021 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -542,6 +542,7 @@ public class BuilderTests extends TestCase {
 			GetResourcesTests.class,
 			FriendDependencyTests.class,
 			ReferenceCollectionTest.class,
+			ReferenceIndexTest.class,
 			StateTest.class,
 			CompressedWriterTest.class,
 			TestAttributeBuilderTests.class,
@@ -0,0 +1,166 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.core.tests.builder;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Random;
+import java.util.Set;
+import junit.framework.Test;
+import org.eclipse.jdt.core.compiler.CharOperation;
+import org.eclipse.jdt.internal.core.builder.ReferenceCollection;
+import org.eclipse.jdt.internal.core.builder.ReferenceIndex;
+
+public class ReferenceIndexTest extends BuilderTests {
+
+	public ReferenceIndexTest(String name) {
+		super(name);
+	}
+
+	public static Test suite() {
+		return buildTestSuite(ReferenceIndexTest.class);
+	}
+
+	private static class TestableReferenceCollection extends ReferenceCollection {
+		protected TestableReferenceCollection(char[][][] qualifiedNameReferences, char[][] simpleNameReferences,
+				char[][] rootReferences) {
+			super(qualifiedNameReferences, simpleNameReferences, rootReferences);
+		}
+	}
+
+	private static ReferenceCollection newCollection(String... qualifiedTypeNames) {
+		List<char[][]> qualifiedNames = new ArrayList<>();
+		List<char[]> simpleNames = new ArrayList<>();
+		List<char[]> rootNames = new ArrayList<>();
+		for (String qualifiedTypeName : qualifiedTypeNames) {
+			char[][] typeName = CharOperation.splitOn('.', qualifiedTypeName.toCharArray());
+			qualifiedNames.add(typeName);
+			qualifiedNames.add(CharOperation.subarray(typeName, 0, typeName.length - 1));
+			simpleNames.add(typeName[typeName.length - 1]);
+			rootNames.add(typeName[0]);
+		}
+		return new TestableReferenceCollection(
+				qualifiedNames.toArray(new char[qualifiedNames.size()][][]),
+				simpleNames.toArray(new char[simpleNames.size()][]),
+				rootNames.toArray(new char[rootNames.size()][]));
+	}
+
+	/*
+	 * The type locators of the given references whose collection includes the names of a change of the given type,
+	 * found as IncrementalImageBuilder#addAffectedSourceFiles() did before the references were indexed.
+	 */
+	private static List<String> scan(Map<String, ReferenceCollection> references, char[][][] qualifiedNames, char[][] simpleNames, char[][] rootNames) {
+		List<String> affected = new ArrayList<>();
+		for (Entry<String, ReferenceCollection> entry : references.entrySet()) {
+			if (entry.getValue().includes(qualifiedNames, simpleNames, rootNames))
+				affected.add(entry.getKey());
+		}
+		return affected;
+	}
+
+	private static List<String> query(ReferenceIndex index, Map<String, ReferenceCollection> references, char[][][] qualifiedNames, char[][] simpleNames, char[][] rootNames) {
+		List<String> affected = new ArrayList<>();
+		for (String typeLocator : index.getTypeLocators(simpleNames)) {
+			ReferenceCollection collection = references.get(typeLocator);
+			if (collection != null && collection.includes(qualifiedNames, simpleNames, rootNames))
+				affected.add(typeLocator);
+		}
+		return affected;
+	}
+
+	public void testGetTypeLocators() {
+		Map<String, ReferenceCollection> references = new LinkedHashMap<>();
+		references.put("src/p/A.java", newCollection("p.B", "q.C"));
+		references.put("src/p/B.java", newCollection("q.C"));
+		references.put("src/q/C.java", newCollection("p.A"));
+		ReferenceIndex index = new ReferenceIndex(references);
+
+		assertEquals("Unexpected locators", "[src/p/A.java, src/p/B.java]",
+				index.getTypeLocators(new char[][] {"C".toCharArray()}).toString());
+		assertEquals("Unexpected locators", "[src/p/A.java, src/q/C.java]",
+				index.getTypeLocators(new char[][] {"A".toCharArray(), "B".toCharArray()}).toString());
+		assertEquals("Unexpected locators", "[]",
+				index.getTypeLocators(new char[][] {"D".toCharArray()}).toString());
+
+		// the names of a recompiled type are added, its previous names are kept
+		ReferenceCollection collection = newCollection("r.D");
+		references.put("src/p/B.java", collection);
+		index.add("src/p/B.java", collection);
+		assertEquals("Unexpected locators", "[src/p/B.java]",
+				index.getTypeLocators(new char[][] {"D".toCharArray()}).toString());
+		assertEquals("Unexpected locators", "[src/p/A.java, src/p/B.java]",
+				index.getTypeLocators(new char[][] {"C".toCharArray()}).toString());
+
+		// only the current collections include the names
+		char[][][] qualifiedNames = ReferenceCollection.internQualifiedNames(Set.of("q", "q/C"));
+		char[][] simpleNames = ReferenceCollection.internSimpleNames(Set.of("C"), true);
+		char[][] rootNames = ReferenceCollection.internSimpleNames(Set.of("q"), false);
+		assertEquals("Unexpected affected locators", "[src/p/A.java]",
+				query(index, references, qualifiedNames, simpleNames, rootNames).toString());
+	}
+
+	/*
+	 * Checks that the types affected by the change of one type are the same whether they are found
+	 * by checking the collections of all the types, or of the types found in the index.
+	 */
+	public void testAffectedTypes() {
+		int typeCount = 2000, packageCount = 40, referencesPerType = 20, changeCount = 50;
+		Random random = new Random(4711);
+		Map<String, ReferenceCollection> references = new LinkedHashMap<>();
+		for (int i = 0; i < typeCount; i++) {
+			String[] typeNames = new String[referencesPerType];
+			for (int j = 0; j < referencesPerType; j++) {
+				int type = random.nextInt(typeCount);
+				typeNames[j] = "p" + (type % packageCount) + ".T" + type;
+			}
+			references.put("src/p" + (i % packageCount) + "/T" + i + ".java", newCollection(typeNames));
+		}
+		ReferenceIndex index = new ReferenceIndex(references);
+		for (int i = 0; i < changeCount; i++) {
+			int type = random.nextInt(typeCount);
+			String packageName = "p" + (type % packageCount);
+			char[][][] qualifiedNames = ReferenceCollection.internQualifiedNames(Set.of(packageName, packageName + "/T" + type));
+			char[][] simpleNames = ReferenceCollection.internSimpleNames(Set.of("T" + type), true);
+			char[][] rootNames = ReferenceCollection.internSimpleNames(Set.of(packageName), false);
+			assertEquals("Should find the same affected types",
+					scan(references, qualifiedNames, simpleNames, rootNames),
+					query(index, references, qualifiedNames, simpleNames, rootNames));
+		}
+	}
+
+	public void testStaleEntries() {
+		Map<String, ReferenceCollection> references = new LinkedHashMap<>();
+		references.put("src/p/A.java", newCollection("p.B", "q.C"));
+		references.put("src/p/B.java", newCollection("q.C"));
+		ReferenceIndex index = new ReferenceIndex(references);
+		assertFalse("Should not have stale entries", index.hasTooManyStaleEntries());
+
+		// A no longer refers to B and C
+		index.add("src/p/A.java", newCollection("q.D"));
+		assertTrue("Should have too many stale entries", index.hasTooManyStaleEntries());
+		index = new ReferenceIndex(references);
+
+		// a removed locator is still answered
+		index.remove("src/p/A.java");
+		assertEquals("Unexpected locators", "[src/p/A.java, src/p/B.java]",
+				index.getTypeLocators(new char[][] {"C".toCharArray()}).toString());
+		assertTrue("Should have too many stale entries", index.hasTooManyStaleEntries());
+		// its postings are live again once it is added back
+		index.add("src/p/A.java", newCollection("p.B", "q.C"));
+		assertFalse("Should not have stale entries", index.hasTooManyStaleEntries());
+	}
+}
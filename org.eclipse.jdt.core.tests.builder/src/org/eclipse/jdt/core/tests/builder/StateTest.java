@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019 Sebastian Zarnekow and others.
+ * Copyright (c) 2019, 2026 Sebastian Zarnekow and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -146,6 +146,39 @@ public class StateTest extends BuilderTests {
 
 		writeReadAndCompareTestBinaryLocations(project);
 	}
+
+	public void testReadStateDecodesReferencesLazily() throws JavaModelException, Exception {
+		IPath projectPath = env.addProject("Lazy"); //$NON-NLS-1$
+		env.addExternalJars(projectPath, Util.getJavaClassLibs());
+
+		env.addClass(projectPath, "a", "WithOther", //$NON-NLS-1$ //$NON-NLS-2$
+			"package a;\n" +
+			"class Other {\n" +
+			"}\n" +
+			"public class WithOther {\n" +
+			"	Other other;\n" +
+			"}" //$NON-NLS-1$
+		);
+		fullBuild();
+
+		IProject project = env.getProject(projectPath);
+		PerProjectInfo info = JavaModelManager.getJavaModelManager().getPerProjectInfoCheckExistence(project);
+		State savedState = (State) info.savedState;
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		JavaBuilder.writeState(savedState, new DataOutputStream(outputStream));
+		State readState = JavaBuilder.readState(project, new DataInputStream(new ByteArrayInputStream(outputStream.toByteArray())));
+		assertTrue("Read state should be saved", JavaBuilder.isStateSaved(readState));
+
+		Field referencesField = State.class.getDeclaredField("references");
+		referencesField.setAccessible(true);
+		assertNull("References should not be decoded yet", referencesField.get(readState));
+		assertTrue("Should be a known type", readState.isKnownType("a/Other"));
+		assertNull("References should not be decoded yet", referencesField.get(readState));
+
+		assertEquals(savedState.getReferences(), readState.getReferences());
+		assertNotNull("References should be decoded", referencesField.get(readState));
+		assertEquals(readState, savedState);
+	}
 	public void testSelfAnnotatedJars() throws CoreException, IOException {
 		// derived from the same named test in ExternalAnnotation18Test:
 		IPath projectPath = env.addProject("PrjTest", "1.8"); //$NON-NLS-1$
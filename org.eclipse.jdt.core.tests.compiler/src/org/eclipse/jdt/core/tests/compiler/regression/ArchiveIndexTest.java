@@ -0,0 +1,103 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.core.tests.compiler.regression;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.TreeSet;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.eclipse.jdt.core.tests.util.Util;
+import org.eclipse.jdt.internal.compiler.util.ArchiveIndex;
+
+public class ArchiveIndexTest extends AbstractRegressionTest {
+
+	public ArchiveIndexTest(String name) {
+		super(name);
+	}
+
+	private File createArchive(String name, byte[] prefix, String comment, String... entryNames) throws IOException {
+		File directory = new File(OUTPUT_DIR);
+		directory.mkdirs();
+		File file = new File(directory, name);
+		try (OutputStream out = new FileOutputStream(file)) {
+			out.write(prefix);
+			try (ZipOutputStream zip = new ZipOutputStream(out)) {
+				if (comment != null)
+					zip.setComment(comment);
+				for (String entryName : entryNames) {
+					zip.putNextEntry(new ZipEntry(entryName));
+					zip.write(entryName.getBytes());
+					zip.closeEntry();
+				}
+			}
+		}
+		return file;
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		ArchiveIndex.flush();
+		Util.flushDirectoryContent(new File(OUTPUT_DIR));
+		super.tearDown();
+	}
+
+	public void testPackages() throws IOException {
+		File file = createArchive("lib.jar", new byte[0], null,
+				"META-INF/MANIFEST.MF",
+				"p/",
+				"p/q/r/X.class",
+				"p/q/r/A.txt",
+				"p/Y.class",
+				"Z.class",
+				"empty/");
+		ArchiveIndex index = ArchiveIndex.get(file);
+		assertEquals("Unexpected packages",
+				"[, META-INF, empty, p, p/q, p/q/r]",
+				new TreeSet<>(index.getPackageNames()).toString());
+		assertEquals("Unexpected files", "[A.txt, X.class]", Arrays.toString(index.getFileNames("p/q/r")));
+		assertEquals("Unexpected files", "[Z.class]", Arrays.toString(index.getFileNames("")));
+		assertEquals("Unexpected files", "[]", Arrays.toString(index.getFileNames("p/q")));
+		assertNull("Unexpected files", index.getFileNames("q"));
+		assertTrue("Should contain class files", index.containsClassFile("p"));
+		assertFalse("Should not contain class files", index.containsClassFile("p/q"));
+		assertFalse("Should not contain class files", index.containsClassFile("empty"));
+		assertSame("Should be shared", index, ArchiveIndex.get(file));
+	}
+
+	public void testCommentAndPrefix() throws IOException {
+		File file = createArchive("lib.jmod", new byte[] {'J', 'M', 1, 0}, "some comment",
+				"classes/module-info.class",
+				"classes/p/X.class");
+		ArchiveIndex index = ArchiveIndex.get(file);
+		assertEquals("Unexpected packages",
+				"[, classes, classes/p]",
+				new TreeSet<>(index.getPackageNames()).toString());
+		assertEquals("Unexpected files", "[X.class]", Arrays.toString(index.getFileNames("classes/p")));
+	}
+
+	public void testChangedArchive() throws IOException {
+		File file = createArchive("lib.jar", new byte[0], null, "p/X.class");
+		ArchiveIndex index = ArchiveIndex.get(file);
+		assertTrue("Should contain p", index.containsPackage("p"));
+		file = createArchive("lib.jar", new byte[0], null, "q/X.class", "q/Y.class");
+		file.setLastModified(file.lastModified() + 2000);
+		index = ArchiveIndex.get(file);
+		assertFalse("Should not contain p", index.containsPackage("p"));
+		assertEquals("Unexpected files", "[X.class, Y.class]", Arrays.toString(index.getFileNames("q")));
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2024 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -636,7 +636,10 @@ public void test012(){
         "                       specify location for endorsed ZIP archives\n" +
         "    -d <dir>           destination directory (if omitted, no directory is\n" +
         "                       created); this option can be overridden per source\n" +
-        "                       directory\n" +
+        "                       directory. A path ending with .jar or .zip that is\n" +
+        "                       not an existing directory is written as an archive,\n" +
+        "                       which requires -proc:none (annotation processing is\n" +
+        "                       enabled by default)\n" +
         "    -d none            generate no .class files\n" +
         "    -encoding <enc>    specify default encoding for all source files. Each\n" +
         "                       file/directory can override it when suffixed with\n" +
@@ -739,6 +742,9 @@ public void test012(){
         "    -XprintProcessorInfo print information about which annotations and elements\n" +
         "                         a processor is asked to process\n" +
         "    -XprintRounds        print information about annotation processing rounds\n" +
+        "    -XaptState:<file>    keep the annotation processing state of the compilation\n" +
+        "                         in the given file, so that isolating processors skip\n" +
+        "                         unchanged source files in the next compilation\n" +
         "    -classNames <className1[,className2,...]>\n" +
         "                         qualified names of binary classes to process\n" +
         " \n" +
@@ -13528,4 +13534,282 @@ public void testIssue4768(){
 
 		true);
 }
+// class files written into a jar given as destination
+public void testJarOutput() throws IOException {
+	String[] files = new String[] {
+		"p/X.java",
+		"""
+		package p;
+		public class X {
+			class Inner {}
+		}
+		""",
+		"q/r/Y.java",
+		"""
+		package q.r;
+		public class Y extends p.X {}
+		""",
+	};
+	String jarPath = OUTPUT_DIR + File.separator + "bin" + File.separator + "out.jar";
+	String commandLine = "\"" + OUTPUT_DIR +  File.separator + "p" + File.separator + "X.java\""
+		+ " \"" + OUTPUT_DIR +  File.separator + "q" + File.separator + "r" + File.separator + "Y.java\""
+		+ " -1.8 -proc:none -d \"" + jarPath + "\"";
+	this.runConformTest(files, commandLine, "", "", true);
+	assertTrue("Should be a file", new File(jarPath).isFile());
+	StringBuilder entries = new StringBuilder();
+	try (java.util.zip.ZipFile zipFile = new java.util.zip.ZipFile(jarPath)) {
+		zipFile.stream().forEach(entry -> {
+			entries.append(entry.getName()).append('\n');
+			assertEquals("Unexpected time of " + entry.getName(),
+					java.time.LocalDateTime.of(1980, 2, 1, 0, 0), entry.getTimeLocal());
+		});
+	}
+	assertEquals("Unexpected entries",
+		"META-INF/\n" +
+		"META-INF/MANIFEST.MF\n" +
+		"p/\n" +
+		"p/X$Inner.class\n" +
+		"p/X.class\n" +
+		"q/\n" +
+		"q/r/\n" +
+		"q/r/Y.class\n",
+		entries.toString());
+	byte[] contents = java.nio.file.Files.readAllBytes(new File(jarPath).toPath());
+	this.runConformTest(files, commandLine, "", "", false);
+	assertTrue("Should be reproducible",
+			java.util.Arrays.equals(contents, java.nio.file.Files.readAllBytes(new File(jarPath).toPath())));
+}
+// annotation processors can't write into a jar given as destination, and annotation processing
+// is enabled by default: a jar destination needs -proc:none
+public void testJarOutputWithAnnotationProcessing() {
+	String jarPath = OUTPUT_DIR + File.separator + "bin" + File.separator + "out.jar";
+	String[] files = new String[] {
+		"p/X.java",
+		"""
+		package p;
+		public class X {}
+		""",
+	};
+	String commandLine = "\"" + OUTPUT_DIR +  File.separator + "p" + File.separator + "X.java\""
+		+ " -1.8 -d \"" + jarPath + "\"";
+	this.runNegativeTest(
+		files,
+		commandLine,
+		"",
+		"the archive destination ---OUTPUT_DIR_PLACEHOLDER---/bin/out.jar requires -proc:none: annotation processing is enabled by default, and annotation processors can only write into a destination directory\n",
+		true);
+	assertFalse("Should not be created", new File(jarPath).exists());
+
+	this.runConformTest(files, commandLine + " -proc:none", "", "", false);
+	assertTrue("Should be created", new File(jarPath).isFile());
+}
+// an isolating processor generating a source file for every type annotated with @gen.Gen,
+// and logging the simple names of these types
+private String createGenProcessorJar() throws IOException {
+	String jarPath = LIB_DIR + File.separator + "gen-processor.jar";
+	Util.createJar(
+		new String[] {
+			"gen/Gen.java",
+			"""
+			package gen;
+			public @interface Gen {}
+			""",
+			"gen/GenProcessor.java",
+			"""
+			package gen;
+			import java.io.FileWriter;
+			import java.io.IOException;
+			import java.io.Writer;
+			import java.util.Set;
+			import javax.annotation.processing.AbstractProcessor;
+			import javax.annotation.processing.RoundEnvironment;
+			import javax.annotation.processing.SupportedAnnotationTypes;
+			import javax.annotation.processing.SupportedOptions;
+			import javax.lang.model.SourceVersion;
+			import javax.lang.model.element.Element;
+			import javax.lang.model.element.TypeElement;
+			@SupportedAnnotationTypes("gen.Gen")
+			@SupportedOptions("log")
+			public class GenProcessor extends AbstractProcessor {
+				@Override
+				public SourceVersion getSupportedSourceVersion() {
+					return SourceVersion.latestSupported();
+				}
+				@Override
+				public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+					// not Gen.class, as the processor class loader may be closed by the time injected units are processed
+					for (TypeElement annotation : annotations) {
+						for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+							String name = element.getSimpleName() + "Gen";
+							try (Writer log = new FileWriter(this.processingEnv.getOptions().get("log"), true)) {
+								log.write(element.getSimpleName() + "\\n");
+							} catch (IOException e) {
+								throw new RuntimeException(e);
+							}
+							try (Writer writer = this.processingEnv.getFiler().createSourceFile(name, element).openWriter()) {
+								writer.write("public class " + name + " {}\\n");
+							} catch (IOException e) {
+								throw new RuntimeException(e);
+							}
+						}
+					}
+					return true;
+				}
+			}
+			"""
+		},
+		new String[] {
+			"META-INF/gradle/incremental.annotation.processors",
+			"gen.GenProcessor,isolating\n"
+		},
+		jarPath,
+		"1.8");
+	return jarPath;
+}
+private String aptStateCommandLine(String processorJar, String... fileNames) {
+	StringBuilder commandLine = new StringBuilder();
+	for (String fileName : fileNames) {
+		commandLine.append('"').append(OUTPUT_DIR).append(File.separator).append(fileName).append("\" ");
+	}
+	return commandLine
+		.append("-1.8 -cp \"").append(processorJar).append("\" -processorpath \"").append(processorJar)
+		.append("\" -processor gen.GenProcessor -Alog=\"").append(OUTPUT_DIR).append(File.separator).append("log.txt")
+		.append("\" -XaptState:\"").append(OUTPUT_DIR).append(File.separator).append("state").append(File.separator).append("apt.state")
+		.append("\" -s \"").append(OUTPUT_DIR).append(File.separator).append("gen-src")
+		.append("\" -d \"").append(OUTPUT_DIR).append(File.separator).append("bin").append('"')
+		.toString();
+}
+// the sorted simple names of the types processed since the last call
+private static String processedTypes() throws IOException {
+	File log = new File(OUTPUT_DIR, "log.txt");
+	if (!log.exists())
+		return "[]";
+	List<String> types = new java.util.ArrayList<>(java.nio.file.Files.readAllLines(log.toPath()));
+	log.delete();
+	java.util.Collections.sort(types);
+	return types.toString();
+}
+// a unit found on the source path while compiling waits for its annotation processing round,
+// so it sees the types generated for it
+public void testAnnotationProcessingOfInjectedUnit() throws IOException {
+	String processorJar = createGenProcessorJar();
+	this.runConformTest(
+		new String[] {
+			"X.java",
+			"public class X { Y y; }\n",
+			"src/Y.java",
+			"@gen.Gen public class Y { YGen gen; }\n"
+		},
+		"\"" + OUTPUT_DIR + File.separator + "X.java\""
+		+ " -1.8 -cp \"" + processorJar + "\" -processorpath \"" + processorJar
+		+ "\" -processor gen.GenProcessor -Alog=\"" + OUTPUT_DIR + File.separator + "log.txt"
+		+ "\" -sourcepath \"" + OUTPUT_DIR + File.separator + "src"
+		+ "\" -s \"" + OUTPUT_DIR + File.separator + "gen-src"
+		+ "\" -d \"" + OUTPUT_DIR + File.separator + "bin\"",
+		"",
+		"",
+		true);
+	assertEquals("Unexpected processed types", "[Y]", processedTypes());
+	assertTrue("Injected unit should be compiled", new File(OUTPUT_DIR, "bin" + File.separator + "Y.class").isFile());
+	assertTrue("Generated unit should be compiled", new File(OUTPUT_DIR, "bin" + File.separator + "YGen.class").isFile());
+}
+private static final String[] APT_STATE_FILES = {
+	"A.java",
+	"@gen.Gen public class A {}\n",
+	"B.java",
+	"@gen.Gen public class B extends C {}\n",
+	"C.java",
+	"public class C {}\n"
+};
+// an isolating processor does not see the unchanged files again, whose outputs are kept
+public void testAptStateSkipsUnchangedFile() throws IOException {
+	String processorJar = createGenProcessorJar();
+	String commandLine = aptStateCommandLine(processorJar, "A.java", "B.java", "C.java");
+	this.runConformTest(APT_STATE_FILES, commandLine, "", "", true);
+	assertEquals("Unexpected processed types", "[A, B]", processedTypes());
+
+	this.runConformTest(APT_STATE_FILES, commandLine, "", "", false);
+	assertEquals("Unchanged types should not be processed", "[]", processedTypes());
+	assertTrue("Kept output should be compiled", new File(OUTPUT_DIR, "bin" + File.separator + "AGen.class").isFile());
+	assertTrue("Kept output should be compiled", new File(OUTPUT_DIR, "bin" + File.separator + "BGen.class").isFile());
+
+	String[] files = APT_STATE_FILES.clone();
+	files[1] = "@gen.Gen public class A { int i; }\n";
+	this.runConformTest(files, commandLine, "", "", false);
+	assertEquals("Only the changed type should be processed", "[A]", processedTypes());
+}
+// a file is processed again when a type of its signatures changed
+public void testAptStateReprocessesChangedDependency() throws IOException {
+	String processorJar = createGenProcessorJar();
+	String commandLine = aptStateCommandLine(processorJar, "A.java", "B.java", "C.java");
+	this.runConformTest(APT_STATE_FILES, commandLine, "", "", true);
+	assertEquals("Unexpected processed types", "[A, B]", processedTypes());
+
+	String[] files = APT_STATE_FILES.clone();
+	files[5] = "public class C { void foo() {} }\n";
+	this.runConformTest(files, commandLine, "", "", false);
+	assertEquals("The subtype of the changed type should be processed", "[B]", processedTypes());
+
+	// the archives on the classpath are not tracked type by type
+	new File(processorJar).setLastModified(new File(processorJar).lastModified() - 10000);
+	this.runConformTest(files, commandLine, "", "", false);
+	assertEquals("All types should be processed after a change of the classpath", "[A, B]", processedTypes());
+}
+// a file is processed again when a type of the signatures of a type of its signatures changed
+public void testAptStateReprocessesIndirectDependency() throws IOException {
+	String processorJar = createGenProcessorJar();
+	String commandLine = aptStateCommandLine(processorJar, "A.java", "C.java", "D.java");
+	String[] files = {
+		"A.java",
+		"@gen.Gen public class A { C c; }\n",
+		"C.java",
+		"public class C { D d() { return null; } }\n",
+		"D.java",
+		"public class D {}\n"
+	};
+	this.runConformTest(files, commandLine, "", "", true);
+	assertEquals("Unexpected processed types", "[A]", processedTypes());
+
+	files[5] = "public class D { void foo() {} }\n";
+	this.runConformTest(files, commandLine, "", "", false);
+	assertEquals("The type depending on the changed type through C should be processed", "[A]", processedTypes());
+}
+// the outputs that were not generated again from their processed or deleted originating file are deleted
+public void testAptStateDeletesStaleOutput() throws IOException {
+	String processorJar = createGenProcessorJar();
+	this.runConformTest(APT_STATE_FILES, aptStateCommandLine(processorJar, "A.java", "B.java", "C.java"), "", "", true);
+	assertEquals("Unexpected processed types", "[A, B]", processedTypes());
+	File aGen = new File(OUTPUT_DIR, "gen-src" + File.separator + "AGen.java");
+	File bGen = new File(OUTPUT_DIR, "gen-src" + File.separator + "BGen.java");
+	assertTrue("Missing generated file", aGen.isFile());
+	assertTrue("Missing generated file", bGen.isFile());
+
+	String[] files = APT_STATE_FILES.clone();
+	files[1] = "public class A {}\n";
+	this.runConformTest(files, aptStateCommandLine(processorJar, "A.java", "B.java", "C.java"), "", "", false);
+	assertEquals("Unexpected processed types", "[]", processedTypes());
+	assertFalse("Stale generated file should be deleted", aGen.exists());
+	assertTrue("Kept generated file should not be deleted", bGen.isFile());
+
+	new File(OUTPUT_DIR, "B.java").delete();
+	this.runConformTest(new String[] {files[0], files[1], files[4], files[5]},
+			aptStateCommandLine(processorJar, "A.java", "C.java"), "", "", false);
+	assertFalse("Generated file of a deleted source should be deleted", bGen.exists());
+}
+// a generated file whose content did not change is not written again
+public void testAptStateKeepsIdenticalOutput() throws IOException {
+	String processorJar = createGenProcessorJar();
+	String commandLine = aptStateCommandLine(processorJar, "A.java", "B.java", "C.java");
+	this.runConformTest(APT_STATE_FILES, commandLine, "", "", true);
+	assertEquals("Unexpected processed types", "[A, B]", processedTypes());
+	File aGen = new File(OUTPUT_DIR, "gen-src" + File.separator + "AGen.java");
+	long timeStamp = 1000000000000L;
+	assertTrue("Time stamp should be set", aGen.setLastModified(timeStamp));
+
+	String[] files = APT_STATE_FILES.clone();
+	files[1] = "@gen.Gen public class A { /* changed */ }\n";
+	this.runConformTest(files, commandLine, "", "", false);
+	assertEquals("The changed type should be processed", "[A]", processedTypes());
+	assertEquals("Identical generated file should not be written again", timeStamp, aGen.lastModified());
+}
 }
\ No newline at end of file
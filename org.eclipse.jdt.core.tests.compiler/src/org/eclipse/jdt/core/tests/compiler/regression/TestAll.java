@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2025 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -91,6 +91,7 @@ public static Test suite() {
 	standardTests.add(LineNumberAttributeTest.class);
 	standardTests.add(ProgrammingProblemsTest.class);
 	standardTests.add(ManifestAnalyzerTest.class);
+	standardTests.add(ArchiveIndexTest.class);
 	standardTests.add(InitializationTests.class);
 	standardTests.add(ResourceLeakTests.class);
 	standardTests.add(PackageBindingTest.class);
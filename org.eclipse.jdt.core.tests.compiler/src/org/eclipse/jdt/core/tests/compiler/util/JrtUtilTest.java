@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2022, 2023 Andrey Loskutov, and others.
+ * Copyright (c) 2022, 2026 Andrey Loskutov, and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -18,11 +18,16 @@ import java.io.IOException;
 import java.net.URI;
 import java.nio.file.FileSystem;
 import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Stream;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.tests.junit.extension.TestCase;
 import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
 import org.eclipse.jdt.internal.compiler.util.JRTUtil;
+import org.eclipse.jdt.internal.compiler.util.JrtFileSystem;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -88,6 +93,40 @@ public class JrtUtilTest extends TestCase {
 		}
 	}
 
+	@Test
+	public void testSavedPackages() throws IOException {
+		Path location = Files.createTempDirectory("jrt-metadata");
+		Path previousLocation = JRTUtil.setMetadataLocation(location);
+		try {
+			JRTUtil.reset();
+			JrtFileSystem jrtSystem = JRTUtil.getJrtSystem(this.image, null);
+			List<String> modules = jrtSystem.getModulesDeclaringPackage("java.sql", null);
+			assertEquals("Unexpected modules", List.of("java.sql"), modules);
+			try (Stream<Path> files = Files.list(location)) {
+				assertEquals("Packages should be saved", 1, files.count());
+			}
+
+			// read back by the next file system
+			JRTUtil.reset();
+			JrtFileSystem jrtSystem2 = JRTUtil.getJrtSystem(this.image, null);
+			assertNotSame(jrtSystem, jrtSystem2);
+			assertEquals("Unexpected modules", modules, jrtSystem2.getModulesDeclaringPackage("java.sql", null));
+			assertEquals("Unexpected modules",
+					jrtSystem.getModulesDeclaringPackage("java.lang", null),
+					jrtSystem2.getModulesDeclaringPackage("java.lang", null));
+			assertTrue("Should have class files", jrtSystem2.hasClassFile("java/lang", "java.base"));
+		} finally {
+			JRTUtil.setMetadataLocation(previousLocation);
+			JRTUtil.reset();
+			try (Stream<Path> files = Files.list(location)) {
+				for (Path file : (Iterable<Path>) files::iterator) {
+					Files.delete(file);
+				}
+			}
+			Files.delete(location);
+		}
+	}
+
 	private static int getMajorVersionSegment(String releaseVersion) {
 		int dot = releaseVersion.indexOf('.');
 		if (dot > 0) {
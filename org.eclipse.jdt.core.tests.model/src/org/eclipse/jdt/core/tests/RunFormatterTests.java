@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2025 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -68,6 +68,7 @@ public class RunFormatterTests extends junit.framework.TestCase {
 		allClasses.add(FormatterJSR335Tests.class);
 		allClasses.add(FormatterJSR308Tests.class);
 		allClasses.add(FormatterBugs18Tests.class);
+		allClasses.add(CodeFormatterApplicationTests.class);
 		allClasses.addAll(TEST_SUITES);
 
 		// Reset forgotten subsets of tests
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2025 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,6 +14,9 @@
 package org.eclipse.jdt.core.tests.dom;
 
 import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -1447,6 +1450,235 @@ public void testGH3047_2() throws Exception {
 	parser.createASTs(paths, null, new String[] {}, new MyFileASTRequestor() {}, null);
 	assertEquals(expectedProblems, actualProblems);
 }
+public void testStreamingMode() throws Exception {
+	try {
+		createJavaProject("Streaming", new String[] {"src"}, new String[] {"CONVERTER_JCL18_LIB"}, "bin", "1.8");
+		createFolder("/Streaming/src/p");
+		createFile("/Streaming/src/p/A.java",
+				"""
+				package p;
+				public class A {
+					void m() {
+						int local = 0;
+					}
+				}"""
+			);
+		createFile("/Streaming/src/p/B.java",
+				"""
+				package p;
+				public class B extends A {
+				}"""
+			);
+		String[] paths = new String[] {
+			getWorkspacePath() + "Streaming/src/p/A.java",
+			getWorkspacePath() + "Streaming/src/p/B.java"
+		};
+		ASTParser parser = ASTParser.newParser(AST.getJLSLatest());
+		parser.setResolveBindings(true);
+		parser.setStreamingMode(true);
+		parser.setEnvironment(null, new String[] {getWorkspacePath() + "Streaming/src"}, null, true);
+		parser.setKind(ASTParser.K_COMPILATION_UNIT);
+		Map<String, String> keys = new HashMap<>();
+		List<WeakReference<CompilationUnit>> units = new ArrayList<>();
+		List<ITypeBinding> bindings = new ArrayList<>();
+		List<TypeDeclaration> lastType = new ArrayList<>();
+		parser.createASTs(paths, null, new String[0], new FileASTRequestor() {
+			@Override
+			public void acceptAST(String sourceFilePath, CompilationUnit cu) {
+				lastType.clear();
+				if (!units.isEmpty()) {
+					// only the bindings obtained from it are kept, which must not hold onto it
+					assertTrue("Previous AST should have been released", isCollected(units.get(units.size() - 1)));
+				}
+				TypeDeclaration type = (TypeDeclaration) cu.types().get(0);
+				ITypeBinding binding = type.resolveBinding();
+				assertNotNull("Binding should be resolved while the AST is reported", binding);
+				keys.put(binding.getName(), binding.getKey());
+				ITypeBinding superclass = binding.getSuperclass();
+				keys.put(binding.getName() + ".super", superclass == null ? null : superclass.getKey());
+				units.add(new WeakReference<>(cu));
+				bindings.add(binding);
+				lastType.add(type);
+			}
+		}, null);
+		assertEquals("Unexpected number of ASTs", 2, units.size());
+		assertEquals("Key of A should be stable across units", keys.get("A"), keys.get("B.super"));
+		assertEquals("Binding of A should stay valid", keys.get("A"), bindings.get(0).getKey());
+		assertNull("Binding should no longer be resolved once the AST was reported", lastType.get(0).resolveBinding());
+	} finally {
+		deleteProject("Streaming");
+	}
+}
+public void testParallelism() throws Exception {
+	try {
+		createJavaProject("Parallel", new String[] {"src"}, new String[] {"CONVERTER_JCL18_LIB"}, "bin", "1.8");
+		createFolder("/Parallel/src/p");
+		String[] paths = new String[40];
+		for (int i = 0; i < paths.length; i++) {
+			createFile("/Parallel/src/p/X" + i + ".java", "package p;\npublic class X" + i + " {\n}");
+			paths[i] = getWorkspacePath() + "Parallel/src/p/X" + i + ".java";
+		}
+		List<String> ordered = new java.util.ArrayList<>();
+		ASTParser parser = ASTParser.newParser(AST.getJLSLatest());
+		parser.setParallelism(4, true);
+		parser.setKind(ASTParser.K_COMPILATION_UNIT);
+		parser.createASTs(paths, null, new String[0], new FileASTRequestor() {
+			@Override
+			public void acceptAST(String sourceFilePath, CompilationUnit cu) {
+				ordered.add(sourceFilePath);
+				String name = ((TypeDeclaration) cu.types().get(0)).getName().getIdentifier();
+				assertTrue("Unexpected AST " + name + " for " + sourceFilePath, sourceFilePath.endsWith("/" + name + ".java"));
+			}
+		}, null);
+		assertEquals("ASTs should be reported in order", Arrays.asList(paths), ordered);
+
+		Set<String> unordered = java.util.Collections.synchronizedSet(new HashSet<>());
+		parser = ASTParser.newParser(AST.getJLSLatest());
+		parser.setParallelism(4, false);
+		parser.setKind(ASTParser.K_COMPILATION_UNIT);
+		parser.createASTs(paths, null, new String[0], new FileASTRequestor() {
+			@Override
+			public void acceptAST(String sourceFilePath, CompilationUnit cu) {
+				unordered.add(sourceFilePath);
+			}
+		}, null);
+		assertEquals("All ASTs should be reported", new HashSet<>(Arrays.asList(paths)), unordered);
+	} finally {
+		deleteProject("Parallel");
+	}
+}
+public void testLazyMethodBodies() throws Exception {
+	String source =
+			"""
+			public class X {
+				X() {
+					this(0);
+				}
+				X(int i) {
+					super();
+				}
+				int foo(int i) {
+					int j = i + 1, k = 2;
+					Runnable r = new Runnable() {
+						public void run() {
+							System.out.println(j);
+						}
+					};
+					return j * k;
+				}
+			}""";
+	ASTParser parser = ASTParser.newParser(AST.getJLSLatest());
+	parser.setKind(ASTParser.K_COMPILATION_UNIT);
+	parser.setSource(source.toCharArray());
+	CompilationUnit eager = (CompilationUnit) parser.createAST(null);
+
+	parser.setKind(ASTParser.K_COMPILATION_UNIT);
+	parser.setSource(source.toCharArray());
+	parser.setLazyMethodBodies(true);
+	CompilationUnit lazy = (CompilationUnit) parser.createAST(null);
+	long modificationCount = lazy.getAST().modificationCount();
+	MethodDeclaration foo = ((TypeDeclaration) lazy.types().get(0)).getMethods()[2];
+	List statements = foo.getBody().statements();
+	assertEquals("Unexpected number of statements", 3, statements.size());
+	assertTrue("Statements should be original nodes", (((ASTNode) statements.get(0)).getFlags() & ASTNode.ORIGINAL) != 0);
+	assertEquals("Converting a body should not modify the AST", modificationCount, lazy.getAST().modificationCount());
+	assertTrue("Lazy AST should match the eager one", lazy.subtreeMatch(new ASTMatcher(), eager));
+	assertEquals("Lazy AST should be printed as the eager one", eager.toString(), lazy.toString());
+}
+public void testLazyMethodBodiesComments() throws Exception {
+	String source =
+			"""
+			/* header */
+			public class X {
+				// leading foo
+				int foo(int i) {
+					// leading j
+					int j = i + 1; // trailing j
+					Runnable r = new Runnable() {
+						public void run() {
+							/* leading println */
+							System.out.println(j);
+						}
+					};
+					return j; // trailing return
+				}
+				/** bar */
+				void bar() {
+					foo(0); // trailing call
+				}
+			}""";
+	ASTParser parser = ASTParser.newParser(AST.getJLSLatest());
+	parser.setKind(ASTParser.K_COMPILATION_UNIT);
+	parser.setSource(source.toCharArray());
+	CompilationUnit eager = (CompilationUnit) parser.createAST(null);
+
+	parser.setKind(ASTParser.K_COMPILATION_UNIT);
+	parser.setSource(source.toCharArray());
+	parser.setLazyMethodBodies(true);
+	CompilationUnit lazy = (CompilationUnit) parser.createAST(null);
+	MethodDeclaration[] methods = ((TypeDeclaration) lazy.types().get(0)).getMethods();
+	assertFalse("Mapping the comments should not convert the body of foo()", isConverted(methods[0].getBody()));
+	assertFalse("Mapping the comments should not convert the body of bar()", isConverted(methods[1].getBody()));
+	assertEquals("Unexpected extended start of foo()", eager.getExtendedStartPosition(((TypeDeclaration) eager.types().get(0)).getMethods()[0]),
+			lazy.getExtendedStartPosition(methods[0]));
+	// the comments of the statements are mapped once converted
+	assertEquals("Unexpected extended ranges", extendedRanges(eager), extendedRanges(lazy));
+	assertTrue("The body of foo() should be converted", isConverted(methods[0].getBody()));
+}
+public void testLazyMethodBodiesSize() throws Exception {
+	String source =
+			"""
+			public class X {
+				int foo(int i) {
+					int j = i + 1;
+					return j * 2;
+				}
+			}""";
+	ASTParser parser = ASTParser.newParser(AST.getJLSLatest());
+	parser.setKind(ASTParser.K_COMPILATION_UNIT);
+	parser.setSource(source.toCharArray());
+	CompilationUnit eager = (CompilationUnit) parser.createAST(null);
+
+	parser.setKind(ASTParser.K_COMPILATION_UNIT);
+	parser.setSource(source.toCharArray());
+	parser.setLazyMethodBodies(true);
+	CompilationUnit lazy = (CompilationUnit) parser.createAST(null);
+	Block body = ((TypeDeclaration) lazy.types().get(0)).getMethods()[0].getBody();
+	assertTrue("Unconverted statements should not be counted", lazy.subtreeBytes() < eager.subtreeBytes());
+	assertFalse("Computing the size should not convert the body", isConverted(body));
+	body.statements();
+	assertEquals("Unexpected size once converted", eager.subtreeBytes(), lazy.subtreeBytes());
+}
+private static boolean isConverted(Block block) throws ReflectiveOperationException {
+	Field lazyStatements = Block.class.getDeclaredField("lazyStatements");
+	lazyStatements.setAccessible(true);
+	return lazyStatements.get(block) == null;
+}
+private static String extendedRanges(CompilationUnit unit) {
+	StringBuilder buffer = new StringBuilder();
+	unit.accept(new ASTVisitor(true) {
+		@Override
+		public void preVisit(ASTNode node) {
+			buffer.append(node.getClass().getSimpleName()).append('[')
+				.append(unit.getExtendedStartPosition(node)).append(", ")
+				.append(unit.getExtendedLength(node)).append(", ")
+				.append(unit.firstLeadingCommentIndex(node)).append(", ")
+				.append(unit.lastTrailingCommentIndex(node)).append("]\n");
+		}
+	});
+	return buffer.toString();
+}
+private static boolean isCollected(WeakReference<?> reference) {
+	for (int i = 0; i < 10 && reference.get() != null; i++) {
+		System.gc();
+		try {
+			Thread.sleep(10);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+	return reference.get() == null;
+}
 public void testGH3298() throws Exception {
 	Hashtable<String, String> options = JavaCore.getDefaultOptions();
 	options.put(JavaCore.COMPILER_COMPLIANCE, JavaCore.VERSION_9);
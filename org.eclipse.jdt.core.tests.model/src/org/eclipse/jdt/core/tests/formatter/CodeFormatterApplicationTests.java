@@ -0,0 +1,175 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.core.tests.formatter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.Properties;
+import junit.framework.TestCase;
+import org.eclipse.equinox.app.IApplication;
+import org.eclipse.equinox.app.IApplicationContext;
+import org.eclipse.jdt.core.formatter.CodeFormatterApplication;
+import org.eclipse.jdt.core.formatter.DefaultCodeFormatterConstants;
+import org.eclipse.jdt.core.tests.util.Util;
+
+/**
+ * Tests the <code>-threads</code>, <code>-cache</code> and <code>-check</code> modes of the
+ * command line formatter.
+ */
+public class CodeFormatterApplicationTests extends TestCase {
+
+	private static final String UNFORMATTED =
+		"package p;\n" +
+		"public class X%d {\n" +
+		"void foo( int i ){if(i>0){System.out.println( i );}}\n" +
+		"int bar(){return    %d;}\n" +
+		"}\n";
+
+	private File root;
+	private File configFile;
+
+	public CodeFormatterApplicationTests(String name) {
+		super(name);
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		this.root = Files.createTempDirectory("formatterApp").toFile().getCanonicalFile();
+		this.configFile = new File(this.root, "formatter.prefs");
+		Properties options = new Properties();
+		options.putAll(DefaultCodeFormatterConstants.getEclipseDefaultSettings());
+		try (OutputStream stream = new FileOutputStream(this.configFile)) {
+			options.store(stream, null);
+		}
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		Util.delete(this.root);
+		super.tearDown();
+	}
+
+	private File createSources(String folderName, int count) throws IOException {
+		File folder = new File(this.root, folderName);
+		folder.mkdirs();
+		for (int i = 0; i < count; i++) {
+			writeFile(new File(folder, "X" + i + ".java"), String.format(UNFORMATTED, Integer.valueOf(i), Integer.valueOf(i)));
+		}
+		return folder;
+	}
+
+	private static String readFile(File file) throws IOException {
+		return Files.readString(file.toPath());
+	}
+
+	private static void writeFile(File file, String contents) throws IOException {
+		Files.writeString(file.toPath(), contents);
+	}
+
+	/*
+	 * Runs the formatter application with the given arguments, and returns what it printed.
+	 * The exit code is stored at index 0 of the given array.
+	 */
+	private String run(Object[] result, String... arguments) throws Exception {
+		String[] args = new String[arguments.length + 2];
+		args[0] = "-config";
+		args[1] = this.configFile.getPath();
+		System.arraycopy(arguments, 0, args, 2, arguments.length);
+		IApplicationContext context = (IApplicationContext) Proxy.newProxyInstance(
+				getClass().getClassLoader(),
+				new Class<?>[] { IApplicationContext.class },
+				(proxy, method, methodArgs) -> "getArguments".equals(method.getName())
+						? Collections.singletonMap(IApplicationContext.APPLICATION_ARGS, args)
+						: null);
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		PrintStream previousOut = System.out;
+		System.setOut(new PrintStream(output, true, StandardCharsets.UTF_8));
+		try {
+			result[0] = new CodeFormatterApplication().start(context);
+		} finally {
+			System.setOut(previousOut);
+		}
+		return output.toString(StandardCharsets.UTF_8);
+	}
+
+public void testThreadsSameOutputAsSerial() throws Exception {
+	File serial = createSources("serial", 12);
+	File parallel = createSources("parallel", 12);
+	Object[] result = new Object[1];
+	run(result, "-quiet", serial.getPath());
+	assertEquals(IApplication.EXIT_OK, result[0]);
+	run(result, "-quiet", "-threads", "4", parallel.getPath());
+	assertEquals(IApplication.EXIT_OK, result[0]);
+	for (int i = 0; i < 12; i++) {
+		String name = "X" + i + ".java";
+		String formatted = readFile(new File(serial, name));
+		assertFalse("Not formatted: " + name,
+				formatted.equals(String.format(UNFORMATTED, Integer.valueOf(i), Integer.valueOf(i))));
+		assertEquals("Unexpected contents of " + name, formatted, readFile(new File(parallel, name)));
+	}
+}
+public void testCacheSkipsUnchangedFiles() throws Exception {
+	File folder = createSources("cached", 3);
+	File cache = new File(this.root, "formatter.cache");
+	Object[] result = new Object[1];
+	String output = run(result, "-verbose", "-cache", cache.getPath(), folder.getPath());
+	assertEquals(IApplication.EXIT_OK, result[0]);
+	assertTrue("Cache not written", cache.isFile());
+	assertFalse("Unexpected up to date file:\n" + output, output.contains("Already formatted: "));
+
+	// nothing changed since the previous run
+	output = run(result, "-verbose", "-cache", cache.getPath(), folder.getPath());
+	for (int i = 0; i < 3; i++) {
+		String path = new File(folder, "X" + i + ".java").getPath();
+		assertTrue("Not skipped: " + path + "\n" + output, output.contains("Already formatted: " + path));
+		assertFalse("Formatted again: " + path + "\n" + output, output.contains("Formatting: " + path));
+	}
+
+	// only the modified file is formatted again
+	File modified = new File(folder, "X1.java");
+	writeFile(modified, String.format(UNFORMATTED, Integer.valueOf(1), Integer.valueOf(42)));
+	output = run(result, "-verbose", "-cache", cache.getPath(), folder.getPath());
+	assertTrue("Not formatted: " + modified + "\n" + output, output.contains("Formatting: " + modified.getPath()));
+	assertTrue("Not skipped:\n" + output, output.contains("Already formatted: " + new File(folder, "X0.java").getPath()));
+	assertTrue("Not skipped:\n" + output, output.contains("Already formatted: " + new File(folder, "X2.java").getPath()));
+}
+public void testCheckReportsWithoutWriting() throws Exception {
+	File folder = createSources("check", 2);
+	File formatted = new File(folder, "X0.java");
+	File unformatted = new File(folder, "X1.java");
+	Object[] result = new Object[1];
+	run(result, "-quiet", formatted.getPath());
+	String formattedContents = readFile(formatted);
+	String unformattedContents = readFile(unformatted);
+
+	String output = run(result, "-quiet", "-check", folder.getPath());
+	assertEquals(Integer.valueOf(1), result[0]);
+	assertTrue("Not reported:\n" + output, output.contains("Not formatted: " + unformatted.getPath()));
+	assertFalse("Wrongly reported:\n" + output, output.contains("Not formatted: " + formatted.getPath()));
+	assertEquals("File modified by -check", unformattedContents, readFile(unformatted));
+	assertEquals("File modified by -check", formattedContents, readFile(formatted));
+
+	run(result, "-quiet", "-check", formatted.getPath());
+	assertEquals(IApplication.EXIT_OK, result[0]);
+}
+}
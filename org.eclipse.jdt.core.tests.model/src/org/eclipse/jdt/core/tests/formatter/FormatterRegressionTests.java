@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2024 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -18,6 +18,7 @@ package org.eclipse.jdt.core.tests.formatter;
 
 import java.io.BufferedInputStream;
 import java.io.IOException;
+import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Hashtable;
@@ -46,6 +47,8 @@ import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
 import org.eclipse.jdt.internal.formatter.DefaultCodeFormatter;
 import org.eclipse.jdt.internal.formatter.DefaultCodeFormatterOptions;
 import org.eclipse.jdt.internal.formatter.DefaultCodeFormatterOptions.Alignment;
+import org.eclipse.jdt.internal.formatter.Token;
+import org.eclipse.jdt.internal.formatter.TokenManager;
 import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.Region;
 import org.eclipse.text.edits.TextEdit;
@@ -16571,4 +16574,72 @@ public void testIssue2977() {
 				""";
 		formatSource(input, expected);
 	}
+
+	public void testRegionInOneMethodOfMany() throws ReflectiveOperationException {
+		String source =
+			"public class A {\n" +
+			"	void a() {\n" +
+			"		int a     =     1;   if(a>0){a++;}\n" +
+			"	}\n" +
+			"\n" +
+			"	void b() {\n" +
+			"		int b     =     2;\n" +
+			"	}\n" +
+			"\n" +
+			"	void c() {\n" +
+			"[#		int c     =     3;   if(c>0){c++;}#]\n" +
+			"	}\n" +
+			"\n" +
+			"	void d() {\n" +
+			"		int d     =     4;\n" +
+			"	}\n" +
+			"\n" +
+			"	void e() {\n" +
+			"		int e     =     5;   if(e>0){e++;}\n" +
+			"	}\n" +
+			"}\n";
+		formatSource(source,
+			"public class A {\n" +
+			"	void a() {\n" +
+			"		int a     =     1;   if(a>0){a++;}\n" +
+			"	}\n" +
+			"\n" +
+			"	void b() {\n" +
+			"		int b     =     2;\n" +
+			"	}\n" +
+			"\n" +
+			"	void c() {\n" +
+			"		int c = 3;\n" +
+			"		if (c > 0) {\n" +
+			"			c++;\n" +
+			"		}\n" +
+			"	}\n" +
+			"\n" +
+			"	void d() {\n" +
+			"		int d     =     4;\n" +
+			"	}\n" +
+			"\n" +
+			"	void e() {\n" +
+			"		int e     =     5;   if(e>0){e++;}\n" +
+			"	}\n" +
+			"}\n");
+
+		// only the bodies near the region get their line breaks prepared
+		String unmarkedSource = source.replace("[#", "").replace("#]", "");
+		int regionStart = source.indexOf("[#");
+		DefaultCodeFormatter codeFormatter = codeFormatter();
+		codeFormatter.format(CodeFormatter.K_COMPILATION_UNIT, unmarkedSource, regionStart, source.indexOf("#]") - regionStart - 2, 0, LINE_SEPARATOR);
+		assertEquals("Body far from the region should be skipped", 0, lineBreaksBefore(codeFormatter, unmarkedSource.indexOf("if(a>0)")));
+		assertEquals("Body in the region should be prepared", 1, lineBreaksBefore(codeFormatter, unmarkedSource.indexOf("if(c>0)")));
+	}
+
+	private int lineBreaksBefore(DefaultCodeFormatter codeFormatter, int position) throws ReflectiveOperationException {
+		Field field = DefaultCodeFormatter.class.getDeclaredField("tokenManager");
+		field.setAccessible(true);
+		for (Token token : (TokenManager) field.get(codeFormatter)) {
+			if (token.originalStart == position)
+				return token.getLineBreaksBefore();
+		}
+		throw new IllegalArgumentException("No token at " + position);
+	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2023 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -76,6 +76,9 @@ private static Class[] getAllTestClasses() {
 		// Regex ReDoS protection in the search index
 		IndexReDoSTest.class,
 
+		// Queries of type names in the search index
+		IndexTypeNamesTest.class,
+
 		// Tests for the new index - disabled because the index is not used anymore
 		// See bug 572976 and bug 544898
 		// RunIndexTests.class,
@@ -103,9 +106,13 @@ private static Class[] getAllTestClasses() {
 		// Classpath and output location tests
 		ClasspathTests.class,
 
+		// Entry structures of external archives kept across sessions
+		ArchiveStructureCacheTests.class,
+
 		// Delta tests
 		JavaElementDeltaTests.class,
 		ExternalJarDeltaTests.class,
+		PendingIndexUpdatesTests.class,
 
 		// Java element existence tests
 		ExistenceTests.class,
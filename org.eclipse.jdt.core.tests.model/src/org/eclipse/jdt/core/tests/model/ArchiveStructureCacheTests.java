@@ -0,0 +1,131 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.core.tests.model;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+import org.eclipse.jdt.internal.compiler.classfmt.ClassFileConstants;
+import org.eclipse.jdt.internal.core.ArchiveStructureCache;
+import org.eclipse.jdt.internal.core.ArchiveStructureCache.Stamp;
+import org.eclipse.jdt.internal.core.ArchiveStructureCache.Structure;
+
+/**
+ * Tests the entry structures of external archives kept across sessions.
+ */
+public class ArchiveStructureCacheTests extends TestCase {
+
+	private File archive;
+
+	public static Test suite() {
+		return new TestSuite(ArchiveStructureCacheTests.class);
+	}
+
+	public ArchiveStructureCacheTests(String name) {
+		super(name);
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		this.archive = File.createTempFile("structure", ".jar");
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		this.archive.delete();
+		super.tearDown();
+	}
+
+	private void writeArchive(String content, String... entryNames) throws IOException {
+		try (ZipOutputStream out = new ZipOutputStream(new FileOutputStream(this.archive))) {
+			for (String name : entryNames) {
+				ZipEntry entry = new ZipEntry(name);
+				entry.setTime(0);
+				out.putNextEntry(entry);
+				out.write(content.getBytes());
+				out.closeEntry();
+			}
+		}
+		this.archive.setLastModified(1000000000000L);
+	}
+
+	private static Structure newStructure(String... entryNames) {
+		return new Structure(ClassFileConstants.JDK17, false, entryNames, new boolean[entryNames.length]);
+	}
+
+	private static void assertStructureEquals(Structure expected, Structure actual) {
+		assertNotNull("Missing structure", actual);
+		assertEquals("Unexpected level", expected.jdkLevel(), actual.jdkLevel());
+		assertEquals("Unexpected multi-release", expected.multiRelease(), actual.multiRelease());
+		assertEquals("Unexpected names", Arrays.asList(expected.entryNames()), Arrays.asList(actual.entryNames()));
+		assertTrue("Unexpected directories", Arrays.equals(expected.directories(), actual.directories()));
+	}
+
+	public void testRoundTrip() throws IOException {
+		writeArchive("class", "p/", "p/X.class", "p/Y.class");
+		Structure structure = new Structure(ClassFileConstants.JDK21, true,
+				new String[] {"p/", "p/X.class", "p/Y.class"}, new boolean[] {true, false, false});
+		ArchiveStructureCache cache = ArchiveStructureCache.getInstance();
+		cache.put(this.archive, ArchiveStructureCache.getStamp(this.archive), structure);
+		assertStructureEquals(structure, cache.get(this.archive));
+	}
+
+	public void testLongEntryName() throws IOException {
+		writeArchive("class", "p/X.class");
+		// more than the 65535 bytes DataOutput#writeUTF() can write
+		char[] longName = new char[70000];
+		Arrays.fill(longName, '\u00e9');
+		Structure structure = newStructure(new String(longName), "p/X.class");
+		ArchiveStructureCache cache = ArchiveStructureCache.getInstance();
+		cache.put(this.archive, ArchiveStructureCache.getStamp(this.archive), structure);
+		assertStructureEquals(structure, cache.get(this.archive));
+	}
+
+	public void testChangedTimestamp() throws IOException {
+		writeArchive("class", "p/X.class");
+		ArchiveStructureCache cache = ArchiveStructureCache.getInstance();
+		cache.put(this.archive, ArchiveStructureCache.getStamp(this.archive), newStructure("p/X.class"));
+		this.archive.setLastModified(2000000000000L);
+		assertNull("Should not answer the structure of a changed archive", cache.get(this.archive));
+	}
+
+	public void testChangedContentOfSameSizeAndTimestamp() throws IOException {
+		writeArchive("class", "p/X.class");
+		Stamp stamp = ArchiveStructureCache.getStamp(this.archive);
+		ArchiveStructureCache cache = ArchiveStructureCache.getInstance();
+		cache.put(this.archive, stamp, newStructure("p/X.class"));
+		writeArchive("class", "p/Y.class");
+		Stamp newStamp = ArchiveStructureCache.getStamp(this.archive);
+		assertEquals("Unexpected size", stamp.length(), newStamp.length());
+		assertEquals("Unexpected timestamp", stamp.lastModified(), newStamp.lastModified());
+		assertNull("Should not answer the structure of a changed archive", cache.get(this.archive));
+	}
+
+	public void testStampTakenBeforeChange() throws IOException {
+		writeArchive("class", "p/X.class");
+		Stamp stamp = ArchiveStructureCache.getStamp(this.archive);
+		// the archive changes while it is scanned
+		writeArchive("other", "p/X.class");
+		ArchiveStructureCache cache = ArchiveStructureCache.getInstance();
+		cache.put(this.archive, stamp, newStructure("p/X.class"));
+		assertNull("Should not answer a structure recorded for a previous archive", cache.get(this.archive));
+	}
+}
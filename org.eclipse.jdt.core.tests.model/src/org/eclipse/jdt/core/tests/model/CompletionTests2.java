@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2024 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -6190,4 +6190,180 @@ public void testBug575562_AccessRestrictionCheck_DISABLED() throws Exception {
 		this.deleteProject("P1");
 	}
 }
+/*
+ * Records the kinds and completions of the proposals in the order they are reported.
+ */
+static class TimeBudgetRequestor extends CompletionRequestor {
+	StringBuilder proposals = new StringBuilder();
+	CompletionContext context;
+	long delay;
+	@Override
+	public void acceptContext(CompletionContext con) {
+		this.context = con;
+		if (this.delay > 0) {
+			try {
+				Thread.sleep(this.delay);
+			} catch (InterruptedException e) {
+				// proceed
+			}
+		}
+	}
+	@Override
+	public void accept(CompletionProposal proposal) {
+		if (this.proposals.length() > 0) this.proposals.append('\n');
+		this.proposals.append(proposal.getKind() == CompletionProposal.TYPE_REF ? "TYPE_REF " : "FIELD_REF ");
+		this.proposals.append(proposal.getCompletion());
+	}
+}
+public void testTimeBudget1() throws JavaModelException {
+	this.workingCopies = new ICompilationUnit[2];
+	this.workingCopies[0] = getWorkingCopy(
+		"/Completion/src/test/Test.java",
+		"package test;\n" +
+		"public class Test {\n" +
+		"	int zzfield;\n" +
+		"	void foo() {\n" +
+		"		zz\n" +
+		"	}\n" +
+		"}\n");
+	this.workingCopies[1] = getWorkingCopy(
+		"/Completion/src/test/other/ZZType.java",
+		"package test.other;\n" +
+		"public class ZZType {}\n");
+
+	TimeBudgetRequestor requestor = new TimeBudgetRequestor();
+	requestor.setIgnored(CompletionProposal.KEYWORD, true);
+	requestor.setTimeBudget(60_000);
+	String str = this.workingCopies[0].getSource();
+	String completeBehind = "zz";
+	int cursorLocation = str.lastIndexOf(completeBehind) + completeBehind.length();
+	this.workingCopies[0].codeComplete(cursorLocation, requestor, this.wcOwner);
+
+	assertEquals("Unexpected proposals",
+		"FIELD_REF zzfield\n" +
+		"TYPE_REF test.other.ZZType",
+		requestor.proposals.toString());
+	assertFalse("Proposals should be complete", requestor.context.isPartial());
+}
+public void testTimeBudget2() throws JavaModelException {
+	this.workingCopies = new ICompilationUnit[2];
+	this.workingCopies[0] = getWorkingCopy(
+		"/Completion/src/test/Test.java",
+		"package test;\n" +
+		"public class Test {\n" +
+		"	int zzfield;\n" +
+		"	void foo() {\n" +
+		"		zz\n" +
+		"	}\n" +
+		"}\n");
+	this.workingCopies[1] = getWorkingCopy(
+		"/Completion/src/test/other/ZZType.java",
+		"package test.other;\n" +
+		"public class ZZType {}\n");
+
+	// the budget is exhausted before the search of types starts
+	TimeBudgetRequestor requestor = new TimeBudgetRequestor();
+	requestor.setIgnored(CompletionProposal.KEYWORD, true);
+	requestor.setTimeBudget(1);
+	requestor.delay = 50;
+	String str = this.workingCopies[0].getSource();
+	String completeBehind = "zz";
+	int cursorLocation = str.lastIndexOf(completeBehind) + completeBehind.length();
+	this.workingCopies[0].codeComplete(cursorLocation, requestor, this.wcOwner);
+
+	assertEquals("Unexpected proposals",
+		"FIELD_REF zzfield",
+		requestor.proposals.toString());
+	assertTrue("Proposals should be partial", requestor.context.isPartial());
+}
+// the constructors found under a time budget are proposed in batches, each of them once
+public void testTimeBudgetConstructors() throws JavaModelException {
+	int typeCount = 120; // more than the size of a batch
+	this.workingCopies = new ICompilationUnit[typeCount + 1];
+	this.workingCopies[0] = getWorkingCopy(
+		"/Completion/src/test/Test.java",
+		"package test;\n" +
+		"public class Test {\n" +
+		"	void foo() {\n" +
+		"		new ZZ\n" +
+		"	}\n" +
+		"}\n");
+	for (int i = 0; i < typeCount; i++) {
+		this.workingCopies[i + 1] = getWorkingCopy(
+			"/Completion/src/test/other/ZZType" + i + ".java",
+			"package test.other;\n" +
+			"public class ZZType" + i + " {\n" +
+			"	public ZZType" + i + "() {}\n" +
+			"}\n");
+	}
+
+	Map<String, Integer> constructors = new HashMap<>();
+	CompletionRequestor requestor = new CompletionRequestor() {
+		@Override
+		public void accept(CompletionProposal proposal) {
+			if (proposal.getKind() == CompletionProposal.CONSTRUCTOR_INVOCATION)
+				constructors.merge(new String(proposal.getDeclarationSignature()), 1, Integer::sum);
+		}
+	};
+	requestor.setIgnored(CompletionProposal.KEYWORD, true);
+	requestor.setTimeBudget(60_000);
+	String str = this.workingCopies[0].getSource();
+	String completeBehind = "new ZZ";
+	int cursorLocation = str.lastIndexOf(completeBehind) + completeBehind.length();
+	this.workingCopies[0].codeComplete(cursorLocation, requestor, this.wcOwner);
+
+	assertEquals("Unexpected number of proposed constructors", typeCount, constructors.size());
+	constructors.forEach((type, count) -> assertEquals("Unexpected proposals of the constructor of " + type, 1, count.intValue()));
+}
+// the matches of the search of types are reused while the type name is typed
+public void testReuseTypeSearch() throws CoreException {
+	this.workingCopies = new ICompilationUnit[2];
+	this.workingCopies[0] = getWorkingCopy(
+		"/Completion/src/test/Test.java",
+		"package test;\n" +
+		"public class Test {\n" +
+		"	void foo() {\n" +
+		"		ZZ\n" +
+		"	}\n" +
+		"}\n");
+	this.workingCopies[1] = getWorkingCopy(
+		"/Completion/src/test/other/ZZOther.java",
+		"package test.other;\n" +
+		"public class ZZOther {}\n");
+	try {
+		TimeBudgetRequestor requestor = new TimeBudgetRequestor();
+		requestor.setIgnored(CompletionProposal.KEYWORD, true);
+		String str = this.workingCopies[0].getSource();
+		int cursorLocation = str.lastIndexOf("ZZ") + "ZZ".length();
+		this.workingCopies[0].codeComplete(cursorLocation, requestor, this.wcOwner);
+		assertEquals("Unexpected proposals",
+			"TYPE_REF test.other.ZZOther",
+			requestor.proposals.toString());
+
+		// the new type is found after a change of the Java model
+		createFile(
+			"/Completion/src/test/other/ZZType.java",
+			"package test.other;\n" +
+			"public class ZZType {}\n");
+		waitUntilIndexesReady();
+		requestor = new TimeBudgetRequestor();
+		requestor.setIgnored(CompletionProposal.KEYWORD, true);
+		this.workingCopies[0].codeComplete(cursorLocation, requestor, this.wcOwner);
+		String proposals = requestor.proposals.toString();
+		assertTrue("Unexpected proposals: " + proposals, proposals.contains("TYPE_REF test.other.ZZOther"));
+		assertTrue("Unexpected proposals: " + proposals, proposals.contains("TYPE_REF test.other.ZZType"));
+
+		// the previous matches are filtered with the longer token
+		this.workingCopies[0].getBuffer().replace(cursorLocation, 0, "T");
+		this.workingCopies[0].reconcile(ICompilationUnit.NO_AST, false, this.wcOwner, null);
+		requestor = new TimeBudgetRequestor();
+		requestor.setIgnored(CompletionProposal.KEYWORD, true);
+		this.workingCopies[0].codeComplete(cursorLocation + 1, requestor, this.wcOwner);
+		assertEquals("Unexpected proposals",
+			"TYPE_REF test.other.ZZType",
+			requestor.proposals.toString());
+	} finally {
+		deleteResource(getFile("/Completion/src/test/other/ZZType.java"));
+	}
+}
 }
@@ -0,0 +1,126 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.core.tests.model;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+import org.eclipse.jdt.core.search.SearchPattern;
+import org.eclipse.jdt.internal.core.index.EntryResult;
+import org.eclipse.jdt.internal.core.index.FileIndexLocation;
+import org.eclipse.jdt.internal.core.index.Index;
+import org.eclipse.jdt.internal.core.search.indexing.IIndexConstants;
+
+/**
+ * Tests the queries of the type declarations saved in a disk index, which are answered from
+ * the type names kept in memory instead of the category table of the index file.
+ */
+public class IndexTypeNamesTest extends TestCase {
+
+	private File indexFile;
+	private Index index;
+
+	public static Test suite() {
+		return new TestSuite(IndexTypeNamesTest.class);
+	}
+
+	public IndexTypeNamesTest(String name) {
+		super(name);
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		this.indexFile = File.createTempFile("typenames", ".index"); //$NON-NLS-1$ //$NON-NLS-2$
+		this.indexFile.delete(); // let the Index create a fresh file
+		this.index = new Index(new FileIndexLocation(this.indexFile), this.indexFile.getPath(), false);
+		addType("ArrayList", "java.util", "ArrayList.java"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		addType("ArrayDeque", "java.util", "ArrayDeque.java"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		addType("Arrays", "java.util", "Arrays.java"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		addType("arrayHelper", "p", "arrayHelper.java"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		addType("AbstractList", "java.util", "AbstractList.java"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		addType("HashMap", "java.util", "HashMap.java"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		addType("NullPointerException", "java.lang", "NullPointerException.java"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		this.index.save();
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		this.indexFile.delete();
+		super.tearDown();
+	}
+
+	private void addType(String simpleName, String packageName, String document) {
+		this.index.addIndexEntry(IIndexConstants.TYPE_DECL, (simpleName + '/' + packageName + "//").toCharArray(), document); //$NON-NLS-1$
+	}
+
+	private String query(String key, int matchRule) throws IOException {
+		this.index.startQuery();
+		try {
+			EntryResult[] results = this.index.query(new char[][] { IIndexConstants.TYPE_DECL }, key.toCharArray(), matchRule);
+			if (results == null) return ""; //$NON-NLS-1$
+			String[] names = new String[results.length];
+			for (int i = 0; i < results.length; i++) {
+				String word = new String(results[i].getWord());
+				names[i] = word.substring(0, word.indexOf('/'));
+			}
+			Arrays.sort(names);
+			return String.join(",", names); //$NON-NLS-1$
+		} finally {
+			this.index.stopQuery();
+		}
+	}
+
+	public void testPrefixMatch() throws IOException {
+		assertEquals("ArrayDeque,ArrayList,Arrays,arrayHelper", query("array", SearchPattern.R_PREFIX_MATCH)); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals("ArrayDeque,ArrayList,Arrays", query("Array", SearchPattern.R_PREFIX_MATCH | SearchPattern.R_CASE_SENSITIVE)); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals("", query("Vector", SearchPattern.R_PREFIX_MATCH)); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	public void testExactMatch() throws IOException {
+		assertEquals("Arrays", query("Arrays/java.util//", SearchPattern.R_EXACT_MATCH | SearchPattern.R_CASE_SENSITIVE)); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	public void testCamelCaseMatch() throws IOException {
+		assertEquals("NullPointerException", query("NPE", SearchPattern.R_CAMELCASE_MATCH)); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals("AbstractList,ArrayList", query("AL", SearchPattern.R_CAMELCASE_MATCH | SearchPattern.R_CASE_SENSITIVE)); //$NON-NLS-1$ //$NON-NLS-2$
+		// camel case queries fall back to case insensitive prefix matches
+		assertEquals("HashMap", query("hash", SearchPattern.R_CAMELCASE_MATCH)); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	public void testPatternMatch() throws IOException {
+		// the names of case insensitive patterns are lower case, see TypeDeclarationPattern
+		assertEquals("AbstractList,ArrayList", query("a*list*", SearchPattern.R_PATTERN_MATCH)); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals("AbstractList,ArrayList", query("A*List*", SearchPattern.R_PATTERN_MATCH | SearchPattern.R_CASE_SENSITIVE)); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	public void testSubstringMatch() throws IOException {
+		assertEquals("AbstractList,ArrayList", query("list", SearchPattern.R_PREFIX_MATCH | SearchPattern.R_SUBSTRING_MATCH)); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	public void testChangedIndex() throws IOException {
+		assertEquals("HashMap", query("Hash", SearchPattern.R_PREFIX_MATCH)); //$NON-NLS-1$ //$NON-NLS-2$
+		addType("HashSet", "java.util", "HashSet.java"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		// entries of the memory index
+		assertEquals("HashMap,HashSet", query("Hash", SearchPattern.R_PREFIX_MATCH)); //$NON-NLS-1$ //$NON-NLS-2$
+		this.index.remove("HashMap.java"); //$NON-NLS-1$
+		assertEquals("HashSet", query("Hash", SearchPattern.R_PREFIX_MATCH)); //$NON-NLS-1$ //$NON-NLS-2$
+		// entries of the new disk index
+		this.index.save();
+		assertEquals("HashSet", query("Hash", SearchPattern.R_PREFIX_MATCH)); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,6 +13,7 @@
  *******************************************************************************/
 package org.eclipse.jdt.core.tests.model;
 
+import java.lang.reflect.Field;
 import java.util.Enumeration;
 import java.util.Hashtable;
 import java.util.Map;
@@ -30,9 +31,11 @@ import org.eclipse.jdt.internal.core.BufferManager;
 import org.eclipse.jdt.internal.core.ElementCache;
 import org.eclipse.jdt.internal.core.JavaElementInfo;
 import org.eclipse.jdt.internal.core.JavaModelCache;
+import org.eclipse.jdt.internal.core.JavaModelManager;
 import org.eclipse.jdt.internal.core.Openable;
 import org.eclipse.jdt.internal.core.OpenableElementInfo;
 import org.eclipse.jdt.internal.core.PackageFragmentRoot;
+import org.eclipse.jdt.internal.core.util.LRUCache;
 import org.eclipse.jdt.internal.core.util.LRUCache.LRUCacheEntry;
 import org.eclipse.jdt.internal.core.util.MementoTokenizer;
 
@@ -334,6 +337,93 @@ public class OverflowingCacheTests extends ModifyingResourceTests {
 	}
 
 
+	/*
+	 * Ensures that opening elements is reflected in the estimated footprint of the Java model cache.
+	 */
+	public void testCacheFootprint() throws CoreException {
+		try {
+			IJavaProject project = createJavaProject("P", new String[] {"src"}, "bin");
+			createFile("/P/src/X.java", "public class X {}");
+			JavaModelManager manager = JavaModelManager.getJavaModelManager();
+			long before = manager.getCacheFootprint();
+			project.findType("X").getCompilationUnit().open(null);
+			assertTrue("Footprint should grow", manager.getCacheFootprint() > before);
+		} finally {
+			deleteProject("P");
+		}
+	}
+
+	/*
+	 * Returns the space limits of the root, package, openable and jar type caches of a new
+	 * Java model cache created while the given system properties are set.
+	 */
+	private int[] cacheSizes(String... properties) throws ReflectiveOperationException {
+		for (int i = 0; i < properties.length; i += 2) {
+			System.setProperty(properties[i], properties[i + 1]);
+		}
+		try {
+			JavaModelCache cache = new JavaModelCache();
+			String[] fieldNames = {"rootCache", "pkgCache", "openableCache", "jarTypeCache"};
+			int[] sizes = new int[fieldNames.length];
+			for (int i = 0; i < fieldNames.length; i++) {
+				Field field = JavaModelCache.class.getDeclaredField(fieldNames[i]);
+				field.setAccessible(true);
+				sizes[i] = ((LRUCache<?, ?>) field.get(cache)).getSpaceLimit();
+			}
+			return sizes;
+		} finally {
+			for (int i = 0; i < properties.length; i += 2) {
+				System.clearProperty(properties[i]);
+			}
+		}
+	}
+
+	/*
+	 * Returns the heap budget property value giving the caches the given number of bytes.
+	 */
+	private String heapBudget(double bytes) {
+		return String.valueOf(bytes / Runtime.getRuntime().maxMemory());
+	}
+
+	/*
+	 * Ensures that the cache sizes follow the heap budget when no ratio is configured.
+	 */
+	public void testCacheSizesFromHeapBudget() throws ReflectiveOperationException {
+		int[] sizes = cacheSizes(JavaModelCache.HEAP_BUDGET_PROPERTY, heapBudget(1e9));
+		int[] doubleSizes = cacheSizes(JavaModelCache.HEAP_BUDGET_PROPERTY, heapBudget(2e9));
+		assertTrue("Openable cache should be smaller than the default one: " + sizes[2], sizes[2] < JavaModelCache.DEFAULT_OPENABLE_SIZE);
+		for (int i = 0; i < sizes.length; i++) {
+			assertEquals("Unexpected size of cache " + i, 2.0 * sizes[i], doubleSizes[i], 2.0);
+		}
+		assertEquals("Unexpected size of the root cache", sizes[2] / 100.0, sizes[0], 1.0);
+		assertEquals("Unexpected size of the package cache", sizes[2] / 10.0, sizes[1], 1.0);
+	}
+
+	/*
+	 * Ensures that a small heap budget shrinks the default sizes of the caches, down to a tenth.
+	 */
+	public void testCacheSizesShrunkByHeapBudget() throws ReflectiveOperationException {
+		int[] sizes = cacheSizes(JavaModelCache.HEAP_BUDGET_PROPERTY, heapBudget(1e6));
+		assertEquals("Unexpected size of the root cache", JavaModelCache.DEFAULT_ROOT_SIZE / 10, sizes[0]);
+		assertEquals("Unexpected size of the package cache", JavaModelCache.DEFAULT_PKG_SIZE / 10, sizes[1]);
+		assertEquals("Unexpected size of the openable cache", JavaModelCache.DEFAULT_OPENABLE_SIZE / 10, sizes[2]);
+		assertEquals("Unexpected size of the jar type cache", JavaModelCache.DEFAULT_OPENABLE_SIZE / 10, sizes[3]);
+	}
+
+	/*
+	 * Ensures that the configured ratios take precedence over the heap budget.
+	 */
+	public void testCacheSizesFromRatios() throws ReflectiveOperationException {
+		int[] sizes = cacheSizes(
+				JavaModelCache.HEAP_BUDGET_PROPERTY, heapBudget(1e6),
+				JavaModelCache.RATIO_PROPERTY, "1",
+				JavaModelCache.JAR_TYPE_RATIO_PROPERTY, "0.5");
+		assertEquals("Unexpected size of the root cache", JavaModelCache.DEFAULT_ROOT_SIZE, sizes[0]);
+		assertEquals("Unexpected size of the package cache", JavaModelCache.DEFAULT_PKG_SIZE, sizes[1]);
+		assertEquals("Unexpected size of the openable cache", JavaModelCache.DEFAULT_OPENABLE_SIZE, sizes[2]);
+		assertEquals("Unexpected size of the jar type cache", JavaModelCache.DEFAULT_OPENABLE_SIZE / 2, sizes[3]);
+	}
+
 	/**
 	 * Creates an empty BufferCache and ensures that it answers correctly
 	 * for #getSpaceLimit, #getCurrentSpace, and #getOverlflow.
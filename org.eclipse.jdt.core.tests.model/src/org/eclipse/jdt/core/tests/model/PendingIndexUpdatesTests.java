@@ -0,0 +1,82 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.core.tests.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.jdt.internal.core.DeltaProcessor.PendingIndexUpdates;
+
+/**
+ * Tests the merging of the index updates of documents requested while a resource delta is processed.
+ */
+public class PendingIndexUpdatesTests extends TestCase {
+
+	private final List<String> requested = new ArrayList<>();
+	private final PendingIndexUpdates updates = new PendingIndexUpdates();
+
+	public static Test suite() {
+		return new TestSuite(PendingIndexUpdatesTests.class);
+	}
+
+	public PendingIndexUpdatesTests(String name) {
+		super(name);
+	}
+
+	private void update(String path, String update) {
+		this.updates.updateDocument(IPath.fromPortableString(path), () -> this.requested.add(update + ' ' + path));
+	}
+
+	public void testSingleUpdates() {
+		update("/P/src/p/X.java", "add");
+		update("/P/src/p/Y.java", "remove");
+		assertEquals("Unexpected size", 2, this.updates.size());
+		assertEquals("Nothing should be requested before the flush", 0, this.requested.size());
+		assertEquals("Unexpected skipped updates", 0, this.updates.flush());
+		assertEquals("Unexpected requests", "[add /P/src/p/X.java, remove /P/src/p/Y.java]", this.requested.toString());
+	}
+
+	public void testLastUpdateOfDocument() {
+		update("/P/src/p/X.java", "add");
+		update("/P/src/p/Y.java", "add");
+		update("/P/src/p/X.java", "remove");
+		assertEquals("Unexpected size", 2, this.updates.size());
+		this.updates.flush();
+		// requested once, in the order of the last update
+		assertEquals("Unexpected requests", "[add /P/src/p/Y.java, remove /P/src/p/X.java]", this.requested.toString());
+	}
+
+	public void testDocumentsOfUpdatedProject() {
+		update("/P/src/p/X.java", "add");
+		update("/P2/src/p/Y.java", "add");
+		update("/P/src/q/Z.java", "add");
+		this.updates.updateProject(IPath.fromPortableString("/P"));
+		assertEquals("Unexpected skipped updates", 2, this.updates.flush());
+		assertEquals("Unexpected requests", "[add /P2/src/p/Y.java]", this.requested.toString());
+	}
+
+	public void testFlushClears() {
+		update("/P/src/p/X.java", "add");
+		this.updates.updateProject(IPath.fromPortableString("/P2"));
+		this.updates.flush();
+		this.requested.clear();
+		assertEquals("Unexpected size", 0, this.updates.size());
+		update("/P2/src/p/Y.java", "add");
+		assertEquals("Project updates should not outlive the flush", 0, this.updates.flush());
+		assertEquals("Unexpected requests", "[add /P2/src/p/Y.java]", this.requested.toString());
+	}
+}
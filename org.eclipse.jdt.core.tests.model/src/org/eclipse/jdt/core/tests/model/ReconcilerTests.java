@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2021 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -991,6 +991,65 @@ public void testBufferClosed2() throws CoreException {
 		"----------\n"
 	);
 }
+/*
+ * Ensures that reconciling several working copies at once reports the problems of each working copy
+ * to its own problem requestor, the working copies seeing each other.
+ */
+public void testBulkReconcile() throws CoreException {
+	ProblemRequestor requestorY = new ProblemRequestor();
+	WorkingCopyOwner owner = new WorkingCopyOwner() {
+		public IProblemRequestor getProblemRequestor(ICompilationUnit unit) {
+			return "Y.java".equals(unit.getElementName()) ? requestorY : ReconcilerTests.this.problemRequestor;
+		}
+	};
+	ICompilationUnit workingCopyY = null;
+	try {
+		this.workingCopy.discardWorkingCopy();
+		this.workingCopy = getCompilationUnit("Reconciler/src/p1/X.java").getWorkingCopy(owner, null);
+		workingCopyY = getCompilationUnit("Reconciler/src/p1/Y.java").getWorkingCopy(owner, null);
+		setWorkingCopyContents(
+			"package p1;\n" +
+			"public class X {\n" +
+			"  public void foo() {\n" +
+			"    new Y().bar();\n" +
+			"    unknown();\n" +
+			"  }\n" +
+			"}");
+		String contentsY =
+			"package p1;\n" +
+			"public class Y {\n" +
+			"  public void bar() {\n" +
+			"    new X().foo(0);\n" +
+			"  }\n" +
+			"}";
+		workingCopyY.getBuffer().setContents(contentsY);
+		requestorY.initialize(contentsY.toCharArray());
+		JavaCore.reconcile(new ICompilationUnit[] {this.workingCopy, workingCopyY}, 0, owner, null);
+		assertProblems(
+			"Unexpected problems for X",
+			"----------\n" +
+			"1. ERROR in /Reconciler/src/p1/X.java (at line 5)\n" +
+			"	unknown();\n" +
+			"	^^^^^^^\n" +
+			"The method unknown() is undefined for the type X\n" +
+			"----------\n"
+		);
+		assertProblems(
+			"Unexpected problems for Y",
+			"----------\n" +
+			"1. ERROR in /Reconciler/src/p1/Y.java (at line 4)\n" +
+			"	new X().foo(0);\n" +
+			"	        ^^^\n" +
+			"The method foo() in the type X is not applicable for the arguments (int)\n" +
+			"----------\n",
+			requestorY
+		);
+		assertTrue("Working copies should be consistent", this.workingCopy.isConsistent() && workingCopyY.isConsistent());
+	} finally {
+		if (workingCopyY != null)
+			workingCopyY.discardWorkingCopy();
+	}
+}
 /**
  * Ensure an OperationCanceledException is correctly thrown when progress monitor is canceled
  * @deprecated using deprecated code
@@ -2012,6 +2071,218 @@ public void testIgnoreIfBetterNonAccessibleRule4() throws CoreException {
 		deleteProjects(new String[] {"P1"});
 	}
 }
+/*
+ * Ensures that consecutive edits in the same method body report the problems of the edited method
+ * together with the problems of the other methods, moved after the edit.
+ */
+public void testIncrementalReconcile() throws CoreException {
+	setWorkingCopyContents(
+		"package p1;\n" +
+		"public class X {\n" +
+		"  void bar() {\n" +
+		"  }\n" +
+		"  void foo() {\n" +
+		"    unknown1();\n" +
+		"  }\n" +
+		"}");
+	this.workingCopy.reconcile(ICompilationUnit.NO_AST, false, null, null);
+	setWorkingCopyContents(
+		"package p1;\n" +
+		"public class X {\n" +
+		"  void bar() {\n" +
+		"    unknown2();\n" +
+		"  }\n" +
+		"  void foo() {\n" +
+		"    unknown1();\n" +
+		"  }\n" +
+		"}");
+	this.workingCopy.reconcile(ICompilationUnit.NO_AST, false, null, null);
+	assertProblems(
+		"Unexpected problems after first edit",
+		"----------\n" +
+		"1. ERROR in /Reconciler/src/p1/X.java (at line 4)\n" +
+		"	unknown2();\n" +
+		"	^^^^^^^^\n" +
+		"The method unknown2() is undefined for the type X\n" +
+		"----------\n" +
+		"2. ERROR in /Reconciler/src/p1/X.java (at line 7)\n" +
+		"	unknown1();\n" +
+		"	^^^^^^^^\n" +
+		"The method unknown1() is undefined for the type X\n" +
+		"----------\n"
+	);
+
+	// edit the same method again
+	setWorkingCopyContents(
+		"package p1;\n" +
+		"public class X {\n" +
+		"  void bar() {\n" +
+		"    unknown3();\n" +
+		"    unknown2();\n" +
+		"  }\n" +
+		"  void foo() {\n" +
+		"    unknown1();\n" +
+		"  }\n" +
+		"}");
+	this.workingCopy.reconcile(ICompilationUnit.NO_AST, false, null, null);
+	assertProblems(
+		"Unexpected problems after second edit",
+		"----------\n" +
+		"1. ERROR in /Reconciler/src/p1/X.java (at line 4)\n" +
+		"	unknown3();\n" +
+		"	^^^^^^^^\n" +
+		"The method unknown3() is undefined for the type X\n" +
+		"----------\n" +
+		"2. ERROR in /Reconciler/src/p1/X.java (at line 5)\n" +
+		"	unknown2();\n" +
+		"	^^^^^^^^\n" +
+		"The method unknown2() is undefined for the type X\n" +
+		"----------\n" +
+		"3. ERROR in /Reconciler/src/p1/X.java (at line 8)\n" +
+		"	unknown1();\n" +
+		"	^^^^^^^^\n" +
+		"The method unknown1() is undefined for the type X\n" +
+		"----------\n"
+	);
+}
+/*
+ * Ensures that consecutive edits in the body of a private method or constructor that is only called by
+ * other methods don't report it as unused, while the other methods are not resolved.
+ */
+public void testIncrementalReconcileUsedPrivateMethod() throws CoreException {
+	setWorkingCopyContents(
+		"package p1;\n" +
+		"public class X {\n" +
+		"  void bar() {\n" +
+		"    foo();\n" +
+		"    new X(0);\n" +
+		"  }\n" +
+		"  private X(int i) {\n" +
+		"  }\n" +
+		"  private void foo() {\n" +
+		"  }\n" +
+		"}");
+	this.workingCopy.reconcile(ICompilationUnit.NO_AST, false, null, null);
+	// the first edit of a method is reconciled fully, the next ones incrementally
+	String[][] bodies = {
+		{"", "System.out.println();"},
+		{"", "System.out.println(1);"},
+		{"System.out.println();", "System.out.println(1);"},
+		{"System.out.println(1);", "System.out.println(1);"}
+	};
+	for (String[] body : bodies) {
+		setWorkingCopyContents(
+			"package p1;\n" +
+			"public class X {\n" +
+			"  void bar() {\n" +
+			"    foo();\n" +
+			"    new X(0);\n" +
+			"  }\n" +
+			"  private X(int i) {\n" +
+			"    " + body[0] + "\n" +
+			"  }\n" +
+			"  private void foo() {\n" +
+			"    " + body[1] + "\n" +
+			"  }\n" +
+			"}");
+		this.workingCopy.reconcile(ICompilationUnit.NO_AST, false, null, null);
+		assertProblems(
+			"Unexpected problems after editing " + body[0] + body[1],
+			"----------\n" +
+			"----------\n"
+		);
+	}
+}
+/*
+ * Ensures that a private field that the edited method stops using again is reported as unused,
+ * as decided by the last full reconcile.
+ */
+public void testIncrementalReconcileUnusedField() throws CoreException {
+	String[] bodies = {
+		"System.out.println(f);", // initial full reconcile
+		"", // first edit of foo(): full reconcile
+		"System.out.println(f);", // incremental reconciles
+		""
+	};
+	String[] expectedProblems = {
+		"----------\n" +
+		"----------\n",
+		"----------\n" +
+		"1. WARNING in /Reconciler/src/p1/X.java (at line 3)\n" +
+		"	private int f;\n" +
+		"	            ^\n" +
+		"The value of the field X.f is not used\n" +
+		"----------\n",
+		"----------\n" +
+		"----------\n",
+		"----------\n" +
+		"1. WARNING in /Reconciler/src/p1/X.java (at line 3)\n" +
+		"	private int f;\n" +
+		"	            ^\n" +
+		"The value of the field X.f is not used\n" +
+		"----------\n"
+	};
+	for (int i = 0; i < bodies.length; i++) {
+		setWorkingCopyContents(
+			"package p1;\n" +
+			"public class X {\n" +
+			"  private int f;\n" +
+			"  void bar() {\n" +
+			"  }\n" +
+			"  void foo() {\n" +
+			"    " + bodies[i] + "\n" +
+			"  }\n" +
+			"}");
+		this.workingCopy.reconcile(ICompilationUnit.NO_AST, false, null, null);
+		assertProblems("Unexpected problems after reconcile " + i, expectedProblems[i]);
+	}
+}
+/*
+ * Ensures that the edited method is not the only one checked after a structural change in another unit.
+ */
+public void testIncrementalReconcileDependencyChange() throws CoreException {
+	try {
+		createFile(
+			"/Reconciler/src/p1/Y.java",
+			"package p1;\n" +
+			"public class Y {\n" +
+			"  public void baz() {\n" +
+			"  }\n" +
+			"}");
+		String[] bodies = {"", "System.out.println();", "System.out.println(1);", "System.out.println(2);"};
+		for (int i = 0; i < bodies.length; i++) {
+			setWorkingCopyContents(
+				"package p1;\n" +
+				"public class X {\n" +
+				"  void bar() {\n" +
+				"    new Y().baz();\n" +
+				"  }\n" +
+				"  void foo() {\n" +
+				"    " + bodies[i] + "\n" +
+				"  }\n" +
+				"}");
+			if (i == bodies.length - 1) {
+				editFile(
+					"/Reconciler/src/p1/Y.java",
+					"package p1;\n" +
+					"public class Y {\n" +
+					"}");
+			}
+			this.workingCopy.reconcile(ICompilationUnit.NO_AST, false, null, null);
+		}
+		assertProblems(
+			"Unexpected problems",
+			"----------\n" +
+			"1. ERROR in /Reconciler/src/p1/X.java (at line 4)\n" +
+			"	new Y().baz();\n" +
+			"	        ^^^\n" +
+			"The method baz() is undefined for the type Y\n" +
+			"----------\n"
+		);
+	} finally {
+		deleteFile("/Reconciler/src/p1/Y.java");
+	}
+}
 /**
  * Introduces a syntax error in the modifiers of a method.
  */
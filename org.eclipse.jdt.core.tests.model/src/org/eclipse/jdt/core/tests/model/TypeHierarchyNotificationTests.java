@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2017 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,6 +15,8 @@ package org.eclipse.jdt.core.tests.model;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Map;
 import junit.framework.Test;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IFolder;
@@ -29,6 +31,7 @@ import org.eclipse.core.runtime.Path;
 import org.eclipse.jdt.core.*;
 import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
 import org.eclipse.jdt.internal.core.DeltaProcessor;
+import org.eclipse.jdt.internal.core.hierarchy.TypeHierarchy;
 
 public class TypeHierarchyNotificationTests extends ModifyingResourceTests implements ITypeHierarchyChangedListener {
 	/**
@@ -1480,6 +1483,114 @@ public void testBug316654_c() throws CoreException {
 		h.removeTypeHierarchyChangedListener(this);
 	}
 }
+/*
+ * Ensures that a modifier change on the focus type and the removal of a subtype without
+ * subtypes are reflected by the hierarchy after refresh.
+ */
+public void testIncrementalRefresh() throws CoreException {
+	IJavaProject project = getJavaProject("TypeHierarchyNotification");
+	ICompilationUnit cu = getCompilationUnit("TypeHierarchyNotification", "src", "p", "X.java");
+	IType type = cu.getType("X");
+	IPath filePath = project.getProject().getFullPath().append("src").append("p").append("Y.java");
+	createFile(filePath.toOSString(),
+				"package p;\n" +
+				"class Y extends X{\n" +
+				"}");
+	ITypeHierarchy h = type.newTypeHierarchy(project, null);
+	h.addTypeHierarchyChangedListener(this);
+	ICompilationUnit subtypeUnit = getCompilationUnit(filePath.toOSString());
+	IType subtype = subtypeUnit.getType("Y");
+	try {
+		assertTrue("Should contain Y", h.contains(subtype));
+
+		ICompilationUnit copy = cu.getWorkingCopy(null);
+		try {
+			copy.getBuffer().setContents(
+				"package p;\n" +
+				"import b.*;\n" +
+				"import i.*;\n" +
+				"public abstract class X extends B implements I1 {\n" +
+				"	public Object field;\n" +
+				"}");
+			copy.reconcile(ICompilationUnit.NO_AST, false, null, null);
+			copy.commitWorkingCopy(true, null);
+		} finally {
+			copy.discardWorkingCopy();
+		}
+		assertOneChange(h);
+		// a recomputed hierarchy would have new tables
+		Map<IOpenable, ArrayList<IType>> files = ((TypeHierarchy) h).files;
+		h.refresh(null);
+		assertSame("Should have been refreshed in place", files, ((TypeHierarchy) h).files);
+		assertTrue("Should still contain Y", h.contains(subtype));
+		assertTrue("X should be abstract", Flags.isAbstract(h.getCachedFlags(type)));
+
+		reset();
+		deleteFile(filePath.toOSString());
+		assertOneChange(h);
+		h.refresh(null);
+		assertSame("Should have been refreshed in place", files, ((TypeHierarchy) h).files);
+		assertTrue("Should not contain Y", !h.contains(subtype));
+		assertEquals("Unexpected subtypes of X", 0, h.getSubtypes(type).length);
+	} finally {
+		if (getFile(filePath.toOSString()).exists()) {
+			deleteFile(filePath.toOSString());
+		}
+		h.removeTypeHierarchyChangedListener(this);
+	}
+}
+/*
+ * Ensures that changes applied on refresh to a hierarchy on a region leave it as if it was recomputed.
+ */
+public void testIncrementalRefreshInRegion() throws CoreException {
+	IJavaProject project = getJavaProject("TypeHierarchyNotification");
+	IPath filePath = project.getProject().getFullPath().append("src").append("p").append("Y.java");
+	createFile(filePath.toOSString(),
+				"package p;\n" +
+				"class Y extends X{\n" +
+				"}");
+	ICompilationUnit subtypeUnit = getCompilationUnit(filePath.toOSString());
+	IType subtype = subtypeUnit.getType("Y");
+	IRegion region = JavaCore.newRegion();
+	region.add(subtypeUnit.getParent());
+	ITypeHierarchy h = project.newTypeHierarchy(region, null);
+	h.addTypeHierarchyChangedListener(this);
+	try {
+		assertTrue("Should contain Y", h.contains(subtype));
+
+		ICompilationUnit copy = subtypeUnit.getWorkingCopy(null);
+		try {
+			copy.getBuffer().setContents(
+				"package p;\n" +
+				"abstract class Y extends X{\n" +
+				"}");
+			copy.reconcile(ICompilationUnit.NO_AST, false, null, null);
+			copy.commitWorkingCopy(true, null);
+		} finally {
+			copy.discardWorkingCopy();
+		}
+		assertOneChange(h);
+		Map<IOpenable, ArrayList<IType>> files = ((TypeHierarchy) h).files;
+		h.refresh(null);
+		assertSame("Should have been refreshed in place", files, ((TypeHierarchy) h).files);
+		assertTrue("Y should be abstract", Flags.isAbstract(h.getCachedFlags(subtype)));
+		assertEquals("Unexpected hierarchy", project.newTypeHierarchy(region, null).toString(), h.toString());
+
+		reset();
+		deleteFile(filePath.toOSString());
+		assertOneChange(h);
+		h.refresh(null);
+		assertSame("Should have been refreshed in place", files, ((TypeHierarchy) h).files);
+		assertTrue("Should not contain Y", !h.contains(subtype));
+		assertEquals("Y should have no flags", -1, h.getCachedFlags(subtype));
+		assertEquals("Unexpected hierarchy", project.newTypeHierarchy(region, null).toString(), h.toString());
+	} finally {
+		if (getFile(filePath.toOSString()).exists()) {
+			deleteFile(filePath.toOSString());
+		}
+		h.removeTypeHierarchyChangedListener(this);
+	}
+}
 /**
  * Make a note of the change
  */
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2025 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -3783,4 +3783,45 @@ public void testHierarchyOfCircular() throws CoreException {
 
 }
 
+/*
+ * Ensures that the hierarchy of a type with enough candidates to read them on several threads,
+ * compilation units that are not open as well as class files of an archive, is complete.
+ */
+public void testManyCandidates() throws CoreException, IOException {
+	final String PROJECT_NAME = "ManyCandidates";
+	try {
+		IJavaProject project = createJavaProject(PROJECT_NAME, new String[] {"src"}, new String[] {"JCL18_LIB"}, "bin", "1.8");
+		int count = 40;
+		String[] pathAndContents = new String[2 * count + 2];
+		pathAndContents[0] = "q/Base.java";
+		pathAndContents[1] = "package q;\npublic class Base {\n}";
+		for (int i = 0; i < count; i++) {
+			pathAndContents[2 * i + 2] = "q/B" + i + ".java";
+			pathAndContents[2 * i + 3] = "package q;\npublic class B" + i + " extends Base {\n}";
+		}
+		addLibrary(project, "many.jar", "manysrc.zip", pathAndContents, "1.8");
+		createFolder("/ManyCandidates/src/p");
+		for (int i = 0; i < count; i++) {
+			createFile("/ManyCandidates/src/p/S" + i + ".java", "package p;\npublic class S" + i + " extends q.Base {\n}");
+		}
+		waitUntilIndexesReady();
+
+		IType base = project.findType("q.Base");
+		ITypeHierarchy hierarchy = base.newTypeHierarchy(null);
+		IType[] subtypes = hierarchy.getAllSubtypes(base);
+		assertEquals("Unexpected number of subtypes", 2 * count, subtypes.length);
+		for (IType subtype : subtypes) {
+			assertEquals("Unexpected superclass of " + subtype.getFullyQualifiedName(), base, hierarchy.getSuperclass(subtype));
+		}
+		assertTrue("Should contain S17", hierarchy.contains(getCompilationUnit("/ManyCandidates/src/p/S17.java").getType("S17")));
+		assertTrue("Should contain B23", hierarchy.contains(project.findType("q.B23")));
+
+		// the same hierarchy when the candidates are all open or cached
+		ITypeHierarchy secondHierarchy = base.newTypeHierarchy(null);
+		assertEquals("Unexpected second hierarchy", hierarchy.toString(), secondHierarchy.toString());
+	} finally {
+		deleteProject(PROJECT_NAME);
+	}
+}
+
 }
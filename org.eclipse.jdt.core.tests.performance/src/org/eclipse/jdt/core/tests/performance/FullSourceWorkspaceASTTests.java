@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 20157IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,6 +14,7 @@
 package org.eclipse.jdt.core.tests.performance;
 
 import java.io.PrintStream;
+import java.lang.reflect.Field;
 import java.text.NumberFormat;
 import java.util.Hashtable;
 import java.util.Iterator;
@@ -612,6 +613,92 @@ public class FullSourceWorkspaceASTTests extends FullSourceWorkspaceTests {
 		createAST(unit, JLS3_INTERNAL);
 	}
 
+	/*
+	 * Create AST nodes trees for a given compilation unit, keeping them alive to
+	 * measure the memory they hold.
+	 */
+	private void createASTFootprint(ICompilationUnit unit, boolean lazyMethodBodies) throws JavaModelException {
+		// Warm up
+		for (int i = 0; i < 2; i++) {
+			ASTParser parser = ASTParser.newParser(JLS3_INTERNAL);
+			parser.setSource(unit);
+			parser.setLazyMethodBodies(lazyMethodBodies);
+			parser.createAST(null);
+		}
+
+		// Measures
+		int measures = MEASURES_COUNT * 2;
+		int iterations = ITERATIONS_COUNT >> 1;
+		for (int i = 0; i < measures; i++) {
+			CompilationUnit[] results = new CompilationUnit[iterations];
+			runGc();
+			long used = Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory();
+			startMeasuring();
+			for (int j=0; j<iterations; j++) {
+				ASTParser parser = ASTParser.newParser(JLS3_INTERNAL);
+				parser.setSource(unit);
+				parser.setLazyMethodBodies(lazyMethodBodies);
+				results[j] = (CompilationUnit) parser.createAST(null);
+			}
+			stopMeasuring();
+			runGc();
+			long retained = Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory() - used;
+			// checked before printing, as estimating the size of the trees converts their bodies
+			assertEquals("Unexpected unconverted method bodies", lazyMethodBodies, hasUnconvertedBodies(results[iterations-1]));
+			if (PRINT || DEBUG) {
+				NumberFormat format = NumberFormat.getInstance();
+				System.out.println("	- "+iterations+" trees retain "+format.format(retained)+" bytes, "+format.format(results[0].subtreeBytes())+" bytes per tree as estimated by the DOM");
+			}
+			assertEquals("Wrong number of types", 1, results[iterations-1].types().size());
+		}
+
+		// Commit
+		commitMeasurements();
+		assertPerformance();
+	}
+
+	/*
+	 * Returns whether some method bodies of the types of the given unit are still to be converted,
+	 * without accessing their statements.
+	 */
+	private boolean hasUnconvertedBodies(CompilationUnit unit) {
+		try {
+			Field lazyStatements = Block.class.getDeclaredField("lazyStatements");
+			lazyStatements.setAccessible(true);
+			for (Iterator types = unit.types().iterator(); types.hasNext();) {
+				MethodDeclaration[] methods = ((TypeDeclaration) types.next()).getMethods();
+				for (int i = 0; i < methods.length; i++) {
+					Block body = methods[i].getBody();
+					if (body != null && lazyStatements.get(body) != null) return true;
+				}
+			}
+			return false;
+		} catch (ReflectiveOperationException e) {
+			throw new AssertionError(e);
+		}
+	}
+
+	/**
+	 * Performance and memory footprint of DOM/AST trees for one file.
+	 */
+	public void testPerfDomAstFootprint() throws JavaModelException {
+		tagAsSummary("DOM AST trees footprint for one file", false); // do NOT put in fingerprint
+
+		ICompilationUnit unit = getCompilationUnit("org.eclipse.jdt.core", "org.eclipse.jdt.internal.compiler.parser", "Parser.java");
+		createASTFootprint(unit, false);
+	}
+
+	/**
+	 * Performance and memory footprint of DOM/AST trees for one file when method bodies
+	 * are converted on first access.
+	 */
+	public void testPerfDomAstFootprintLazyMethodBodies() throws JavaModelException {
+		tagAsSummary("DOM AST trees footprint for one file with lazy method bodies", false); // do NOT put in fingerprint
+
+		ICompilationUnit unit = getCompilationUnit("org.eclipse.jdt.core", "org.eclipse.jdt.internal.compiler.parser", "Parser.java");
+		createASTFootprint(unit, true);
+	}
+
 	/*
 	 * Create AST nodes tree for all compilation units of all projects
 	 */
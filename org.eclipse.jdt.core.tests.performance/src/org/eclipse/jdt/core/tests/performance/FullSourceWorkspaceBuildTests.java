@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -18,9 +18,19 @@ import java.io.IOException;
 import java.io.PrintStream;
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Hashtable;
 import java.util.List;
+import java.util.Set;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
 import junit.framework.Test;
 import org.eclipse.core.resources.IMarker;
 import org.eclipse.core.resources.IResource;
@@ -114,6 +124,34 @@ public class FullSourceWorkspaceBuildTests extends FullSourceWorkspaceTests {
 		"search"
 	};
 
+	// Batch compiler settings
+	private boolean runProcessor;
+	private boolean measurePeakHeap;
+
+	/*
+	 * Annotation processor looking at the members of all the root elements, as a processor
+	 * searching for its annotations would do.
+	 */
+	static class MembersProcessor extends AbstractProcessor {
+		@Override
+		public Set<String> getSupportedAnnotationTypes() {
+			return Collections.singleton("*");
+		}
+		@Override
+		public SourceVersion getSupportedSourceVersion() {
+			return SourceVersion.latestSupported();
+		}
+		@Override
+		public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+			for (Element element : roundEnv.getRootElements()) {
+				for (Element member : element.getEnclosedElements()) {
+					member.getAnnotationMirrors();
+				}
+			}
+			return false;
+		}
+	}
+
 	public FullSourceWorkspaceBuildTests(String name) {
 		super(name);
 	}
@@ -271,7 +309,7 @@ public class FullSourceWorkspaceBuildTests extends FullSourceWorkspaceTests {
 			}
 		}
 
-		compile(sources, options, classpath, null, log, logFileName);
+		compile(sources, options, classpath, compliance, log, logFileName);
 	}
 
 	// compile the file from org.eclipse.jdt.core.tests.binaries bundle using batch compiler
@@ -301,7 +339,7 @@ public class FullSourceWorkspaceBuildTests extends FullSourceWorkspaceTests {
 		StringWriter errStrWriter = new StringWriter();
 		PrintWriter err = new PrintWriter(errStrWriter);
 		PrintWriter out = new PrintWriter(new StringWriter());
-		Main warmup = new Main(out, err, false/*systemExit*/, null/*options*/, null/*progress*/);
+		Main warmup = newBatchCompiler(out, err);
 		for (int i=1; i<WARMUP_COUNT; i++) {
 			warmup.compile(Main.tokenize(cmdLine));
 		}
@@ -324,13 +362,16 @@ public class FullSourceWorkspaceBuildTests extends FullSourceWorkspaceTests {
 		errStrWriter = null;
 
 		// Measures
+		long peakHeap = 0;
 		for (int i = 0; i < MEASURES_COUNT; i++) {
 			runGc();
 			NullPrintWriter nullPrint= new NullPrintWriter();
-			Main main = new Main(nullPrint, nullPrint, false/*systemExit*/, null/*options*/, null/*progress*/);
+			Main main = newBatchCompiler(nullPrint, nullPrint);
+			if (this.measurePeakHeap) resetPeakHeap();
 			startMeasuring();
 			main.compile(Main.tokenize(cmdLine));
 			stopMeasuring();
+			if (this.measurePeakHeap) peakHeap = Math.max(peakHeap, getPeakHeap());
 			if (!"none".equals(COMPILER_OUTPUT_DIR)) {
 				org.eclipse.jdt.core.tests.util.Util.delete(COMPILER_OUTPUT_DIR);
 			}
@@ -351,6 +392,44 @@ public class FullSourceWorkspaceBuildTests extends FullSourceWorkspaceTests {
 		}
 		this.scenarioComment.append("warn=");
 		this.scenarioComment.append(warnings);
+		if (this.measurePeakHeap) {
+			if (PRINT) System.out.println("	Peak heap = "+peakHeap);
+			this.scenarioComment.append(" peak=");
+			this.scenarioComment.append(peakHeap >> 20);
+			this.scenarioComment.append("MB");
+		}
+	}
+
+	/*
+	 * Create a batch compiler running an annotation processor if requested.
+	 */
+	private Main newBatchCompiler(PrintWriter out, PrintWriter err) {
+		if (!this.runProcessor) {
+			return new Main(out, err, false/*systemExit*/, null/*options*/, null/*progress*/);
+		}
+		return new Main(out, err, false/*systemExit*/, null/*options*/, null/*progress*/) {
+			@Override
+			protected void initializeAnnotationProcessorManager() {
+				super.initializeAnnotationProcessorManager();
+				this.batchCompiler.annotationProcessorManager.setProcessors(new Object[] { new MembersProcessor() });
+			}
+		};
+	}
+
+	/*
+	 * Peak heap usage is the sum of the peak usages of the heap memory pools.
+	 */
+	private static void resetPeakHeap() {
+		for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+			if (pool.getType() == MemoryType.HEAP) pool.resetPeakUsage();
+		}
+	}
+	private static long getPeakHeap() {
+		long peak = 0;
+		for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+			if (pool.getType() == MemoryType.HEAP) peak += pool.getPeakUsage().getUsed();
+		}
+		return peak;
 	}
 
 	/*
@@ -715,6 +794,25 @@ public class FullSourceWorkspaceBuildTests extends FullSourceWorkspaceTests {
 		compile(JavaCore.PLUGIN_ID, ALL_OPTIONS, null, false/*no log*/, JDT_CORE_SRC_PATHS);
 	}
 
+	/**
+	 * Compile JDT/Core project without annotation processing and report the peak heap usage
+	 */
+	public void testCompileJDTCoreProjectPeakHeap() throws IOException, CoreException {
+		tagAsSummary("Compile JDT/Core with cmd line (peak heap)", false); // do NOT put in fingerprint
+		this.measurePeakHeap = true;
+		compile(JavaCore.PLUGIN_ID, "-nowarn -proc:none", "21", false/*no log*/, JDT_CORE_SRC_PATHS);
+	}
+
+	/**
+	 * Compile JDT/Core project with an annotation processor and report the peak heap usage
+	 */
+	public void testCompileJDTCoreProjectPeakHeapWithProcessor() throws IOException, CoreException {
+		tagAsSummary("Compile JDT/Core with cmd line (peak heap, processor)", false); // do NOT put in fingerprint
+		this.measurePeakHeap = true;
+		this.runProcessor = true;
+		compile(JavaCore.PLUGIN_ID, "-nowarn", "21", false/*no log*/, JDT_CORE_SRC_PATHS);
+	}
+
 	/**
 	 * Compile JDT/Core project with default warnings
 	 *
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -158,6 +158,86 @@ public void testFormatDefaultBigFile() {
 	assertPerformance();
 }
 
+/**
+ * Format a generated class with deeply nested builder chains, whose wraps have many combinations.
+ */
+public void testFormatNestedBuilderChains() {
+	tagAsSummary("Format nested builder chains", false); // do NOT put in fingerprint
+
+	StringBuilder buffer = new StringBuilder("public class Builders {\n\tObject build() {\n");
+	for (int i = 0; i < 20; i++) {
+		buffer.append("\t\treturn builder()");
+		appendNestedBuilder(buffer, 3);
+		buffer.append(";\n");
+	}
+	buffer.append("\t}\n}\n");
+	formatGenerated(buffer.toString());
+}
+
+private void appendNestedBuilder(StringBuilder buffer, int depth) {
+	for (int i = 0; i < 4; i++) {
+		buffer.append(".with").append(i).append("(\"value").append(i).append("\", ");
+		if (depth > 0) {
+			buffer.append("builder()");
+			appendNestedBuilder(buffer, depth - 1);
+			buffer.append(".build()");
+		} else {
+			buffer.append(i);
+		}
+		buffer.append(')');
+	}
+}
+
+/**
+ * Format a generated class with long array initializers, as found in generated parser tables.
+ */
+public void testFormatLongArrayInitializers() {
+	tagAsSummary("Format long array initializers", false); // do NOT put in fingerprint
+
+	StringBuilder buffer = new StringBuilder("public class Tables {\n");
+	for (int i = 0; i < 20; i++) {
+		buffer.append("\tstatic final int[][] TABLE").append(i).append(" = {");
+		for (int j = 0; j < 100; j++) {
+			buffer.append("{");
+			for (int k = 0; k < 20; k++)
+				buffer.append(j * k).append(", ");
+			buffer.append("}, ");
+		}
+		buffer.append("};\n");
+	}
+	buffer.append("}\n");
+	formatGenerated(buffer.toString());
+}
+
+private void formatGenerated(String source) {
+	// Warm up
+	int warmup = WARMUP_COUNT;
+	for (int i=0; i<warmup; i++) {
+		long startNanos = System.nanoTime();
+		DefaultCodeFormatter formatter = new DefaultCodeFormatter();
+		formatter.format(CodeFormatter.K_COMPILATION_UNIT, source, 0, source.length(), 0, null);
+		if (i==0) {
+			System.out.println("	Time to format generated file (" + source.length() + " chars) = "
+					+ (System.nanoTime() - startNanos) / 1_000_000L + "ms, "
+					+ formatter.getWrapSearchStatistics());
+		}
+	}
+
+	// Measures
+	resetCounters();
+	int measures = MEASURES_COUNT;
+	for (int i=0; i<measures; i++) {
+		runGc();
+		startMeasuring();
+		new DefaultCodeFormatter().format(CodeFormatter.K_COMPILATION_UNIT, source, 0, source.length(), 0, null);
+		stopMeasuring();
+	}
+
+	// Commit
+	commitMeasurements();
+	assertPerformance();
+}
+
 protected void resetCounters() {
 	// do nothing
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2025 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -36,6 +36,7 @@ import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.jdt.core.*;
 import org.eclipse.jdt.core.compiler.CategorizedProblem;
@@ -679,9 +680,18 @@ public final class CompletionEngine
 
 	private int foundTypesCount;
 	private ObjectVector acceptedTypes;
+	private HashtableOfObject onDemandFoundTypes;
 
 	private int foundConstructorsCount;
 	private ObjectVector acceptedConstructors;
+	private HashtableOfObject onDemandFoundConstructors;
+
+	// time budget of the request (see CompletionRequestor#setTimeBudget(long))
+	private boolean hasTimeBudget;
+	private long deadline; // in System.nanoTime() units
+	private List<Runnable> deferredIndexSearches;
+	private Scope streamingScope; // not null while the matches of a search are proposed as they are found
+	private InternalCompletionContext completionContext;
 	/**
 	 * The strictMatchForExtepectedType used to skip all elements found at <code>findVariablesAndMethods</code>
 	 * which doesn't match the current expected types in the engine in <code>expectedTypes</code>. Since in this mode
@@ -816,20 +826,31 @@ public final class CompletionEngine
 						packageName,
 						extraFlags,
 						accessibility));
+		if (this.streamingScope != null && this.acceptedConstructors.size() >= CHECK_CANCEL_FREQUENCY) {
+			acceptConstructors(this.streamingScope, false);
+		}
 	}
 
 	private void acceptConstructors(Scope scope) {
+		acceptConstructors(scope, true);
+	}
+
+	/*
+	 * Proposes the constructors accepted so far. The constructors of types imported on demand
+	 * are proposed with the last batch, once it is known whether their simple name must be qualified.
+	 */
+	private void acceptConstructors(Scope scope, boolean lastBatch) {
 		final boolean DEFER_QUALIFIED_PROPOSALS = false;
 
 		this.checkCancel();
 
-		if(this.acceptedConstructors == null) return;
-
-		int length = this.acceptedConstructors.size();
-
-		if(length == 0) return;
+		int length = this.acceptedConstructors == null ? 0 : this.acceptedConstructors.size();
 
-		HashtableOfObject onDemandFound = new HashtableOfObject();
+		HashtableOfObject onDemandFound = this.onDemandFoundConstructors;
+		if (onDemandFound == null) {
+			if (length == 0) return;
+			onDemandFound = this.onDemandFoundConstructors = new HashtableOfObject();
+		}
 
 		ArrayList deferredProposals = null;
 		if (DEFER_QUALIFIED_PROPOSALS) {
@@ -1057,6 +1078,8 @@ public final class CompletionEngine
 				}
 			}
 
+			if (!lastBatch) return;
+
 			char[][] keys = onDemandFound.keyTable;
 			Object[] values = onDemandFound.valueTable;
 			int max = keys.length;
@@ -1160,7 +1183,8 @@ public final class CompletionEngine
 				}
 			}
 		} finally {
-			this.acceptedTypes = null; // reset
+			this.acceptedConstructors = null; // reset
+			if (lastBatch) this.onDemandFoundConstructors = null;
 		}
 	}
 
@@ -1335,18 +1359,29 @@ public final class CompletionEngine
 			this.acceptedTypes = new ObjectVector();
 		}
 		this.acceptedTypes.add(new AcceptedType(packageName, simpleTypeName, enclosingTypeNames, modifiers, accessibility));
+		if (this.streamingScope != null && this.acceptedTypes.size() >= CHECK_CANCEL_FREQUENCY) {
+			acceptTypes(this.streamingScope, false);
+		}
 	}
 
 	private void acceptTypes(Scope scope) {
-		this.checkCancel();
-
-		if(this.acceptedTypes == null) return;
+		acceptTypes(scope, true);
+	}
 
-		int length = this.acceptedTypes.size();
+	/*
+	 * Proposes the types accepted so far. The types imported on demand are proposed with the
+	 * last batch, once it is known whether their simple name must be qualified.
+	 */
+	private void acceptTypes(Scope scope, boolean lastBatch) {
+		this.checkCancel();
 
-		if(length == 0) return;
+		int length = this.acceptedTypes == null ? 0 : this.acceptedTypes.size();
 
-		HashtableOfObject onDemandFound = new HashtableOfObject();
+		HashtableOfObject onDemandFound = this.onDemandFoundTypes;
+		if (onDemandFound == null) {
+			if (length == 0) return;
+			onDemandFound = this.onDemandFoundTypes = new HashtableOfObject();
+		}
 
 		try {
 			next : for (int i = 0; i < length; i++) {
@@ -1525,6 +1560,8 @@ public final class CompletionEngine
 				}
 			}
 
+			if (!lastBatch) return;
+
 			char[][] keys = onDemandFound.keyTable;
 			Object[] values = onDemandFound.valueTable;
 			int max = keys.length;
@@ -1547,6 +1584,7 @@ public final class CompletionEngine
 			}
 		} finally {
 			this.acceptedTypes = null; // reset
+			if (lastBatch) this.onDemandFoundTypes = null;
 		}
 	}
 
@@ -1753,6 +1791,7 @@ public final class CompletionEngine
 		if(DEBUG) {
 			trace(context.toString());
 		}
+		this.completionContext = context;
 		this.requestor.acceptContext(context);
 	}
 
@@ -1844,6 +1883,124 @@ public final class CompletionEngine
 		}
 	}
 
+	/*
+	 * Runs a search of types or constructors in the indexes, whose matches are reported to
+	 * acceptType(..) or acceptConstructor(..), then proposes them.
+	 * Under a time budget, the search is deferred until all the other proposals have been reported,
+	 * its matches are proposed as they are found, and it is stopped at the deadline.
+	 */
+	private void searchIndexes(Scope scope, boolean constructors, Runnable search) {
+		if (!this.hasTimeBudget) {
+			search.run();
+			if (constructors) {
+				acceptConstructors(scope);
+			} else {
+				acceptTypes(scope);
+			}
+			return;
+		}
+		// later proposals may change the ranges and token used by the proposals
+		int start = this.startPosition;
+		int end = this.endPosition;
+		int startOfToken = this.tokenStart;
+		int endOfToken = this.tokenEnd;
+		char[] token = this.completionToken;
+		if (this.deferredIndexSearches == null) {
+			this.deferredIndexSearches = new ArrayList<>();
+		}
+		this.deferredIndexSearches.add(() -> {
+			this.startPosition = start;
+			this.endPosition = end;
+			this.tokenStart = startOfToken;
+			this.tokenEnd = endOfToken;
+			this.completionToken = token;
+			searchIndexesWithinBudget(scope, constructors, search);
+		});
+	}
+
+	/*
+	 * Searches the indexes for the types or the constructors whose simple name matches the given token.
+	 * While the token is being typed, the matches of the previous request are filtered instead
+	 * (see CompletionSearchCache).
+	 */
+	private void searchSimpleNames(char[] token, boolean constructors, boolean findMembers, int searchFor) {
+		int matchRule = getTypesMatchRule();
+		int searchStart = this.actualCompletionPosition + 1 - token.length;
+		CompletionSearchCache.Key key = null;
+		if (this.typeRoot != null && this.offset == 0 && searchStart >= 0
+				&& CharOperation.fragmentEquals(token, this.source, searchStart, true)) {
+			key = new CompletionSearchCache.Key(this.typeRoot, this.owner, this.requestor.isTestCodeExcluded(),
+					constructors, findMembers, searchFor, matchRule, this.source, searchStart, token);
+			if (CompletionSearchCache.replay(key, this, name -> !isFailedMatch(token, name))) {
+				return;
+			}
+			// the name environment falls back to the model, or finds nothing, while the indexes are not ready
+			if (JavaModelManager.getIndexManager().awaitingJobsCount() > 0) {
+				key = null;
+			}
+		}
+		ISearchRequestor searchRequestor = key == null ? this : new CompletionSearchCache.Recorder(this);
+		if (constructors) {
+			this.nameEnvironment.findConstructorDeclarations(token, matchRule, false, searchRequestor, this.monitor);
+		} else {
+			this.nameEnvironment.findTypes(token, findMembers, matchRule, searchFor, false, searchRequestor, this.monitor);
+		}
+		if (key != null
+				&& JavaModelManager.getIndexManager().awaitingJobsCount() == 0
+				&& (this.monitor == null || !this.monitor.isCanceled())) {
+			CompletionSearchCache.setMatches(key, (CompletionSearchCache.Recorder) searchRequestor);
+		}
+	}
+
+	private void runDeferredIndexSearches() {
+		if (this.deferredIndexSearches == null) return;
+		List<Runnable> searches = this.deferredIndexSearches;
+		this.deferredIndexSearches = null;
+		for (Runnable search : searches) {
+			search.run();
+		}
+	}
+
+	private void searchIndexesWithinBudget(Scope scope, boolean constructors, Runnable search) {
+		if (System.nanoTime() - this.deadline >= 0) {
+			setPartial();
+			return;
+		}
+		IProgressMonitor requestMonitor = this.monitor;
+		// the deadline cancels the search as the progress monitor of the request would do
+		this.monitor = new NullProgressMonitor() {
+			@Override
+			public boolean isCanceled() {
+				return (requestMonitor != null && requestMonitor.isCanceled())
+						|| System.nanoTime() - CompletionEngine.this.deadline >= 0;
+			}
+		};
+		this.streamingScope = scope;
+		try {
+			search.run();
+		} catch (OperationCanceledException e) {
+			if (requestMonitor != null && requestMonitor.isCanceled()) {
+				throw e;
+			}
+			// out of time: only propose the matches found so far
+			setPartial();
+		} finally {
+			this.monitor = requestMonitor;
+			this.streamingScope = null;
+		}
+		if (constructors) {
+			acceptConstructors(scope);
+		} else {
+			acceptTypes(scope);
+		}
+	}
+
+	private void setPartial() {
+		if (this.completionContext != null) {
+			this.completionContext.setPartial();
+		}
+	}
+
 	private boolean complete(
 			ASTNode astNode,
 			ASTNode astNodeParent,
@@ -1983,6 +2140,9 @@ public final class CompletionEngine
 		}
 		if (this.monitor != null) this.monitor.beginTask(Messages.engine_completing, IProgressMonitor.UNKNOWN);
 		this.requestor.beginReporting();
+		long timeBudget = this.requestor.getTimeBudget();
+		this.hasTimeBudget = timeBudget > 0;
+		this.deadline = System.nanoTime() + timeBudget * 1_000_000;
 		boolean contextAccepted = false;
 		try {
 			this.fileName = sourceUnit.getFileName();
@@ -2275,6 +2435,16 @@ public final class CompletionEngine
 				if (this.requestor.isExtendedContextRequired()) context.setExtended();
 				this.requestor.acceptContext(context);
 			}
+			// the searches deferred by the time budget run last, whichever completion requested them
+			if (this.monitor == null || !this.monitor.isCanceled()) {
+				try {
+					runDeferredIndexSearches();
+				} catch (IndexOutOfBoundsException | InvalidCursorLocation | AbortCompilation | CompletionNodeFound e) {
+					if(DEBUG) {
+						trace("Exception caught by CompletionEngine:", e); //$NON-NLS-1$
+					}
+				}
+			}
 			this.requestor.endReporting();
 			if (this.monitor != null) this.monitor.done();
 			reset();
@@ -11840,14 +12010,10 @@ public final class CompletionEngine
 
 				checkCancel();
 
-				this.foundConstructorsCount = 0;
-				this.nameEnvironment.findConstructorDeclarations(
-						token,
-						getTypesMatchRule(),
-						false,
-						this,
-						this.monitor);
-				acceptConstructors(scope);
+				searchIndexes(scope, true, () -> {
+					this.foundConstructorsCount = 0;
+					searchSimpleNames(token, true, false, 0);
+				});
 			} else if (proposeType) {
 				int l = typesFound.size();
 				for (int i = 0; i < l; i++) {
@@ -11874,16 +12040,11 @@ public final class CompletionEngine
 
 				checkCancel();
 
-				this.foundTypesCount = 0;
-				this.nameEnvironment.findTypes(
-						token,
-						proposeAllMemberTypes,
-						getTypesMatchRule(),
-						searchFor,
-						false,
-						this,
-						this.monitor);
-				acceptTypes(scope);
+				int searchedTypes = searchFor;
+				searchIndexes(scope, false, () -> {
+					this.foundTypesCount = 0;
+					searchSimpleNames(token, false, proposeAllMemberTypes, searchedTypes);
+				});
 			}
 			if(!isEmptyPrefix && !this.requestor.isIgnored(CompletionProposal.PACKAGE_REF)) {
 
@@ -12180,14 +12341,16 @@ public final class CompletionEngine
 
 			checkCancel();
 
-			this.foundConstructorsCount = 0;
-			this.nameEnvironment.findConstructorDeclarations(
-					qualifiedName,
-					getTypesMatchRule(),
-					false,
-					this,
-					this.monitor);
-			acceptConstructors(scope);
+			char[] searchedName = qualifiedName;
+			searchIndexes(scope, true, () -> {
+				this.foundConstructorsCount = 0;
+				this.nameEnvironment.findConstructorDeclarations(
+						searchedName,
+						getTypesMatchRule(),
+						false,
+						this,
+						this.monitor);
+			});
 		} if(proposeType) {
 			int searchFor = IJavaSearchConstants.TYPE;
 			if(this.assistNodeIsClass) {
@@ -12204,16 +12367,19 @@ public final class CompletionEngine
 
 			checkCancel();
 
-			this.foundTypesCount = 0;
-			this.nameEnvironment.findTypes(
-					qualifiedName,
-					false,
-					getTypesMatchRule(),
-					searchFor,
-					false,
-					this,
-					this.monitor);
-			acceptTypes(scope);
+			char[] searchedName = qualifiedName;
+			int searchedTypes = searchFor;
+			searchIndexes(scope, false, () -> {
+				this.foundTypesCount = 0;
+				this.nameEnvironment.findTypes(
+						searchedName,
+						false,
+						getTypesMatchRule(),
+						searchedTypes,
+						false,
+						this,
+						this.monitor);
+			});
 		}
 
 		if(!this.requestor.isIgnored(CompletionProposal.PACKAGE_REF)) {
@@ -14525,6 +14691,10 @@ public final class CompletionEngine
 		this.knownModules = new HashtableOfObject(10);
 		this.knownPkgs = new HashtableOfObject(10);
 		this.knownTypes = new HashtableOfObject(10);
+		this.onDemandFoundTypes = null;
+		this.onDemandFoundConstructors = null;
+		this.deferredIndexSearches = null;
+		this.completionContext = null;
 		if (this.noCacheNameEnvironment != null) {
 			this.noCacheNameEnvironment.cleanup();
 			this.noCacheNameEnvironment = null;
@@ -0,0 +1,218 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.codeassist;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.ITypeRoot;
+import org.eclipse.jdt.core.WorkingCopyOwner;
+import org.eclipse.jdt.core.compiler.CharOperation;
+import org.eclipse.jdt.internal.compiler.env.AccessRestriction;
+
+/**
+ * Remembers the matches of the last search of types or constructors done in the indexes by code completion,
+ * so that the next completion requests on the same identifier, while it is being typed, filter them instead
+ * of searching the indexes again.
+ * <p>
+ * The matches are reused when the new request is made in the same unit, at the same offset of the
+ * completion token, with the same search parameters and requestor settings, on a token that extends the
+ * previous one, and when the source outside of the token did not change. Only the searches run to completion
+ * on ready indexes are remembered, since the name environment falls back to the model otherwise. Any change
+ * of the Java model other than the reconcile of that unit discards them (see {@link #reset(IJavaElement)}).
+ * </p>
+ */
+public final class CompletionSearchCache {
+
+	// don't keep the matches of searches on very short prefixes
+	private static final int MAX_MATCHES = 10000;
+
+	private static Key lastKey; // guarded by CompletionSearchCache.class
+	private static List<Match> lastMatches; // guarded by CompletionSearchCache.class
+
+	private CompletionSearchCache() {
+		// static methods only
+	}
+
+	/**
+	 * The unit, position and parameters of a search.
+	 */
+	static final class Key {
+		final ITypeRoot typeRoot;
+		final WorkingCopyOwner owner;
+		final boolean excludeTestCode;
+		final boolean constructors;
+		final boolean findMembers;
+		final int searchFor;
+		final int matchRule;
+		final char[] source;
+		final int tokenStart;
+		final char[] token;
+
+		Key(ITypeRoot typeRoot, WorkingCopyOwner owner, boolean excludeTestCode, boolean constructors,
+				boolean findMembers, int searchFor, int matchRule, char[] source, int tokenStart, char[] token) {
+			this.typeRoot = typeRoot;
+			this.owner = owner;
+			this.excludeTestCode = excludeTestCode;
+			this.constructors = constructors;
+			this.findMembers = findMembers;
+			this.searchFor = searchFor;
+			this.matchRule = matchRule;
+			this.source = source;
+			this.tokenStart = tokenStart;
+			this.token = token;
+		}
+
+		/*
+		 * Whether the matches of the search of this key include the ones of the given key.
+		 */
+		boolean includes(Key key) {
+			if (!this.typeRoot.equals(key.typeRoot)
+					|| this.owner != key.owner
+					|| this.excludeTestCode != key.excludeTestCode
+					|| this.constructors != key.constructors
+					|| this.findMembers != key.findMembers
+					|| this.searchFor != key.searchFor
+					|| this.matchRule != key.matchRule
+					|| this.tokenStart != key.tokenStart
+					|| !CharOperation.prefixEquals(this.token, key.token)) {
+				return false;
+			}
+			// the source must only differ by the end of the token
+			int tokenEnd = this.tokenStart + this.token.length;
+			int newTokenEnd = key.tokenStart + key.token.length;
+			int suffixLength = this.source.length - tokenEnd;
+			if (key.source.length - newTokenEnd != suffixLength) {
+				return false;
+			}
+			for (int i = 0; i < this.tokenStart; i++) {
+				if (this.source[i] != key.source[i]) return false;
+			}
+			for (int i = 0; i < suffixLength; i++) {
+				if (this.source[tokenEnd + i] != key.source[newTokenEnd + i]) return false;
+			}
+			return true;
+		}
+	}
+
+	/**
+	 * Records the matches reported by the name environment and forwards them to the engine.
+	 */
+	static final class Recorder implements ISearchRequestor {
+		private final ISearchRequestor requestor;
+		private final List<Match> matches = new ArrayList<>();
+		private boolean overflow;
+
+		Recorder(ISearchRequestor requestor) {
+			this.requestor = requestor;
+		}
+
+		@Override
+		public void acceptConstructor(int modifiers, char[] simpleTypeName, int parameterCount, char[] signature,
+				char[][] parameterTypes, char[][] parameterNames, int typeModifiers, char[] packageName, int extraFlags,
+				String path, AccessRestriction access) {
+			record(new Match(simpleTypeName,
+					r -> r.acceptConstructor(modifiers, simpleTypeName, parameterCount, signature, parameterTypes,
+							parameterNames, typeModifiers, packageName, extraFlags, path, access)));
+			this.requestor.acceptConstructor(modifiers, simpleTypeName, parameterCount, signature, parameterTypes,
+					parameterNames, typeModifiers, packageName, extraFlags, path, access);
+		}
+
+		@Override
+		public void acceptType(char[] packageName, char[] typeName, char[][] enclosingTypeNames, int modifiers,
+				AccessRestriction accessRestriction) {
+			record(new Match(typeName,
+					r -> r.acceptType(packageName, typeName, enclosingTypeNames, modifiers, accessRestriction)));
+			this.requestor.acceptType(packageName, typeName, enclosingTypeNames, modifiers, accessRestriction);
+		}
+
+		@Override
+		public void acceptPackage(char[] packageName) {
+			this.requestor.acceptPackage(packageName);
+		}
+
+		@Override
+		public void acceptModule(char[] moduleName) {
+			this.requestor.acceptModule(moduleName);
+		}
+
+		private void record(Match match) {
+			if (this.overflow) return;
+			if (this.matches.size() == MAX_MATCHES) {
+				this.overflow = true;
+				this.matches.clear();
+				return;
+			}
+			this.matches.add(match);
+		}
+	}
+
+	private static final class Match {
+		final char[] simpleTypeName;
+		final Consumer<ISearchRequestor> replay;
+
+		Match(char[] simpleTypeName, Consumer<ISearchRequestor> replay) {
+			this.simpleTypeName = simpleTypeName;
+			this.replay = replay;
+		}
+	}
+
+	/**
+	 * Reports to the given requestor the matches of the last search whose simple type name is accepted
+	 * by the given filter, if they include the ones of the given search.
+	 *
+	 * @return whether the matches of the last search could be used
+	 */
+	static boolean replay(Key key, ISearchRequestor requestor, Predicate<char[]> nameFilter) {
+		List<Match> matches;
+		synchronized (CompletionSearchCache.class) {
+			if (lastKey == null || !lastKey.includes(key)) return false;
+			matches = lastMatches;
+		}
+		for (Match match : matches) {
+			if (nameFilter.test(match.simpleTypeName)) {
+				match.replay.accept(requestor);
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Remembers the matches of a search that was run to completion on ready indexes.
+	 */
+	static synchronized void setMatches(Key key, Recorder recorder) {
+		if (recorder.overflow) {
+			lastKey = null;
+			lastMatches = null;
+		} else {
+			lastKey = key;
+			lastMatches = recorder.matches; // the recorder itself references the engine
+		}
+	}
+
+	/**
+	 * Discards the remembered matches after a change of the given element of the Java model,
+	 * unless it is the unit in which they were searched (its reconcile while the token is typed
+	 * doesn't change the types that can be found), or after any change if the element is
+	 * <code>null</code>.
+	 */
+	public static synchronized void reset(IJavaElement changedElement) {
+		if (lastKey == null) return;
+		if (changedElement != null && changedElement.equals(lastKey.typeRoot)) return;
+		lastKey = null;
+		lastMatches = null;
+	}
+}
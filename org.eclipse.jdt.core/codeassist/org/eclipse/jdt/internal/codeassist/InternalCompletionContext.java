@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2011 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -48,6 +48,8 @@ public class InternalCompletionContext extends CompletionContext {
 	protected boolean isExtended;
 	protected InternalExtendedCompletionContext extendedContext;
 
+	protected boolean isPartial;
+
 	protected void setExpectedTypesKeys(char[][] expectedTypesKeys) {
 		this.expectedTypesKeys = expectedTypesKeys;
 	}
@@ -56,6 +58,10 @@ public class InternalCompletionContext extends CompletionContext {
 		this.expectedTypesSignatures = expectedTypesSignatures;
 	}
 
+	protected void setPartial() {
+		this.isPartial = true;
+	}
+
 	protected void setExtended() {
 		this.isExtended = true;
 	}
@@ -183,6 +189,11 @@ public class InternalCompletionContext extends CompletionContext {
 		return this.isExtended;
 	}
 
+	@Override
+	public boolean isPartial() {
+		return this.isPartial;
+	}
+
 	@Override
 	public boolean isInJavadoc() {
 		return this.javadoc != 0;
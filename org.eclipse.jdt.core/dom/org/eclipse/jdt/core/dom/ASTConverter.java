@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2025 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -66,17 +66,29 @@ class ASTConverter {
 	protected boolean resolveBindings;
 	Scanner scanner;
 	private DefaultCommentMapper commentMapper;
+	// lazy conversion of method bodies
+	private boolean lazyMethodBodies;
+	private Scanner lazyBodiesScanner;
+	private int pendingLazyBodies;
+	private final Map<String, String> options;
 
 	public ASTConverter(Map<String, String> options, boolean resolveBindings, IProgressMonitor monitor) {
 		this.resolveBindings = resolveBindings;
 		this.referenceContext = null;
-		String sourceModeSetting = options.get(JavaCore.COMPILER_SOURCE);
+		this.options = options;
+		this.scanner = createScanner();
+		this.monitor = monitor;
+		this.insideComments = JavaCore.ENABLED.equals(options.get(JavaCore.COMPILER_DOC_COMMENT_SUPPORT));
+	}
+
+	private Scanner createScanner() {
+		String sourceModeSetting = this.options.get(JavaCore.COMPILER_SOURCE);
 		long sourceLevel = CompilerOptions.versionToJdkLevel(sourceModeSetting);
 		if (sourceLevel == 0) {
 			// unknown sourceModeSetting
 			sourceLevel = CompilerOptions.getFirstSupportedJdkLevel();
 		}
-		this.scanner = new Scanner(
+		return new Scanner(
 			true /*comment*/,
 			false /*whitespace*/,
 			false /*nls*/,
@@ -84,9 +96,53 @@ class ASTConverter {
 			null /*taskTags*/,
 			null/*taskPriorities*/,
 			true/*taskCaseSensitive*/,
-			JavaCore.ENABLED.equals(options.get(JavaCore.COMPILER_PB_ENABLE_PREVIEW_FEATURES)));
-		this.monitor = monitor;
-		this.insideComments = JavaCore.ENABLED.equals(options.get(JavaCore.COMPILER_DOC_COMMENT_SUPPORT));
+			JavaCore.ENABLED.equals(this.options.get(JavaCore.COMPILER_PB_ENABLE_PREVIEW_FEATURES)));
+	}
+
+	/*
+	 * Requests that the statements of method bodies are only converted when they are first accessed.
+	 * Only honored for units that are converted without bindings and have no problems, as bindings are
+	 * recorded and problems are propagated by traversing the whole AST right after the conversion.
+	 */
+	void setLazyMethodBodies(boolean lazyMethodBodies) {
+		this.lazyMethodBodies = lazyMethodBodies;
+	}
+
+	/*
+	 * Runs the lazy conversion of (part of) a method body, in the same context as if it had been
+	 * converted with the rest of the AST. A separate scanner is used so that it does not interfere
+	 * with the comment mapper, which skips the bodies that are not converted yet: the comments of
+	 * the converted statements are mapped here instead.
+	 * Until every body is converted, the converter is retained by the bodies left, along with their
+	 * part of the compiler AST. The source and the scanner are released after the last body.
+	 */
+	private synchronized void convertLazily(ASTNode context, Block body, Runnable conversion) {
+		ASTNode oldReferenceContext = this.referenceContext;
+		Scanner oldScanner = this.scanner;
+		IProgressMonitor oldMonitor = this.monitor;
+		int oldDefaultNodeFlag = this.ast.getDefaultNodeFlag();
+		this.referenceContext = context;
+		this.scanner = this.lazyBodiesScanner;
+		this.docParser.scanner = this.scanner;
+		this.monitor = null; // the conversion of the AST is over
+		this.ast.setDefaultNodeFlag(oldDefaultNodeFlag | ASTNode.ORIGINAL);
+		try {
+			conversion.run();
+			if (context.getRoot() instanceof CompilationUnit compilationUnit && compilationUnit.getCommentMapper() != null) {
+				compilationUnit.getCommentMapper().initialize(body, this.scanner);
+			}
+		} finally {
+			this.ast.setDefaultNodeFlag(oldDefaultNodeFlag);
+			this.monitor = oldMonitor;
+			this.scanner = oldScanner;
+			this.docParser.scanner = oldScanner;
+			this.referenceContext = oldReferenceContext;
+			if (--this.pendingLazyBodies == 0) {
+				// all the bodies are converted
+				this.lazyBodiesScanner = null;
+				this.compilationUnitSource = null;
+			}
+		}
 	}
 
 	protected void adjustSourcePositionsForParent(org.eclipse.jdt.internal.compiler.ast.Expression expression) {
@@ -567,6 +623,25 @@ class ASTConverter {
 		}
 	}
 
+	private void convertMethodBody(Block block, org.eclipse.jdt.internal.compiler.ast.Statement[] statements,
+			org.eclipse.jdt.internal.compiler.ast.ExplicitConstructorCall explicitConstructorCall) {
+		if (explicitConstructorCall != null && explicitConstructorCall.accessMode != org.eclipse.jdt.internal.compiler.ast.ExplicitConstructorCall.ImplicitSuper && explicitConstructorCall.firstStatement) {
+			block.statements().add(convert(explicitConstructorCall));
+		}
+		int statementsLength = statements == null ? 0 : statements.length;
+		for (int i = 0; i < statementsLength; i++) {
+			org.eclipse.jdt.internal.compiler.ast.Statement astStatement = statements[i];
+			if (astStatement instanceof org.eclipse.jdt.internal.compiler.ast.LocalDeclaration) {
+				checkAndAddMultipleLocalDeclaration(statements, i, block.statements());
+			} else {
+				final Statement statement = convert(astStatement);
+				if (statement != null) {
+					block.statements().add(statement);
+				}
+			}
+		}
+	}
+
 	protected void checkAndAddMultipleLocalDeclaration(org.eclipse.jdt.internal.compiler.ast.Statement[] stmts, int index, List blockStatements) {
 		if (index > 0
 				&& stmts[index - 1] instanceof org.eclipse.jdt.internal.compiler.ast.LocalDeclaration) {
@@ -762,20 +837,13 @@ class ASTConverter {
 				methodDecl.setBody(block);
 			}
 			if (block != null && (statements != null || explicitConstructorCall != null)) {
-				if (explicitConstructorCall != null && explicitConstructorCall.accessMode != org.eclipse.jdt.internal.compiler.ast.ExplicitConstructorCall.ImplicitSuper && explicitConstructorCall.firstStatement) {
-					block.statements().add(convert(explicitConstructorCall));
-				}
-				int statementsLength = statements == null ? 0 : statements.length;
-				for (int i = 0; i < statementsLength; i++) {
-					org.eclipse.jdt.internal.compiler.ast.Statement astStatement = statements[i];
-					if (astStatement instanceof org.eclipse.jdt.internal.compiler.ast.LocalDeclaration) {
-						checkAndAddMultipleLocalDeclaration(statements, i, block.statements());
-					} else {
-						final Statement statement = convert(astStatement);
-						if (statement != null) {
-							block.statements().add(statement);
-						}
-					}
+				if (this.lazyMethodBodies) {
+					final Block body = block;
+					final org.eclipse.jdt.internal.compiler.ast.ExplicitConstructorCall constructorCall = explicitConstructorCall;
+					block.setLazyStatements(() -> convertLazily(methodDecl, body, () -> convertMethodBody(body, statements, constructorCall)));
+					this.pendingLazyBodies++;
+				} else {
+					convertMethodBody(block, statements, explicitConstructorCall);
 				}
 			}
 			if (block != null) {
@@ -1509,6 +1577,14 @@ class ASTConverter {
 			this.compilationUnitSource = source;
 			this.compilationUnitSourceLength = source.length;
 			this.scanner.setSource(source, unit.compilationResult);
+			if (this.lazyMethodBodies) {
+				if (this.resolveBindings || unit.compilationResult.problemCount != 0 || unit.compilationResult.recoveryScannerData != null) {
+					this.lazyMethodBodies = false;
+				} else {
+					this.lazyBodiesScanner = createScanner();
+					this.lazyBodiesScanner.setSource(source, unit.compilationResult);
+				}
+			}
 			CompilationUnit compilationUnit = new CompilationUnit(this.ast);
 			compilationUnit.setStatementsRecoveryData(unit.compilationResult.recoveryScannerData);
 
@@ -1586,6 +1662,14 @@ class ASTConverter {
 				lookupForScopes();
 			}
 			compilationUnit.initCommentMapper(this.scanner);
+			if (this.lazyMethodBodies) {
+				// the bodies left are converted with their own scanner
+				this.scanner = null;
+				this.docParser.scanner = null;
+				if (this.pendingLazyBodies == 0) {
+					this.lazyBodiesScanner = null;
+				}
+			}
 			if (SourceRangeVerifier.DEBUG) {
 				String bugs = new SourceRangeVerifier().process(compilationUnit);
 				if (bugs != null) {
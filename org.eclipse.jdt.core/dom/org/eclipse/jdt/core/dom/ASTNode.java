@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2024 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,11 +16,13 @@ package org.eclipse.jdt.core.dom;
 
 import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import org.eclipse.jdt.internal.core.dom.NaiveASTFlattener;
 
 /**
@@ -1480,17 +1482,25 @@ public abstract class ASTNode {
 	 */
 	static final boolean OPTIONAL = false;
 
+	/**
+	 * Shared storage of the node lists that never had any element.
+	 */
+	private static final Object[] NO_ELEMENTS = new Object[0];
+
 	/**
 	 * A specialized implementation of a list of ASTNodes. The
-	 * implementation is based on an ArrayList.
+	 * implementation is based on an array owned by the list.
 	 */
 	class NodeList extends AbstractList {
 
 		/**
-		 * The underlying list in which the nodes of this list are
-		 * stored (element type: {@link ASTNode}).
+		 * The array in which the nodes of this list are stored
+		 * (element type: {@link ASTNode}), in positions 0 to
+		 * <code>elementCount - 1</code>.
 		 * <p>
-		 * Be stingy on storage - assume that list will be empty.
+		 * Be stingy on storage - assume that list will be empty, and
+		 * only grow the array by small steps, as most lists of a tree
+		 * stay empty or only have a few elements.
 		 * </p>
 		 * <p>
 		 * This field declared default visibility (rather than private)
@@ -1498,7 +1508,12 @@ public abstract class ASTNode {
 		 * a synthetic accessor method.
 		 * </p>
 		 */
-		ArrayList store = new ArrayList(0);
+		Object[] elements = NO_ELEMENTS;
+
+		/**
+		 * The number of nodes in this list.
+		 */
+		int elementCount;
 
 		/**
 		 * The property descriptor for this list.
@@ -1521,12 +1536,12 @@ public abstract class ASTNode {
 
 			@Override
 			public boolean hasNext() {
-				return this.position < NodeList.this.store.size();
+				return this.position < NodeList.this.elementCount;
 			}
 
 			@Override
 			public Object next() {
-				Object result = NodeList.this.store.get(this.position);
+				Object result = NodeList.this.elements[Objects.checkIndex(this.position, NodeList.this.elementCount)];
 				this.position++;
 				return result;
 		    }
@@ -1582,12 +1597,12 @@ public abstract class ASTNode {
 
 		@Override
 		public int size() {
-			return this.store.size();
+			return this.elementCount;
 		}
 
 		@Override
 		public Object get(int index) {
-			return this.store.get(index);
+			return this.elements[Objects.checkIndex(index, this.elementCount)];
 		}
 
 		@Override
@@ -1601,7 +1616,7 @@ public abstract class ASTNode {
 			}
 			// delink old child from parent, and link new child to parent
 			ASTNode newChild = (ASTNode) element;
-			ASTNode oldChild = (ASTNode) this.store.get(index);
+			ASTNode oldChild = (ASTNode) get(index);
 			if (oldChild == newChild) {
 				return oldChild;
 			}
@@ -1612,7 +1627,8 @@ public abstract class ASTNode {
 			ASTNode.checkNewChild(ASTNode.this, newChild, this.propertyDescriptor.cycleRisk, this.propertyDescriptor.elementType);
 			ASTNode.this.ast.preReplaceChildEvent(ASTNode.this, oldChild, newChild, this.propertyDescriptor);
 
-			Object result = this.store.set(index, newChild);
+			Object result = this.elements[index];
+			this.elements[index] = newChild;
 			// n.b. setParent will call ast.modifying()
 			oldChild.setParent(null, null);
 			newChild.setParent(ASTNode.this, this.propertyDescriptor);
@@ -1629,13 +1645,22 @@ public abstract class ASTNode {
 				// this node is protected => cannot gain or lose children
 				throw new IllegalArgumentException("AST node cannot be modified"); //$NON-NLS-1$
 			}
+			if (index < 0 || index > this.elementCount) {
+				throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.elementCount); //$NON-NLS-1$ //$NON-NLS-2$
+			}
 			// link new child to parent
 			ASTNode newChild = (ASTNode) element;
 			ASTNode.checkNewChild(ASTNode.this, newChild, this.propertyDescriptor.cycleRisk, this.propertyDescriptor.elementType);
 			ASTNode.this.ast.preAddChildEvent(ASTNode.this, newChild, this.propertyDescriptor);
 
 
-			this.store.add(index, element);
+			if (this.elementCount == this.elements.length) {
+				// grow by half, as ArrayList does, starting from a single element
+				this.elements = Arrays.copyOf(this.elements, this.elementCount + (this.elementCount >> 1) + 1);
+			}
+			System.arraycopy(this.elements, index, this.elements, index + 1, this.elementCount - index);
+			this.elements[index] = element;
+			this.elementCount++;
 			updateCursors(index, +1);
 			// n.b. setParent will call ast.modifying()
 			newChild.setParent(ASTNode.this, this.propertyDescriptor);
@@ -1649,7 +1674,7 @@ public abstract class ASTNode {
 				throw new IllegalArgumentException("AST node cannot be modified"); //$NON-NLS-1$
 			}
 			// delink old child from parent
-			ASTNode oldChild = (ASTNode) this.store.get(index);
+			ASTNode oldChild = (ASTNode) get(index);
 			if ((oldChild.typeAndFlags & PROTECT) != 0) {
 				// old child is protected => cannot be unparented
 				throw new IllegalArgumentException("AST node cannot be modified"); //$NON-NLS-1$
@@ -1658,7 +1683,9 @@ public abstract class ASTNode {
 			ASTNode.this.ast.preRemoveChildEvent(ASTNode.this, oldChild, this.propertyDescriptor);
 			// n.b. setParent will call ast.modifying()
 			oldChild.setParent(null, null);
-			Object result = this.store.remove(index);
+			Object result = this.elements[index];
+			System.arraycopy(this.elements, index + 1, this.elements, index, this.elementCount - index - 1);
+			this.elements[--this.elementCount] = null;
 			updateCursors(index, -1);
 			ASTNode.this.ast.postRemoveChildEvent(ASTNode.this, oldChild, this.propertyDescriptor);
 			return result;
@@ -1740,18 +1767,17 @@ public abstract class ASTNode {
 	     * <li>1 object header for the NodeList instance</li>
 	     * <li>5 4-byte fields of the NodeList instance</li>
 	     * <li>0 for cursors since null unless walk in progress</li>
-	     * <li>1 object header for the ArrayList instance</li>
-	     * <li>2 4-byte fields of the ArrayList instance</li>
-	     * <li>1 object header for an Object[] instance</li>
-	     * <li>4 bytes in array for each element</li>
+	     * <li>1 object header for the Object[] instance, unless the list never had elements</li>
+	     * <li>4 bytes in array for each slot</li>
 	     * </ul>
 	 	 *
 		 * @return the size of this node list in bytes
 		 */
 		int memSize() {
 			int result = HEADERS + 5 * 4;
-			result += HEADERS + 2 * 4;
-			result += HEADERS + 4 * size();
+			if (this.elements != NO_ELEMENTS) {
+				result += HEADERS + 4 * this.elements.length;
+			}
 			return result;
 		}
 
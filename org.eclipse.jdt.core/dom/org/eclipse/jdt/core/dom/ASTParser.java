@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2004, 2025 IBM Corporation and others.
+ * Copyright (c) 2004, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -215,6 +215,16 @@ public class ASTParser {
 	 */
 	private int bits;
 
+	/**
+	 * Number of threads used to create the ASTs of a batch without bindings.
+	 */
+	private int parallelism;
+
+	/**
+	 * Whether the ASTs created on several threads are passed to the requestor in the order of the units.
+	 */
+	private boolean orderedDelivery;
+
 	private final ICompilationUnitResolver unitResolver;
 
 	/**
@@ -319,6 +329,8 @@ public class ASTParser {
 		this.rawSource = null;
 		this.typeRoot = null;
 		this.bits = 0;
+		this.parallelism = 1;
+		this.orderedDelivery = true;
 		this.sourceLength = -1;
 		this.sourceOffset = 0;
 		this.workingCopyOwner = DefaultWorkingCopyOwner.PRIMARY;
@@ -828,6 +840,99 @@ public class ASTParser {
 		}
 	}
 
+	/**
+	 * Requests an abstract syntax tree whose method bodies are only converted when they are first accessed.
+	 *
+	 * <p>When lazy method bodies are enabled, the {@linkplain MethodDeclaration#getBody() body} of a method
+	 * declaration is created with the rest of the tree, but its statements are only created on the first call
+	 * to {@link Block#statements()}, including when the block is visited or copied. This reduces the cost of
+	 * creating trees whose method bodies are mostly not inspected. The resulting tree is the same as if it
+	 * had been created at once; in particular, creating the statements does not count as a modification of the tree.</p>
+	 *
+	 * <p>Until all its method bodies have been accessed, the tree retains the compiler structures of the bodies that are
+	 * not converted yet, as well as the source of the compilation unit. They are released once the last body is converted,
+	 * so clients keeping many such trees alive may use more memory than with trees created at once.</p>
+	 *
+	 * <p>This setting is ignored, and bodies are converted at once, when bindings are resolved or when the source has
+	 * problems. It is not used when the kind used in {@link #setKind(int)} is either
+	 * {@link #K_EXPRESSION}, {@link #K_STATEMENTS} or {@link #K_CLASS_BODY_DECLARATIONS}, or when a
+	 * {@linkplain #setFocalPosition(int) focal position} is set.</p>
+	 * <p>
+	 * Default to <code>false</code>.
+	 * </p>
+	 *
+	 * @param enabled <code>true</code> if method bodies should be converted on first access,
+	 *   and <code>false</code> if they should be converted with the rest of the tree
+	 * @since 3.47
+	 */
+	public void setLazyMethodBodies(boolean enabled) {
+		if (enabled) {
+			this.bits |= CompilationUnitResolver.LAZY_METHOD_BODIES;
+		} else {
+			this.bits &= ~CompilationUnitResolver.LAZY_METHOD_BODIES;
+		}
+	}
+
+	/**
+	 * Requests that the ASTs of a batch of {@link #createASTs(String[], String[], String[], FileASTRequestor, IProgressMonitor) createASTs}
+	 * or {@link #createASTs(ICompilationUnit[], String[], ASTRequestor, IProgressMonitor) createASTs} are created on several threads.
+	 *
+	 * <p>This setting is ignored when bindings are requested with {@link #setResolveBindings(boolean) setResolveBindings(true)}:
+	 * all the units of a batch with bindings share the same compiler lookup environment, which cannot be
+	 * used concurrently, so they are always processed on the calling thread. Clients that need bindings and can do
+	 * without comparing bindings across units by identity may split the units in several batches, each created by its
+	 * own parser on its own thread.</p>
+	 * <p>When <code>ordered</code> is <code>true</code>, the ASTs are passed to the requestor from the calling thread
+	 * in the order of the given units. Otherwise they are passed as soon as they are created, from the worker
+	 * threads, and the requestor must be able to handle concurrent calls.</p>
+	 * <p>
+	 * Default to <code>1</code>, i.e. the ASTs are created on the calling thread.
+	 * </p>
+	 *
+	 * @param parallelism the maximum number of threads used to create the ASTs of a batch
+	 * @param ordered <code>true</code> if the ASTs must be passed to the requestor in order from the calling thread,
+	 *   and <code>false</code> if they can be passed concurrently from the worker threads
+	 * @exception IllegalArgumentException if the parallelism is not positive
+	 * @since 3.47
+	 */
+	public void setParallelism(int parallelism, boolean ordered) {
+		if (parallelism < 1) {
+			throw new IllegalArgumentException();
+		}
+		this.parallelism = parallelism;
+		this.orderedDelivery = ordered;
+	}
+
+	/**
+	 * Requests that the ASTs created with bindings by a batch of {@link #createASTs(String[], String[], String[], FileASTRequestor, IProgressMonitor) createASTs}
+	 * or {@link #createASTs(ICompilationUnit[], String[], ASTRequestor, IProgressMonitor) createASTs} are not kept in memory
+	 * by the parser once they have been passed to the requestor.
+	 *
+	 * <p>When the streaming mode is enabled, the correspondence between the nodes of an AST and the compiler
+	 * structures is forgotten as soon as the call to <code>acceptAST</code> returns, so that the memory used by
+	 * the batch does not grow with the number of units processed. Bindings must then be resolved from within
+	 * <code>acceptAST</code>; resolving them from the nodes of an AST later returns <code>null</code>.
+	 * The bindings already obtained stay valid, and the bindings of a given element still have the same
+	 * {@linkplain IBinding#getKey() key} throughout the batch, but they are not guaranteed to be identical
+	 * objects when obtained from different units.</p>
+	 *
+	 * <p>This setting is only used by the <code>createASTs</code> methods when bindings are resolved.</p>
+	 * <p>
+	 * Default to <code>false</code>.
+	 * </p>
+	 *
+	 * @param enabled <code>true</code> if the ASTs of a batch should be released once they have been reported,
+	 *   and <code>false</code> otherwise
+	 * @since 3.47
+	 */
+	public void setStreamingMode(boolean enabled) {
+		if (enabled) {
+			this.bits |= CompilationUnitResolver.STREAMING_MODE;
+		} else {
+			this.bits &= ~CompilationUnitResolver.STREAMING_MODE;
+		}
+	}
+
     /**
      * Sets the working copy owner used when resolving bindings, where
      * <code>null</code> means the primary owner. Defaults to the primary owner.
@@ -1010,13 +1115,21 @@ public class ASTParser {
 			if ((this.bits & CompilationUnitResolver.IGNORE_METHOD_BODIES) != 0) {
 				flags |= ICompilationUnit.IGNORE_METHOD_BODIES;
 			}
+			if ((this.bits & CompilationUnitResolver.LAZY_METHOD_BODIES) != 0) {
+				flags |= CompilationUnitResolver.LAZY_METHOD_BODIES_FLAG;
+			}
 			if ((this.bits & CompilationUnitResolver.RESOLVE_BINDING) != 0) {
 				if (this.project == null)
 					throw new IllegalStateException("project not specified"); //$NON-NLS-1$
 				if ((this.bits & CompilationUnitResolver.BINDING_RECOVERY) != 0) {
 					flags |= ICompilationUnit.ENABLE_BINDINGS_RECOVERY;
 				}
+				if ((this.bits & CompilationUnitResolver.STREAMING_MODE) != 0) {
+					flags |= CompilationUnitResolver.STREAMING_MODE_FLAG;
+				}
 				this.unitResolver.resolve(safeCopyOf(compilationUnits), safeCopyOf(bindingKeys), requestor, this.apiLevel, safeUnmodifiableMap(this.compilerOptions), this.project, this.workingCopyOwner, flags, monitor);
+			} else if (this.parallelism > 1) {
+				ParallelASTCreator.parse(this.unitResolver, safeCopyOf(compilationUnits), requestor, this.apiLevel, safeUnmodifiableMap(this.compilerOptions), flags, this.parallelism, this.orderedDelivery, monitor);
 			} else {
 				this.unitResolver.parse(safeCopyOf(compilationUnits), requestor, this.apiLevel, safeUnmodifiableMap(this.compilerOptions), flags, monitor);
 			}
@@ -1112,6 +1225,9 @@ public class ASTParser {
 			if ((this.bits & CompilationUnitResolver.IGNORE_METHOD_BODIES) != 0) {
 				flags |= ICompilationUnit.IGNORE_METHOD_BODIES;
 			}
+			if ((this.bits & CompilationUnitResolver.LAZY_METHOD_BODIES) != 0) {
+				flags |= CompilationUnitResolver.LAZY_METHOD_BODIES_FLAG;
+			}
 			if ((this.bits & CompilationUnitResolver.RESOLVE_BINDING) != 0) {
 				if (this.classpaths == null && this.sourcepaths == null && ((this.bits & CompilationUnitResolver.INCLUDE_RUNNING_VM_BOOTCLASSPATH) == 0)) {
 					throw new IllegalStateException("no environment is specified"); //$NON-NLS-1$
@@ -1119,7 +1235,12 @@ public class ASTParser {
 				if ((this.bits & CompilationUnitResolver.BINDING_RECOVERY) != 0) {
 					flags |= ICompilationUnit.ENABLE_BINDINGS_RECOVERY;
 				}
+				if ((this.bits & CompilationUnitResolver.STREAMING_MODE) != 0) {
+					flags |= CompilationUnitResolver.STREAMING_MODE_FLAG;
+				}
 				this.unitResolver.resolve(safeCopyOf(sourceFilePaths), safeCopyOf(encodings), safeCopyOf(bindingKeys), requestor, this.apiLevel, safeUnmodifiableMap(this.compilerOptions), getClasspath(), flags, monitor);
+			} else if (this.parallelism > 1) {
+				ParallelASTCreator.parse(this.unitResolver, safeCopyOf(sourceFilePaths), safeCopyOf(encodings), requestor, this.apiLevel, safeUnmodifiableMap(this.compilerOptions), flags, this.parallelism, this.orderedDelivery, monitor);
 			} else {
 				this.unitResolver.parse(safeCopyOf(sourceFilePaths), safeCopyOf(encodings), requestor, this.apiLevel, safeUnmodifiableMap(this.compilerOptions), flags, monitor);
 			}
@@ -1402,6 +1523,9 @@ public class ASTParser {
 					if (!useSearcher && ((this.bits & CompilationUnitResolver.IGNORE_METHOD_BODIES) != 0)) {
 						flags |= ICompilationUnit.IGNORE_METHOD_BODIES;
 					}
+					if (!useSearcher && ((this.bits & CompilationUnitResolver.LAZY_METHOD_BODIES) != 0)) {
+						flags |= CompilationUnitResolver.LAZY_METHOD_BODIES_FLAG;
+					}
 
 					if (needToResolveBindings) {
 						if ((this.bits & CompilationUnitResolver.BINDING_RECOVERY) != 0) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2013 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -73,6 +73,17 @@ public class Block extends Statement {
 	private final ASTNode.NodeList statements =
 		new ASTNode.NodeList(STATEMENTS_PROPERTY);
 
+	/**
+	 * The conversion filling the statements of this block on first access, when this block is
+	 * the body of a method that was not converted with the rest of the AST; <code>null</code> otherwise.
+	 */
+	private volatile Runnable lazyStatements;
+
+	/**
+	 * Whether the lazy conversion of the statements is running (only accessed while holding the lock of this block).
+	 */
+	private boolean convertingStatements;
+
 	/**
 	 * Creates a new unparented block node owned by the given AST.
 	 * By default, the block is empty.
@@ -125,7 +136,7 @@ public class Block extends Statement {
 	void accept0(ASTVisitor visitor) {
 		boolean visitChildren = visitor.visit(this);
 		if (visitChildren) {
-			acceptChildren(visitor, this.statements);
+			acceptChildren(visitor, (ASTNode.NodeList) statements());
 		}
 		visitor.endVisit(this);
 	}
@@ -141,16 +152,58 @@ public class Block extends Statement {
 	 *    (element type: {@link Statement})
 	 */
 	public List statements() {
+		if (this.lazyStatements != null) {
+			convertStatements();
+		}
 		return this.statements;
 	}
 
+	/**
+	 * Sets the conversion that creates the statements of this block on first access.
+	 *
+	 * @param conversion the conversion adding the statements to this block
+	 */
+	void setLazyStatements(Runnable conversion) {
+		this.lazyStatements = conversion;
+	}
+
+	/**
+	 * Returns whether the statements of this block are still to be converted on first access.
+	 */
+	boolean hasLazyStatements() {
+		return this.lazyStatements != null;
+	}
+
+	private void convertStatements() {
+		synchronized (this) {
+			Runnable conversion = this.lazyStatements;
+			if (conversion == null || this.convertingStatements) {
+				// converted by another reader, or being converted by this thread through statements()
+				return;
+			}
+			this.convertingStatements = true;
+			preLazyInit();
+			int protect = this.typeAndFlags & PROTECT;
+			this.typeAndFlags &= ~PROTECT;
+			try {
+				conversion.run();
+			} finally {
+				this.typeAndFlags |= protect;
+				this.convertingStatements = false;
+				this.lazyStatements = null;
+				this.ast.reenableEvents();
+			}
+		}
+	}
+
 	@Override
 	int memSize() {
-		return super.memSize() + 1 * 4;
+		return super.memSize() + 3 * 4;
 	}
 
 	@Override
 	int treeSize() {
+		// statements still to be converted are not counted, rather than converted here
 		return memSize() + this.statements.listSize();
 	}
 }
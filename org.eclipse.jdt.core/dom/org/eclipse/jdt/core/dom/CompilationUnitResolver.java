@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2022 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -127,6 +127,25 @@ class CompilationUnitResolver extends Compiler {
 	public static final int BINDING_RECOVERY = 0x10;
 	public static final int INCLUDE_RUNNING_VM_BOOTCLASSPATH = 0x20;
 	public static final int FORCE_PROBLEM_DETECTION = 0x40;
+	public static final int STREAMING_MODE = 0x80;
+	public static final int LAZY_METHOD_BODIES = 0x100;
+
+	/*
+	 * Internal flag passed along the ICompilationUnit flags to request the streaming mode of the batch resolution
+	 * (see ASTParser#setStreamingMode(boolean)). It must not collide with the ICompilationUnit and AST flags.
+	 */
+	static final int STREAMING_MODE_FLAG = 0x10000;
+
+	/*
+	 * Internal flag passed along the ICompilationUnit flags to request that method bodies are converted
+	 * on first access (see ASTParser#setLazyMethodBodies(boolean)).
+	 */
+	static final int LAZY_METHOD_BODIES_FLAG = 0x20000;
+
+	/*
+	 * Number of DOM bindings above which the binding tables are dropped between two units in streaming mode.
+	 */
+	static final int STREAMING_BINDINGS_BUDGET = Integer.getInteger("org.eclipse.jdt.core.dom.streamingBindingsBudget", 50_000).intValue(); //$NON-NLS-1$
 
 	/* A list of int */
 	static class IntArrayList {
@@ -370,6 +389,7 @@ class CompilationUnitResolver extends Compiler {
 		ast.setDefaultNodeFlag(ASTNode.ORIGINAL);
 		CompilationUnit compilationUnit = null;
 		ASTConverter converter = new ASTConverter(options, needToResolveBindings, monitor);
+		converter.setLazyMethodBodies((flags & LAZY_METHOD_BODIES_FLAG) != 0);
 		if (needToResolveBindings) {
 			resolver = new DefaultBindingResolver(compilationUnitDeclaration.scope, owner, bindingTables, (flags & ICompilationUnit.ENABLE_BINDINGS_RECOVERY) != 0, fromJavaProject);
 			ast.setFlag(flags | AST.RESOLVED_BINDINGS);
@@ -1008,6 +1028,9 @@ class CompilationUnitResolver extends Compiler {
 						} catch (RuntimeException e) {
 							throw new RuntimeException("Error on " + source.getPath(), e); //$NON-NLS-1$
 						}
+						if ((flags & STREAMING_MODE_FLAG) != 0) {
+							((DefaultBindingResolver) resolver).releaseCompilerMappings();
+						}
 						worked(1);
 
 						// remove at the end so that we don't resolve twice if a source and a key for the same file name have been requested
@@ -1037,6 +1060,9 @@ class CompilationUnitResolver extends Compiler {
 				}
 				this.unitsToProcess[i] = null; // release reference to processed unit declaration
 				this.requestor.acceptResult(unit.compilationResult.tagAsAccepted());
+				if ((flags & STREAMING_MODE_FLAG) != 0) {
+					releaseBindingsOverBudget();
+				}
 			}
 
 			// remaining binding keys
@@ -1064,6 +1090,18 @@ class CompilationUnitResolver extends Compiler {
 		}
 	}
 
+	/*
+	 * In streaming mode, drops the DOM bindings created so far once there are too many of them, as
+	 * they hold onto the compiler bindings and, for local elements, onto the compiler ASTs of the units
+	 * that have already been reported. Bindings created afterwards are new objects, but their keys
+	 * are unchanged as they are computed from the lookup environment shared by the whole batch.
+	 */
+	private void releaseBindingsOverBudget() {
+		if (this.bindingTables.compilerBindingsToASTBindings.size() > STREAMING_BINDINGS_BUDGET) {
+			this.bindingTables = new DefaultBindingResolver.BindingTables();
+		}
+	}
+
 	private void resolve(
 			String[] sourceCompilationUnits,
 			String[] encodings,
@@ -1142,6 +1180,9 @@ class CompilationUnitResolver extends Compiler {
 
 						// pass it to requestor
 						astRequestor.acceptAST(new String(source.getFileName()), compilationUnit);
+						if ((flags & STREAMING_MODE_FLAG) != 0) {
+							((DefaultBindingResolver) resolver).releaseCompilerMappings();
+						}
 
 						worked(1);
 
@@ -1172,6 +1213,9 @@ class CompilationUnitResolver extends Compiler {
 				}
 				this.unitsToProcess[i] = null; // release reference to processed unit declaration
 				this.requestor.acceptResult(unit.compilationResult.tagAsAccepted());
+				if ((flags & STREAMING_MODE_FLAG) != 0) {
+					releaseBindingsOverBudget();
+				}
 			}
 
 			// remaining binding keys
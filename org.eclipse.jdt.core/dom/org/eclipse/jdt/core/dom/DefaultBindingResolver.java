@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2024 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -102,7 +102,7 @@ class DefaultBindingResolver extends BindingResolver {
 	/**
 	 * Compilation unit scope
 	 */
-	private final CompilationUnitScope scope;
+	private CompilationUnitScope scope;
 
 	/**
 	 * The working copy owner that defines the context in which this resolver is creating the bindings.
@@ -144,6 +144,20 @@ class DefaultBindingResolver extends BindingResolver {
 		this.fromJavaProject = fromJavaProject;
 	}
 
+	/*
+	 * Forgets the correspondence between the DOM nodes and the compiler nodes and scopes, so that the
+	 * compiler AST of a unit can be garbage collected once its DOM AST has been reported in streaming mode.
+	 * The scope of the unit, whose reference context is the compiler AST, is replaced with one that only
+	 * knows the lookup environment, as for a resolver created without a unit.
+	 * Bindings can no longer be resolved from the nodes of this AST afterwards.
+	 */
+	synchronized void releaseCompilerMappings() {
+		this.newAstToOldAst = new HashMap();
+		this.astNodesToBlockScope = new HashMap();
+		this.bindingsToAstNodes = new HashMap();
+		this.scope = new CompilationUnitScope(new CompilationUnitDeclaration(null, null, -1), this.scope.environment());
+	}
+
 	@Override
 	synchronized ASTNode findDeclaringNode(IBinding binding) {
 		if (binding == null) {
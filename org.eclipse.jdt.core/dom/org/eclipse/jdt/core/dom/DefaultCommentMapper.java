@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2004, 2011 IBM Corporation and others.
+ * Copyright (c) 2004, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -277,6 +277,49 @@ class DefaultCommentMapper {
 		this.scanner = null;
 	}
 
+	/*
+	 * Adds the leading and trailing comments of the statements of a method body which were
+	 * converted after the comments of the compilation unit were mapped, see Block#hasLazyStatements().
+	 */
+	synchronized void initialize(Block body, Scanner sc) {
+		if (this.comments == null || this.comments.length == 0) {
+			return;
+		}
+		ASTNode parent = body.getParent();
+		if (parent == null) {
+			return;
+		}
+
+		// Init scanner, restoring its white space mode as it's still used to convert other bodies
+		boolean tokenizeWhiteSpace = sc.tokenizeWhiteSpace;
+		this.scanner = sc;
+		this.scanner.tokenizeWhiteSpace = true;
+		int firstTrailingPtr = this.trailingPtr;
+		this.lastTrailingPtr = this.trailingPtr;
+		try {
+			// Start statements visit as if the body was visited as a child of its parent
+			CommentMapperVisitor commentVisitor = new CommentMapperVisitor();
+			int[] unitLineRange = new int[] {1, this.scanner.linePtr+1};
+			int parentStart = parent.getStartPosition();
+			commentVisitor.siblingPtr = 0;
+			commentVisitor.siblings[0] = body;
+			commentVisitor.parentLineRange[0] = new int[] {getLineNumber(parentStart, unitLineRange), getLineNumber(parentStart + parent.getLength() - 1, unitLineRange)};
+			commentVisitor.topSiblingParent = parent;
+			for (Object statement : body.statements()) {
+				((ASTNode) statement).accept(commentVisitor);
+			}
+			commentVisitor.endVisitNode(body);
+
+			// remove last remaining unresolved nodes
+			while (this.trailingPtr > firstTrailingPtr && this.trailingIndexes[this.trailingPtr] == -1) {
+				this.trailingPtr--;
+			}
+		} finally {
+			this.scanner.tokenizeWhiteSpace = tokenizeWhiteSpace;
+			this.scanner = null;
+		}
+	}
+
 	/**
 	 * Search and store node leading comments. Comments are searched in position range
 	 * from previous extended position to node start position. If one or several comment are found,
@@ -639,6 +682,11 @@ class DefaultCommentMapper {
 			}
 		}
 
+		@Override
+		public boolean visit(Block block) {
+			// the statements of a body converted on first access are mapped once converted
+			return visitNode(block) && !block.hasLazyStatements();
+		}
 		@Override
 		public boolean visit (Modifier modifier) {
 			// we don't want to map comment to the modifier
@@ -0,0 +1,198 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.core.dom;
+
+import java.util.AbstractMap.SimpleEntry;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.internal.core.dom.ICompilationUnitResolver;
+
+/**
+ * Creates the ASTs of a batch of compilation units without bindings on several threads
+ * (see {@link ASTParser#setParallelism(int, boolean)}).
+ * <p>
+ * The units are split in small chunks that are parsed and converted independently by the
+ * {@link ICompilationUnitResolver}, each chunk with its own parser. The ASTs are passed to the
+ * requestor either from the worker threads as soon as they are created, or from the calling
+ * thread in the order of the given units. In the latter case, the workers stop taking new chunks while
+ * {@value #CHUNKS_AHEAD_PER_THREAD} chunks per thread wait to be passed to the requestor, so that a slow
+ * requestor does not make all the ASTs of the batch pile up in memory.
+ * </p>
+ */
+class ParallelASTCreator {
+
+	private static final int CHUNK_SIZE = 16;
+	private static final int CHUNKS_AHEAD_PER_THREAD = 2;
+	private static final int MAX_THREADS = Runtime.getRuntime().availableProcessors();
+	private static final AtomicInteger THREAD_INDEX = new AtomicInteger(1);
+	// Never use the shared ForkJoinPool.commonPool() as it may be busy with other tasks.
+	private static final ForkJoinPool POOL = new ForkJoinPool(MAX_THREADS,
+			pool -> {
+				ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+				thread.setName("ASTParser-worker-" + THREAD_INDEX.getAndIncrement()); //$NON-NLS-1$
+				thread.setDaemon(true);
+				return thread;
+			}, /* UncaughtExceptionHandler */ null, //
+			/* asyncMode */ false, //
+			/* corePoolSize */ 0, //
+			/* maximumPoolSize */ MAX_THREADS, //
+			/* minimumRunnable */ 0, //
+			pool -> true, // allow compensation threads when a worker blocks
+			/* keepAliveTime */ 1, TimeUnit.MINUTES);
+
+	private ParallelASTCreator() {
+		// static methods only
+	}
+
+	static void parse(ICompilationUnitResolver resolver, ICompilationUnit[] compilationUnits, ASTRequestor requestor,
+			int apiLevel, Map<String, String> compilerOptions, int flags, int parallelism, boolean ordered, IProgressMonitor monitor) {
+		run(compilationUnits, parallelism, ordered, monitor,
+			(chunk, sink) -> resolver.parse(chunk, new ASTRequestor() {
+				@Override
+				public void acceptAST(ICompilationUnit source, CompilationUnit ast) {
+					sink.accept(source, ast);
+				}
+			}, apiLevel, compilerOptions, flags, null),
+			requestor::acceptAST);
+	}
+
+	static void parse(ICompilationUnitResolver resolver, String[] sourceFilePaths, String[] encodings, FileASTRequestor requestor,
+			int apiLevel, Map<String, String> compilerOptions, int flags, int parallelism, boolean ordered, IProgressMonitor monitor) {
+		// keep each path with its encoding when splitting the batch
+		String[][] units = new String[sourceFilePaths.length][];
+		for (int i = 0; i < units.length; i++) {
+			units[i] = new String[] { sourceFilePaths[i], encodings == null ? null : encodings[i] };
+		}
+		run(units, parallelism, ordered, monitor,
+			(chunk, sink) -> {
+				String[] paths = new String[chunk.length];
+				String[] chunkEncodings = encodings == null ? null : new String[chunk.length];
+				for (int i = 0; i < chunk.length; i++) {
+					paths[i] = chunk[i][0];
+					if (chunkEncodings != null)
+						chunkEncodings[i] = chunk[i][1];
+				}
+				resolver.parse(paths, chunkEncodings, new FileASTRequestor() {
+					@Override
+					public void acceptAST(String sourceFilePath, CompilationUnit ast) {
+						sink.accept(new String[] { sourceFilePath }, ast);
+					}
+				}, apiLevel, compilerOptions, flags, null);
+			},
+			(unit, ast) -> requestor.acceptAST(unit[0], ast));
+	}
+
+	private static <S> void run(S[] units, int parallelism, boolean ordered, IProgressMonitor monitor,
+			BiConsumer<S[], BiConsumer<S, CompilationUnit>> chunkParser, BiConsumer<S, CompilationUnit> requestor) {
+		int length = units.length;
+		int chunkCount = (length + CHUNK_SIZE - 1) / CHUNK_SIZE;
+		SubMonitor subMonitor = SubMonitor.convert(monitor, length);
+		@SuppressWarnings("unchecked")
+		CompletableFuture<List<Map.Entry<S, CompilationUnit>>>[] chunks = new CompletableFuture[chunkCount];
+		for (int i = 0; i < chunkCount; i++) {
+			chunks[i] = new CompletableFuture<>();
+		}
+		int workers = Math.min(parallelism, chunkCount);
+		AtomicInteger nextChunk = new AtomicInteger();
+		AtomicBoolean stopped = new AtomicBoolean();
+		// in ordered mode, one permit per chunk taken by a worker and not yet passed to the requestor
+		Semaphore chunksAhead = ordered ? new Semaphore(workers * CHUNKS_AHEAD_PER_THREAD) : null;
+		Runnable worker = () -> {
+			int index;
+			while (true) {
+				if (chunksAhead != null) {
+					try {
+						chunksAhead.acquire();
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+						stopped.set(true);
+					}
+				}
+				if ((index = nextChunk.getAndIncrement()) >= chunkCount) {
+					break;
+				}
+				if (stopped.get() || subMonitor.isCanceled()) {
+					chunks[index].cancel(false);
+					continue;
+				}
+				try {
+					S[] chunk = Arrays.copyOfRange(units, index * CHUNK_SIZE, Math.min(length, (index + 1) * CHUNK_SIZE));
+					if (ordered) {
+						List<Map.Entry<S, CompilationUnit>> asts = new ArrayList<>(chunk.length);
+						chunkParser.accept(chunk, (unit, ast) -> asts.add(new SimpleEntry<>(unit, ast)));
+						chunks[index].complete(asts);
+					} else {
+						chunkParser.accept(chunk, requestor);
+						chunks[index].complete(null);
+					}
+				} catch (Throwable e) {
+					chunks[index].completeExceptionally(e);
+				}
+			}
+		};
+		for (int i = 0; i < workers; i++) {
+			POOL.execute(worker);
+		}
+		try {
+			for (int i = 0; i < chunkCount; i++) {
+				List<Map.Entry<S, CompilationUnit>> asts;
+				try {
+					asts = chunks[i].join();
+				} catch (CancellationException e) {
+					throw new OperationCanceledException();
+				} catch (CompletionException e) {
+					Throwable cause = e.getCause();
+					if (cause instanceof RuntimeException) {
+						throw (RuntimeException) cause;
+					}
+					if (cause instanceof Error) {
+						throw (Error) cause;
+					}
+					throw e;
+				}
+				if (chunksAhead != null) {
+					chunks[i] = null; // don't keep the ASTs passed to the requestor
+					for (Map.Entry<S, CompilationUnit> entry : asts) {
+						requestor.accept(entry.getKey(), entry.getValue());
+					}
+					chunksAhead.release();
+				}
+				subMonitor.split(Math.min(CHUNK_SIZE, length - i * CHUNK_SIZE));
+			}
+		} finally {
+			// don't leave the remaining chunks running if the caller gave up
+			stopped.set(true);
+			if (chunksAhead != null) {
+				// wake up the workers waiting for a permit, so that they notice
+				chunksAhead.release(chunkCount);
+			}
+		}
+	}
+}
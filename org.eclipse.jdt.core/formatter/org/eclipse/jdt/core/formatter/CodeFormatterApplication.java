@@ -1,5 +1,5 @@
 /*******************************************************************************
- *  Copyright (c) 2005, 2016 IBM Corporation and others.
+ *  Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  *  This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License 2.0
@@ -17,16 +17,35 @@
 package org.eclipse.jdt.core.formatter;
 
 import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.eclipse.core.runtime.Plugin;
 import org.eclipse.equinox.app.IApplication;
 import org.eclipse.equinox.app.IApplicationContext;
+import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.ToolFactory;
 import org.eclipse.jdt.internal.compiler.env.IModule;
 import org.eclipse.jdt.internal.core.util.Util;
@@ -43,9 +62,13 @@ import org.eclipse.text.edits.TextEdit;
  * in which the eclipse.ini file is located. This makes it harder to use relative paths to point to the
  * files to be formatted or the configuration file to use to set the code formatter's options.</p>
  *
- * <p>There are a couple improvements that could be made: 1. Make a list of all the
- * files first so that a file does not get formatted twice. 2. Use a text based
- * progress monitor for output.</p>
+ * <p>The files to format are listed first, so that a file does not get formatted twice. They
+ * can be formatted on several threads (<code>-threads</code>), and the files known to be
+ * formatted with the same options since the last run can be skipped (<code>-cache</code>).
+ * With <code>-check</code>, the files that are not formatted are reported but not modified,
+ * and the application exits with code 1 if there are any.</p>
+ *
+ * <p>A possible improvement would be to use a text based progress monitor for output.</p>
  *
  * @since 3.2
  * @noinstantiate This class is not intended to be instantiated by clients.
@@ -61,6 +84,8 @@ public class CodeFormatterApplication implements IApplication {
 	private final static class Messages extends NLS {
 		private static final String BUNDLE_NAME = "org.eclipse.jdt.core.formatter.messages";//$NON-NLS-1$
 
+		public static String CommandLineCheckFailed;
+
 		public static String CommandLineConfigFile;
 
 		public static String CommandLineDone;
@@ -77,8 +102,16 @@ public class CodeFormatterApplication implements IApplication {
 
 		public static String CommandLineErrorNoConfigFile;
 
+		public static String CommandLineErrorNoCacheFile;
+
+		public static String CommandLineErrorThreads;
+
 		public static String CommandLineFormatting;
 
+		public static String CommandLineNotFormatted;
+
+		public static String CommandLineUpToDate;
+
 		public static String CommandLineStart;
 
 		public static String CommandLineUsage;
@@ -87,6 +120,10 @@ public class CodeFormatterApplication implements IApplication {
 
 		public static String ConfigFileReadingError;
 
+		public static String CacheFileReadingError;
+
+		public static String CacheFileWritingError;
+
 		public static String FormatProblem;
 
 		public static String CaughtException;
@@ -158,16 +195,46 @@ public class CodeFormatterApplication implements IApplication {
 		}
 	}
 
+	private static final String ARG_CACHE = "-cache"; //$NON-NLS-1$
+
+	private static final String ARG_CHECK = "-check"; //$NON-NLS-1$
+
 	private static final String ARG_CONFIG = "-config"; //$NON-NLS-1$
 
 	private static final String ARG_HELP = "-help"; //$NON-NLS-1$
 
 	private static final String ARG_QUIET = "-quiet"; //$NON-NLS-1$
 
+	private static final String ARG_THREADS = "-threads"; //$NON-NLS-1$
+
 	private static final String ARG_VERBOSE = "-verbose"; //$NON-NLS-1$
 
+	/*
+	 * Key of the cache entry that records the hash of the formatter options the files were formatted with.
+	 * Cannot clash with the other keys, which are absolute paths.
+	 */
+	private static final String CACHE_OPTIONS_KEY = "@options"; //$NON-NLS-1$
+
+	private File cacheFile;
+
+	/*
+	 * Hashes of the contents of the files known to be formatted, keyed by their absolute path.
+	 */
+	private Map<String, String> formattedHashes;
+
+	private boolean check = false;
+
 	private String configName;
 
+	/*
+	 * One formatter per thread, as a formatter cannot format several files concurrently.
+	 */
+	private ThreadLocal<CodeFormatter> formatters;
+
+	private int threads = 1;
+
+	private final AtomicInteger unformattedCount = new AtomicInteger();
+
 	private Map options = null;
 
 	private static final String PDE_LAUNCH = "-pdelaunch"; //$NON-NLS-1$
@@ -190,10 +257,10 @@ public class CodeFormatterApplication implements IApplication {
 	}
 
 	/**
-	 * Recursively format the Java source code that is contained in the
+	 * Recursively collect the Java source files that are contained in the
 	 * directory rooted at dir.
 	 */
-	private void formatDirTree(File dir, CodeFormatter codeFormatter) {
+	private void collectDirTree(File dir, Set<File> javaFiles) {
 
 		File[] files = dir.listFiles();
 		if (files == null)
@@ -201,40 +268,74 @@ public class CodeFormatterApplication implements IApplication {
 
 		for (File file : files) {
 			if (file.isDirectory()) {
-				formatDirTree(file, codeFormatter);
+				collectDirTree(file, javaFiles);
 			} else if (Util.isJavaLikeFileName(file.getPath())) {
-				formatFile(file, codeFormatter);
+				collectFile(file, javaFiles);
 			}
 		}
 	}
 
+	private void collectFile(File file, Set<File> javaFiles) {
+		try {
+			javaFiles.add(file.getCanonicalFile());
+		} catch (IOException e) {
+			javaFiles.add(file.getAbsoluteFile());
+		}
+	}
+
 	/**
 	 * Format the given Java source file.
 	 */
-	private void formatFile(File file, CodeFormatter codeFormatter) {
+	private void formatFile(File file) {
 		IDocument doc = new Document();
 		try {
 			// read the file
+			String contents = new String(org.eclipse.jdt.internal.compiler.util.Util.getFileCharContent(file, null));
+			String path = file.getAbsolutePath();
+			String hash = null;
+			if (this.formattedHashes != null) {
+				hash = hash(contents);
+				if (hash.equals(this.formattedHashes.get(path))) {
+					if (this.verbose) {
+						System.out.println(Messages.bind(Messages.CommandLineUpToDate, path));
+					}
+					return;
+				}
+			}
 			if (this.verbose) {
-				System.out.println(Messages.bind(Messages.CommandLineFormatting, file.getAbsolutePath()));
+				System.out.println(Messages.bind(Messages.CommandLineFormatting, path));
 			}
-			String contents = new String(org.eclipse.jdt.internal.compiler.util.Util.getFileCharContent(file, null));
 			// format the file (the meat and potatoes)
 			doc.set(contents);
 			int kind = (file.getName().equals(IModule.MODULE_INFO_JAVA)? CodeFormatter.K_MODULE_INFO
 					: CodeFormatter.K_COMPILATION_UNIT) | CodeFormatter.F_INCLUDE_COMMENTS;
-			TextEdit edit = codeFormatter.format(kind, contents, 0, contents.length(), 0, null);
+			TextEdit edit = this.formatters.get().format(kind, contents, 0, contents.length(), 0, null);
 			if (edit != null) {
 				edit.apply(doc);
 			} else {
-				System.err.println(Messages.bind(Messages.FormatProblem, file.getAbsolutePath()));
+				System.err.println(Messages.bind(Messages.FormatProblem, path));
 				return;
 			}
 
-			// write the file
-			try (BufferedWriter out = new BufferedWriter(new FileWriter(file))) {
-				out.write(doc.get());
-				out.flush();
+			String formatted = doc.get();
+			if (!formatted.equals(contents)) {
+				if (this.check) {
+					this.unformattedCount.incrementAndGet();
+					System.out.println(Messages.bind(Messages.CommandLineNotFormatted, path));
+					if (this.formattedHashes != null) {
+						this.formattedHashes.remove(path);
+					}
+					return;
+				}
+				// write the file
+				try (BufferedWriter out = new BufferedWriter(new FileWriter(file))) {
+					out.write(formatted);
+					out.flush();
+				}
+				hash = null;
+			}
+			if (this.formattedHashes != null) {
+				this.formattedHashes.put(path, hash != null ? hash : hash(formatted));
 			}
 		} catch (IOException e) {
 			String errorMessage = Messages.bind(Messages.CaughtException, "IOException", e.getLocalizedMessage()); //$NON-NLS-1$
@@ -247,6 +348,110 @@ public class CodeFormatterApplication implements IApplication {
 		}
 	}
 
+	/**
+	 * Format the given Java source files, on as many threads as requested.
+	 */
+	private void formatFiles(Set<File> javaFiles) throws InterruptedException {
+		if (this.threads == 1 || javaFiles.size() < 2) {
+			for (File file : javaFiles) {
+				formatFile(file);
+			}
+			return;
+		}
+		AtomicInteger threadIndex = new AtomicInteger();
+		ExecutorService executor = Executors.newFixedThreadPool(this.threads, runnable -> {
+			Thread thread = new Thread(runnable, "CodeFormatter-worker-" + threadIndex.incrementAndGet()); //$NON-NLS-1$
+			thread.setDaemon(true);
+			return thread;
+		});
+		try {
+			List<Future<?>> results = new ArrayList<>(javaFiles.size());
+			for (File file : javaFiles) {
+				results.add(executor.submit(() -> formatFile(file)));
+			}
+			for (Future<?> result : results) {
+				try {
+					result.get();
+				} catch (ExecutionException e) {
+					// a runtime exception of the formatter: report it like the serial mode would
+					Throwable cause = e.getCause();
+					if (cause instanceof RuntimeException) {
+						throw (RuntimeException) cause;
+					}
+					if (cause instanceof Error) {
+						throw (Error) cause;
+					}
+					throw new IllegalStateException(cause);
+				}
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/*
+	 * Returns the hash of the given contents, or of the formatter options.
+	 */
+	private static String hash(String contents) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256"); //$NON-NLS-1$
+			return HexFormat.of().formatHex(digest.digest(contents.getBytes(StandardCharsets.UTF_8)));
+		} catch (NoSuchAlgorithmException e) {
+			// every Java platform supports SHA-256
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/*
+	 * Returns the hash of the options and of the version of the formatter, that invalidates the
+	 * cache of formatted files when either of them changes.
+	 */
+	private String optionsHash() {
+		StringBuilder buffer = new StringBuilder();
+		Plugin plugin = JavaCore.getPlugin();
+		if (plugin != null) {
+			buffer.append(plugin.getBundle().getVersion()).append('\n');
+		}
+		new TreeMap<Object, Object>(this.options).forEach((key, value) -> buffer.append(key).append('=').append(value).append('\n'));
+		return hash(buffer.toString());
+	}
+
+	/**
+	 * Read the hashes of the formatted files from the cache file, if it was written with the same options.
+	 */
+	private void readCache(String optionsHash) {
+		this.formattedHashes = new ConcurrentHashMap<>();
+		if (!this.cacheFile.exists()) {
+			return;
+		}
+		try (BufferedInputStream stream = new BufferedInputStream(new FileInputStream(this.cacheFile))) {
+			Properties cache = new Properties();
+			cache.load(stream);
+			if (optionsHash.equals(cache.getProperty(CACHE_OPTIONS_KEY))) {
+				cache.remove(CACHE_OPTIONS_KEY);
+				cache.forEach((path, hash) -> this.formattedHashes.put((String) path, (String) hash));
+			}
+		} catch (IOException | IllegalArgumentException e) {
+			// start from an empty cache
+			String errorMessage = Messages.bind(Messages.CacheFileReadingError, this.cacheFile.getAbsolutePath());
+			Util.log(e, errorMessage);
+			System.err.println(errorMessage);
+		}
+	}
+
+	private void writeCache(String optionsHash) {
+		Properties cache = new Properties();
+		cache.putAll(this.formattedHashes);
+		cache.put(CACHE_OPTIONS_KEY, optionsHash);
+		try (BufferedOutputStream stream = new BufferedOutputStream(new FileOutputStream(this.cacheFile))) {
+			cache.store(stream, null);
+		} catch (IOException e) {
+			String errorMessage = Messages.bind(Messages.CacheFileWritingError, this.cacheFile.getAbsolutePath());
+			Util.log(e, errorMessage);
+			System.err.println(errorMessage);
+		}
+	}
+
 	private File[] processCommandLine(String[] argsArray) {
 
 		int index = 0;
@@ -254,6 +459,8 @@ public class CodeFormatterApplication implements IApplication {
 
 		final int DEFAULT_MODE = 0;
 		final int CONFIG_MODE = 1;
+		final int THREADS_MODE = 2;
+		final int CACHE_MODE = 3;
 
 		int mode = DEFAULT_MODE;
 		final int INITIAL_SIZE = 1;
@@ -285,6 +492,18 @@ public class CodeFormatterApplication implements IApplication {
 						mode = CONFIG_MODE;
 						continue loop;
 					}
+					if (ARG_THREADS.equals(currentArg)) {
+						mode = THREADS_MODE;
+						continue loop;
+					}
+					if (ARG_CACHE.equals(currentArg)) {
+						mode = CACHE_MODE;
+						continue loop;
+					}
+					if (ARG_CHECK.equals(currentArg)) {
+						this.check = true;
+						continue loop;
+					}
 					// the current arg should be a file or a directory name
 					File file = new File(currentArg);
 					if (file.exists()) {
@@ -315,6 +534,22 @@ public class CodeFormatterApplication implements IApplication {
 					}
 					mode = DEFAULT_MODE;
 					continue loop;
+				case THREADS_MODE :
+					try {
+						this.threads = Integer.parseInt(currentArg);
+					} catch (NumberFormatException e) {
+						this.threads = 0;
+					}
+					if (this.threads <= 0) {
+						displayHelp(Messages.bind(Messages.CommandLineErrorThreads, currentArg));
+						return null;
+					}
+					mode = DEFAULT_MODE;
+					continue loop;
+				case CACHE_MODE :
+					this.cacheFile = new File(currentArg);
+					mode = DEFAULT_MODE;
+					continue loop;
 			}
 		}
 
@@ -322,6 +557,14 @@ public class CodeFormatterApplication implements IApplication {
 			displayHelp(Messages.bind(Messages.CommandLineErrorNoConfigFile));
 			return null;
 		}
+		if (mode == THREADS_MODE) {
+			displayHelp(Messages.bind(Messages.CommandLineErrorThreads, "")); //$NON-NLS-1$
+			return null;
+		}
+		if (mode == CACHE_MODE) {
+			displayHelp(Messages.bind(Messages.CommandLineErrorNoCacheFile));
+			return null;
+		}
 		if (this.quiet && this.verbose) {
 			displayHelp(
 				Messages.bind(
@@ -391,19 +634,36 @@ public class CodeFormatterApplication implements IApplication {
 			System.out.println(Messages.bind(Messages.CommandLineStart));
 		}
 
-		final CodeFormatter codeFormatter = ToolFactory.createCodeFormatter(this.options,
-				ToolFactory.M_FORMAT_EXISTING);
+		this.formatters = ThreadLocal.withInitial(() -> ToolFactory.createCodeFormatter(this.options,
+				ToolFactory.M_FORMAT_EXISTING));
+		String optionsHash = null;
+		if (this.cacheFile != null) {
+			optionsHash = optionsHash();
+			readCache(optionsHash);
+		}
 		// format the list of files and/or directories
+		Set<File> javaFiles = new LinkedHashSet<>();
 		for (final File file : filesToFormat) {
 			if (file.isDirectory()) {
-				formatDirTree(file, codeFormatter);
+				collectDirTree(file, javaFiles);
 			} else if (Util.isJavaLikeFileName(file.getPath())) {
-				formatFile(file, codeFormatter);
+				collectFile(file, javaFiles);
+			}
+		}
+		try {
+			formatFiles(javaFiles);
+		} finally {
+			if (this.cacheFile != null) {
+				writeCache(optionsHash);
 			}
 		}
 		if (!this.quiet) {
 			System.out.println(Messages.bind(Messages.CommandLineDone));
 		}
+		if (this.unformattedCount.get() > 0) {
+			System.err.println(Messages.bind(Messages.CommandLineCheckFailed, Integer.valueOf(this.unformattedCount.get())));
+			return Integer.valueOf(1);
+		}
 
 		return IApplication.EXIT_OK;
 	}
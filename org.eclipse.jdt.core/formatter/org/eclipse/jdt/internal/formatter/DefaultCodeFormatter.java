@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2025 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -30,8 +30,10 @@ import static org.eclipse.jdt.internal.formatter.TokenManager.ANY;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IModuleDescription;
@@ -42,9 +44,13 @@ import org.eclipse.jdt.core.compiler.InvalidInputException;
 import org.eclipse.jdt.core.dom.AST;
 import org.eclipse.jdt.core.dom.ASTNode;
 import org.eclipse.jdt.core.dom.ASTParser;
+import org.eclipse.jdt.core.dom.ASTVisitor;
+import org.eclipse.jdt.core.dom.Block;
 import org.eclipse.jdt.core.dom.Comment;
 import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.Initializer;
 import org.eclipse.jdt.core.dom.Javadoc;
+import org.eclipse.jdt.core.dom.MethodDeclaration;
 import org.eclipse.jdt.core.dom.TypeDeclaration;
 import org.eclipse.jdt.core.formatter.CodeFormatter;
 import org.eclipse.jdt.core.formatter.DefaultCodeFormatterConstants;
@@ -56,6 +62,7 @@ import org.eclipse.jdt.internal.compiler.util.Util;
 import org.eclipse.jdt.internal.core.JavaProject;
 import org.eclipse.jdt.internal.core.SourceModule;
 import org.eclipse.jdt.internal.formatter.linewrap.CommentWrapExecutor;
+import org.eclipse.jdt.internal.formatter.linewrap.WrapExecutor;
 import org.eclipse.jdt.internal.formatter.linewrap.WrapPreparator;
 import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.Region;
@@ -105,6 +112,7 @@ public class DefaultCodeFormatter extends CodeFormatter {
 	private ASTNode astRoot;
 	private final List<Token> tokens = new ArrayList<>();
 	private TokenManager tokenManager;
+	private WrapExecutor.SearchStatistics wrapSearchStatistics;
 
 	public DefaultCodeFormatter() {
 		this(new DefaultCodeFormatterOptions(DefaultCodeFormatterConstants.getJavaConventionsSettings()), null);
@@ -195,6 +203,14 @@ public class DefaultCodeFormatter extends CodeFormatter {
 		return result;
 	}
 
+	/**
+	 * @return counters of the search for line wraps done by the last format call, or <code>null</code>
+	 *         if it did not look for wraps
+	 */
+	public WrapExecutor.SearchStatistics getWrapSearchStatistics() {
+		return this.wrapSearchStatistics;
+	}
+
 	private boolean init(String source, int kind) {
 
 		// this is convenient for debugging (see Token.toString())
@@ -202,6 +218,7 @@ public class DefaultCodeFormatter extends CodeFormatter {
 
 		this.sourceString = source;
 		this.sourceArray = source.toCharArray();
+		this.wrapSearchStatistics = null;
 		this.tokens.clear();
 		this.tokenManager = new TokenManager(this.tokens, source, this.workingOptions);
 
@@ -225,6 +242,8 @@ public class DefaultCodeFormatter extends CodeFormatter {
 		if (kind != CodeFormatter.K_UNKNOWN)
 			findHeader();
 
+		findNodesOutsideRegions();
+
 		prepareSpaces();
 		prepareReplaceTextBlocks();
 		prepareLineBreaks();
@@ -247,6 +266,47 @@ public class DefaultCodeFormatter extends CodeFormatter {
 		}
 	}
 
+	/*
+	 * Marks method and initializer bodies whose declaration and direct neighbors are all outside of the
+	 * formatted regions, so that they are skipped when preparing spaces, line breaks and wraps. Their
+	 * tokens are not formatted anyway and the neighbors keep the regions from depending on them.
+	 */
+	private void findNodesOutsideRegions() {
+		Set<ASTNode> nodes = new HashSet<>();
+		this.astRoot.accept(new ASTVisitor() {
+			@Override
+			public boolean visit(MethodDeclaration node) {
+				return checkBody(node, node.getBody());
+			}
+
+			@Override
+			public boolean visit(Initializer node) {
+				return checkBody(node, node.getBody());
+			}
+
+			private boolean checkBody(ASTNode node, Block body) {
+				if (body == null || !node.getLocationInParent().isChildListProperty())
+					return true;
+				ASTNode parent = node.getParent();
+				if (parent.getLength() == 0)
+					return true; // fake type created by parsing in class body declarations mode
+				List<?> siblings = (List<?>) parent.getStructuralProperty(node.getLocationInParent());
+				int index = siblings.indexOf(node);
+				ASTNode first = index > 0 ? (ASTNode) siblings.get(index - 1) : parent;
+				ASTNode last = index < siblings.size() - 1 ? (ASTNode) siblings.get(index + 1) : parent;
+				int start = first.getStartPosition();
+				int end = last.getStartPosition() + last.getLength();
+				for (IRegion region : DefaultCodeFormatter.this.formatRegions) {
+					if (region.getOffset() <= end && region.getOffset() + region.getLength() >= start)
+						return true;
+				}
+				nodes.add(body);
+				return false;
+			}
+		});
+		this.tokenManager.setNodesOutsideRegions(nodes);
+	}
+
 	private TextEdit formatComments(String source, int kind) {
 		MultiTextEdit result = new MultiTextEdit();
 		if (!init(source, kind))
@@ -444,7 +504,7 @@ public class DefaultCodeFormatter extends CodeFormatter {
 		WrapPreparator wrapPreparator = new WrapPreparator(this.tokenManager, this.workingOptions, kind);
 		this.astRoot.accept(wrapPreparator);
 		applyFormatOff();
-		wrapPreparator.finishUp(this.astRoot, this.formatRegions);
+		this.wrapSearchStatistics = wrapPreparator.finishUp(this.astRoot, this.formatRegions);
 	}
 
 	private void prepareReplaceTextBlocks() {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2018, 2025 Mateusz Matela and others.
+ * Copyright (c) 2018, 2026 Mateusz Matela and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -39,7 +39,7 @@ public class OneLineEnforcer extends ASTVisitor {
 	@Override
 	public boolean preVisit2(ASTNode node) {
 		boolean isMalformed = (node.getFlags() & ASTNode.MALFORMED) != 0;
-		return !isMalformed;
+		return !isMalformed && !this.tm.isOutsideRegions(node);
 	}
 
 	@Override
@@ -20,9 +20,11 @@ import static org.eclipse.jdt.internal.compiler.parser.TerminalToken.TokenNameSt
 import static org.eclipse.jdt.internal.compiler.parser.TerminalToken.TokenNameTextBlock;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Stream;
@@ -60,6 +62,7 @@ public class TokenManager implements Iterable<Token> {
 	private HashMap<Integer, Integer> tokenIndexToNLSAlign;
 	private final List<Token[]> formatOffTagPairs = new ArrayList<>();
 	private int headerEndIndex = 0;
+	private Set<ASTNode> nodesOutsideRegions = Collections.emptySet();
 
 	public TokenManager(List<Token> tokens, String source, DefaultCodeFormatterOptions options) {
 		this.tokens = tokens;
@@ -469,4 +472,16 @@ public class TokenManager implements Iterable<Token> {
 	public List<Token[]> getDisableFormatTokenPairs() {
 		return this.formatOffTagPairs;
 	}
+
+	/**
+	 * Sets the nodes that lie outside of the formatted regions and far enough from them not to influence
+	 * their formatting, so that preparators can skip their subtrees.
+	 */
+	public void setNodesOutsideRegions(Set<ASTNode> nodes) {
+		this.nodesOutsideRegions = nodes;
+	}
+
+	public boolean isOutsideRegions(ASTNode node) {
+		return this.nodesOutsideRegions.contains(node);
+	}
 }
\ No newline at end of file
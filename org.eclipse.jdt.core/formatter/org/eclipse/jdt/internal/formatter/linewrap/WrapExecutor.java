@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2014, 2023 Mateusz Matela and others.
+ * Copyright (c) 2014, 2026 Mateusz Matela and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -39,6 +39,21 @@ import org.eclipse.jface.text.IRegion;
 
 public class WrapExecutor {
 
+	/**
+	 * Counters of the search for wraps done by one executor, that is in one format call.
+	 */
+	public static class SearchStatistics {
+		/** Number of times a line was analyzed to find its best wraps */
+		public int searchSteps;
+		/** Number of lines whose wraps were chosen greedily because the search budget was exhausted */
+		public int boundedLines;
+
+		@Override
+		public String toString() {
+			return "search steps: " + this.searchSteps + ", bounded lines: " + this.boundedLines; //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	}
+
 	private static class WrapInfo {
 		public int wrapTokenIndex;
 		public int indent;
@@ -306,6 +321,8 @@ public class WrapExecutor {
 					this.initialIndent = Math.max(0, token.getIndent() + this.fixedIndentDelta);
 				}
 				WrapExecutor.this.wrapSearchResults.clear();
+				WrapExecutor.this.remainingSearchSteps = SEARCH_BUDGET;
+				WrapExecutor.this.isSearchBounded = false;
 			}
 
 			this.currentIndent = this.stack.isEmpty() ? this.initialIndent : this.stack.peek().getIndent();
@@ -450,6 +467,12 @@ public class WrapExecutor {
 
 	private final static int[] EMPTY_ARRAY = {};
 
+	/*
+	 * Maximum number of lines analyzed when looking for wraps of a statement before falling back to
+	 * greedy wrapping, which keeps formatting time linear for deeply nested or very long expressions.
+	 */
+	private final static int SEARCH_BUDGET = Integer.getInteger("org.eclipse.jdt.formatter.wrap_search_budget", 5000); //$NON-NLS-1$
+
 	final HashMap<WrapInfo, WrapResult> wrapSearchResults = new HashMap<>();
 	private final ArrayDeque<WrapInfo> wrapSearchStack = new ArrayDeque<>();
 
@@ -461,6 +484,10 @@ public class WrapExecutor {
 
 	private final WrapInfo wrapInfoTemp = new WrapInfo();
 
+	private final SearchStatistics statistics = new SearchStatistics();
+	private int remainingSearchSteps = SEARCH_BUDGET;
+	private boolean isSearchBounded;
+
 	public WrapExecutor(TokenManager tokenManager, DefaultCodeFormatterOptions options, List<IRegion> regions) {
 		this.tm = tokenManager;
 		this.options = options;
@@ -473,6 +500,10 @@ public class WrapExecutor {
 		this.tm.traverse(0, new NLSTagHandler());
 	}
 
+	public SearchStatistics getStatistics() {
+		return this.statistics;
+	}
+
 	WrapResult findWrapsCached(final int startTokenIndex, final int indent) {
 		this.wrapInfoTemp.wrapTokenIndex = startTokenIndex;
 		this.wrapInfoTemp.indent = indent;
@@ -532,8 +563,16 @@ public class WrapExecutor {
 	/**
 	 * The main algorithm that looks for optimal places to wrap.
 	 * Calls itself recursively to get results for wrapped sub-lines.
+	 * Once the search budget of the current statement is exhausted, only the last wrap that makes
+	 * the line fit is checked, so the remaining search is linear.
 	 */
 	private WrapResult findWraps(int wrapTokenIndex, int indent) {
+		this.statistics.searchSteps++;
+		if (--this.remainingSearchSteps < 0 && !this.isSearchBounded) {
+			this.isSearchBounded = true;
+			this.statistics.boundedLines++;
+		}
+		final boolean greedy = this.isSearchBounded;
 		final int lastIndex = this.lineAnalyzer.analyzeLine(wrapTokenIndex, indent);
 		final boolean nextLineWrapped = this.lineAnalyzer.isNextLineWrapped;
 		int lineOverflow = Math.max(0, this.lineAnalyzer.lineWidthExtent - this.options.page_width);
@@ -596,20 +635,23 @@ public class WrapExecutor {
 					|| wrapPolicy.structureDepth >= depthLimit
 					|| !isWrapInsideFormatRegion(i))
 				continue;
+			if (greedy && i > firstPotentialWrap && lineOverflow > 0 && getLineEnd(i) > this.options.page_width)
+				continue;
 			policiesTried.add(wrapPolicy);
 
 			int nextWrapIndent = getWrapIndent(token);
 			WrapResult nextWrapResult = findWrapsCached(i, nextWrapIndent);
 			cacheMiss |= nextWrapResult == null;
-			if (cacheMiss)
+			if (cacheMiss) {
+				if (greedy)
+					break;
 				continue;
+			}
 
 			double totalPenalty = getWrapPenalty(wrapTokenIndex, indent, i, nextWrapIndent, nextWrapResult);
 			int totalExtraPenalty = nextWrapResult.extraPenalty + extraLines;
 			if (lineOverflow > 0) {
-				int position = this.tm.getPositionInLine(i - 1);
-				position += this.tm.getLength(this.tm.get(i - 1), position);
-				lineOverflow = position - this.options.page_width;
+				lineOverflow = getLineEnd(i) - this.options.page_width;
 				totalExtraPenalty += Math.max(0, lineOverflow);
 			}
 			boolean isBetter = totalExtraPenalty < bestExtraPenalty
@@ -626,6 +668,8 @@ public class WrapExecutor {
 				if (!this.options.wrap_outer_expressions_when_nested || i == activeTopPriorityWrap || nextLineWrapped)
 					break;
 			}
+			if (greedy)
+				break;
 		}
 		if (cacheMiss)
 			return null;
@@ -634,6 +678,12 @@ public class WrapExecutor {
 				bestNextWrap == -1 ? null : new WrapInfo(bestNextWrap, bestIndent));
 	}
 
+	/** @return the position in line right after the token preceding the given wrap */
+	private int getLineEnd(int wrapIndex) {
+		int position = this.tm.getPositionInLine(wrapIndex - 1);
+		return position + this.tm.getLength(this.tm.get(wrapIndex - 1), position);
+	}
+
 	private double getWrapPenalty(int lineStartIndex, int lineIndent, int wrapIndex, int wrapIndent,
 			WrapResult wrapResult) {
 		WrapPolicy wrapPolicy = null;
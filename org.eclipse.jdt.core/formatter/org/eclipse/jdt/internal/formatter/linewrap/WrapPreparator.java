@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2014, 2025 Mateusz Matela and others.
+ * Copyright (c) 2014, 2026 Mateusz Matela and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -180,7 +180,7 @@ public class WrapPreparator extends ASTVisitor {
 		if (isMalformed) {
 			this.tm.addDisableFormatTokenPair(this.tm.firstTokenIn(node, ANY), this.tm.lastTokenIn(node, ANY));
 		}
-		return !isMalformed;
+		return !isMalformed && !this.tm.isOutsideRegions(node);
 	}
 
 	@Override
@@ -1407,13 +1407,15 @@ public class WrapPreparator extends ASTVisitor {
 				penaltyMultiplier, isFirst, indentOnColumn);
 	}
 
-	public void finishUp(ASTNode astRoot, List<IRegion> regions) {
+	public WrapExecutor.SearchStatistics finishUp(ASTNode astRoot, List<IRegion> regions) {
 		preserveExistingLineBreaks();
 		applyBreaksOutsideRegions(regions);
-		new WrapExecutor(this.tm, this.options, regions).executeWraps();
+		WrapExecutor wrapExecutor = new WrapExecutor(this.tm, this.options, regions);
+		wrapExecutor.executeWraps();
 		this.aligner.alignComments();
 		wrapComments();
 		fixEnumConstantIndents(astRoot);
+		return wrapExecutor.getStatistics();
 	}
 
 	private void preserveExistingLineBreaks() {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2020 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -157,6 +157,21 @@ public class CompletionContext {
 		return false; // default overridden by concrete implementation
 	}
 
+	/**
+	 * Returns whether the proposals of the completion are partial, because the search of
+	 * types or constructors in the indexes was stopped by the time budget of the request.
+	 * The value is final once {@link CompletionRequestor#endReporting()} is called.
+	 *
+	 * @return <code>true</code> if some proposals may be missing
+	 *
+	 * @see CompletionRequestor#setTimeBudget(long)
+	 *
+	 * @since 3.47
+	 */
+	public boolean isPartial() {
+		return false; // default overridden by concrete implementation
+	}
+
 	/**
 	 * Return signatures of expected types of a potential completion proposal at the completion position.
 	 *
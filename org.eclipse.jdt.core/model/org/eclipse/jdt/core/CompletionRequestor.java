@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2004, 2022 IBM Corporation and others.
+ * Copyright (c) 2004, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -76,6 +76,8 @@ public abstract class CompletionRequestor {
 
 	private boolean requireExtendedContext = false;
 
+	private long timeBudget = 0;
+
 	/**
 	 * Creates a new completion requestor.
 	 * The requestor is interested in all kinds of completion
@@ -384,4 +386,40 @@ public abstract class CompletionRequestor {
 	public boolean isTestCodeExcluded() {
 		return false;
 	}
+
+	/**
+	 * Returns the time budget of the completion requests made with this requestor,
+	 * in milliseconds.
+	 *
+	 * By default this method returns <code>0</code>, meaning there is no time budget.
+	 *
+	 * @return the time budget in milliseconds, or <code>0</code> if there is none
+	 *
+	 * @see #setTimeBudget(long)
+	 *
+	 * @since 3.47
+	 */
+	public long getTimeBudget() {
+		return this.timeBudget;
+	}
+
+	/**
+	 * Sets the time budget of the completion requests made with this requestor,
+	 * in milliseconds from the beginning of the request.
+	 * <p>
+	 * With a time budget, the proposals computed from the declarations visible at the
+	 * completion location are reported first. The types and constructors found by searching
+	 * the indexes are reported afterwards, while the search is still running, and the search
+	 * stops once the time budget is exhausted. The context passed to
+	 * {@link #acceptContext(CompletionContext)} then reports the proposals as partial
+	 * (see {@link CompletionContext#isPartial()}) by the time {@link #endReporting()} is called.
+	 * </p>
+	 *
+	 * @param timeBudget the time budget in milliseconds, or <code>0</code> for no time budget
+	 *
+	 * @since 3.47
+	 */
+	public void setTimeBudget(long timeBudget) {
+		this.timeBudget = timeBudget;
+	}
 }
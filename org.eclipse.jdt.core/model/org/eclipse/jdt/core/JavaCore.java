@@ -6097,6 +6097,39 @@ public final class JavaCore extends Plugin {
 		updateLegacyIndex(subMonitor.split(4));
 	}
 
+	/**
+	 * Reconciles the given working copies with their buffers, as
+	 * {@link ICompilationUnit#reconcile(int, int, WorkingCopyOwner, IProgressMonitor)}
+	 * would do for each of them with the {@link ICompilationUnit#NO_AST} level.
+	 * <p>
+	 * The problems of the working copies are found in parallel, the working copies of a
+	 * project sharing the compilers that find them, and are reported to the problem requestor
+	 * of each working copy. This is faster than reconciling the working copies one after the
+	 * other, e.g. after a change that affects many open editors.
+	 * </p>
+	 * <p>
+	 * The working copies that have compilation participants are reconciled one after the other,
+	 * so that the participants are notified as for a single reconcile.
+	 * </p>
+	 *
+	 * @param workingCopies the working copies to reconcile
+	 * @param reconcileFlags the given flags to control reconciling, a combination of
+	 *    {@link ICompilationUnit#FORCE_PROBLEM_DETECTION},
+	 *    {@link ICompilationUnit#ENABLE_STATEMENTS_RECOVERY} and
+	 *    {@link ICompilationUnit#ENABLE_BINDINGS_RECOVERY}
+	 * @param owner the owner of the working copies, or <code>null</code> if the primary owner should be used
+	 * @param monitor a progress monitor, or <code>null</code> if progress
+	 *    reporting and cancellation are not desired
+	 * @exception JavaModelException if the contents of a working copy cannot be accessed,
+	 *    or if one of the given elements is not a compilation unit
+	 * @since 3.47
+	 */
+	public static void reconcile(ICompilationUnit[] workingCopies, int reconcileFlags, WorkingCopyOwner owner, IProgressMonitor monitor) throws JavaModelException {
+		if (workingCopies.length == 0) return;
+		if (owner == null) owner = DefaultWorkingCopyOwner.PRIMARY;
+		new BulkReconcileOperation(workingCopies, reconcileFlags, owner).runOperation(monitor);
+	}
+
 	/**
 	 * Runs the given action as an atomic Java model operation.
 	 * <p>
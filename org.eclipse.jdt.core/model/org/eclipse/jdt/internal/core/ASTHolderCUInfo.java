@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2013 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -23,4 +23,5 @@ public class ASTHolderCUInfo extends CompilationUnitElementInfo {
 	int reconcileFlags;
 	Map<String, CategorizedProblem[]> problems = null;
 	CompilationUnit ast;
+	boolean skipProblemDetection; // the problems are found by the caller (see BulkReconcileOperation)
 }
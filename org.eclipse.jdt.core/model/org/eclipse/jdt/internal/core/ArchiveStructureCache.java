@@ -0,0 +1,245 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+import org.eclipse.core.runtime.Plugin;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.internal.core.util.Util;
+
+/**
+ * Persists the entry names of external archives across sessions, so that opening a
+ * {@link JarPackageFragmentRoot} does not need to scan its zip file again as long as
+ * the archive did not change.
+ * <p>
+ * Each archive is stored in its own file in the state location, keyed by its path and
+ * validated against the {@link Stamp} of the archive. Files are only read when the
+ * corresponding root is opened, so nothing is loaded at startup.
+ */
+public class ArchiveStructureCache {
+
+	private static final String CACHE_FOLDER = "archiveStructureCache"; //$NON-NLS-1$
+	private static final int VERSION = 2;
+	/*
+	 * Number of bytes at the end of an archive whose checksum is part of its stamp.
+	 */
+	private static final int TAIL_LENGTH = 8192;
+	/*
+	 * Cache files of archives that have not been opened for that long are deleted on full save.
+	 */
+	private static final long MAX_UNUSED_AGE = TimeUnit.DAYS.toMillis(30);
+
+	/**
+	 * The scanned structure of an archive.
+	 *
+	 * @param jdkLevel the level of the first class file, see {@link Util#getJdkLevel(Object)}
+	 * @param multiRelease whether the manifest declares a multi-release archive
+	 * @param entryNames the names of the zip entries, in zip order
+	 * @param directories which of the entries are directories
+	 */
+	public record Structure(long jdkLevel, boolean multiRelease, String[] entryNames, boolean[] directories) {
+		// data only
+	}
+
+	/**
+	 * Identifies the content of an archive.
+	 * <p>
+	 * Besides the timestamp and size of the archive, it holds a checksum of its last bytes. These
+	 * contain the end of the central directory, whose entry offsets, sizes and CRCs change with
+	 * nearly any rewrite of the archive, so that an archive replaced by one of the same size while
+	 * keeping its timestamp (as build tools producing reproducible archives do) is not mistaken
+	 * for the recorded one.
+	 *
+	 * @param lastModified the timestamp of the archive
+	 * @param length the size of the archive
+	 * @param tailChecksum the CRC-32 of the last {@value #TAIL_LENGTH} bytes of the archive
+	 */
+	public record Stamp(long lastModified, long length, long tailChecksum) {
+		// data only
+	}
+
+	private static final ArchiveStructureCache INSTANCE = new ArchiveStructureCache();
+
+	public static ArchiveStructureCache getInstance() {
+		return INSTANCE;
+	}
+
+	private ArchiveStructureCache() {
+		// singleton
+	}
+
+	private File getCacheFolder() {
+		Plugin plugin = JavaCore.getPlugin();
+		if (plugin == null) {
+			return null; // not running in OSGi: nothing is persisted
+		}
+		return plugin.getStateLocation().append(CACHE_FOLDER).toFile();
+	}
+
+	private File getCacheFile(File folder, File archive) {
+		String path = archive.getAbsolutePath();
+		CRC32 crc = new CRC32();
+		crc.update(path.getBytes(StandardCharsets.UTF_8));
+		return new File(folder, Long.toHexString(crc.getValue()) + '_' + Integer.toHexString(path.hashCode()) + ".dat"); //$NON-NLS-1$
+	}
+
+	/**
+	 * Returns the current stamp of the given archive, or <code>null</code> if it cannot be read.
+	 */
+	public static Stamp getStamp(File archive) {
+		long lastModified = archive.lastModified();
+		if (lastModified == 0) {
+			return null; // archive vanished
+		}
+		try (RandomAccessFile file = new RandomAccessFile(archive, "r")) { //$NON-NLS-1$
+			long length = file.length();
+			byte[] tail = new byte[(int) Math.min(length, TAIL_LENGTH)];
+			file.seek(length - tail.length);
+			file.readFully(tail);
+			CRC32 crc = new CRC32();
+			crc.update(tail);
+			return new Stamp(lastModified, length, crc.getValue());
+		} catch (IOException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Returns the persisted structure of the given archive, or <code>null</code> if it
+	 * is unknown or the archive changed since it was recorded.
+	 */
+	public Structure get(File archive) {
+		File folder = getCacheFolder();
+		if (folder == null) {
+			return null;
+		}
+		File cacheFile = getCacheFile(folder, archive);
+		if (!cacheFile.isFile()) {
+			return null;
+		}
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(cacheFile)))) {
+			if (in.readInt() != VERSION || !readString(in).equals(archive.getAbsolutePath())) {
+				return null;
+			}
+			Stamp stamp = new Stamp(in.readLong(), in.readLong(), in.readLong());
+			if (!stamp.equals(getStamp(archive))) {
+				return null;
+			}
+			long jdkLevel = in.readLong();
+			boolean multiRelease = in.readBoolean();
+			int size = in.readInt();
+			String[] names = new String[size];
+			boolean[] directories = new boolean[size];
+			for (int i = 0; i < size; i++) {
+				names[i] = readString(in);
+				directories[i] = in.readBoolean();
+			}
+			cacheFile.setLastModified(System.currentTimeMillis()); // mark as used
+			if (JavaModelManager.VERBOSE) {
+				JavaModelManager.trace("Loaded structure of " + archive + " (" + size + " entries)"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			}
+			return new Structure(jdkLevel, multiRelease, names, directories);
+		} catch (IOException e) {
+			// corrupted or concurrently written: scan the archive again
+			return null;
+		}
+	}
+
+	/**
+	 * Records the structure of the given archive, as scanned when it had the given stamp.
+	 */
+	public void put(File archive, Stamp stamp, Structure structure) {
+		File folder = getCacheFolder();
+		if (folder == null) {
+			return;
+		}
+		if (stamp == null) {
+			return; // archive vanished
+		}
+		File cacheFile = getCacheFile(folder, archive);
+		File tempFile = new File(folder, cacheFile.getName() + '.' + UUID.randomUUID() + ".tmp"); //$NON-NLS-1$
+		try {
+			folder.mkdirs();
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+				out.writeInt(VERSION);
+				writeString(out, archive.getAbsolutePath());
+				out.writeLong(stamp.lastModified());
+				out.writeLong(stamp.length());
+				out.writeLong(stamp.tailChecksum());
+				out.writeLong(structure.jdkLevel());
+				out.writeBoolean(structure.multiRelease());
+				String[] names = structure.entryNames();
+				out.writeInt(names.length);
+				for (int i = 0; i < names.length; i++) {
+					writeString(out, names[i]);
+					out.writeBoolean(structure.directories()[i]);
+				}
+			}
+			Files.move(tempFile.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			tempFile.delete();
+			Util.log(e, "Unable to persist the structure of " + archive); //$NON-NLS-1$
+		}
+	}
+
+	/*
+	 * Unlike DataOutput#writeUTF(String), not limited to strings whose encoding fits in 65535 bytes.
+	 */
+	private static void writeString(DataOutputStream out, String string) throws IOException {
+		byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	private static String readString(DataInputStream in) throws IOException {
+		int length = in.readInt();
+		if (length < 0) {
+			throw new IOException("Invalid string length " + length); //$NON-NLS-1$
+		}
+		byte[] bytes = new byte[length];
+		in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Deletes the files of archives that have not been opened for a long time.
+	 */
+	public void cleanUp() {
+		File folder = getCacheFolder();
+		File[] files = folder == null ? null : folder.listFiles();
+		if (files == null) {
+			return;
+		}
+		long oldest = System.currentTimeMillis() - MAX_UNUSED_AGE;
+		for (File file : files) {
+			if (file.lastModified() < oldest) {
+				file.delete();
+			}
+		}
+	}
+}
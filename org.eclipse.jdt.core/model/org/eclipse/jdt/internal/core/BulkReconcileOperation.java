@@ -0,0 +1,270 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaModelStatus;
+import org.eclipse.jdt.core.IJavaModelStatusConstants;
+import org.eclipse.jdt.core.IProblemRequestor;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.WorkingCopyOwner;
+import org.eclipse.jdt.core.compiler.CategorizedProblem;
+import org.eclipse.jdt.internal.core.util.Messages;
+
+/**
+ * Reconciles many working copies and reports their problems, finding the problems of several units
+ * at once on parallel threads (see JavaCore#reconcile(ICompilationUnit[], int, WorkingCopyOwner, IProgressMonitor)).
+ * <p>
+ * The working copies are first made consistent one after the other, which signals the changes of their
+ * structure through reconcile deltas as a reconcile does. Their problems are then found in parallel: the
+ * units of a project are split in a few chunks, each resolved by one compiler so that the bindings of
+ * the types they reference are only created once per chunk. The problems are finally reported to the
+ * problem requestors of each working copy.
+ * </p>
+ * <p>
+ * Working copies that have reconcile participants, or whose problems couldn't be found with the other
+ * units, are reconciled on their own.
+ * </p>
+ */
+public class BulkReconcileOperation extends JavaModelOperation {
+
+	// the bindings of the referenced types are created once per chunk: don't split the units too much
+	private static final int MIN_CHUNK_SIZE = 8;
+	private static final int MAX_THREADS = Runtime.getRuntime().availableProcessors();
+
+	int reconcileFlags;
+	WorkingCopyOwner workingCopyOwner;
+
+	public BulkReconcileOperation(ICompilationUnit[] workingCopies, int reconcileFlags, WorkingCopyOwner workingCopyOwner) {
+		super(workingCopies);
+		this.reconcileFlags = reconcileFlags;
+		this.workingCopyOwner = workingCopyOwner;
+	}
+
+	@Override
+	protected void executeOperation() throws JavaModelException {
+		checkCanceled();
+		try {
+			beginTask(Messages.element_reconciling, this.elementsToProcess.length * 2);
+
+			// make the working copies consistent and select the ones whose problems are needed
+			List<CompilationUnit> units = new ArrayList<>();
+			for (IJavaElement element : this.elementsToProcess) {
+				checkCanceled();
+				CompilationUnit workingCopy = (CompilationUnit) element;
+				if (!workingCopy.isWorkingCopy()) {
+					worked(2); // destroyed since
+					continue;
+				}
+				boolean wasConsistent = workingCopy.isConsistent();
+				if (!requestorIsActive(workingCopy) || hasParticipants(workingCopy)
+						|| !JavaProject.hasJavaNature(workingCopy.getJavaProject().getProject())) {
+					workingCopy.reconcile(ICompilationUnit.NO_AST, this.reconcileFlags, this.workingCopyOwner, this.progressMonitor.split(2));
+					continue;
+				}
+				JavaElementDeltaBuilder deltaBuilder = new JavaElementDeltaBuilder(workingCopy);
+				workingCopy.makeStructureConsistent(this.reconcileFlags, this.progressMonitor.split(1));
+				deltaBuilder.buildDeltas();
+				if (deltaBuilder.delta != null) {
+					addReconcileDelta(workingCopy, deltaBuilder.delta);
+				}
+				if (!wasConsistent || (this.reconcileFlags & ICompilationUnit.FORCE_PROBLEM_DETECTION) != 0) {
+					units.add(workingCopy);
+				} else {
+					worked(1);
+				}
+			}
+			if (units.isEmpty()) return;
+
+			// find the problems in parallel
+			List<CompilationUnit[]> chunks = split(units);
+			List<Map<String, CategorizedProblem[]>[]> problems = findProblems(chunks);
+
+			// report them
+			for (int i = 0; i < chunks.size(); i++) {
+				CompilationUnit[] chunk = chunks.get(i);
+				Map<String, CategorizedProblem[]>[] chunkProblems = problems.get(i);
+				for (int j = 0; j < chunk.length; j++) {
+					checkCanceled();
+					CompilationUnit workingCopy = chunk[j];
+					if (chunkProblems[j] == null) {
+						workingCopy.reconcile(ICompilationUnit.NO_AST, this.reconcileFlags | ICompilationUnit.FORCE_PROBLEM_DETECTION,
+								this.workingCopyOwner, this.progressMonitor.split(1));
+						continue;
+					}
+					JavaModelManager.PerWorkingCopyInfo perWorkingCopyInfo = workingCopy.getPerWorkingCopyInfo();
+					if (perWorkingCopyInfo == null) {
+						worked(1); // discarded since
+						continue;
+					}
+					if (perWorkingCopyInfo.incrementalReconcileState != null) {
+						// the problems of the next reconcile can't be based on the ones of the previous reconcile
+						perWorkingCopyInfo.incrementalReconcileState.reset();
+					}
+					IProblemRequestor problemRequestor = perWorkingCopyInfo.getProblemRequestor();
+					if (problemRequestor != null && problemRequestor.isActive())
+						reportProblems(chunkProblems[j], problemRequestor);
+					IProblemRequestor ownerProblemRequestor = this.workingCopyOwner.getProblemRequestor(workingCopy);
+					if (ownerProblemRequestor != null && ownerProblemRequestor != problemRequestor && ownerProblemRequestor.isActive())
+						reportProblems(chunkProblems[j], ownerProblemRequestor);
+					worked(1);
+				}
+			}
+		} finally {
+			done();
+		}
+	}
+
+	private boolean requestorIsActive(CompilationUnit workingCopy) {
+		JavaModelManager.PerWorkingCopyInfo perWorkingCopyInfo = workingCopy.getPerWorkingCopyInfo();
+		IProblemRequestor problemRequestor = perWorkingCopyInfo == null ? null : perWorkingCopyInfo.getProblemRequestor();
+		if (problemRequestor != null && problemRequestor.isActive())
+			return true;
+		IProblemRequestor ownerProblemRequestor = this.workingCopyOwner.getProblemRequestor(workingCopy);
+		return ownerProblemRequestor != null && ownerProblemRequestor.isActive();
+	}
+
+	private boolean hasParticipants(CompilationUnit workingCopy) {
+		return JavaModelManager.getJavaModelManager().compilationParticipants.getCompilationParticipants(workingCopy.getJavaProject()) != null;
+	}
+
+	/*
+	 * Splits the units in chunks whose problems can be found by the same compiler, enough to keep all the threads busy.
+	 */
+	private List<CompilationUnit[]> split(List<CompilationUnit> units) {
+		List<List<CompilationUnit>> groups = new ArrayList<>();
+		nextUnit: for (CompilationUnit unit : units) {
+			for (List<CompilationUnit> group : groups) {
+				if (CompilationUnitProblemFinder.canShareEnvironment(group.get(0), unit)) {
+					group.add(unit);
+					continue nextUnit;
+				}
+			}
+			List<CompilationUnit> group = new ArrayList<>();
+			group.add(unit);
+			groups.add(group);
+		}
+		List<CompilationUnit[]> chunks = new ArrayList<>();
+		for (List<CompilationUnit> group : groups) {
+			int size = group.size();
+			int chunkSize = Math.max(MIN_CHUNK_SIZE, (size + MAX_THREADS - 1) / MAX_THREADS);
+			for (int start = 0; start < size; start += chunkSize) {
+				chunks.add(group.subList(start, Math.min(size, start + chunkSize)).toArray(new CompilationUnit[0]));
+			}
+		}
+		return chunks;
+	}
+
+	private List<Map<String, CategorizedProblem[]>[]> findProblems(List<CompilationUnit[]> chunks) throws JavaModelException {
+		// the progress monitor can only be checked for cancellation from the other threads
+		IProgressMonitor cancelMonitor = new NullProgressMonitor() {
+			@Override
+			public boolean isCanceled() {
+				return BulkReconcileOperation.this.progressMonitor.isCanceled();
+			}
+		};
+		int parallelism = Math.min(MAX_THREADS, chunks.size());
+		// Never use a shared ForkJoinPool.commonPool() as it may be busy with other tasks, which might deadlock.
+		ForkJoinPool forkJoinPool = new ForkJoinPool(parallelism, //
+				pool -> new ForkJoinWorkerThread(pool) {
+					// anonymous subclass to access protected constructor
+				}, null, false);
+		try {
+			List<Future<Map<String, CategorizedProblem[]>[]>> futures = new ArrayList<>(chunks.size());
+			for (CompilationUnit[] chunk : chunks) {
+				// read the contents of the working copies on this thread
+				CompilationUnit[] sources = new CompilationUnit[chunk.length];
+				for (int i = 0; i < chunk.length; i++) {
+					sources[i] = chunk[i].cloneCachingContents();
+					sources[i].getContents();
+				}
+				futures.add(forkJoinPool.submit(() -> findProblems(sources, cancelMonitor)));
+			}
+			List<Map<String, CategorizedProblem[]>[]> problems = new ArrayList<>(chunks.size());
+			for (Future<Map<String, CategorizedProblem[]>[]> future : futures) {
+				problems.add(future.get());
+			}
+			return problems;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new OperationCanceledException();
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException runtimeException)
+				throw runtimeException;
+			if (cause instanceof Error error)
+				throw error;
+			throw new JavaModelException(e, IJavaModelStatusConstants.COMPILER_FAILURE);
+		} finally {
+			forkJoinPool.shutdownNow();
+		}
+	}
+
+	private Map<String, CategorizedProblem[]>[] findProblems(CompilationUnit[] sources, IProgressMonitor monitor) {
+		JavaModelManager manager = JavaModelManager.getJavaModelManager();
+		try {
+			manager.abortOnMissingSource.set(Boolean.TRUE);
+			manager.cacheZipFiles(sources); // cache zip files for performance (see https://bugs.eclipse.org/bugs/show_bug.cgi?id=134172)
+			return CompilationUnitProblemFinder.process(sources, this.workingCopyOwner, this.reconcileFlags, monitor);
+		} finally {
+			manager.flushZipFiles(sources);
+			manager.abortOnMissingSource.remove();
+		}
+	}
+
+	private void reportProblems(Map<String, CategorizedProblem[]> problems, IProblemRequestor problemRequestor) {
+		try {
+			problemRequestor.beginReporting();
+			for (CategorizedProblem[] categorizedProblems : problems.values()) {
+				if (categorizedProblems == null) continue;
+				for (CategorizedProblem problem : categorizedProblems) {
+					if (this.progressMonitor != null && this.progressMonitor.isCanceled()) break;
+					problemRequestor.acceptProblem(problem);
+				}
+			}
+		} finally {
+			problemRequestor.endReporting();
+		}
+	}
+
+	@Override
+	public boolean isReadOnly() {
+		return true;
+	}
+
+	@Override
+	protected IJavaModelStatus verify() {
+		IJavaModelStatus status = super.verify();
+		if (!status.isOK()) {
+			return status;
+		}
+		for (IJavaElement element : this.elementsToProcess) {
+			if (!(element instanceof CompilationUnit)) {
+				return new JavaModelStatus(IJavaModelStatusConstants.INVALID_ELEMENT_TYPES, element);
+			}
+		}
+		return status;
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2021 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -132,7 +132,8 @@ protected boolean buildStructure(OpenableElementInfo info, final IProgressMonito
 	boolean createAST = info instanceof ASTHolderCUInfo astHolder ? astHolder.astLevel != NO_AST : false;
 	boolean resolveBindings = info instanceof ASTHolderCUInfo astHolder ? astHolder.resolveBindings : false;
 	int reconcileFlags = info instanceof ASTHolderCUInfo astHolder ? astHolder.reconcileFlags : 0;
-	boolean computeProblems = perWorkingCopyInfo != null && perWorkingCopyInfo.isActive() && project != null && JavaProject.hasJavaNature(project.getProject());
+	boolean computeProblems = perWorkingCopyInfo != null && perWorkingCopyInfo.isActive() && project != null && JavaProject.hasJavaNature(project.getProject())
+			&& !(info instanceof ASTHolderCUInfo astHolder && astHolder.skipProblemDetection);
 	Map<String, String> options = this.getOptions(true);
 	if (!computeProblems) {
 		// disable task tags checking to speed up parsing
@@ -259,7 +260,7 @@ protected boolean buildStructure(OpenableElementInfo info, final IProgressMonito
 				if (problems == null) {
 					// report problems to the problem requestor
 					problems = new HashMap<>();
-					compilationUnitDeclaration = CompilationUnitProblemFinder.process(source, parser, this.owner, problems, createAST, reconcileFlags, pm);
+					compilationUnitDeclaration = CompilationUnitProblemFinder.process(source, parser, this.owner, problems, createAST, reconcileFlags, perWorkingCopyInfo.incrementalReconcileState, pm);
 					try {
 						perWorkingCopyInfo.beginReporting();
 						for (CategorizedProblem[] categorizedProblems : problems.values()) {
@@ -273,7 +274,7 @@ protected boolean buildStructure(OpenableElementInfo info, final IProgressMonito
 					}
 				} else {
 					// collect problems
-					compilationUnitDeclaration = CompilationUnitProblemFinder.process(source, parser, this.owner, problems, createAST, reconcileFlags, pm);
+					compilationUnitDeclaration = CompilationUnitProblemFinder.process(source, parser, this.owner, problems, createAST, reconcileFlags, perWorkingCopyInfo.incrementalReconcileState, pm);
 				}
 			} else {
 				compilationUnitDeclaration = parser.parseCompilationUnit(source, true /*full parse to find local elements*/, pm);
@@ -1266,6 +1267,24 @@ public org.eclipse.jdt.core.dom.CompilationUnit makeConsistent(int astLevel, boo
 		JavaModelManager.getJavaModelManager().abortOnMissingSource.remove();
 	}
 }
+/*
+ * Makes this working copy consistent without finding its problems, which are found and
+ * reported by the caller (see BulkReconcileOperation).
+ */
+void makeStructureConsistent(int reconcileFlags, IProgressMonitor monitor) throws JavaModelException {
+	if (isConsistent()) return;
+
+	try {
+		JavaModelManager.getJavaModelManager().abortOnMissingSource.set(Boolean.TRUE);
+		ASTHolderCUInfo info = new ASTHolderCUInfo();
+		info.astLevel = NO_AST;
+		info.reconcileFlags = reconcileFlags;
+		info.skipProblemDetection = true;
+		openWhenClosed(info, true, monitor);
+	} finally {
+		JavaModelManager.getJavaModelManager().abortOnMissingSource.remove();
+	}
+}
 /**
  * @see ISourceManipulation#move(IJavaElement, IJavaElement, String, boolean, IProgressMonitor)
  */
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2021 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,6 +13,8 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.core;
 
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Map;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -253,11 +255,32 @@ public class CompilationUnitProblemFinder extends Compiler {
 			IProgressMonitor monitor)
 		throws JavaModelException {
 
+		return process(unitElement, parser, workingCopyOwner, problems, creatingAST, reconcileFlags, null/*no incremental reconcile*/, monitor);
+	}
+
+	/*
+	 * Can return null if the process was aborted or canceled.
+	 * If an incremental reconcile state is given and the unit is not converted to a DOM AST, only the method
+	 * being edited since the last call is resolved and analyzed when possible (see IncrementalReconcileState).
+	 */
+	public static CompilationUnitDeclaration process(
+			CompilationUnit unitElement,
+			SourceElementParser parser,
+			WorkingCopyOwner workingCopyOwner,
+			Map<String, CategorizedProblem[]> problems,
+			boolean creatingAST,
+			int reconcileFlags,
+			IncrementalReconcileState incrementalState,
+			IProgressMonitor monitor)
+		throws JavaModelException {
+
 		JavaProject project = unitElement.getJavaProject();
 		CancelableNameEnvironment environment = null;
 		CancelableProblemFactory problemFactory = null;
 		CompilationUnitProblemFinder problemFinder = null;
 		CompilationUnitDeclaration unit = null;
+		IncrementalReconcileState.Edit edit = null;
+		char[] contents = null;
 		try {
 			int release = getRelease(project, unitElement);
 			environment = new CancelableNameEnvironment(project, workingCopyOwner, monitor, !isTestSource(unitElement.getJavaProject(), unitElement), release);
@@ -285,6 +308,12 @@ public class CompilationUnitProblemFinder extends Compiler {
 				if (parser != null) {
 					problemFinder.parser = parser;
 					unit = parser.parseCompilationUnit(unitElement, true/*full parse*/, monitor);
+					if (incrementalState != null && unit != null) {
+						// the contents that were parsed, even if the buffer changed since
+						contents = unit.compilationResult.compilationUnit.getContents();
+						// the AST must be complete when converted to a DOM AST
+						edit = incrementalState.prepare(unit, contents, !creatingAST && !ignoreMethodBodies);
+					}
 					problemFinder.resolve(
 						unit,
 						unitElement,
@@ -301,10 +330,22 @@ public class CompilationUnitProblemFinder extends Compiler {
 				}
 			} catch (AbortCompilation e) {
 				problemFinder.handleInternalException(e, unit);
+				if (incrementalState != null) {
+					// problems may be missing: the next reconcile has to be a full one
+					incrementalState.reset();
+					incrementalState = null;
+				}
 			}
 			if (unit != null) {
 				CompilationResult unitResult = unit.compilationResult;
 				CategorizedProblem[] unitProblems = unitResult.getCUProblems();
+				if (incrementalState != null) {
+					if (edit == null) {
+						contents = unit.compilationResult.compilationUnit.getContents();
+						edit = incrementalState.prepare(unit, null, false);
+					}
+					unitProblems = incrementalState.update(edit, unit, contents, unitProblems);
+				}
 				int length = unitProblems == null ? 0 : unitProblems.length;
 				if (length > 0) {
 					CategorizedProblem[] categorizedProblems = new CategorizedProblem[length];
@@ -362,6 +403,124 @@ public class CompilationUnitProblemFinder extends Compiler {
 		return process(unitElement, null/*use default Parser*/, workingCopyOwner, problems, creatingAST, reconcileFlags, monitor);
 	}
 
+	/*
+	 * Whether the problems of the given units can be found with the same compiler (see #process(CompilationUnit[], ...)).
+	 */
+	public static boolean canShareEnvironment(CompilationUnit unitElement1, CompilationUnit unitElement2) {
+		JavaProject project = unitElement1.getJavaProject();
+		return project.equals(unitElement2.getJavaProject())
+				&& isTestSource(project, unitElement1) == isTestSource(project, unitElement2)
+				&& getRelease(project, unitElement1) == getRelease(project, unitElement2);
+	}
+
+	/*
+	 * Resolves and analyzes the given units with one compiler, so that the bindings of the types they
+	 * reference are only created once, and answers the problems of each unit in the same order.
+	 * The units must be able to share their environment (see #canShareEnvironment(..)).
+	 * The problems of a unit are null if they could not be computed.
+	 */
+	public static Map<String, CategorizedProblem[]>[] process(
+			CompilationUnit[] unitElements,
+			WorkingCopyOwner workingCopyOwner,
+			int reconcileFlags,
+			IProgressMonitor monitor) {
+
+		@SuppressWarnings("unchecked")
+		Map<String, CategorizedProblem[]>[] problems = new Map[unitElements.length];
+		CompilationUnit firstUnit = unitElements[0];
+		JavaProject project = firstUnit.getJavaProject();
+		CancelableNameEnvironment environment = null;
+		CancelableProblemFactory problemFactory = null;
+		CompilationUnitProblemFinder problemFinder = null;
+		try {
+			int release = getRelease(project, firstUnit);
+			try {
+				environment = new CancelableNameEnvironment(project, workingCopyOwner, monitor, !isTestSource(project, firstUnit), release);
+			} catch (JavaModelException e) {
+				// the units are reconciled on their own, which reports the exception
+				return problems;
+			}
+			problemFactory = new CancelableProblemFactory(monitor);
+			CompilerOptions compilerOptions = getCompilerOptions(project.getOptions(true), false, ((reconcileFlags & ICompilationUnit.ENABLE_STATEMENTS_RECOVERY) != 0));
+			compilerOptions.ignoreMethodBodies = (reconcileFlags & ICompilationUnit.IGNORE_METHOD_BODIES) != 0;
+			if (release >= JavaProject.FIRST_MULTI_RELEASE) {
+				compilerOptions.targetJDK = CompilerOptions.releaseToJDKLevel(release);
+				compilerOptions.complianceLevel = compilerOptions.targetJDK;
+				compilerOptions.sourceLevel = compilerOptions.targetJDK;
+				compilerOptions.release = true;
+			}
+			problemFinder = new CompilationUnitProblemFinder(
+				environment,
+				getHandlingPolicy(),
+				compilerOptions,
+				getRequestor(),
+				problemFactory);
+			Map<org.eclipse.jdt.internal.compiler.env.ICompilationUnit, Integer> indexes = new IdentityHashMap<>(unitElements.length);
+			for (int i = 0; i < unitElements.length; i++) {
+				indexes.put(unitElements[i], Integer.valueOf(i));
+			}
+			try {
+				problemFinder.parseThreshold = 0; // full parse
+				problemFinder.beginToCompile(unitElements);
+			} catch (AbortCompilation e) {
+				// the problems of the units that were not resolved are not known
+				problemFinder.handleInternalException(e, null);
+				return problems;
+			}
+			for (int i = 0; i < problemFinder.totalUnits; i++) {
+				CompilationUnitDeclaration unit = problemFinder.unitsToProcess[i];
+				if (unit == null) continue;
+				Integer index = indexes.get(unit.compilationResult.compilationUnit);
+				if (index == null) continue; // not one of the units to reconcile
+				try {
+					try {
+						problemFinder.process(unit, i);
+					} catch (AbortCompilation e) {
+						problemFinder.handleInternalException(e, unit);
+						if (e.isSilent)
+							break; // canceled
+					}
+					Map<String, CategorizedProblem[]> unitProblems = new HashMap<>();
+					putProblems(unit.compilationResult, unitProblems);
+					problems[index.intValue()] = unitProblems;
+				} catch (OperationCanceledException e) {
+					throw e;
+				} catch (RuntimeException e) {
+					// the unit is reconciled on its own (see BulkReconcileOperation)
+					Util.log(e, "Exception occurred during problem detection of " + unitElements[index.intValue()].getElementName()); //$NON-NLS-1$
+				} finally {
+					unit.cleanUp();
+					problemFinder.unitsToProcess[i] = null; // release reference to processed unit declaration
+				}
+			}
+		} finally {
+			if (environment != null)
+				environment.setMonitor(null); // don't hold a reference to this external object
+			if (problemFactory != null)
+				problemFactory.monitor = null; // don't hold a reference to this external object
+			if (problemFinder != null)
+				problemFinder.lookupEnvironment.reset();
+		}
+		return problems;
+	}
+
+	private static void putProblems(CompilationResult unitResult, Map<String, CategorizedProblem[]> problems) {
+		CategorizedProblem[] unitProblems = unitResult.getCUProblems();
+		int length = unitProblems == null ? 0 : unitProblems.length;
+		if (length > 0) {
+			CategorizedProblem[] categorizedProblems = new CategorizedProblem[length];
+			System.arraycopy(unitProblems, 0, categorizedProblems, 0, length);
+			problems.put(IJavaModelMarker.JAVA_MODEL_PROBLEM_MARKER, categorizedProblems);
+		}
+		unitProblems = unitResult.getTasks();
+		length = unitProblems == null ? 0 : unitProblems.length;
+		if (length > 0) {
+			CategorizedProblem[] categorizedProblems = new CategorizedProblem[length];
+			System.arraycopy(unitProblems, 0, categorizedProblems, 0, length);
+			problems.put(IJavaModelMarker.TASK_MARKER, categorizedProblems);
+		}
+	}
+
 	/* (non-Javadoc)
 	 * Fix for bug https://bugs.eclipse.org/bugs/show_bug.cgi?id=60689.
 	 * @see org.eclipse.jdt.internal.compiler.Compiler#initializeParser()
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -25,6 +25,7 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -40,6 +41,7 @@ import org.eclipse.core.runtime.PerformanceStats;
 import org.eclipse.core.runtime.SafeRunner;
 import org.eclipse.jdt.core.*;
 import org.eclipse.jdt.core.compiler.CharOperation;
+import org.eclipse.jdt.internal.codeassist.CompletionSearchCache;
 import org.eclipse.jdt.internal.compiler.SourceElementParser;
 import org.eclipse.jdt.internal.compiler.env.IElementInfo;
 import org.eclipse.jdt.internal.compiler.lookup.TypeConstants;
@@ -205,6 +207,45 @@ public class DeltaProcessor {
 		}
 	}
 
+	/*
+	 * Index updates of single documents collected while a resource delta is traversed, and
+	 * requested to the index manager once the whole delta has been processed. A document that
+	 * is reported several times (e.g. by its package and by itself) is only requested once,
+	 * with its last update, and documents of projects that are entirely re-indexed or removed
+	 * are not requested at all.
+	 */
+	public static class PendingIndexUpdates {
+		private final Map<IPath, Runnable> documentUpdates = new LinkedHashMap<>();
+		private final Set<IPath> projectUpdates = new HashSet<>();
+
+		public void updateDocument(IPath documentPath, Runnable update) {
+			this.documentUpdates.remove(documentPath); // keep the order of the last update
+			this.documentUpdates.put(documentPath, update);
+		}
+		public void updateProject(IPath projectPath) {
+			this.projectUpdates.add(projectPath);
+		}
+		/*
+		 * Runs the recorded updates that are not covered by a project update, and answers how many were skipped.
+		 */
+		public int flush() {
+			int skipped = 0;
+			for (Map.Entry<IPath, Runnable> entry : this.documentUpdates.entrySet()) {
+				if (!this.projectUpdates.isEmpty() && this.projectUpdates.contains(entry.getKey().uptoSegment(1))) {
+					skipped++;
+				} else {
+					entry.getValue().run();
+				}
+			}
+			this.documentUpdates.clear();
+			this.projectUpdates.clear();
+			return skipped;
+		}
+		public int size() {
+			return this.documentUpdates.size();
+		}
+	}
+
 	private final static int IGNORE = 0;
 	private final static int SOURCE = 1;
 	private final static int BINARY = 2;
@@ -290,6 +331,11 @@ public class DeltaProcessor {
 	 */
 	private SourceElementParser sourceElementParserCache;
 
+	/*
+	 * Index updates of documents collected during the processing of a POST_CHANGE event
+	 */
+	private PendingIndexUpdates pendingIndexUpdates;
+
 	public DeltaProcessor(DeltaProcessingState state, JavaModelManager manager) {
 		this.state = state;
 		this.manager = manager;
@@ -1528,6 +1574,11 @@ public class DeltaProcessor {
 			JavaWorkspaceScope workspaceScope = this.manager.workspaceScope;
 			if (workspaceScope != null)
 				workspaceScope.processDelta(deltaToNotify, eventType);
+			// the types found by code completion may have changed
+			CompletionSearchCache.reset(null);
+			if (IncrementalReconcileState.isStructuralChange(deltaToNotify)) {
+				this.manager.resetIncrementalReconcileStates();
+			}
 		}
 
 		// Notification
@@ -1585,6 +1636,13 @@ public class DeltaProcessor {
 			trace(deltaToNotify == null ? "<NONE>" : deltaToNotify.toString()); //$NON-NLS-1$
 		}
 		if (deltaToNotify != null) {
+			// the types found by code completion may have changed, unless only the unit they were searched from was reconciled
+			CompletionSearchCache.reset(this.reconcileDeltas.size() == 1 ? this.reconcileDeltas.keySet().iterator().next() : null);
+			// so may the problems of the working copies that depend on a changed structure
+			if (IncrementalReconcileState.isStructuralChange(deltaToNotify)) {
+				this.manager.resetIncrementalReconcileStates();
+			}
+
 			// flush now so as to keep listener reactions to post their own deltas for subsequent iteration
 			this.reconcileDeltas = new HashMap<>();
 
@@ -1777,8 +1835,7 @@ public class DeltaProcessor {
 					TypeHierarchy typeHierarchy = (TypeHierarchy)listener;
 					if (typeHierarchy.hasFineGrainChanges()) {
 						// case of changes in primary working copies
-						typeHierarchy.needsRefresh = true;
-						typeHierarchy.fireChange();
+						typeHierarchy.fireFineGrainChanges();
 					}
 				}
 			});
@@ -2102,6 +2159,7 @@ public class DeltaProcessor {
 					try {
 						try {
 							stopDeltas();
+							this.pendingIndexUpdates = new PendingIndexUpdates();
 							checkProjectsAndClasspathChanges(delta);
 
 							// generate external archive change deltas
@@ -2148,8 +2206,12 @@ public class DeltaProcessor {
 								registerJavaModelDelta(translatedDelta);
 							}
 						} finally {
-							this.sourceElementParserCache = null; // don't hold onto parser longer than necessary
-							startDeltas();
+							try {
+								requestPendingIndexUpdates();
+							} finally {
+								this.sourceElementParserCache = null; // don't hold onto parser longer than necessary
+								startDeltas();
+							}
 						}
 						notifyAndFire(null);
 					} finally {
@@ -2653,6 +2715,7 @@ public class DeltaProcessor {
 								this.projectCachesToReset.add(element);
 
 								this.manager.indexManager.indexAll(res);
+								projectIndexUpdated(res);
 							}
 						} else {
 							boolean wasJavaProject = this.state.findJavaProject(res.getName()) != null;
@@ -2662,6 +2725,7 @@ public class DeltaProcessor {
 								currentDelta().closed(element);
 								this.manager.indexManager.discardJobs(element.getElementName());
 								this.manager.indexManager.removeIndexFamily(res.getFullPath());
+								projectIndexUpdated(res);
 							}
 						}
 						return false; // when a project is open/closed don't process children
@@ -2677,10 +2741,12 @@ public class DeltaProcessor {
 							if (isJavaProject) {
 								elementAdded(element, delta, rootInfo);
 								this.manager.indexManager.indexAll(res);
+								projectIndexUpdated(res);
 							} else {
 								elementRemoved(element, delta, rootInfo);
 								this.manager.indexManager.discardJobs(element.getElementName());
 								this.manager.indexManager.removeIndexFamily(res.getFullPath());
+								projectIndexUpdated(res);
 								// reset the corresponding project built state, since cannot reuse if added back
 								if (JavaBuilder.DEBUG) {
 									trace("Clearing last state for project loosing Java nature: " + res); //$NON-NLS-1$
@@ -2730,9 +2796,11 @@ public class DeltaProcessor {
 				switch (delta.getKind()) {
 					case IResourceDelta.ADDED :
 						indexManager.indexAll(element.getJavaProject().getProject());
+						projectIndexUpdated(element.getJavaProject().getProject());
 						break;
 					case IResourceDelta.REMOVED :
 						indexManager.removeIndexFamily(element.getJavaProject().getProject().getFullPath());
+						projectIndexUpdated(element.getJavaProject().getProject());
 						// NB: Discarding index jobs belonging to this project was done during PRE_DELETE
 						break;
 					// NB: Update of index if project is opened, closed, or its java nature is added or removed
@@ -2835,11 +2903,12 @@ public class DeltaProcessor {
 							break;
 						// $FALL-THROUGH$
 					case IResourceDelta.ADDED :
-						indexManager.addBinary(file, binaryFolderPath);
+						IFile binaryFile = file;
+						updateDocumentIndex(file, () -> indexManager.addBinary(binaryFile, binaryFolderPath));
 						break;
 					case IResourceDelta.REMOVED :
 						String containerRelativePath = Util.relativePath(file.getFullPath(), binaryFolderPath.segmentCount());
-						indexManager.remove(containerRelativePath, binaryFolderPath);
+						updateDocumentIndex(file, () -> indexManager.remove(containerRelativePath, binaryFolderPath));
 						break;
 				}
 				break;
@@ -2852,18 +2921,19 @@ public class DeltaProcessor {
 						if ((flags & IResourceDelta.CONTENT) == 0 && (flags & IResourceDelta.ENCODING) == 0) {
 							if (hasRemovedJdtErrorMarker(delta)) {
 								// schedule re-indexing of the file when JDT error markers get removed
-								indexManager.addSource(file, file.getProject().getFullPath(), getSourceElementParser(element));
+								updateSourceIndex(file, element, indexManager);
 							}
 							break;
 						}
 						// $FALL-THROUGH$
 					case IResourceDelta.ADDED :
-						indexManager.addSource(file, file.getProject().getFullPath(), getSourceElementParser(element));
+						updateSourceIndex(file, element, indexManager);
 						// Clean file from secondary types cache but do not update indexing secondary type cache as it will be updated through indexing itself
 						this.manager.secondaryTypesRemoving(file, false);
 						break;
 					case IResourceDelta.REMOVED :
-						indexManager.remove(Util.relativePath(file.getFullPath(), 1/*remove project segment*/), file.getProject().getFullPath());
+						IFile removedFile = file;
+						updateDocumentIndex(file, () -> indexManager.remove(Util.relativePath(removedFile.getFullPath(), 1/*remove project segment*/), removedFile.getProject().getFullPath()));
 						// Clean file from secondary types cache and update indexing secondary type cache as indexing cannot remove secondary types from cache
 						this.manager.secondaryTypesRemoving(file, true);
 						break;
@@ -2899,13 +2969,54 @@ public class DeltaProcessor {
 					break;
 				// $FALL-THROUGH$
 			case IResourceDelta.ADDED :
-				indexManager.addDerivedSource(file, file.getProject().getFullPath());
+				updateDocumentIndex(file, () -> indexManager.addDerivedSource(file, file.getProject().getFullPath()));
 				break;
 			case IResourceDelta.REMOVED :
-				indexManager.remove(Util.relativePath(file.getFullPath(), 1/*remove project segment*/), file.getProject().getFullPath());
+				updateDocumentIndex(file, () -> indexManager.remove(Util.relativePath(file.getFullPath(), 1/*remove project segment*/), file.getProject().getFullPath()));
 				break;
 		}
 	}
+	/*
+	 * Schedules the indexing of the given compilation unit, with the source element parser of its project.
+	 */
+	private void updateSourceIndex(IFile file, Openable element, IndexManager indexManager) {
+		SourceElementParser parser = getSourceElementParser(element);
+		updateDocumentIndex(file, () -> indexManager.addSource(file, file.getProject().getFullPath(), parser));
+	}
+	/*
+	 * Requests the given index update of a document, or records it until the end of the
+	 * current POST_CHANGE event so that it can be merged with other updates of the same document.
+	 */
+	private void updateDocumentIndex(IFile file, Runnable update) {
+		if (this.pendingIndexUpdates == null) {
+			update.run();
+		} else {
+			this.pendingIndexUpdates.updateDocument(file.getFullPath(), update);
+		}
+	}
+	/*
+	 * Records that the index of the whole given project has been updated, so that pending
+	 * updates of its documents are not needed any longer.
+	 */
+	private void projectIndexUpdated(IProject project) {
+		if (this.pendingIndexUpdates != null) {
+			this.pendingIndexUpdates.updateProject(project.getFullPath());
+		}
+	}
+	/*
+	 * Requests the index updates collected while processing the current resource delta.
+	 */
+	private void requestPendingIndexUpdates() {
+		PendingIndexUpdates updates = this.pendingIndexUpdates;
+		if (updates == null)
+			return;
+		this.pendingIndexUpdates = null;
+		int size = updates.size();
+		int skipped = updates.flush();
+		if (VERBOSE && size > 0) {
+			trace("Requested " + (size - skipped) + " document index updates (" + skipped + " covered by project updates)"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		}
+	}
 	/*
 	 * Update Java Model given some delta
 	 */
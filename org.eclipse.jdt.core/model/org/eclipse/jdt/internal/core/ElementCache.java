@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2009 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -23,7 +23,7 @@ import org.eclipse.jdt.core.JavaModelException;
 public class ElementCache<K extends IJavaElement & IOpenable> extends OverflowingLRUCache<K, JavaElementInfo> {
 
 	IJavaElement spaceLimitParent = null;
-	private final int initialSpaceLimit;
+	private int initialSpaceLimit;
 
 /**
  * Constructs a new element cache of the given size.
@@ -88,6 +88,25 @@ protected ElementCache<K> newInstance(int size, int newOverflow) {
 	return new ElementCache<>(size, newOverflow);
 }
 
+/*
+ * Changes the default space limit of this cache. If no parent currently holds an
+ * increased space limit, the new limit is applied right away (closing the least
+ * recently used elements if needed), otherwise it is applied when that parent is removed.
+ */
+protected void resizeSpaceLimit(int limit) {
+	this.initialSpaceLimit = limit;
+	if (this.spaceLimitParent == null) {
+		setSpaceLimit(limit);
+	}
+}
+
+/*
+ * Returns the space limit this cache uses when no parent needs more room.
+ */
+protected int getInitialSpaceLimit() {
+	return this.initialSpaceLimit;
+}
+
 /*
  * If the given parent was the one that increased the space limit, reset
  * the space limit to the given default value.
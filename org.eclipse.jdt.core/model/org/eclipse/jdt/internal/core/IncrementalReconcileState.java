@@ -0,0 +1,399 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.compiler.CategorizedProblem;
+import org.eclipse.jdt.core.compiler.IProblem;
+import org.eclipse.jdt.internal.compiler.ast.ASTNode;
+import org.eclipse.jdt.internal.compiler.ast.AbstractMethodDeclaration;
+import org.eclipse.jdt.internal.compiler.ast.CompilationUnitDeclaration;
+import org.eclipse.jdt.internal.compiler.ast.TypeDeclaration;
+import org.eclipse.jdt.internal.compiler.lookup.ExtraCompilerModifiers;
+import org.eclipse.jdt.internal.compiler.problem.DefaultProblem;
+import org.eclipse.jdt.internal.compiler.util.Util;
+
+/**
+ * Remembers the outcome of the last problem detection of a working copy, so that a reconcile
+ * of an edit confined to the body of the method being edited only resolves and analyzes that
+ * method (see {@link CompilationUnitProblemFinder}).
+ * <p>
+ * The whole unit is still parsed, so that the structure and the syntax problems are always
+ * accurate, but the statements of the other methods are detached before resolution. Neither is
+ * the edited body reparsed on its own nor the previous unit declaration reused, as the
+ * SourceElementParser has to report the structure of the whole unit to the Java model anyway:
+ * only resolution and analysis are saved. The problems previously found outside of the edited
+ * method are kept, moved by the length of the edit.
+ * </p><p>
+ * Problems on unused imports and private members depend on every method body, so they are
+ * taken from the last full reconcile: they are dropped while the edited method uses the element,
+ * but are only added by a full reconcile. Whether the edited method itself is used is not
+ * affected by an edit of its body. The first reconcile of an edit in a method is a full one, as
+ * is every {@link #MAX_INCREMENTAL_RECONCILES}th consecutive reconcile of the same method, and
+ * the next reconcile after a structural change in another unit (see {@link #isStructuralChange(IJavaElementDelta)}),
+ * so that these and the problems caused by changes in other units don't stay stale.
+ * </p>
+ */
+public class IncrementalReconcileState {
+
+	/*
+	 * Number of consecutive incremental reconciles after which a full one is done.
+	 */
+	private static final int MAX_INCREMENTAL_RECONCILES = 20;
+
+	/*
+	 * Number of ints recorded per method in methodRanges.
+	 */
+	private static final int RANGE_LENGTH = 4;
+
+	/**
+	 * The edit between the previous and the current reconcile.
+	 */
+	public static class Edit {
+		final AbstractMethodDeclaration editedMethod;
+		final int start;
+		final int previousEnd;
+		final int delta;
+		final CategorizedProblem[] previousProblems;
+		final Map<Integer, AbstractMethodDeclaration> detachedMethods;
+
+		Edit(AbstractMethodDeclaration editedMethod, int start, int previousEnd, int delta,
+				CategorizedProblem[] previousProblems, Map<Integer, AbstractMethodDeclaration> detachedMethods) {
+			this.editedMethod = editedMethod;
+			this.start = start;
+			this.previousEnd = previousEnd;
+			this.delta = delta;
+			this.previousProblems = previousProblems;
+			this.detachedMethods = detachedMethods;
+		}
+
+		/**
+		 * Returns whether resolution and analysis are restricted to the edited method.
+		 */
+		public boolean isIncremental() {
+			return this.detachedMethods != null;
+		}
+	}
+
+	private char[] source;
+	/* declarationSourceStart, declarationSourceEnd, bodyStart and bodyEnd of each method with a body */
+	private int[] methodRanges;
+	private CategorizedProblem[] problems;
+	/* problems on unused imports and private members found by the last full reconcile, moved by the edits since */
+	private CategorizedProblem[] unusedProblems;
+	/* declarationSourceStart of the method edited by the last reconcile, or -1 */
+	private int editedMethodStart = -1;
+	private int incrementalReconciles;
+
+	/**
+	 * Compares the given freshly parsed unit with the one of the last reconcile, and detaches the
+	 * statements of every method but the edited one if the edit allows to only process that method.
+	 */
+	public synchronized Edit prepare(CompilationUnitDeclaration unit, char[] newSource, boolean allowIncremental) {
+		List<AbstractMethodDeclaration> methods = new ArrayList<>();
+		collectMethods(unit.types, methods);
+		AbstractMethodDeclaration editedMethod = null;
+		int start = 0, previousEnd = 0, delta = 0;
+		if (this.source != null && newSource != null && methods.size() * RANGE_LENGTH == this.methodRanges.length) {
+			char[] previousSource = this.source;
+			int previousLength = previousSource.length;
+			int newLength = newSource.length;
+			int max = Math.min(previousLength, newLength);
+			while (start < max && previousSource[start] == newSource[start])
+				start++;
+			int suffix = 0;
+			max -= start;
+			while (suffix < max && previousSource[previousLength - suffix - 1] == newSource[newLength - suffix - 1])
+				suffix++;
+			previousEnd = previousLength - suffix;
+			delta = newLength - previousLength;
+			if (start < previousLength || delta != 0) {
+				editedMethod = findEditedMethod(methods, start, previousEnd, delta);
+			}
+		}
+		if (editedMethod == null) {
+			return new Edit(null, 0, 0, 0, null, null);
+		}
+		if (!allowIncremental
+				|| this.problems == null
+				|| editedMethod.declarationSourceStart != this.editedMethodStart
+				|| this.incrementalReconciles >= MAX_INCREMENTAL_RECONCILES
+				|| !canMove(this.problems, previousEnd)
+				|| !canMove(this.unusedProblems, previousEnd)) {
+			return new Edit(editedMethod, 0, 0, 0, null, null);
+		}
+		Map<Integer, AbstractMethodDeclaration> detachedMethods = new HashMap<>();
+		for (AbstractMethodDeclaration method : methods) {
+			if (method != editedMethod) {
+				method.statements = null;
+				method.bits &= ~ASTNode.UndocumentedEmptyBlock;
+				method.ignoreFurtherInvestigation = true; // skip resolution and analysis of the statements
+				detachedMethods.put(method.sourceStart, method);
+			}
+		}
+		return new Edit(editedMethod, editedMethod.declarationSourceStart, this.methodRanges[indexOf(methods, editedMethod) * RANGE_LENGTH + 1], delta, this.problems, detachedMethods);
+	}
+
+	/**
+	 * Records the problems found in the given unit, merged with the previous problems
+	 * if the reconcile was incremental, and returns the problems to report.
+	 */
+	public synchronized CategorizedProblem[] update(Edit edit, CompilationUnitDeclaration unit, char[] newSource, CategorizedProblem[] unitProblems) {
+		CategorizedProblem[] result = unitProblems;
+		if (edit.isIncremental()) {
+			result = merge(edit, unit, unitProblems);
+			this.incrementalReconciles++;
+		} else {
+			this.incrementalReconciles = 0;
+			List<CategorizedProblem> unused = new ArrayList<>();
+			if (unitProblems != null) {
+				for (CategorizedProblem problem : unitProblems) {
+					if (isUnusedProblem(problem))
+						unused.add(problem);
+				}
+			}
+			this.unusedProblems = unused.toArray(new CategorizedProblem[unused.size()]);
+		}
+		List<AbstractMethodDeclaration> methods = new ArrayList<>();
+		collectMethods(unit.types, methods);
+		int[] ranges = new int[methods.size() * RANGE_LENGTH];
+		for (int i = 0, index = 0; i < methods.size(); i++) {
+			AbstractMethodDeclaration method = methods.get(i);
+			ranges[index++] = method.declarationSourceStart;
+			ranges[index++] = method.declarationSourceEnd;
+			ranges[index++] = method.bodyStart;
+			ranges[index++] = method.bodyEnd;
+		}
+		this.source = newSource;
+		this.methodRanges = ranges;
+		this.problems = result == null ? new CategorizedProblem[0] : result;
+		this.editedMethodStart = edit.editedMethod == null ? -1 : edit.editedMethod.declarationSourceStart;
+		return result;
+	}
+
+	/**
+	 * Forgets the last reconcile, so that the next one is a full one.
+	 */
+	public synchronized void reset() {
+		this.source = null;
+		this.methodRanges = null;
+		this.problems = null;
+		this.unusedProblems = null;
+		this.editedMethodStart = -1;
+		this.incrementalReconciles = 0;
+	}
+
+	/**
+	 * Returns whether the given delta may change the problems of other units, that is whether
+	 * it reports more than changes of method bodies or initializers in compilation units.
+	 */
+	public static boolean isStructuralChange(IJavaElementDelta delta) {
+		if (delta.getKind() != IJavaElementDelta.CHANGED)
+			return true;
+		int flags = delta.getFlags();
+		switch (delta.getElement().getElementType()) {
+			case IJavaElement.JAVA_MODEL :
+			case IJavaElement.JAVA_PROJECT :
+			case IJavaElement.PACKAGE_FRAGMENT_ROOT :
+			case IJavaElement.PACKAGE_FRAGMENT :
+				// F_CONTENT reports changes of non-Java resources
+				if ((flags & ~(IJavaElementDelta.F_CHILDREN | IJavaElementDelta.F_CONTENT)) != 0)
+					return true;
+				for (IJavaElementDelta child : delta.getAffectedChildren()) {
+					if (isStructuralChange(child))
+						return true;
+				}
+				return false;
+			case IJavaElement.COMPILATION_UNIT :
+				// a delta that is not fine grained comes from a resource change, which may change anything
+				return (flags & IJavaElementDelta.F_FINE_GRAINED) == 0
+						|| (flags & ~(IJavaElementDelta.F_CONTENT | IJavaElementDelta.F_FINE_GRAINED
+								| IJavaElementDelta.F_AST_AFFECTED | IJavaElementDelta.F_PRIMARY_WORKING_COPY)) != 0
+						|| delta.getAffectedChildren().length != 0;
+			default :
+				return true;
+		}
+	}
+
+	private static void collectMethods(TypeDeclaration[] types, List<AbstractMethodDeclaration> methods) {
+		if (types == null) return;
+		for (TypeDeclaration type : types) {
+			if (type.methods != null) {
+				for (AbstractMethodDeclaration method : type.methods) {
+					if (method.isClinit()
+							|| method.isDefaultConstructor()
+							|| (method.modifiers & ExtraCompilerModifiers.AccSemicolonBody) != 0)
+						continue; // no body that can be edited
+					methods.add(method);
+				}
+			}
+			collectMethods(type.memberTypes, methods);
+		}
+	}
+
+	/*
+	 * Returns the method whose body contained the whole edit, provided that all methods are
+	 * where expected after the edit, that is the structure of the unit did not change.
+	 */
+	private AbstractMethodDeclaration findEditedMethod(List<AbstractMethodDeclaration> methods, int start, int previousEnd, int delta) {
+		int[] ranges = this.methodRanges;
+		AbstractMethodDeclaration result = null;
+		for (int i = 0, index = 0; i < methods.size(); i++, index += RANGE_LENGTH) {
+			AbstractMethodDeclaration method = methods.get(i);
+			boolean containsEdit = ranges[index + 2] <= start && previousEnd <= ranges[index + 3] + 1;
+			boolean afterEdit = ranges[index] >= previousEnd;
+			if (containsEdit) {
+				if (method.declarationSourceStart != ranges[index]
+						|| method.bodyStart != ranges[index + 2]
+						|| method.declarationSourceEnd != ranges[index + 1] + delta
+						|| method.bodyEnd != ranges[index + 3] + delta)
+					return null;
+				result = method;
+			} else {
+				int shift = afterEdit ? delta : 0;
+				if (!afterEdit && ranges[index + 1] >= start)
+					return null; // the edit is not confined to a method body
+				if (method.declarationSourceStart != ranges[index] + shift
+						|| method.declarationSourceEnd != ranges[index + 1] + shift
+						|| method.bodyStart != ranges[index + 2] + shift
+						|| method.bodyEnd != ranges[index + 3] + shift)
+					return null;
+			}
+		}
+		return result;
+	}
+
+	private static int indexOf(List<AbstractMethodDeclaration> methods, AbstractMethodDeclaration method) {
+		for (int i = 0; i < methods.size(); i++) {
+			if (methods.get(i) == method)
+				return i;
+		}
+		return -1;
+	}
+
+	/*
+	 * Returns whether the problems that follow the edit can be moved, which requires to create copies of them.
+	 */
+	private static boolean canMove(CategorizedProblem[] problems, int previousEnd) {
+		for (CategorizedProblem problem : problems) {
+			if (problem.getSourceStart() >= previousEnd && problem.getClass() != DefaultProblem.class)
+				return false;
+		}
+		return true;
+	}
+
+	private CategorizedProblem[] merge(Edit edit, CompilationUnitDeclaration unit, CategorizedProblem[] unitProblems) {
+		int newEnd = edit.previousEnd + edit.delta;
+		int editedSelectorStart = edit.editedMethod.sourceStart;
+		List<CategorizedProblem> result = new ArrayList<>();
+		List<CategorizedProblem> unused = new ArrayList<>();
+		Map<Integer, Integer> newProblemIds = new HashMap<>();
+		if (unitProblems != null) {
+			for (CategorizedProblem problem : unitProblems) {
+				int start = problem.getSourceStart();
+				if (start >= edit.start && start <= newEnd) {
+					// the callers of the edited method were detached, so it may wrongly look unused
+					if (start != editedSelectorStart || !isUnusedPrivateMethod(problem)) {
+						result.add(problem);
+						if (isUnusedProblem(problem))
+							unused.add(problem);
+					}
+				} else {
+					newProblemIds.put(start, problem.getID());
+				}
+			}
+		}
+		int[] lineEnds = unit.compilationResult.getLineSeparatorPositions();
+		for (CategorizedProblem problem : edit.previousProblems) {
+			if (isUnusedProblem(problem))
+				continue; // taken from the last full reconcile below
+			int start = problem.getSourceStart();
+			if (start >= edit.start && start <= edit.previousEnd)
+				continue; // replaced by the problems of the edited method
+			if (start > edit.previousEnd) {
+				problem = move((DefaultProblem) problem, edit.delta, lineEnds);
+			}
+			result.add(problem);
+		}
+		for (CategorizedProblem problem : this.unusedProblems) {
+			int start = problem.getSourceStart();
+			if (start >= edit.start && start <= edit.previousEnd
+					&& (start != editedSelectorStart || !isUnusedPrivateMethod(problem)))
+				continue; // replaced by the problems of the edited method
+			if (start > edit.previousEnd) {
+				start += edit.delta;
+				problem = move((DefaultProblem) problem, edit.delta, lineEnds);
+			}
+			unused.add(problem);
+			switch (problem.getID()) {
+				case IProblem.UnusedImport :
+				case IProblem.UnusedPrivateField :
+				case IProblem.UnusedPrivateType :
+					// still reported if not used by the edited method, as other methods were not resolved
+					Integer id = newProblemIds.get(start);
+					if (id == null || id.intValue() != problem.getID())
+						continue;
+					break;
+				default :
+					AbstractMethodDeclaration method = edit.detachedMethods.get(start);
+					if (method != null && method.binding != null && method.binding.isUsed())
+						continue;
+					break;
+			}
+			result.add(problem);
+		}
+		this.unusedProblems = unused.toArray(new CategorizedProblem[unused.size()]);
+		result.sort(Comparator.comparingInt(CategorizedProblem::getSourceStart)); // as sorted by CompilationResult
+		return result.toArray(new CategorizedProblem[result.size()]);
+	}
+
+	private static boolean isUnusedProblem(CategorizedProblem problem) {
+		switch (problem.getID()) {
+			case IProblem.UnusedImport :
+			case IProblem.UnusedPrivateField :
+			case IProblem.UnusedPrivateType :
+			case IProblem.UnusedPrivateMethod :
+			case IProblem.UnusedPrivateConstructor :
+				return true;
+			default :
+				return false;
+		}
+	}
+
+	private static boolean isUnusedPrivateMethod(CategorizedProblem problem) {
+		int id = problem.getID();
+		return id == IProblem.UnusedPrivateMethod || id == IProblem.UnusedPrivateConstructor;
+	}
+
+	private static CategorizedProblem move(DefaultProblem problem, int delta, int[] lineEnds) {
+		int start = problem.getSourceStart() + delta;
+		int line = Util.getLineNumber(start, lineEnds, 0, lineEnds == null ? -1 : lineEnds.length - 1);
+		return new DefaultProblem(
+			problem.getOriginatingFileName(),
+			problem.getMessage(),
+			problem.getID(),
+			problem.getArguments(),
+			problem.severity,
+			start,
+			problem.getSourceEnd() + delta,
+			line,
+			Util.searchColumnNumber(lineEnds, line, start));
+	}
+}
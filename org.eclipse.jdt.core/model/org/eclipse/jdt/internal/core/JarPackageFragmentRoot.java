@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2022 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,6 +13,7 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.core;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
@@ -120,38 +121,41 @@ public class JarPackageFragmentRoot extends PackageFragmentRoot {
 			rawPackageInfo.put(new ArrayList<>(), new PackageContent());
 
 			Object file = JavaModel.getTarget(this, true);
-			long classLevel = Util.getJdkLevel(file);
 			String projectCompliance = this.getJavaProject().getOption(JavaCore.COMPILER_COMPLIANCE, true);
 			int projectLevel = JavaCore.VERSION_1_8.equals(projectCompliance) ? 8
 					: Util.parseIntOrElse(projectCompliance, Integer.parseInt(JavaCore.latestSupportedJavaVersion()));
-			ZipFile jar = null;
-			try {
-				jar = getJar();
-				String versionsPrefix = Util.METAINF_VERSIONS;
-				this.multiVersion = Util.isMultiRelease(getManifest());
-				int length = versionsPrefix.length();
-				for (Enumeration<? extends ZipEntry> e= jar.entries(); e.hasMoreElements();) {
-					ZipEntry member= e.nextElement();
-					String name = Util.getEntryName(jar.getName(), member);
-					if (name == null)  {
-						continue;
-					}
-					if (this.multiVersion && name.length() > (length + 2) && name.startsWith(versionsPrefix)) {
-						int end = name.indexOf('/', length);
-						if (end >= name.length()) continue;
-						String ver = name.substring(length, end);
-						int version = Util.parseIntOrElse(ver, projectLevel+1);
-						if(version <= projectLevel && org.eclipse.jdt.internal.compiler.util.Util.isClassFileName(name)) {
-							name = name.substring(end + 1);
-							String prevVer = overridden.get(name);
-							if (prevVer == null || Integer.parseInt(prevVer) < version)
-								overridden.put(name, ver);
-						}
+			ArchiveStructureCache.Structure structure = null;
+			if (file instanceof File archive) {
+				structure = ArchiveStructureCache.getInstance().get(archive);
+			}
+			if (structure == null) {
+				// take the stamp before scanning, so that a concurrent change invalidates what is recorded
+				ArchiveStructureCache.Stamp stamp = file instanceof File archive ? ArchiveStructureCache.getStamp(archive) : null;
+				structure = scanArchive(file);
+				if (file instanceof File archive) {
+					ArchiveStructureCache.getInstance().put(archive, stamp, structure);
+				}
+			}
+			String compliance = CompilerOptions.versionFromJdkLevel(structure.jdkLevel());
+			String versionsPrefix = Util.METAINF_VERSIONS;
+			this.multiVersion = structure.multiRelease();
+			int length = versionsPrefix.length();
+			String[] names = structure.entryNames();
+			for (int i = 0; i < names.length; i++) {
+				String name = names[i];
+				if (this.multiVersion && name.length() > (length + 2) && name.startsWith(versionsPrefix)) {
+					int end = name.indexOf('/', length);
+					if (end >= name.length()) continue;
+					String ver = name.substring(length, end);
+					int version = Util.parseIntOrElse(ver, projectLevel+1);
+					if(version <= projectLevel && org.eclipse.jdt.internal.compiler.util.Util.isClassFileName(name)) {
+						name = name.substring(end + 1);
+						String prevVer = overridden.get(name);
+						if (prevVer == null || Integer.parseInt(prevVer) < version)
+							overridden.put(name, ver);
 					}
-					initRawPackageInfo(rawPackageInfo, getClassNameSubFolder(), name, member.isDirectory(), CompilerOptions.versionFromJdkLevel(classLevel));
 				}
-			}  finally {
-				JavaModelManager.getJavaModelManager().closeZipFile(jar);
+				initRawPackageInfo(rawPackageInfo, getClassNameSubFolder(), name, structure.directories()[i], compliance);
 			}
 			rawPackageInfo = unmodifiableCopy(rawPackageInfo);
 			children = createChildren(rawPackageInfo.keySet());
@@ -180,6 +184,37 @@ public class JarPackageFragmentRoot extends PackageFragmentRoot {
 		return true;
 	}
 
+	/*
+	 * Reads the entry names of the archive, see ArchiveStructureCache for how they are kept across sessions.
+	 */
+	private ArchiveStructureCache.Structure scanArchive(Object file) throws CoreException, ZipException {
+		long classLevel = Util.getJdkLevel(file);
+		List<String> names = new ArrayList<>();
+		List<Boolean> directories = new ArrayList<>();
+		boolean multiRelease;
+		ZipFile jar = null;
+		try {
+			jar = getJar();
+			multiRelease = Util.isMultiRelease(getManifest());
+			for (Enumeration<? extends ZipEntry> e= jar.entries(); e.hasMoreElements();) {
+				ZipEntry member= e.nextElement();
+				String name = Util.getEntryName(jar.getName(), member);
+				if (name == null)  {
+					continue;
+				}
+				names.add(name);
+				directories.add(member.isDirectory());
+			}
+		} finally {
+			JavaModelManager.getJavaModelManager().closeZipFile(jar);
+		}
+		boolean[] isDirectory = new boolean[directories.size()];
+		for (int i = 0; i < isDirectory.length; i++) {
+			isDirectory[i] = directories.get(i);
+		}
+		return new ArchiveStructureCache.Structure(classLevel, multiRelease, names.toArray(String[]::new), isDirectory);
+	}
+
 	protected IJavaElement[] createChildren(Collection<List<String>> packagenames) {
 		// XXX sorting the children is unnecessary by contract - see org.eclipse.jdt.core.IParent#getChildren()
 		// but some tests like JavaProjectTests rely on a fixed child order
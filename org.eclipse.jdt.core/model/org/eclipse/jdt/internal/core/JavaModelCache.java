@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2024 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,7 +15,14 @@
  *								Bug 440477 - [null] Infrastructure for feeding external annotations into compilation
  *******************************************************************************/
 package org.eclipse.jdt.internal.core;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.text.NumberFormat;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IJavaProject;
@@ -41,6 +48,34 @@ public class JavaModelCache {
 
 	public static final String RATIO_PROPERTY = "org.eclipse.jdt.core.javamodelcache.ratio"; //$NON-NLS-1$
 	public static final String JAR_TYPE_RATIO_PROPERTY = "org.eclipse.jdt.core.javamodelcache.jartyperatio"; //$NON-NLS-1$
+	/**
+	 * Fraction of the maximum heap the caches may use, used to compute the ratios when they are not set explicitly.
+	 */
+	public static final String HEAP_BUDGET_PROPERTY = "org.eclipse.jdt.core.javamodelcache.heapbudget"; //$NON-NLS-1$
+	/**
+	 * Fraction of the maximum heap still in use after a garbage collection above which the caches shrink.
+	 */
+	public static final String HEAP_PRESSURE_PROPERTY = "org.eclipse.jdt.core.javamodelcache.heappressure"; //$NON-NLS-1$
+
+	/*
+	 * Rough estimates of the bytes retained by one cache entry (including the infos of
+	 * the children held in the children cache for openables). Used to convert a heap budget
+	 * into a number of entries.
+	 */
+	static final int ESTIMATED_ROOT_BYTES = 4_096;
+	static final int ESTIMATED_PKG_BYTES = 1_024;
+	static final int ESTIMATED_OPENABLE_BYTES = 8_192;
+	static final int ESTIMATED_JAR_TYPE_BYTES = 4_096;
+
+	static final double DEFAULT_HEAP_BUDGET = 0.25;
+	static final double DEFAULT_HEAP_PRESSURE = 0.85;
+	static final double MIN_RATIO = 0.1;
+	static final double MAX_RATIO = 4.0;
+
+	/*
+	 * The heap is only looked at every so many insertions of openables, as reading the pool usage is not free.
+	 */
+	private static final int PRESSURE_CHECK_INTERVAL = 1_024;
 
 	public static final IBinaryInfo NON_EXISTING_JAR_TYPE_INFO = new IBinaryInfo() {/*empty marker instance only*/};
 
@@ -85,11 +120,30 @@ public class JavaModelCache {
 	 */
 	protected LRUCache<IJavaElement, IElementInfo> jarTypeCache;
 
+	/*
+	 * Heap pools whose usage after garbage collection tells whether the caches should shrink.
+	 */
+	private final List<MemoryPoolMXBean> heapPools;
+	private final double heapPressureThreshold;
+	private int insertionsSinceCheck;
+	/*
+	 * Number of times the sizes were halved because of heap pressure (0 means the configured sizes are in use).
+	 */
+	private int shrinkLevel;
+	private final int configuredRootSize;
+	private final int configuredPkgSize;
+	private final int configuredOpenableSize;
+
 public JavaModelCache() {
 	double openableRatio = getOpenableRatio();
 	int rootCacheSize = sizeLimit(DEFAULT_ROOT_SIZE * openableRatio);
 	int packageCacheeSize = sizeLimit(DEFAULT_PKG_SIZE * openableRatio);
 	int openableCacheSize = sizeLimit(DEFAULT_OPENABLE_SIZE * openableRatio);
+	this.configuredRootSize = rootCacheSize;
+	this.configuredPkgSize = packageCacheeSize;
+	this.configuredOpenableSize = openableCacheSize;
+	this.heapPressureThreshold = getDoubleProperty(HEAP_PRESSURE_PROPERTY, DEFAULT_HEAP_PRESSURE);
+	this.heapPools = getHeapPools();
 
 	// NB: Don't use a LRUCache for projects as they are
 	// constantly reopened (e.g. during delta processing)
@@ -129,7 +183,104 @@ private double getRatioForProperty(String propertyName) {
 			Util.log(e, "Could not parse value for " + propertyName + ": " + property); //$NON-NLS-1$ //$NON-NLS-2$
 		}
 	}
-	return 1.0;
+	return getHeapBudgetRatio();
+}
+
+/*
+ * Returns the ratio to apply to the default sizes so that all caches filled up
+ * fit into the configured fraction of the maximum heap.
+ */
+private double getHeapBudgetRatio() {
+	long maxMemory = Runtime.getRuntime().maxMemory();
+	if (maxMemory == Long.MAX_VALUE) {
+		return 1.0; // no limit known
+	}
+	double budget = maxMemory * getDoubleProperty(HEAP_BUDGET_PROPERTY, DEFAULT_HEAP_BUDGET);
+	double bytesAtRatioOne = (double) DEFAULT_ROOT_SIZE * ESTIMATED_ROOT_BYTES
+			+ (double) DEFAULT_PKG_SIZE * ESTIMATED_PKG_BYTES
+			+ (double) DEFAULT_OPENABLE_SIZE * ESTIMATED_OPENABLE_BYTES
+			+ (double) DEFAULT_OPENABLE_SIZE * ESTIMATED_JAR_TYPE_BYTES;
+	return Double.max(MIN_RATIO, Double.min(MAX_RATIO, budget / bytesAtRatioOne));
+}
+
+private static double getDoubleProperty(String propertyName, double defaultValue) {
+	String property = System.getProperty(propertyName);
+	if (property != null) {
+		try {
+			return Double.parseDouble(property);
+		} catch (NumberFormatException e) {
+			Util.log(e, "Could not parse value for " + propertyName + ": " + property); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	}
+	return defaultValue;
+}
+
+private static List<MemoryPoolMXBean> getHeapPools() {
+	List<MemoryPoolMXBean> pools = new ArrayList<>();
+	try {
+		for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+			if (pool.getType() == MemoryType.HEAP && pool.isCollectionUsageThresholdSupported()) {
+				pools.add(pool);
+			}
+		}
+	} catch (SecurityException | UnsupportedOperationException e) {
+		// no monitoring available: the caches keep their configured sizes
+	}
+	return pools;
+}
+
+/*
+ * Returns whether the heap usage measured after the last garbage collection is above the pressure threshold.
+ * Only the pools that survive a collection (typically the old generation) report a collection usage.
+ */
+private boolean isUnderHeapPressure() {
+	for (MemoryPoolMXBean pool : this.heapPools) {
+		MemoryUsage usage = pool.getCollectionUsage();
+		if (usage != null && usage.getMax() > 0 && usage.getUsed() > usage.getMax() * this.heapPressureThreshold) {
+			return true;
+		}
+	}
+	return false;
+}
+
+/*
+ * Shrinks the caches while the heap is under pressure, and grows them back to their
+ * configured sizes once it is not anymore.
+ */
+private void checkHeapPressure() {
+	if (this.heapPools.isEmpty() || ++this.insertionsSinceCheck < PRESSURE_CHECK_INTERVAL) {
+		return;
+	}
+	this.insertionsSinceCheck = 0;
+	if (isUnderHeapPressure()) {
+		if (this.shrinkLevel < 4) {
+			applyShrinkLevel(this.shrinkLevel + 1);
+		}
+	} else if (this.shrinkLevel > 0) {
+		applyShrinkLevel(this.shrinkLevel - 1);
+	}
+}
+
+private void applyShrinkLevel(int level) {
+	this.shrinkLevel = level;
+	int divisor = 1 << level;
+	this.rootCache.resizeSpaceLimit(Math.max(1, this.configuredRootSize / divisor));
+	this.pkgCache.resizeSpaceLimit(Math.max(1, this.configuredPkgSize / divisor));
+	this.openableCache.resizeSpaceLimit(Math.max(1, this.configuredOpenableSize / divisor));
+	this.jarTypeCache.setSpaceLimit(Math.max(1, sizeLimit(DEFAULT_OPENABLE_SIZE * getJarTypeRatio()) / divisor));
+	if (VERBOSE) {
+		JavaModelManager.trace(Thread.currentThread() + " heap pressure level " + level + ", cache sizes adapted:\n" + toStringFillingRation("-> ")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	}
+}
+
+/**
+ * Returns an estimate of the number of bytes currently retained by the entries of all caches.
+ */
+public long getEstimatedFootprint() {
+	return (long) this.rootCache.getCurrentSpace() * ESTIMATED_ROOT_BYTES
+			+ (long) this.pkgCache.getCurrentSpace() * ESTIMATED_PKG_BYTES
+			+ (long) this.openableCache.getCurrentSpace() * ESTIMATED_OPENABLE_BYTES
+			+ (long) this.jarTypeCache.getCurrentSpace() * ESTIMATED_JAR_TYPE_BYTES;
 }
 
 /**
@@ -234,6 +385,7 @@ protected void putInfo(IJavaElement element, IElementInfo info) {
 		case IJavaElement.COMPILATION_UNIT:
 		case IJavaElement.CLASS_FILE:
 			this.openableCache.put((ITypeRoot) element, (JavaElementInfo) info);
+			checkHeapPressure();
 			break;
 		default:
 			this.childrenCache.put(element, info);
@@ -308,8 +460,12 @@ protected void removeInfo(JavaElement element) {
 	}
 }
 protected void resetJarTypeCache() {
-	int jarTypeCacheSize = sizeLimit(DEFAULT_OPENABLE_SIZE * getJarTypeRatio());
-	this.jarTypeCache = new LRUCache<>(jarTypeCacheSize);
+	int jarTypeCacheSize = sizeLimit(DEFAULT_OPENABLE_SIZE * getJarTypeRatio()) >> this.shrinkLevel;
+	this.jarTypeCache = new LRUCache<>(Math.max(1, jarTypeCacheSize));
+}
+protected void putJarTypeInfo(IJavaElement type, IElementInfo info) {
+	this.jarTypeCache.put(type, info);
+	checkHeapPressure();
 }
 protected void removeFromJarTypeCache(BinaryType type) {
 	this.jarTypeCache.flush(type);
@@ -326,16 +482,31 @@ public String toStringFillingRation(String prefix) {
 	buffer.append(" projects\n"); //$NON-NLS-1$
 	buffer.append(prefix);
 	buffer.append(this.rootCache.toStringFillingRation("Root cache")); //$NON-NLS-1$
+	appendFootprint(buffer, this.rootCache.getCurrentSpace(), ESTIMATED_ROOT_BYTES);
 	buffer.append('\n');
 	buffer.append(prefix);
 	buffer.append(this.pkgCache.toStringFillingRation("Package cache")); //$NON-NLS-1$
+	appendFootprint(buffer, this.pkgCache.getCurrentSpace(), ESTIMATED_PKG_BYTES);
 	buffer.append('\n');
 	buffer.append(prefix);
 	buffer.append(this.openableCache.toStringFillingRation("Openable cache")); //$NON-NLS-1$
+	appendFootprint(buffer, this.openableCache.getCurrentSpace(), ESTIMATED_OPENABLE_BYTES);
 	buffer.append('\n');
 	buffer.append(prefix);
 	buffer.append(this.jarTypeCache.toStringFillingRation("Jar type cache")); //$NON-NLS-1$
+	appendFootprint(buffer, this.jarTypeCache.getCurrentSpace(), ESTIMATED_JAR_TYPE_BYTES);
 	buffer.append('\n');
+	if (this.shrinkLevel > 0) {
+		buffer.append(prefix);
+		buffer.append("Shrunk by heap pressure: 1/"); //$NON-NLS-1$
+		buffer.append(1 << this.shrinkLevel);
+		buffer.append(" of configured sizes\n"); //$NON-NLS-1$
+	}
 	return buffer.toString();
 }
+private static void appendFootprint(StringBuilder buffer, int entries, int bytesPerEntry) {
+	buffer.append(" (~"); //$NON-NLS-1$
+	buffer.append(NumberFormat.getInstance().format(((long) entries * bytesPerEntry) / 1024));
+	buffer.append(" KB)"); //$NON-NLS-1$
+}
 }
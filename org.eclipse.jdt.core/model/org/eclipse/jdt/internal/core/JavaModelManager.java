@@ -68,6 +68,7 @@ import org.eclipse.jdt.internal.compiler.env.IElementInfo;
 import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
 import org.eclipse.jdt.internal.compiler.lookup.TypeConstants;
 import org.eclipse.jdt.internal.compiler.util.HashtableOfObjectToInt;
+import org.eclipse.jdt.internal.compiler.util.JRTUtil;
 import org.eclipse.jdt.internal.compiler.util.ObjectVector;
 import org.eclipse.jdt.internal.core.DeltaProcessor.RootInfo;
 import org.eclipse.jdt.internal.core.JavaProjectElementInfo.ProjectCache;
@@ -1577,6 +1578,10 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 		int useCount = 0;
 		private final IProblemRequestor problemRequestor;
 		final CompilationUnit workingCopy;
+		/*
+		 * What the last problem detection found, to only process the edited method on the next reconcile
+		 */
+		final IncrementalReconcileState incrementalReconcileState = new IncrementalReconcileState();
 		public PerWorkingCopyInfo(CompilationUnit workingCopy, IProblemRequestor problemRequestor) {
 			this.workingCopy = workingCopy;
 			this.problemRequestor = problemRequestor;
@@ -2253,6 +2258,20 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 		}
 	}
 
+	/*
+	 * Makes the next reconcile of every working copy a full one, as the problems of the methods
+	 * that are not edited may have changed.
+	 */
+	public void resetIncrementalReconcileStates() {
+		synchronized (this.perWorkingCopyInfos) {
+			for (Map<CompilationUnit, PerWorkingCopyInfo> ownerCopies : this.perWorkingCopyInfos.values()) {
+				for (PerWorkingCopyInfo info : ownerCopies.values()) {
+					info.incrementalReconcileState.reset();
+				}
+			}
+		}
+	}
+
 	/**
 	 * Get workspace eclipse preference for JavaCore plug-in.
 	 */
@@ -4136,7 +4155,7 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 	 * @param info instanceof IBinaryType or {@link JavaModelCache#NON_EXISTING_JAR_TYPE_INFO}
 	 */
 	protected synchronized void putJarTypeInfo(IJavaElement type, IElementInfo info) {
-		this.cache.jarTypeCache.put(type, info);
+		this.cache.putJarTypeInfo(type, info);
 	}
 
 	/**
@@ -4405,18 +4424,26 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 		}
 		File file = getSerializationFile(info.project);
 		if (file == null) return;
+		Object state = info.savedState;
+		if (state != null && JavaBuilder.isStateSaved(state) && file.isFile()) {
+			// unchanged since it was read from or written to the file, don't write the same bytes again
+			return;
+		}
 		long t = System.currentTimeMillis();
 		try {
 			try (DataOutputStream out = new DataOutputStream(createOutputStream(file))) {
 				out.writeUTF(JavaCore.PLUGIN_ID);
 				out.writeUTF("STATE"); //$NON-NLS-1$
-				if (info.savedState == null) {
+				if (state == null) {
 					out.writeBoolean(false);
 				} else {
 					out.writeBoolean(true);
-					JavaBuilder.writeState(info.savedState, out);
+					JavaBuilder.writeState(state, out);
 				}
 			}
+			if (state != null) {
+				JavaBuilder.setStateSaved(state);
+			}
 		} catch (RuntimeException | IOException e) {
 			try {
 				file.delete();
@@ -4786,6 +4813,9 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 				saveClasspathListCache(EXTERNAL_FILES_CACHE);
 				saveClasspathListCache(ASSUMED_EXTERNAL_FILES_CACHE);
 
+				// forget the structure of archives that have not been opened for a long time
+				ArchiveStructureCache.getInstance().cleanUp();
+
 				// will need delta since this save (see https://bugs.eclipse.org/bugs/show_bug.cgi?id=38658)
 				context.needDelta();
 
@@ -5430,7 +5460,11 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 			this.cache = new JavaModelCache();
 
 			// request state folder creation (workaround 19885)
-			JavaCore.getPlugin().getStateLocation();
+			IPath stateLocation = JavaCore.getPlugin().getStateLocation();
+
+			// save the packages of the JDK images for the next sessions, unless another location is set
+			if (System.getProperty("org.eclipse.jdt.jrt_metadata_dir") == null) //$NON-NLS-1$
+				JRTUtil.setMetadataLocation(stateLocation.append("jrt").toPath()); //$NON-NLS-1$
 
 			// Initialize eclipse preferences
 			initializePreferences();
@@ -5713,6 +5747,13 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 		return this.cache.openableCache.getSpaceLimit();
 	}
 
+	/**
+	 * Returns an estimate of the heap retained by the Java model cache, in bytes.
+	 */
+	public synchronized long getCacheFootprint() {
+		return this.cache.getEstimatedFootprint();
+	}
+
 	/**
 	 * Get a cached access rule, or when the cache did not contain the rule, creates a new one.
 	 *
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2013 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -240,13 +240,16 @@ public class ReconcileWorkingCopyOperation extends JavaModelOperation {
 					}
 				} else {
 					CompilationUnitDeclaration unit = null;
+					JavaModelManager.PerWorkingCopyInfo perWorkingCopyInfo = workingCopy.getPerWorkingCopyInfo();
 					try {
 						unit = CompilationUnitProblemFinder.process(
 								source,
+								null/*use default Parser*/,
 								this.workingCopyOwner,
 								this.problems,
 								this.astLevel != ICompilationUnit.NO_AST/*creating AST if level is not NO_AST */,
 								this.reconcileFlags,
+								perWorkingCopyInfo == null ? null : perWorkingCopyInfo.incrementalReconcileState,
 								this.progressMonitor);
 						if (this.progressMonitor != null) this.progressMonitor.worked(1);
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2023 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -938,11 +938,8 @@ protected void recordParticipantResult(CompilationParticipantResult result) {
 	}
 
 	String[] dependencies = result.dependencies;
-	if (dependencies != null) {
-		ReferenceCollection refs = this.newState.references.get(result.sourceFile.typeLocator());
-		if (refs != null)
-			refs.addDependencies(dependencies);
-	}
+	if (dependencies != null)
+		this.newState.recordDependencies(result.sourceFile.typeLocator(), dependencies);
 }
 
 /**
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -27,7 +27,6 @@ import java.nio.file.Path;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.Arrays;
 import java.util.Date;
-import java.util.Enumeration;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
@@ -51,6 +50,7 @@ import org.eclipse.jdt.internal.compiler.env.IBinaryType;
 import org.eclipse.jdt.internal.compiler.env.IModule;
 import org.eclipse.jdt.internal.compiler.env.NameEnvironmentAnswer;
 import org.eclipse.jdt.internal.compiler.lookup.TypeConstants;
+import org.eclipse.jdt.internal.compiler.util.ArchiveIndex;
 import org.eclipse.jdt.internal.compiler.util.SuffixConstants;
 import org.eclipse.jdt.internal.core.JavaModelManager;
 import org.eclipse.jdt.internal.core.util.Util;
@@ -97,15 +97,26 @@ private Set<String> getCachedPackageNames() {
 /** overloaded */
 protected Set<String> readPackageNames() {
 	final Set<String> packageSet = new HashSet<>();
-	packageSet.add(""); //$NON-NLS-1$
-	for (Enumeration<? extends ZipEntry> e = this.zipFile.entries(); e.hasMoreElements(); ) {
-		String fileName = e.nextElement().getName();
-		if (fileName.startsWith("META-INF/")) //$NON-NLS-1$
+	for (String packageName : getArchiveIndex().getPackageNames()) {
+		if (packageName.equals("META-INF") || packageName.startsWith("META-INF/")) //$NON-NLS-1$ //$NON-NLS-2$
 			continue;
-		addToPackageSet(packageSet, fileName, false);
+		packageSet.add(packageName);
 	}
 	return packageSet;
 }
+/** Answers the index of the entries of the jar, shared with the other readers of the jar. */
+ArchiveIndex getArchiveIndex() {
+	ArchiveIndex index = this.archiveIndex;
+	if (index == null) {
+		try {
+			index = ArchiveIndex.get(new File(this.zipFilename));
+		} catch (IOException e) {
+			index = ArchiveIndex.EMPTY; // assume for this build the zipFile is empty
+		}
+		this.archiveIndex = index;
+	}
+	return index;
+}
 IModule initializeModule() {
 	IModule mod = null;
 	try (ZipFile file = new ZipFile(this.zipFilename)) {
@@ -139,6 +150,8 @@ volatile long lastModified;
 volatile long fileSize;
 /** lazy initialized **/
 private volatile Set<String> knownPackageNames;
+/** lazy initialized, reset to null in {@link #cleanup()} **/
+private volatile ArchiveIndex archiveIndex;
 // Meant for ClasspathMultiReleaseJar, not used in here
 String compliance;
 
@@ -209,6 +222,7 @@ public void cleanup() {
 	}
 	this.module = null; // TODO(SHMOD): is this safe?
 	this.knownPackageNames = null;
+	this.archiveIndex = null;
 }
 
 @Override
@@ -284,13 +298,7 @@ public boolean hasCompilationUnit(String pkgName, String moduleName) {
 		// Even if knownPackageNames contained the pkg we're looking for, we still need to verify
 		// that the package in this jar actually contains at least one .class file (since
 		// knownPackageNames includes empty packages)
-		for (Enumeration<? extends ZipEntry> e = this.zipFile.entries(); e.hasMoreElements(); ) {
-			String fileName = e.nextElement().getName();
-			if (fileName.startsWith(pkgName)
-					&& fileName.toLowerCase().endsWith(SuffixConstants.SUFFIX_STRING_class)
-					&& fileName.indexOf('/', pkgName.length()+1) == -1)
-				return true;
-		}
+		return getArchiveIndex().containsClassFile(pkgName);
 	}
 
 	return false;
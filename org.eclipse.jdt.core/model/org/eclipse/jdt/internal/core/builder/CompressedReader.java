@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2021 jkubitz and others.
+ * Copyright (c) 2021, 2026 jkubitz and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -51,6 +51,13 @@ public class CompressedReader {
 		return this.in.readInt();
 	}
 
+	/** @see CompressedWriter#writeBytes(byte[], int, int) **/
+	public byte[] readBytes(int length) throws IOException {
+		byte[] bytes = new byte[length];
+		this.in.readFully(bytes);
+		return bytes;
+	}
+
 	/** @see CompressedWriter#writeChars(char[]) **/
 	public char[] readChars() throws IOException {
 		return this.in.readUTF().toCharArray();
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2021 jkubitz and others.
+ * Copyright (c) 2021, 2026 jkubitz and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -52,6 +52,11 @@ public class CompressedWriter {
 		this.out.writeInt(v);
 	}
 
+	/** @see CompressedReader#readBytes(int) **/
+	public void writeBytes(byte[] b, int off, int len) throws IOException {
+		this.out.write(b, off, len);
+	}
+
 	// ---- compressed outputs: ---
 
 	/**
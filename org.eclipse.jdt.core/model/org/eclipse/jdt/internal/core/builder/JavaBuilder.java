@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -196,6 +196,21 @@ public static void writeState(Object state, DataOutputStream out) throws IOExcep
 	((State) state).write(out);
 }
 
+/**
+ * Answers whether the given state did not change since it was read from or written to its state file,
+ * see {@link #setStateSaved(Object)}.
+ */
+public static boolean isStateSaved(Object state) {
+	return ((State) state).isSaved();
+}
+
+/**
+ * Records that the given state was written to its state file.
+ */
+public static void setStateSaved(Object state) {
+	((State) state).setSaved();
+}
+
 @Override
 protected IProject[] build(int kind, Map<String, String> ignoredArgs, IProgressMonitor monitor) throws CoreException {
 	this.currentProject = getProject();
@@ -0,0 +1,148 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core.builder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import org.eclipse.jdt.internal.compiler.util.SortedCharArrays;
+
+/**
+ * The type locators of the reference collections of a state, keyed by the simple names they refer to.
+ * <p>
+ * A collection can only include the names of a change if it refers to one of its simple names, so
+ * the locators answered for these names are the only ones whose collection needs to be checked with
+ * {@link ReferenceCollection#includes(char[][][], char[][], char[][])}, instead of all of them.
+ * </p>
+ * <p>
+ * Names are only ever added: a locator stays in the index for the names it referred to before
+ * it was recompiled or removed. The answered locators are thus a superset of the locators whose
+ * current collection refers to the names, for every state whose collections were all added, so
+ * that the index of a state can be shared with the states copied from it.
+ * </p>
+ * <p>
+ * The postings of the names a locator no longer refers to, and of the removed locators, are stale.
+ * They are counted so that a state stops sharing the index once there are too many of them
+ * (see {@link #hasTooManyStaleEntries()}), and builds a new one from its current collections.
+ * </p>
+ */
+public final class ReferenceIndex {
+
+	private final List<String> typeLocators = new ArrayList<>();
+	private final Map<String, Integer> ids = new HashMap<>();
+	// for each id, the simple names of the collection last added for it
+	private final List<char[][]> indexedNames = new ArrayList<>();
+	// simple name -> ids of the locators referring to it, the number of ids being kept in the first slot
+	private final Map<String, int[]> postings = new HashMap<>();
+	// ids of the removed locators
+	private final BitSet removed = new BitSet();
+	private int postingCount;
+	// number of names of the collections last added for the locators that are not removed
+	private int liveCount;
+
+	public ReferenceIndex(Map<String, ReferenceCollection> references) {
+		for (Entry<String, ReferenceCollection> entry : references.entrySet())
+			add(entry.getKey(), entry.getValue());
+	}
+
+	/**
+	 * Adds the simple names the given collection refers to, for the given type locator.
+	 */
+	public void add(String typeLocator, ReferenceCollection collection) {
+		Integer id = this.ids.get(typeLocator);
+		char[][] previousNames = null;
+		if (id == null) {
+			id = Integer.valueOf(this.typeLocators.size());
+			this.ids.put(typeLocator, id);
+			this.typeLocators.add(typeLocator);
+			this.indexedNames.add(null);
+		} else {
+			previousNames = this.indexedNames.get(id.intValue());
+		}
+		char[][] names = collection.simpleNameReferences;
+		if (this.removed.get(id.intValue())) {
+			this.removed.clear(id.intValue());
+			this.liveCount += names.length;
+		} else {
+			this.liveCount += names.length - (previousNames == null ? 0 : previousNames.length);
+		}
+		if (names == previousNames) return;
+		for (char[] name : names) {
+			// both arrays are sorted, see ReferenceCollection#internSimpleNames(char[][], boolean)
+			if (previousNames != null && Arrays.binarySearch(previousNames, name, SortedCharArrays.CHAR_ARR_COMPARATOR) >= 0)
+				continue;
+			post(String.valueOf(name), id.intValue());
+		}
+		this.indexedNames.set(id.intValue(), names);
+	}
+
+	private void post(String name, int id) {
+		int[] nameIds = this.postings.get(name);
+		if (nameIds == null) {
+			nameIds = new int[4];
+			this.postings.put(name, nameIds);
+		} else if (nameIds[0] + 1 == nameIds.length) {
+			nameIds = Arrays.copyOf(nameIds, nameIds.length * 2);
+			this.postings.put(name, nameIds);
+		}
+		nameIds[++nameIds[0]] = id;
+		this.postingCount++;
+	}
+
+	/**
+	 * Records that the given type locator was removed. Its postings are kept, see {@link ReferenceIndex}.
+	 */
+	public void remove(String typeLocator) {
+		Integer id = this.ids.get(typeLocator);
+		if (id == null || this.removed.get(id.intValue())) return;
+		this.removed.set(id.intValue());
+		this.liveCount -= this.indexedNames.get(id.intValue()).length;
+	}
+
+	/**
+	 * Answers whether the stale postings outnumber half of the live ones, in which case building
+	 * a new index from the current collections is cheaper than keeping this one.
+	 */
+	public boolean hasTooManyStaleEntries() {
+		return this.postingCount - this.liveCount > this.liveCount / 2;
+	}
+
+	/**
+	 * Answers the type locators whose collections may refer to one of the given simple names,
+	 * in the order they were first added.
+	 */
+	public List<String> getTypeLocators(char[][] simpleNames) {
+		BitSet found = new BitSet(this.typeLocators.size());
+		for (char[] name : simpleNames) {
+			int[] nameIds = this.postings.get(String.valueOf(name));
+			if (nameIds == null) continue;
+			for (int i = 1, l = nameIds[0]; i <= l; i++)
+				found.set(nameIds[i]);
+		}
+		List<String> result = new ArrayList<>(found.cardinality());
+		for (int id = found.nextSetBit(0); id >= 0; id = found.nextSetBit(id + 1))
+			result.add(this.typeLocators.get(id));
+		return result;
+	}
+
+	@Override
+	public String toString() {
+		return "Reference index of " + this.typeLocators.size() + " type locators and " + this.postings.size() + " names, " //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				+ (this.postingCount - this.liveCount) + " of " + this.postingCount + " postings being stale"; //$NON-NLS-1$ //$NON-NLS-2$
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -20,11 +20,14 @@ package org.eclipse.jdt.internal.core.builder;
 
 import static org.eclipse.jdt.internal.core.JavaModelManager.trace;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
@@ -68,7 +71,11 @@ public ClasspathMultiDirectory[] testSourceLocations;
 public ClasspathLocation[] binaryLocations;
 public ClasspathLocation[] testBinaryLocations;
 // keyed by the project relative path of the type (i.e. "src1/p1/p2/A.java"), value is a ReferenceCollection or an AdditionalTypeCollection
-Map<String, ReferenceCollection> references;
+// null until the encodedReferences of a read state are decoded, use getReferences() unless this state was built
+volatile Map<String, ReferenceCollection> references;
+private EncodedReferences encodedReferences;
+// the type locators of the references keyed by the simple names they refer to, built when the affected types are first asked for
+private ReferenceIndex referenceIndex;
 // Holds a mapping of types to a path to detect duplicate type definitions (possibly depending on the release for multi-release types)
 public TypeLocators typeLocators;
 
@@ -78,9 +85,11 @@ HashMap<String, Long> structuralBuildTimes;
 
 private long previousStructuralBuildTime;
 private StringSet structurallyChangedTypes;
+// whether the persisted data of this state did not change since it was read from or written to its state file
+private volatile boolean saved;
 public static int MaxStructurallyChangedTypes = 100; // keep track of ? structurally changed types, otherwise consider all to be changed
 
-public static final byte VERSION = 0x0027;
+public static final byte VERSION = 0x0028;
 
 static final byte SOURCE_FOLDER = 1;
 static final byte BINARY_FOLDER = 2;
@@ -127,7 +136,10 @@ void copyFrom(State lastState) {
 	this.lastStructuralBuildTime = lastState.lastStructuralBuildTime;
 	this.structuralBuildTimes = lastState.structuralBuildTimes;
 
-	this.references = new LinkedHashMap<>(lastState.references);
+	this.references = new LinkedHashMap<>(lastState.getReferences());
+	// shared since its names are only ever added, until it is cheaper to build a new one
+	ReferenceIndex index = lastState.referenceIndex;
+	this.referenceIndex = index != null && !index.hasTooManyStaleEntries() ? index : null;
 	this.typeLocators = new TypeLocators(lastState.typeLocators);
 }
 
@@ -151,7 +163,7 @@ public boolean equals(Object obj) {
 			&& Arrays.equals(this.testSourceLocations, other.testSourceLocations)
 			&& Arrays.equals(this.testBinaryLocations, other.testBinaryLocations)
 			&& Objects.equals(this.typeLocators, other.typeLocators)
-			&& Objects.equals(this.references, other.references);
+			&& Objects.equals(getReferences(), other.getReferences());
 // Below fields aren't persisted
 //			&& this.previousStructuralBuildTime == other.previousStructuralBuildTime
 //			&& Arrays.equals(this.knownPackageNames, other.knownPackageNames)
@@ -165,13 +177,49 @@ public int hashCode() {
 }
 
 public char[][] getDefinedTypeNamesFor(String typeLocator) {
-	Object c = this.references.get(typeLocator);
+	Object c = getReferences().get(typeLocator);
 	if (c instanceof AdditionalTypeCollection)
 		return ((AdditionalTypeCollection) c).definedTypeNames;
 	return null; // means only one type is defined with the same name as the file... saves space
 }
 
+/*
+ * Answers the type locators whose reference collection includes the given names,
+ * see ReferenceCollection#includes(char[][][], char[][], char[][]).
+ */
+List<String> getAffectedTypeLocators(char[][][] qualifiedNames, char[][] simpleNames, char[][] rootNames) {
+	Map<String, ReferenceCollection> refs = getReferences();
+	Collection<String> candidates;
+	if (simpleNames == null) {
+		candidates = refs.keySet(); // a well known name was found, it can be referred to by any collection
+	} else {
+		if (this.referenceIndex == null)
+			this.referenceIndex = new ReferenceIndex(refs);
+		candidates = this.referenceIndex.getTypeLocators(simpleNames);
+	}
+	List<String> affected = new ArrayList<>();
+	for (String typeLocator : candidates) {
+		ReferenceCollection collection = refs.get(typeLocator);
+		if (collection != null && collection.includes(qualifiedNames, simpleNames, rootNames))
+			affected.add(typeLocator);
+	}
+	return affected;
+}
+
 public Map<String, ReferenceCollection> getReferences() {
+	Map<String, ReferenceCollection> refs = this.references;
+	return refs != null ? refs : decodeReferences();
+}
+
+private synchronized Map<String, ReferenceCollection> decodeReferences() {
+	if (this.references == null) {
+		try {
+			this.references = this.encodedReferences.decode();
+		} catch (IOException e) {
+			throw new IllegalStateException("Corrupted references in the state of " + this.javaProjectName, e); //$NON-NLS-1$
+		}
+		this.encodedReferences = null;
+	}
 	return this.references;
 }
 
@@ -202,27 +250,48 @@ boolean isSourceFolderEmpty(IContainer sourceFolder) {
 }
 
 void record(String typeLocator, char[][][] qualifiedRefs, char[][] simpleRefs, char[][] rootRefs, char[] mainTypeName, ArrayList typeNames) {
+	this.saved = false;
+	ReferenceCollection collection;
 	if (typeNames.size() == 1 && CharOperation.equals(mainTypeName, (char[]) typeNames.get(0))) {
-		this.references.put(typeLocator, new ReferenceCollection(qualifiedRefs, simpleRefs, rootRefs));
+		collection = new ReferenceCollection(qualifiedRefs, simpleRefs, rootRefs);
 	} else {
 		char[][] definedTypeNames = new char[typeNames.size()][]; // can be empty when no types are defined
 		typeNames.toArray(definedTypeNames);
-		this.references.put(typeLocator, new AdditionalTypeCollection(definedTypeNames, qualifiedRefs, simpleRefs, rootRefs));
+		collection = new AdditionalTypeCollection(definedTypeNames, qualifiedRefs, simpleRefs, rootRefs);
+	}
+	getReferences().put(typeLocator, collection);
+	if (this.referenceIndex != null)
+		this.referenceIndex.add(typeLocator, collection);
+}
+
+void recordDependencies(String typeLocator, String[] typeNameDependencies) {
+	ReferenceCollection collection = getReferences().get(typeLocator);
+	if (collection != null) {
+		this.saved = false;
+		collection.addDependencies(typeNameDependencies);
+		if (this.referenceIndex != null)
+			this.referenceIndex.add(typeLocator, collection);
 	}
 }
 
 void recordLocatorForType(String qualifiedTypeName, String typeLocator, int release) {
+	this.saved = false;
 	this.typeLocators.recordLocatorForType(qualifiedTypeName, typeLocator, release);
 }
 
 void recordStructuralDependency(IProject prereqProject, State prereqState) {
 	if (prereqState != null)
-		if (prereqState.lastStructuralBuildTime > 0) // can skip if 0 (full build) since its assumed to be 0 if unknown
+		if (prereqState.lastStructuralBuildTime > 0) { // can skip if 0 (full build) since its assumed to be 0 if unknown
+			this.saved = false;
 			this.structuralBuildTimes.put(prereqProject.getName(), Long.valueOf(prereqState.lastStructuralBuildTime));
+		}
 }
 
 void removeLocator(String typeLocatorToRemove, int release) {
-	this.references.remove(typeLocatorToRemove);
+	this.saved = false;
+	getReferences().remove(typeLocatorToRemove);
+	if (this.referenceIndex != null)
+		this.referenceIndex.remove(typeLocatorToRemove);
 	this.typeLocators.removeLocator(typeLocatorToRemove, release);
 }
 
@@ -242,6 +311,7 @@ void removePackage(IResourceDelta sourceDelta, int release) {
 }
 
 void removeQualifiedTypeName(String qualifiedTypeNameToRemove) {
+	this.saved = false;
 	this.typeLocators.removeLocator(qualifiedTypeNameToRemove);
 }
 
@@ -304,39 +374,16 @@ static State read(IProject project, DataInputStream input) throws IOException, C
 	}
 	internedQualifiedNames = ReferenceCollection.internQualifiedNames(internedQualifiedNames, false /* drop well known */, false /* do not sort */);
 
+	// the reference collections are only decoded when the references are needed, see getReferences()
 	length = in.readInt();
-	newState.references = new LinkedHashMap((int) (length / 0.75 + 1));
+	String[] typeLocators = new String[length];
+	byte[][] encodedCollections = new byte[length][];
 	for (int i = 0; i < length; i++) {
-		String typeLocator = internedTypeLocators[in.readInt()];
-		ReferenceCollection collection = null;
-		switch (in.readByte()) {
-			case 1 :
-				char[][] additionalTypeNames = readNames(in);
-				char[][][] qualifiedNames = new char[in.readInt()][][];
-				for (int j = 0, m = qualifiedNames.length; j < m; j++)
-					qualifiedNames[j] = internedQualifiedNames[in.readIntInRange(internedQualifiedNames.length)];
-				char[][] simpleNames = new char[in.readInt()][];
-				for (int j = 0, m = simpleNames.length; j < m; j++)
-					simpleNames[j] = internedSimpleNames[in.readIntInRange(internedSimpleNames.length)];
-				char[][] rootNames = new char[in.readInt()][];
-				for (int j = 0, m = rootNames.length; j < m; j++)
-					rootNames[j] = internedRootNames[in.readIntInRange(internedRootNames.length)];
-				collection = new AdditionalTypeCollection(additionalTypeNames, qualifiedNames, simpleNames, rootNames);
-				break;
-			case 2 :
-				char[][][] qNames = new char[in.readInt()][][];
-				for (int j = 0, m = qNames.length; j < m; j++)
-					qNames[j] = internedQualifiedNames[in.readIntInRange(internedQualifiedNames.length)];
-				char[][] sNames = new char[in.readInt()][];
-				for (int j = 0, m = sNames.length; j < m; j++)
-					sNames[j] = internedSimpleNames[in.readIntInRange(internedSimpleNames.length)];
-				char[][] rNames = new char[in.readInt()][];
-				for (int j = 0, m = rNames.length; j < m; j++)
-					rNames[j] = internedRootNames[in.readIntInRange(internedRootNames.length)];
-				collection = new ReferenceCollection(qNames, sNames, rNames);
-		}
-		newState.references.put(typeLocator, collection);
+		typeLocators[i] = internedTypeLocators[in.readInt()];
+		encodedCollections[i] = in.readBytes(in.readInt());
 	}
+	newState.encodedReferences = new EncodedReferences(typeLocators, encodedCollections, internedRootNames, internedSimpleNames, internedQualifiedNames);
+	newState.saved = true;
 	if (JavaBuilder.DEBUG) {
 		trace("Successfully read state for " + newState.javaProjectName); //$NON-NLS-1$
 	}
@@ -461,14 +508,24 @@ private static AccessRuleSet readRestriction(CompressedReader in) throws IOExcep
 }
 
 void tagAsNoopBuild() {
+	this.saved = false;
 	this.buildNumber = -1; // tag the project since it has no source folders and can be skipped
 }
 
+boolean isSaved() {
+	return this.saved;
+}
+
+void setSaved() {
+	this.saved = true;
+}
+
 boolean wasNoopBuild() {
 	return this.buildNumber == -1;
 }
 
 void tagAsStructurallyChanged() {
+	this.saved = false;
 	this.previousStructuralBuildTime = this.lastStructuralBuildTime;
 	this.structurallyChangedTypes = new StringSet(7);
 	this.lastStructuralBuildTime = computeStructuralBuildTime(this.previousStructuralBuildTime);
@@ -494,6 +551,7 @@ void wasStructurallyChanged(String typeName) {
 
 void write(DataOutputStream output) throws IOException {
 	CompressedWriter out=new CompressedWriter(output);
+	Map<String, ReferenceCollection> refs = getReferences();
 /*
  * byte		VERSION
  * String		project name
@@ -547,9 +605,9 @@ void write(DataOutputStream output) throws IOException {
 /*
  * String[]	Interned type locators
  */
-	out.writeInt(this.references.size());
-	Map<String, Integer> internedTypeLocators = new HashMap<>(this.references.size());
-	for (String key : this.references.keySet()) {
+	out.writeInt(refs.size());
+	Map<String, Integer> internedTypeLocators = new HashMap<>(refs.size());
+	for (String key : refs.keySet()) {
 		out.writeStringUsingLast(key);
 		internedTypeLocators.put(key, internedTypeLocators.size());
 	}
@@ -564,7 +622,7 @@ void write(DataOutputStream output) throws IOException {
 	Map<CharArray, Integer> internedRootNames = new HashMap<>();
 	Map<CharCharArray, Integer> internedQualifiedNames = new HashMap<>();
 	Map<CharArray, Integer> internedSimpleNames = new HashMap<>();
-	for (ReferenceCollection collection : this.references.values()) {
+	for (ReferenceCollection collection : refs.values()) {
 		for (char[] rName : collection.rootReferences) {
 			// remember the names have been interned
 			internedRootNames.putIfAbsent(new CharArray(rName), internedRootNames.size());
@@ -615,42 +673,48 @@ void write(DataOutputStream output) throws IOException {
 /*
  * References table
  * int		interned locator id
- * ReferenceCollection
+ * int		length of the encoded ReferenceCollection
+ * byte[]	ReferenceCollection, encoded on its own so that it can be decoded later
 */
-	out.writeInt(this.references.size());
-	for (Entry<String, ReferenceCollection> entry : this.references.entrySet()) {
+	out.writeInt(refs.size());
+	ByteArrayOutputStream encoded = new ByteArrayOutputStream(256);
+	for (Entry<String, ReferenceCollection> entry : refs.entrySet()) {
 		String key = entry.getKey();
 		Integer index = internedTypeLocators.get(key);
 		out.writeInt(index.intValue());
+		encoded.reset();
+		CompressedWriter collectionOut = new CompressedWriter(new DataOutputStream(encoded));
 		ReferenceCollection collection = entry.getValue();
 		if (collection instanceof AdditionalTypeCollection) {
-			out.writeByte(1);
+			collectionOut.writeByte(1);
 			AdditionalTypeCollection atc = (AdditionalTypeCollection) collection;
-			writeNames(atc.definedTypeNames, out);
+			writeNames(atc.definedTypeNames, collectionOut);
 		} else {
-			out.writeByte(2);
+			collectionOut.writeByte(2);
 		}
 		char[][][] qNames = collection.qualifiedNameReferences;
 		int qLength = qNames.length;
-		out.writeInt(qLength);
+		collectionOut.writeInt(qLength);
 		for (char[][] qName:qNames) {
 			Integer i = internedQualifiedNames.get(new CharCharArray(qName));
-			out.writeIntInRange(i.intValue(), internedQualifiedNames.size());
+			collectionOut.writeIntInRange(i.intValue(), internedQualifiedNames.size());
 		}
 		char[][] sNames = collection.simpleNameReferences;
 		int sLength = sNames.length;
-		out.writeInt(sLength);
+		collectionOut.writeInt(sLength);
 		for (char[] sName: sNames) {
 			Integer i = internedSimpleNames.get(new CharArray(sName));
-			out.writeIntInRange(i.intValue(), internedSimpleNames.size());
+			collectionOut.writeIntInRange(i.intValue(), internedSimpleNames.size());
 		}
 		char[][] rNames = collection.rootReferences;
 		int rLength = rNames.length;
-		out.writeInt(rLength);
+		collectionOut.writeInt(rLength);
 		for (char[] rName: rNames) {
 			Integer i = internedRootNames.get(new CharArray(rName));
-			out.writeIntInRange(i.intValue(), internedRootNames.size());
+			collectionOut.writeIntInRange(i.intValue(), internedRootNames.size());
 		}
+		out.writeInt(encoded.size());
+		out.writeBytes(encoded.toByteArray(), 0, encoded.size());
 	}
 }
 
@@ -772,7 +836,7 @@ private void writeBinaryLocations(CompressedWriter out, ClasspathLocation[] loca
 	}
 }
 
-private void writeNames(char[][] names, CompressedWriter out) throws IOException {
+private static void writeNames(char[][] names, CompressedWriter out) throws IOException {
 	int length = names == null ? 0 : names.length;
 	out.writeInt(length);
 	if (names != null) {
@@ -812,6 +876,58 @@ private void writeRestriction(AccessRuleSet accessRuleSet, CompressedWriter out)
 	}
 }
 
+/*
+ * The reference collections of a read state, as written by write(DataOutputStream), with the names they refer to.
+ */
+private static final class EncodedReferences {
+	private final String[] typeLocators;
+	private final byte[][] encodedCollections;
+	private final char[][] internedRootNames;
+	private final char[][] internedSimpleNames;
+	private final char[][][] internedQualifiedNames;
+
+	EncodedReferences(String[] typeLocators, byte[][] encodedCollections, char[][] internedRootNames,
+			char[][] internedSimpleNames, char[][][] internedQualifiedNames) {
+		this.typeLocators = typeLocators;
+		this.encodedCollections = encodedCollections;
+		this.internedRootNames = internedRootNames;
+		this.internedSimpleNames = internedSimpleNames;
+		this.internedQualifiedNames = internedQualifiedNames;
+	}
+
+	Map<String, ReferenceCollection> decode() throws IOException {
+		int length = this.typeLocators.length;
+		Map<String, ReferenceCollection> references = new LinkedHashMap<>((int) (length / 0.75 + 1));
+		for (int i = 0; i < length; i++) {
+			CompressedReader in = new CompressedReader(new DataInputStream(new ByteArrayInputStream(this.encodedCollections[i])));
+			references.put(this.typeLocators[i], decode(in));
+		}
+		return references;
+	}
+
+	private ReferenceCollection decode(CompressedReader in) throws IOException {
+		byte kind = in.readByte();
+		char[][] additionalTypeNames = kind == 1 ? readNames(in) : null;
+		char[][][] qNames = new char[in.readInt()][][];
+		for (int j = 0, m = qNames.length; j < m; j++)
+			qNames[j] = this.internedQualifiedNames[in.readIntInRange(this.internedQualifiedNames.length)];
+		char[][] sNames = new char[in.readInt()][];
+		for (int j = 0, m = sNames.length; j < m; j++)
+			sNames[j] = this.internedSimpleNames[in.readIntInRange(this.internedSimpleNames.length)];
+		char[][] rNames = new char[in.readInt()][];
+		for (int j = 0, m = rNames.length; j < m; j++)
+			rNames[j] = this.internedRootNames[in.readIntInRange(this.internedRootNames.length)];
+		switch (kind) {
+			case 1 :
+				return new AdditionalTypeCollection(additionalTypeNames, qNames, sNames, rNames);
+			case 2 :
+				return new ReferenceCollection(qNames, sNames, rNames);
+			default :
+				throw new IOException("Unknown kind of reference collection: " + kind); //$NON-NLS-1$
+		}
+	}
+}
+
 /**
  * Returns a string representation of the receiver.
  */
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2017 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,6 +17,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
+import org.eclipse.jdt.core.Flags;
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IImportContainer;
 import org.eclipse.jdt.core.IImportDeclaration;
@@ -26,6 +27,7 @@ import org.eclipse.jdt.core.IMember;
 import org.eclipse.jdt.core.IOpenable;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.internal.compiler.lookup.ExtraCompilerModifiers;
 import org.eclipse.jdt.internal.core.JavaElement;
 import org.eclipse.jdt.internal.core.SimpleDelta;
 
@@ -40,6 +42,14 @@ public class ChangeCollector {
 	 */
 	HashMap changes = new HashMap();
 
+	/*
+	 * The modifiers that can change the shape of a hierarchy: a change of kind moves a type
+	 * between classes and interfaces, a change of visibility can make supertypes resolve differently.
+	 */
+	private static final int STRUCTURAL_MODIFIERS =
+		Flags.AccPublic | Flags.AccPrivate | Flags.AccProtected
+		| Flags.AccInterface | Flags.AccAnnotation | Flags.AccEnum | ExtraCompilerModifiers.AccRecord;
+
 	TypeHierarchy hierarchy;
 
 	public ChangeCollector(TypeHierarchy hierarchy) {
@@ -410,8 +420,9 @@ public class ChangeCollector {
 		if (existingSuperInterfaces.length != newSuperInterfaces.length) {
 			return true;
 		}
-		for (String superInterfaceName : newSuperInterfaces) {
-			if (!superInterfaceName.equals(superInterfaceName)) {
+		for (int i = 0; i < newSuperInterfaces.length; i++) {
+			IType existingSuperInterface = existingSuperInterfaces[i];
+			if (existingSuperInterface == null || !existingSuperInterface.getElementName().equals(simpleName(newSuperInterfaces[i]))) {
 				return true;
 			}
 		}
@@ -419,12 +430,76 @@ public class ChangeCollector {
 		return false;
 	}
 
+	private static String simpleName(String typeName) {
+		int idx = typeName.indexOf('<');
+		String rawName = idx > -1 ? typeName.substring(0, idx) : typeName;
+		idx = rawName.lastIndexOf('.');
+		return idx > -1 ? rawName.substring(idx + 1) : rawName;
+	}
+
 	private boolean hasVisibilityChange(IType type) throws JavaModelException {
 		int existingFlags = this.hierarchy.getCachedFlags(type);
 		int newFlags = type.getFlags();
 		return existingFlags != newFlags;
 	}
 
+	/*
+	 * Applies the collected changes to the hierarchy in place if none of them needs the
+	 * hierarchy to be recomputed: removals of types that have no subtypes in the hierarchy,
+	 * and changes of modifiers that keep the kind and the visibility of a type.
+	 * Returns false and leaves the hierarchy untouched otherwise.
+	 * Added types and changed supertypes are never applied in place, as the new supertypes
+	 * can only be resolved by the hierarchy resolver: they make the hierarchy recompute.
+	 */
+	public boolean applyIncrementally() throws JavaModelException {
+		HashMap newFlags = new HashMap();
+		Iterator iterator = this.changes.entrySet().iterator();
+		while (iterator.hasNext()) {
+			Map.Entry entry = (Map.Entry)iterator.next();
+			if (!(entry.getKey() instanceof IType)) {
+				return false; // import changes can change how supertypes resolve
+			}
+			IType type = (IType)entry.getKey();
+			SimpleDelta delta = (SimpleDelta)entry.getValue();
+			switch (delta.getKind()) {
+				case IJavaElementDelta.REMOVED:
+					if (type.equals(this.hierarchy.focusType) || this.hierarchy.getSubtypes(type).length != 0) {
+						return false;
+					}
+					break;
+				case IJavaElementDelta.CHANGED:
+					if (delta.getFlags() != IJavaElementDelta.F_MODIFIERS || !type.exists()) {
+						return false;
+					}
+					int existingFlags = this.hierarchy.getCachedFlags(type);
+					int flags = type.getFlags();
+					if (existingFlags == -1 || ((existingFlags ^ flags) & STRUCTURAL_MODIFIERS) != 0) {
+						return false;
+					}
+					newFlags.put(type, Integer.valueOf(flags));
+					break;
+				default:
+					return false; // additions need resolution
+			}
+		}
+		boolean removed = false;
+		iterator = this.changes.entrySet().iterator();
+		while (iterator.hasNext()) {
+			Map.Entry entry = (Map.Entry)iterator.next();
+			IType type = (IType)entry.getKey();
+			if (((SimpleDelta)entry.getValue()).getKind() == IJavaElementDelta.REMOVED) {
+				this.hierarchy.removeLeafType(type);
+				removed = true;
+			} else {
+				this.hierarchy.cacheFlags(type, ((Integer)newFlags.get(type)).intValue());
+			}
+		}
+		if (removed) {
+			this.hierarchy.leafTypesRemoved();
+		}
+		return true;
+	}
+
 	/*
 	 * Whether the hierarchy needs refresh according to the changes collected so far.
 	 */
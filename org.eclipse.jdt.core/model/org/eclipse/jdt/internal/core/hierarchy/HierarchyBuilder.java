@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -297,35 +297,55 @@ public abstract class HierarchyBuilder {
  * adds it to the given list of infos.
  */
 protected IBinaryType createInfoFromClassFile(Openable handle, IResource file) {
-	IBinaryType info = null;
+	IBinaryType info = readInfoFromClassFile(handle, file);
+	if (info != null) {
+		this.infoToHandle.put(info, handle);
+	}
+	return info;
+}
+/*
+ * Reads the type info from the given class file on disk without remembering its handle.
+ * Can be called concurrently.
+ */
+protected IBinaryType readInfoFromClassFile(Openable handle, IResource file) {
 	try {
-		info = Util.newClassFileReader(file);
+		return Util.newClassFileReader(file);
 	} catch (org.eclipse.jdt.internal.compiler.classfmt.ClassFormatException | java.io.IOException | CoreException e) {
 		if (TypeHierarchy.DEBUG) {
 			trace("", e); //$NON-NLS-1$
 		}
 		return null;
 	}
-	this.infoToHandle.put(info, handle);
-	return info;
 }
 	/**
  * Create a type info from the given class file in a jar and adds it to the given list of infos.
  */
 protected IBinaryType createInfoFromClassFileInJar(Openable classFile) {
-	IOrdinaryClassFile cf = (IOrdinaryClassFile)classFile;
-	IBinaryType info;
+	IBinaryType info = readInfoFromClassFileInJar(classFile);
+	if (info != null) {
+		this.infoToHandle.put(info, classFile);
+	}
+	return info;
+}
+/*
+ * Reads the type info from the given class file in a jar without remembering its handle.
+ * Can be called concurrently.
+ */
+protected IBinaryType readInfoFromClassFileInJar(Openable classFile) {
 	try {
-		info = BinaryTypeFactory.create(cf, null);
+		return BinaryTypeFactory.create((IOrdinaryClassFile)classFile, null);
 	} catch (JavaModelException | ClassFormatException e) {
 		if (TypeHierarchy.DEBUG) {
 			trace("", e); //$NON-NLS-1$
 		}
 		return null;
 	}
-
-	this.infoToHandle.put(info, classFile);
-	return info;
+}
+/*
+ * Remembers the handle of a type info read with one of the read methods above.
+ */
+protected void rememberInfo(IBinaryType info, Openable handle) {
+	this.infoToHandle.put(info, handle);
 }
 
 }
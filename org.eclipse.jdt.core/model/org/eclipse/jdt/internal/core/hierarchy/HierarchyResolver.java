@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -27,16 +27,27 @@ package org.eclipse.jdt.internal.core.hierarchy;
  * implements I & J?
  */
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.IModuleDescription;
 import org.eclipse.jdt.core.IPackageFragmentRoot;
 import org.eclipse.jdt.core.IType;
@@ -95,6 +106,32 @@ public class HierarchyResolver implements ITypeRequestor {
 	private IGenericType[] typeModels;
 	private Parser basicParser;
 
+	/*
+	 * Below this number of candidates, reading them ahead of time on several threads is not worth it.
+	 */
+	private static final int PARALLEL_READ_THRESHOLD = 32;
+	private static final int READ_THREAD_COUNT = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+	/*
+	 * Number of class files of an archive read by one task, which opens the archive once for all of them.
+	 */
+	private static final int ARCHIVE_READ_CHUNK_SIZE = 64;
+	private static final AtomicInteger READ_THREAD_INDEX = new AtomicInteger(1);
+	// Never use the shared ForkJoinPool.commonPool() as it may be busy with other tasks, and create
+	// the threads from here so that they get the permissions of this plugin.
+	private static final ForkJoinPool READ_POOL = new ForkJoinPool(READ_THREAD_COUNT,
+			pool -> {
+				ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+				thread.setName("HierarchyResolver-reader-" + READ_THREAD_INDEX.getAndIncrement()); //$NON-NLS-1$
+				thread.setDaemon(true);
+				return thread;
+			}, /* UncaughtExceptionHandler */ null, //
+			/* asyncMode */ false, //
+			/* corePoolSize */ 0, //
+			/* maximumPoolSize */ READ_THREAD_COUNT, //
+			/* minimumRunnable */ 0, //
+			pool -> true, // allow compensation threads when a worker blocks
+			/* keepAliveTime */ 1, TimeUnit.MINUTES);
+
 	private static final CompilationUnitDeclaration FakeUnit;
 	static {
 		IErrorHandlingPolicy policy = DefaultErrorHandlingPolicies.exitAfterAllProblems();
@@ -688,6 +725,7 @@ public void resolve(IGenericType suppliedType) {
  */
 public void resolve(Openable[] openables, HashSet localTypes, IProgressMonitor monitor) {
 	SubMonitor subMonitor = SubMonitor.convert(monitor, 3);
+	Future<?>[] readAhead = null;
 	try {
 		int openablesLength = openables.length;
 		CompilationUnitDeclaration[] parsedUnits = new CompilationUnitDeclaration[openablesLength];
@@ -707,11 +745,21 @@ public void resolve(Openable[] openables, HashSet localTypes, IProgressMonitor m
 			}
 		}
 
-		subMonitor.split(1);
+		SubMonitor bindingMonitor = subMonitor.split(1).setWorkRemaining(openablesLength);
+		// parse and read in parallel what does not need the lookup environment
+		readAhead = readAhead(openables, bindingMonitor);
 		// build type bindings
 		Parser parser = new Parser(this.lookupEnvironment.problemReporter, true);
+		IJavaProject currentProject = null;
 		for (int i = 0; i < openablesLength; i++) {
+			bindingMonitor.split(1);
 			Openable openable = openables[i];
+			IJavaProject project = openable.getJavaProject();
+			if (project != null && !project.equals(currentProject)) {
+				currentProject = project;
+				bindingMonitor.subTask(org.eclipse.jdt.internal.core.util.Messages.bind(
+						org.eclipse.jdt.internal.core.util.Messages.hierarchy_resolvingProject, project.getElementName()));
+			}
 			if (openable instanceof org.eclipse.jdt.core.ICompilationUnit) {
 				org.eclipse.jdt.core.ICompilationUnit cu = (org.eclipse.jdt.core.ICompilationUnit)openable;
 
@@ -756,6 +804,8 @@ public void resolve(Openable[] openables, HashSet localTypes, IProgressMonitor m
 					// to parse the method bodies. Parser.getMethodBodies, which is called latter in this function,
 					// will not parse the method statements if ASTNode.HasAllMethodBodies is set.
 					if (containsLocalType && parsedUnit != null) parsedUnit.bits |= ASTNode.HasAllMethodBodies;
+				} else if (readAhead != null && readAhead[i] != null) {
+					parsedUnit = (CompilationUnitDeclaration) getReadAhead(readAhead[i]);
 				} else {
 					// create parsed unit from file
 					IFile file = (IFile) cu.getResource();
@@ -781,7 +831,12 @@ public void resolve(Openable[] openables, HashSet localTypes, IProgressMonitor m
 				// cache binary type binding
 				ClassFile classFile = (ClassFile)openable;
 				IBinaryType binaryType = (IBinaryType) JavaModelManager.getJavaModelManager().getInfo(classFile.getType());
-				if (binaryType == null) {
+				if (binaryType == null && readAhead != null && readAhead[i] != null) {
+					binaryType = (IBinaryType) getReadAhead(readAhead[i]);
+					if (binaryType != null) {
+						this.builder.rememberInfo(binaryType, classFile);
+					}
+				} else if (binaryType == null) {
 					// create binary type from file
 					if (classFile.getPackageFragmentRoot().isArchive()) {
 						binaryType = this.builder.createInfoFromClassFileInJar(classFile);
@@ -896,10 +951,136 @@ public void resolve(Openable[] openables, HashSet localTypes, IProgressMonitor m
 			JavaModelManager.trace("", e); //$NON-NLS-1$
 		}
 	} finally {
+		// nothing read ahead is needed once the binding loop is left, be it normally or not
+		cancelReadAhead(readAhead);
 		reset();
 	}
 }
 
+/*
+ * Starts parsing the compilation units that are not open and reading the class files whose
+ * info is not cached, on several threads, as this does not need the lookup environment.
+ * Returns futures indexed like the given openables (null where there is nothing to read ahead),
+ * or null if there are too few candidates for this to be worth it.
+ * <p>
+ * The class files of an archive are read in chunks by tasks that cache the zip files they open,
+ * as the zip file cache of the calling thread does not apply to the threads of the pool.
+ */
+private Future<?>[] readAhead(Openable[] openables, IProgressMonitor monitor) {
+	int length = openables.length;
+	if (length < PARALLEL_READ_THRESHOLD || READ_THREAD_COUNT < 2) {
+		return null;
+	}
+	Future<?>[] futures = new Future<?>[length];
+	JavaModelManager manager = JavaModelManager.getJavaModelManager();
+	CompilerOptions compilerOptions = this.lookupEnvironment.globalOptions;
+	IProblemFactory problemFactory = this.lookupEnvironment.problemReporter.problemFactory;
+	Map<IPackageFragmentRoot, List<Integer>> archiveReads = new LinkedHashMap<>();
+	for (int i = 0; i < length; i++) {
+		Openable openable = openables[i];
+		if (openable instanceof org.eclipse.jdt.core.ICompilationUnit) {
+			org.eclipse.jdt.core.ICompilationUnit cu = (org.eclipse.jdt.core.ICompilationUnit) openable;
+			if (cu.isOpen()) {
+				continue; // built from the element infos
+			}
+			IFile file = (IFile) cu.getResource();
+			ICompilationUnit sourceUnit = this.builder.createCompilationUnitFromPath(openable, file, findAssociatedModuleName(openable));
+			CompilationResult unitResult = new CompilationResult(sourceUnit, i, length, compilerOptions.maxProblemsPerUnit);
+			futures[i] = READ_POOL.submit(() -> {
+				if (monitor.isCanceled()) {
+					return null;
+				}
+				// a parser and problem reporter per task, as they are not thread safe
+				ProblemReporter problemReporter = new ProblemReporter(DefaultErrorHandlingPolicies.exitAfterAllProblems(), compilerOptions, problemFactory);
+				return new Parser(problemReporter, true).dietParse(sourceUnit, unitResult);
+			});
+		} else {
+			ClassFile classFile = (ClassFile) openable;
+			if (manager.getInfo(classFile.getType()) != null) {
+				continue; // already cached
+			}
+			IPackageFragmentRoot root = classFile.getPackageFragmentRoot();
+			if (root.isArchive()) {
+				futures[i] = new CompletableFuture<>();
+				archiveReads.computeIfAbsent(root, r -> new ArrayList<>()).add(Integer.valueOf(i));
+			} else {
+				IResource file = classFile.resource();
+				futures[i] = READ_POOL.submit(() -> monitor.isCanceled() ? null : this.builder.readInfoFromClassFile(classFile, file));
+			}
+		}
+	}
+	for (List<Integer> indexes : archiveReads.values()) {
+		for (int start = 0, size = indexes.size(); start < size; start += ARCHIVE_READ_CHUNK_SIZE) {
+			List<Integer> chunk = indexes.subList(start, Math.min(size, start + ARCHIVE_READ_CHUNK_SIZE));
+			READ_POOL.execute(() -> readAheadFromArchive(openables, chunk, futures, monitor));
+		}
+	}
+	return futures;
+}
+
+/*
+ * Reads the given class files of an archive, completing their futures, with the zip files cached meanwhile.
+ */
+private void readAheadFromArchive(Openable[] openables, List<Integer> indexes, Future<?>[] futures, IProgressMonitor monitor) {
+	JavaModelManager manager = JavaModelManager.getJavaModelManager();
+	Object owner = new Object();
+	manager.cacheZipFiles(owner);
+	try {
+		for (Integer index : indexes) {
+			CompletableFuture<Object> future = (CompletableFuture<Object>) futures[index.intValue()];
+			if (future.isDone()) {
+				continue; // cancelled
+			}
+			if (monitor.isCanceled()) {
+				future.complete(null);
+				continue;
+			}
+			try {
+				future.complete(this.builder.readInfoFromClassFileInJar(openables[index.intValue()]));
+			} catch (RuntimeException | Error e) {
+				future.completeExceptionally(e);
+			}
+		}
+	} finally {
+		manager.flushZipFiles(owner);
+	}
+}
+
+/*
+ * Cancels what was read ahead and not consumed yet.
+ */
+private static void cancelReadAhead(Future<?>[] futures) {
+	if (futures == null) {
+		return;
+	}
+	for (Future<?> future : futures) {
+		if (future != null) {
+			future.cancel(false);
+		}
+	}
+}
+
+/*
+ * Waits for the result of something read ahead, rethrowing what it threw as if it had been read on this thread.
+ */
+private Object getReadAhead(Future<?> future) {
+	try {
+		return future.get();
+	} catch (InterruptedException e) {
+		Thread.currentThread().interrupt();
+		throw new OperationCanceledException();
+	} catch (ExecutionException e) {
+		Throwable cause = e.getCause();
+		if (cause instanceof RuntimeException) {
+			throw (RuntimeException) cause;
+		}
+		if (cause instanceof Error) {
+			throw (Error) cause;
+		}
+		throw new IllegalStateException(cause);
+	}
+}
+
 private char[] findAssociatedModuleName(Openable openable) {
 	IModuleDescription module = null;
 	IPackageFragmentRoot root = openable.getPackageFragmentRoot();
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -390,18 +390,17 @@ private void buildFromPotentialSubtypes(String[] allPotentialSubTypes, HashSet l
 }
 
 @Override
-protected IBinaryType createInfoFromClassFile(Openable classFile, IResource file) {
+protected IBinaryType readInfoFromClassFile(Openable classFile, IResource file) {
 	String documentPath = classFile.getPath().toString();
 	IBinaryType binaryType = (IBinaryType)this.binariesFromIndexMatches.get(documentPath);
 	if (binaryType != null) {
-		this.infoToHandle.put(binaryType, classFile);
 		return binaryType;
 	} else {
-		return super.createInfoFromClassFile(classFile, file);
+		return super.readInfoFromClassFile(classFile, file);
 	}
 }
 @Override
-protected IBinaryType createInfoFromClassFileInJar(Openable classFile) {
+protected IBinaryType readInfoFromClassFileInJar(Openable classFile) {
 	String filePath = (((ClassFile)classFile).getType().getFullyQualifiedName('$')).replace('.', '/') + SuffixConstants.SUFFIX_STRING_class;
 	IPackageFragmentRoot root = classFile.getPackageFragmentRoot();
 	IPath path = root.getPath();
@@ -418,10 +417,9 @@ protected IBinaryType createInfoFromClassFileInJar(Openable classFile) {
 	}
 	IBinaryType binaryType = (IBinaryType)this.binariesFromIndexMatches.get(documentPath);
 	if (binaryType != null) {
-		this.infoToHandle.put(binaryType, classFile);
 		return binaryType;
 	} else {
-		return super.createInfoFromClassFileInJar(classFile);
+		return super.readInfoFromClassFileInJar(classFile);
 	}
 }
 /**
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -97,6 +97,16 @@ protected boolean isAffectedByOpenable(IJavaElementDelta delta, IJavaElement ele
 		return super.isAffectedByOpenable(delta, element, eventType);
 	}
 }
+/*
+ * The supertypes outside the region that only had the removed types as subtypes
+ * would not be part of the hierarchy if it was recomputed.
+ */
+@Override
+protected void leafTypesRemoved() {
+	if (this.focusType == null || this.computeSubtypes) {
+		pruneDeadBranches();
+	}
+}
 /**
  * Returns the java project this hierarchy was created in.
  */
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2017 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -150,6 +150,12 @@ public class TypeHierarchy implements ITypeHierarchy, IElementChangedListener {
 	 */
 	protected ChangeCollector changeCollector;
 
+	/*
+	 * Whether all the changes since the last refresh are in the change collector,
+	 * so that the next refresh may apply them instead of recomputing the hierarchy.
+	 */
+	protected boolean incrementalRefreshPossible;
+
 /**
  * Creates an empty TypeHierarchy
  */
@@ -210,6 +216,51 @@ protected void addInterface(IType type) {
 protected void addRootClass(IType type) {
 	this.rootClasses.add(type);
 }
+/**
+ * Removes the given type, which must not have subtypes in this hierarchy,
+ * from all the tables of this hierarchy.
+ */
+protected void removeLeafType(IType type) {
+	IType superclass = this.classToSuperclass.remove(type);
+	if (superclass != null) {
+		removeSubtype(superclass, type);
+	}
+	IType[] superinterfaces = this.typeToSuperInterfaces.remove(type);
+	if (superinterfaces != null) {
+		for (IType superinterface : superinterfaces) {
+			if (superinterface != null) {
+				removeSubtype(superinterface, type);
+			}
+		}
+	}
+	this.typeToSubtypes.remove(type);
+	this.typeFlags.remove(type);
+	this.rootClasses.remove(type);
+	this.interfaces.remove(type);
+	Openable o = (Openable) ((JavaElement) type).getOpenableParent();
+	ArrayList<IType> types = o == null ? null : this.files.get(o);
+	if (types != null) {
+		types.remove(type);
+		if (types.isEmpty()) {
+			this.files.remove(o);
+		}
+	}
+}
+/**
+ * Called once the types removed since the last refresh have been removed in place.
+ */
+protected void leafTypesRemoved() {
+	// nothing to do
+}
+private void removeSubtype(IType type, IType subtype) {
+	Set<IType> subtypes = this.typeToSubtypes.get(type);
+	if (subtypes != null) {
+		subtypes.remove(subtype);
+		if (subtypes.isEmpty()) {
+			this.typeToSubtypes.remove(type);
+		}
+	}
+}
 /**
  * Adds the given subtype to the type.
  */
@@ -329,14 +380,49 @@ public boolean contains(IType type) {
  */
 @Override
 public void elementChanged(ElementChangedEvent event) {
-	// type hierarchy change has already been fired
-	if (this.needsRefresh) return;
+	boolean singleUnit = isSingleCompilationUnitDelta(event.getDelta());
+	if (this.needsRefresh) {
+		// type hierarchy change has already been fired, but the pending refresh can only stay
+		// incremental if the change collector keeps seeing all changes
+		if (this.incrementalRefreshPossible && isAffected(event.getDelta(), event.getType()) && !singleUnit) {
+			this.incrementalRefreshPossible = false;
+		}
+		return;
+	}
 
 	if (isAffected(event.getDelta(), event.getType())) {
+		this.incrementalRefreshPossible = singleUnit && this.changeCollector != null;
 		this.needsRefresh = true;
 		fireChange();
 	}
 }
+/*
+ * Returns whether the given delta only reports changes inside one compilation unit.
+ * Only then are all its changes recorded by the change collector: when several elements are
+ * affected, the check whether this hierarchy is affected stops at the first affected one.
+ */
+private boolean isSingleCompilationUnitDelta(IJavaElementDelta delta) {
+	while (delta.getElement().getElementType() != IJavaElement.COMPILATION_UNIT) {
+		if (delta.getKind() != IJavaElementDelta.CHANGED || delta.getFlags() != IJavaElementDelta.F_CHILDREN) {
+			return false;
+		}
+		IJavaElementDelta[] children = delta.getAffectedChildren();
+		if (children.length != 1 || delta.getResourceDeltas() != null) {
+			return false;
+		}
+		delta = children[0];
+	}
+	return true;
+}
+/**
+ * Notifies listeners of the changes to working copies collected during reconcile.
+ */
+public void fireFineGrainChanges() {
+	if (this.needsRefresh) return; // already fired
+	this.incrementalRefreshPossible = true;
+	this.needsRefresh = true;
+	fireChange();
+}
 /**
  * @see ITypeHierarchy
  */
@@ -1009,7 +1095,12 @@ protected boolean isAffectedByOpenable(IJavaElementDelta delta, IJavaElement ele
 			this.changeCollector = collector;
 			return false;
 		} else {
-			return collector.needsRefresh();
+			if (collector.needsRefresh()) {
+				// keep the changes so that they can be applied on refresh
+				this.changeCollector = collector;
+				return true;
+			}
+			return false;
 		}
 	} else if (element instanceof ClassFile) {
 		switch (delta.getKind()) {
@@ -1260,10 +1351,18 @@ public synchronized void refresh(IProgressMonitor monitor) throws JavaModelExcep
 			}
 		}
 
-		compute();
-		initializeRegions();
+		ChangeCollector collector = this.changeCollector;
+		if (this.incrementalRefreshPossible && collector != null && collector.applyIncrementally()) {
+			if (DEBUG) {
+				trace("APPLIED CHANGES TO TYPE HIERARCHY:\n" + collector); //$NON-NLS-1$
+			}
+		} else {
+			compute();
+			initializeRegions();
+		}
 		this.needsRefresh = false;
 		this.changeCollector = null;
+		this.incrementalRefreshPossible = false;
 
 		if (DEBUG) {
 			if (this.computeSubtypes) {
@@ -35,6 +35,7 @@ public final class Messages extends NLS {
 	public static String hierarchy_nullFocusType;
 	public static String hierarchy_creating;
 	public static String hierarchy_creatingOnType;
+	public static String hierarchy_resolvingProject;
 	public static String element_doesNotExist;
 	public static String element_notOnClasspath;
 	public static String element_invalidClassFileName;
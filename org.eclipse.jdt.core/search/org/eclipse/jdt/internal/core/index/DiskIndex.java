@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2022 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -33,6 +33,8 @@ import org.eclipse.jdt.internal.compiler.util.HashtableOfObject;
 import org.eclipse.jdt.internal.compiler.util.SimpleLookupTable;
 import org.eclipse.jdt.internal.compiler.util.SimpleSet;
 import org.eclipse.jdt.internal.compiler.util.SimpleSetOfCharArray;
+import org.eclipse.jdt.internal.core.search.indexing.IIndexConstants;
+import org.eclipse.jdt.internal.core.util.LRUCache;
 import org.eclipse.jdt.internal.core.util.Messages;
 import org.eclipse.jdt.internal.core.util.SimpleWordSet;
 import org.eclipse.jdt.internal.core.util.Util;
@@ -76,6 +78,10 @@ private static final int CHUNK_SIZE = 100;
 private static final SimpleSetOfCharArray INTERNED_CATEGORY_NAMES = new SimpleSetOfCharArray(20);
 private static final String TMP_EXT = ".tmp"; //$NON-NLS-1$
 
+// the type declaration catalogs of the disk indexes last queried, bounded by their total number of keys
+private static final int TYPE_NAMES_CACHE_SIZE = 200000;
+private static final LRUCache<DiskIndex, TypeNameCatalog> TYPE_NAMES = new LRUCache<>(TYPE_NAMES_CACHE_SIZE);
+
 static class IntList {
 
 int size;
@@ -180,6 +186,7 @@ HashtableOfObject addQueryResults(char[][] categories, char[] key, int matchRule
 	if (this.categoryOffsets == null) return null; // file is empty
 
 	HashtableOfObject results = null; // initialized if needed
+	TypeNameCatalog catalog = null;
 
 	// No need to check the results table for duplicates while processing the
 	// first category table or if the first category tables doesn't have any results.
@@ -200,6 +207,15 @@ HashtableOfObject addQueryResults(char[][] categories, char[] key, int matchRule
 		}
 		if (results != null && this.cachedChunks == null)
 			cacheDocumentNames();
+	} else if (matchRule != SearchPattern.R_REGEXP_MATCH && categories.length == 1
+			&& CharOperation.equals(categories[0], IIndexConstants.TYPE_DECL)
+			&& (catalog = getTypeNames()) != null) {
+		char[][] words = catalog.words;
+		Object[] values = catalog.documentNumbers;
+		for (int i = catalog.start(key, matchRule), end = catalog.end(key, matchRule); i < end; i++) {
+			if (Index.isMatch(key, words[i], matchRule))
+				results = addQueryResult(results, words[i], values[i], memoryIndex, false);
+		}
 	} else {
 		switch (matchRule) {
 			case SearchPattern.R_EXACT_MATCH | SearchPattern.R_CASE_SENSITIVE:
@@ -404,6 +420,7 @@ private void copyQueryResults(HashtableOfObject categoryToWords, int newPosition
 	}
 }
 void initialize(boolean reuseExistingFile) throws IOException {
+	discardTypeNames();
 	if (this.indexLocation.exists()) {
 		if (reuseExistingFile) {
 			try (InputStream stream = this.indexLocation.getInputStream()) {
@@ -531,6 +548,7 @@ private void mergeCategory(char[] categoryName, DiskIndex onDisk, int[] position
 }
 DiskIndex mergeWith(MemoryIndex memoryIndex) throws IOException {
  	// assume write lock is held
+	discardTypeNames(); // the receiver is replaced by the merged index
 	// compute & write out new docNames
 	if (this.indexLocation == null) {
 		throw new IOException("Pre-built index file not writeable");  //$NON-NLS-1$
@@ -655,6 +673,33 @@ private synchronized String[] readAllDocumentNames() throws IOException {
 		return CharOperation.NO_STRINGS;
 	}
 }
+/*
+ * Answers the catalog of the type declarations of the receiver, or null if it has none or if
+ * they are too many to be cached with the catalogs of the other indexes.
+ */
+private synchronized TypeNameCatalog getTypeNames() throws IOException {
+	TypeNameCatalog catalog;
+	synchronized (TYPE_NAMES) {
+		catalog = TYPE_NAMES.get(this);
+	}
+	if (catalog == null) {
+		HashtableOfObject wordsToDocNumbers = readCategoryTable(IIndexConstants.TYPE_DECL, false);
+		if (wordsToDocNumbers == null || wordsToDocNumbers.elementSize > TYPE_NAMES_CACHE_SIZE) return null;
+		catalog = new TypeNameCatalog(wordsToDocNumbers);
+		synchronized (TYPE_NAMES) {
+			TYPE_NAMES.put(this, catalog);
+		}
+		// the catalog replaces the cached table
+		if (CharOperation.equals(this.cachedCategoryName, IIndexConstants.TYPE_DECL))
+			this.cachedCategoryName = null;
+	}
+	return catalog;
+}
+private void discardTypeNames() {
+	synchronized (TYPE_NAMES) {
+		TYPE_NAMES.removeKey(this);
+	}
+}
 private synchronized HashtableOfObject readCategoryTable(char[] categoryName, boolean readDocNumbers) throws IOException {
 	// result will be null if categoryName is unknown
 	int offset = this.categoryOffsets.get(categoryName);
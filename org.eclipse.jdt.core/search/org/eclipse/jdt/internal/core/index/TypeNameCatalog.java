@@ -0,0 +1,131 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core.index;
+
+import java.util.Arrays;
+import org.eclipse.jdt.core.compiler.CharOperation;
+import org.eclipse.jdt.core.search.SearchPattern;
+import org.eclipse.jdt.internal.compiler.parser.ScannerHelper;
+import org.eclipse.jdt.internal.compiler.util.HashtableOfObject;
+import org.eclipse.jdt.internal.core.util.ILRUCacheable;
+
+/**
+ * The keys of the type declarations of a disk index with their document numbers, sorted ignoring case.
+ * The catalogs of the disk indexes last queried are kept in memory, up to a total number of keys
+ * (see DiskIndex#getTypeNames()).
+ * <p>
+ * The keys start with the simple name of the type (see TypeDeclarationPattern#createIndexKey), so
+ * the prefix, camel case and pattern queries of type names only check the keys that start with the
+ * same characters as the query, instead of reading and scanning the whole category table of the
+ * index file.
+ * </p>
+ */
+class TypeNameCatalog implements ILRUCacheable {
+
+	final char[][] words;
+	final Object[] documentNumbers; // int[] or the Integer offset of the array in the index file
+
+	TypeNameCatalog(HashtableOfObject wordsToDocNumbers) {
+		char[][] keys = new char[wordsToDocNumbers.elementSize][];
+		int count = 0;
+		for (char[] key : wordsToDocNumbers.keyTable) {
+			if (key != null)
+				keys[count++] = key;
+		}
+		Arrays.sort(keys, 0, count, TypeNameCatalog::compare);
+		this.words = keys;
+		this.documentNumbers = new Object[count];
+		for (int i = 0; i < count; i++) {
+			this.documentNumbers[i] = wordsToDocNumbers.get(keys[i]);
+		}
+	}
+
+	@Override
+	public int getCacheFootprint() {
+		return this.words.length;
+	}
+
+	/**
+	 * Returns the index of the first key that may match the given query key, the keys that
+	 * may match being the ones up to {@link #end(char[], int)}.
+	 */
+	int start(char[] key, int matchRule) {
+		int prefixLength = prefixLength(key, matchRule);
+		if (prefixLength == 0) return 0;
+		int low = 0, high = this.words.length;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (comparePrefix(this.words[mid], key, prefixLength) < 0)
+				low = mid + 1;
+			else
+				high = mid;
+		}
+		return low;
+	}
+
+	int end(char[] key, int matchRule) {
+		int prefixLength = prefixLength(key, matchRule);
+		if (prefixLength == 0) return this.words.length;
+		int low = 0, high = this.words.length;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (comparePrefix(this.words[mid], key, prefixLength) <= 0)
+				low = mid + 1;
+			else
+				high = mid;
+		}
+		return low;
+	}
+
+	/*
+	 * Number of characters of the query key that any matching key starts with, ignoring case.
+	 */
+	private static int prefixLength(char[] key, int matchRule) {
+		if ((matchRule & (SearchPattern.R_SUBSTRING_MATCH | SearchPattern.R_SUBWORD_MATCH)) != 0)
+			return 0;
+		switch (matchRule & ~SearchPattern.R_CASE_SENSITIVE) {
+			case SearchPattern.R_EXACT_MATCH :
+			case SearchPattern.R_PREFIX_MATCH :
+				return key.length;
+			case SearchPattern.R_CAMELCASE_MATCH :
+			case SearchPattern.R_CAMELCASE_SAME_PART_COUNT_MATCH :
+				// the first character of a camel case match is the same, otherwise it can only be a prefix match
+				return Math.min(1, key.length);
+			case SearchPattern.R_PATTERN_MATCH :
+				int length = 0;
+				while (length < key.length && key[length] != '*' && key[length] != '?')
+					length++;
+				return length;
+		}
+		return 0;
+	}
+
+	private static int comparePrefix(char[] word, char[] key, int prefixLength) {
+		for (int i = 0; i < prefixLength; i++) {
+			if (i == word.length) return -1;
+			int diff = ScannerHelper.toLowerCase(word[i]) - ScannerHelper.toLowerCase(key[i]);
+			if (diff != 0) return diff;
+		}
+		return 0;
+	}
+
+	private static int compare(char[] word1, char[] word2) {
+		for (int i = 0, length = Math.min(word1.length, word2.length); i < length; i++) {
+			int diff = ScannerHelper.toLowerCase(word1[i]) - ScannerHelper.toLowerCase(word2[i]);
+			if (diff != 0) return diff;
+		}
+		if (word1.length != word2.length) return word1.length - word2.length;
+		return CharOperation.compareTo(word1, word2);
+	}
+}